@@ -18,7 +18,9 @@
  */
 package org.kie.kogito.events.mongodb;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
@@ -33,10 +35,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.mongodb.MongoClientSettings;
+import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 
@@ -48,6 +52,7 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     private MongoCollection<ProcessInstanceDataEvent> processInstanceDataEventCollection;
     private MongoCollection<UserTaskInstanceDataEvent> userTaskInstanceDataEventCollection;
+    private WriteBehindEventBuffer writeBehindBuffer;
 
     protected abstract MongoClient mongoClient();
 
@@ -63,16 +68,50 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     protected abstract String userTasksEventsCollection();
 
+    /**
+     * Number of events that triggers a flush of the write-behind buffer. The buffer is disabled when zero or negative
+     * and it is never used when transactions are enabled.
+     */
+    protected int writeBehindMaxEvents() {
+        return 0;
+    }
+
+    /**
+     * Maximum time, in milliseconds, an event stays in the write-behind buffer.
+     */
+    protected long writeBehindFlushIntervalMillis() {
+        return 100;
+    }
+
     protected void configure() {
         CodecRegistry registry = CodecRegistries.fromRegistries(MongoClientSettings.getDefaultCodecRegistry(), fromProviders(new EventMongoDBCodecProvider(),
                 PojoCodecProvider.builder().automatic(true).build()));
         MongoDatabase mongoDatabase = mongoClient().getDatabase(eventsDatabaseName()).withCodecRegistry(registry);
         processInstanceDataEventCollection = mongoDatabase.getCollection(processInstancesEventsCollection(), ProcessInstanceDataEvent.class).withCodecRegistry(registry);
         userTaskInstanceDataEventCollection = mongoDatabase.getCollection(userTasksEventsCollection(), UserTaskInstanceDataEvent.class).withCodecRegistry(registry);
+        if (writeBehindMaxEvents() > 0 && !transactionManager().enabled()) {
+            writeBehindBuffer = new WriteBehindEventBuffer(writeBehindMaxEvents(), writeBehindFlushIntervalMillis(), this::publishBatch);
+        }
+    }
+
+    /**
+     * Writes the events still held by the write-behind buffer, if any, and stops it.
+     */
+    protected void close() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.close();
+            writeBehindBuffer = null;
+        }
     }
 
     @Override
     public void publish(DataEvent<?> event) {
+        WriteBehindEventBuffer buffer = writeBehindBuffer;
+        if (buffer != null) {
+            buffer.add(event);
+            return;
+        }
+
         if (this.processInstancesEvents() && event instanceof ProcessInstanceDataEvent) {
             publishEvent(processInstanceDataEventCollection, (ProcessInstanceDataEvent) event);
             return;
@@ -102,8 +141,52 @@ public abstract class MongoDBEventPublisher implements EventPublisher {
 
     @Override
     public void publish(Collection<DataEvent<?>> events) {
+        WriteBehindEventBuffer buffer = writeBehindBuffer;
+        if (buffer != null) {
+            events.forEach(buffer::add);
+        } else {
+            publishBatch(events);
+        }
+    }
+
+    private void publishBatch(Collection<DataEvent<?>> events) {
+        List<ProcessInstanceDataEvent> processInstanceEvents = new ArrayList<>();
+        List<UserTaskInstanceDataEvent> userTaskEvents = new ArrayList<>();
         for (DataEvent<?> event : events) {
-            publish(event);
+            if (this.processInstancesEvents() && event instanceof ProcessInstanceDataEvent) {
+                processInstanceEvents.add((ProcessInstanceDataEvent) event);
+            } else if (this.userTasksEvents() && event instanceof UserTaskInstanceDataEvent) {
+                userTaskEvents.add((UserTaskInstanceDataEvent) event);
+            } else {
+                logger.debug("Unknown type of event '{}', ignoring", event.getType());
+            }
+        }
+        publishEvents(processInstanceDataEventCollection, processInstanceEvents);
+        publishEvents(userTaskInstanceDataEventCollection, userTaskEvents);
+    }
+
+    private <T extends DataEvent<?>> void publishEvents(MongoCollection<T> collection, List<T> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (events.size() == 1) {
+            publishEvent(collection, events.get(0));
+            return;
+        }
+        List<Object> ids = new ArrayList<>(events.size());
+        for (T event : events) {
+            ids.add(event.getId());
+        }
+        // unordered, so the server does not stop at the first failing event; the outbox
+        // documents are removed afterwards with a single command for the whole batch
+        InsertManyOptions options = new InsertManyOptions().ordered(false);
+        if (transactionManager().enabled()) {
+            ClientSession session = transactionManager().getClientSession();
+            collection.insertMany(session, events, options);
+            collection.deleteMany(session, Filters.in(ID, ids));
+        } else {
+            collection.insertMany(events, options);
+            collection.deleteMany(Filters.in(ID, ids));
         }
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.mongodb;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.bson.types.ObjectId;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.events.outbox.OutboxEventCodec;
+import org.kie.kogito.events.outbox.OutboxStore;
+import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Outbox stored in a MongoDB collection.
+ * <p>
+ * Events are inserted with the client session of the unit of work, when transactions are enabled, so they are committed
+ * together with the process instance documents. Draining reads the oldest documents by id and removes them once
+ * published. Documents are not claimed, so running a relay on several replicas may deliver an event more than once.
+ * Dead lettered events are moved to a collection named after the outbox one with the {@value #DEAD_LETTER_SUFFIX} suffix.
+ */
+public class MongoDBOutboxStore implements OutboxStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoDBOutboxStore.class);
+
+    static final String DEAD_LETTER_SUFFIX = "-dead-letter";
+    static final String REASON = "reason";
+    static final String FAILED_AT = "failedAt";
+
+    static final String ID = "_id";
+    static final String TYPE = "type";
+    static final String PAYLOAD = "payload";
+    static final String CREATED_AT = "createdAt";
+
+    private final MongoCollection<Document> collection;
+    private final MongoCollection<Document> deadLetterCollection;
+    private final AbstractTransactionManager transactionManager;
+    private final OutboxEventCodec codec;
+
+    public MongoDBOutboxStore(MongoClient mongoClient, String databaseName, String collectionName, AbstractTransactionManager transactionManager) {
+        this(mongoClient, databaseName, collectionName, transactionManager, new OutboxEventCodec());
+    }
+
+    public MongoDBOutboxStore(MongoClient mongoClient, String databaseName, String collectionName, AbstractTransactionManager transactionManager, OutboxEventCodec codec) {
+        this.collection = mongoClient.getDatabase(databaseName).getCollection(collectionName);
+        this.deadLetterCollection = mongoClient.getDatabase(databaseName).getCollection(collectionName + DEAD_LETTER_SUFFIX);
+        this.transactionManager = transactionManager;
+        this.codec = codec;
+    }
+
+    @Override
+    public void append(Collection<DataEvent<?>> events) {
+        Date now = new Date();
+        List<Document> documents = new ArrayList<>(events.size());
+        for (DataEvent<?> event : events) {
+            documents.add(new Document(ID, new ObjectId())
+                    .append(TYPE, codec.type(event))
+                    .append(PAYLOAD, new Binary(codec.encode(event)))
+                    .append(CREATED_AT, now));
+        }
+        ClientSession session = transactionManager.enabled() ? transactionManager.getClientSession() : null;
+        if (session != null) {
+            collection.insertMany(session, documents);
+        } else {
+            collection.insertMany(documents);
+        }
+    }
+
+    @Override
+    public int drain(int maxEvents, Consumer<List<DataEvent<?>>> publisher) {
+        List<Object> ids = new ArrayList<>();
+        List<DataEvent<?>> events = new ArrayList<>();
+        for (Document document : collection.find().sort(Sorts.ascending(ID)).limit(maxEvents)) {
+            DataEvent<?> event;
+            try {
+                event = codec.decode(document.getString(TYPE), document.get(PAYLOAD, Binary.class).getData());
+            } catch (RuntimeException e) {
+                LOGGER.error("Outbox event {} of type {} cannot be read, moving it to the dead letter collection", document.get(ID), document.getString(TYPE), e);
+                deadLetter(document, String.valueOf(e));
+                continue;
+            }
+            ids.add(document.get(ID));
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return 0;
+        }
+        publisher.accept(events);
+        collection.deleteMany(Filters.in(ID, ids));
+        return events.size();
+    }
+
+    @Override
+    public boolean deadLetterOldest(String reason) {
+        Document oldest = collection.find().sort(Sorts.ascending(ID)).first();
+        if (oldest == null) {
+            return false;
+        }
+        deadLetter(oldest, reason);
+        return true;
+    }
+
+    private void deadLetter(Document document, String reason) {
+        deadLetterCollection.insertOne(new Document(document).append(REASON, reason).append(FAILED_AT, new Date()));
+        collection.deleteOne(Filters.eq(ID, document.get(ID)));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.kie.kogito.event.DataEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers events and hands them over in batches, either when the buffer reaches its maximum size (in the caller
+ * thread) or when the flush interval elapses (in a background thread).
+ * <p>
+ * Events are handed over in the order they were added. Events buffered when the process stops abruptly, or whose
+ * background flush fails, are lost, so this buffer must not be used when events are written within a transaction.
+ */
+class WriteBehindEventBuffer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindEventBuffer.class);
+
+    private final int maxEvents;
+    private final Consumer<List<DataEvent<?>>> flusher;
+    private final ScheduledExecutorService scheduler;
+    private final Lock flushLock = new ReentrantLock();
+
+    private List<DataEvent<?>> events;
+
+    WriteBehindEventBuffer(int maxEvents, long flushIntervalMillis, Consumer<List<DataEvent<?>>> flusher) {
+        this.maxEvents = maxEvents;
+        this.flusher = flusher;
+        this.events = new ArrayList<>(maxEvents);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "kogito-mongodb-events-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledFlush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void add(DataEvent<?> event) {
+        boolean full;
+        synchronized (this) {
+            events.add(event);
+            full = events.size() >= maxEvents;
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    int size() {
+        synchronized (this) {
+            return events.size();
+        }
+    }
+
+    void flush() {
+        flushLock.lock();
+        try {
+            List<DataEvent<?>> batch;
+            synchronized (this) {
+                if (events.isEmpty()) {
+                    return;
+                }
+                batch = events;
+                events = new ArrayList<>(maxEvents);
+            }
+            flusher.accept(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Error writing buffered events, they will be discarded", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -18,13 +18,23 @@
  */
 package org.kie.kogito.events.mongodb.codec;
 
+import java.io.IOException;
+import java.util.Base64;
+
+import org.bson.BsonWriter;
 import org.bson.Document;
 import org.bson.codecs.Codec;
 import org.bson.codecs.DocumentCodec;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.kie.kogito.event.AbstractDataEvent;
+import org.kie.kogito.event.DataEvent;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.mongodb.MongoClientSettings;
 
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
@@ -40,6 +50,8 @@ public class CodecUtils {
             MongoClientSettings.getDefaultCodecRegistry(),
             fromProviders(PojoCodecProvider.builder().automatic(true).build())));
 
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
     static void encodeDataEvent(Document doc, AbstractDataEvent<?> event) {
         doc.put(ID, event.getId());
         doc.put("specversion", event.getSpecVersion().toString());
@@ -60,4 +72,100 @@ public class CodecUtils {
     static Codec<Document> codec() {
         return CODEC;
     }
+
+    /**
+     * Serializes the event with Jackson into a token buffer.
+     * The serialization is complete before anything is written, so a failure leaves the BSON writer untouched.
+     */
+    static TokenBuffer serialize(DataEvent<?> event) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(MAPPER, false);
+        MAPPER.writeValue(buffer, event);
+        return buffer;
+    }
+
+    /**
+     * Writes the serialized event as a BSON document with the event id as {@code _id}, straight from the Jackson tokens
+     * instead of printing and parsing a JSON document. Values are mapped as that JSON document was: integers to int32
+     * when they fit, int64 otherwise, decimals to double, binary to base64 strings and dates to ISO strings.
+     */
+    static void writeDocument(BsonWriter writer, String id, TokenBuffer buffer) throws IOException {
+        try (JsonParser parser = buffer.asParser()) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Event is not serialized as an object");
+            }
+            writer.writeStartDocument();
+            writer.writeName(ID);
+            if (id == null) {
+                writer.writeNull();
+            } else {
+                writer.writeString(id);
+            }
+            writeFields(writer, parser);
+            writer.writeEndDocument();
+        }
+    }
+
+    private static void writeFields(BsonWriter writer, JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (!ID.equals(name)) {
+                writer.writeName(name);
+                writeValue(writer, parser, token);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static void writeValue(BsonWriter writer, JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                writer.writeStartDocument();
+                writeFields(writer, parser);
+                writer.writeEndDocument();
+                break;
+            case START_ARRAY:
+                writer.writeStartArray();
+                for (JsonToken item = parser.nextToken(); item != JsonToken.END_ARRAY; item = parser.nextToken()) {
+                    writeValue(writer, parser, item);
+                }
+                writer.writeEndArray();
+                break;
+            case VALUE_STRING:
+                writer.writeString(parser.getText());
+                break;
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER && parser.getBigIntegerValue().bitLength() >= Long.SIZE) {
+                    writer.writeDouble(parser.getDoubleValue());
+                } else {
+                    long value = parser.getLongValue();
+                    if (value == (int) value) {
+                        writer.writeInt32((int) value);
+                    } else {
+                        writer.writeInt64(value);
+                    }
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                writer.writeDouble(parser.getDoubleValue());
+                break;
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                writer.writeBoolean(parser.getBooleanValue());
+                break;
+            case VALUE_EMBEDDED_OBJECT:
+                Object value = parser.getEmbeddedObject();
+                if (value == null) {
+                    writer.writeNull();
+                } else if (value instanceof byte[]) {
+                    writer.writeString(Base64.getEncoder().encodeToString((byte[]) value));
+                } else {
+                    writer.writeString(value.toString());
+                }
+                break;
+            default:
+                writer.writeNull();
+        }
+    }
 }
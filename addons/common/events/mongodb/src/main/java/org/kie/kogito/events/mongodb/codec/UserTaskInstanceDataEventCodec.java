@@ -18,11 +18,13 @@
  */
 package org.kie.kogito.events.mongodb.codec;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import org.bson.BsonReader;
 import org.bson.BsonString;
 import org.bson.BsonValue;
 import org.bson.BsonWriter;
-import org.bson.Document;
 import org.bson.codecs.CollectibleCodec;
 import org.bson.codecs.DecoderContext;
 import org.bson.codecs.EncoderContext;
@@ -30,11 +32,10 @@ import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
-import static org.kie.kogito.events.mongodb.codec.CodecUtils.codec;
+import static org.kie.kogito.events.mongodb.codec.CodecUtils.serialize;
+import static org.kie.kogito.events.mongodb.codec.CodecUtils.writeDocument;
 
 public class UserTaskInstanceDataEventCodec implements CollectibleCodec<UserTaskInstanceDataEvent> {
 
@@ -65,15 +66,17 @@ public class UserTaskInstanceDataEventCodec implements CollectibleCodec<UserTask
 
     @Override
     public void encode(BsonWriter bsonWriter, UserTaskInstanceDataEvent userTaskInstanceDataEvent, EncoderContext encoderContext) {
+        TokenBuffer buffer;
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.findAndRegisterModules();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            Document document = Document.parse(mapper.writeValueAsString(userTaskInstanceDataEvent));
-            document.put(CodecUtils.ID, userTaskInstanceDataEvent.getId());
-            codec().encode(bsonWriter, document, encoderContext);
-        } catch (JsonProcessingException e) {
+            buffer = serialize(userTaskInstanceDataEvent);
+        } catch (IOException e) {
             LOGGER.error("Could not process json event", e);
+            return;
+        }
+        try {
+            writeDocument(bsonWriter, userTaskInstanceDataEvent.getId(), buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -20,6 +20,7 @@ package org.kie.kogito.events.mongodb;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.codecs.configuration.CodecRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,11 +38,13 @@ import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertManyOptions;
 
 import static org.kie.kogito.events.mongodb.MongoDBEventPublisher.ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -62,6 +65,8 @@ class MongoDBEventPublisherTest {
 
     private AbstractDataEvent<?> event;
 
+    private int writeBehindMaxEvents;
+
     private MongoDBEventPublisher publisher = new MongoDBEventPublisher() {
         @Override
         protected MongoClient mongoClient() {
@@ -98,6 +103,16 @@ class MongoDBEventPublisherTest {
             return "testTECollection";
         }
 
+        @Override
+        protected int writeBehindMaxEvents() {
+            return writeBehindMaxEvents;
+        }
+
+        @Override
+        protected long writeBehindFlushIntervalMillis() {
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
     };
 
     @BeforeEach
@@ -219,4 +234,80 @@ class MongoDBEventPublisherTest {
         verify(mongoCollection).deleteOne(eq(clientSession), eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
 
     }
+
+    @Test
+    void testPublishEvents_batch() {
+        publisher.configure();
+
+        ProcessInstanceStateDataEvent otherProcessInstanceDataEvent = mock(ProcessInstanceStateDataEvent.class);
+        when(otherProcessInstanceDataEvent.getId()).thenReturn("otherProcessInstanceEvent");
+
+        List<DataEvent<?>> events = new ArrayList<>();
+        events.add(processInstanceDataEvent);
+        events.add(userTaskInstanceDataEvent);
+        events.add(otherProcessInstanceDataEvent);
+        events.add(event);
+
+        publisher.publish(events);
+
+        verify(mongoCollection).insertMany(eq(List.of(processInstanceDataEvent, otherProcessInstanceDataEvent)), any(InsertManyOptions.class));
+        verify(mongoCollection).deleteMany(eq(Filters.in(ID, List.of("testProcessInstanceEvent", "otherProcessInstanceEvent"))));
+
+        verify(mongoCollection).insertOne(eq(userTaskInstanceDataEvent));
+        verify(mongoCollection).deleteOne(eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
+        verify(mongoCollection, times(1)).insertOne(any());
+    }
+
+    @Test
+    void testPublishEvents_batchWithTransaction() {
+        ClientSession clientSession = mock(ClientSession.class);
+        when(transactionManager.getClientSession()).thenReturn(clientSession);
+        when(transactionManager.enabled()).thenReturn(true);
+
+        publisher.configure();
+
+        UserTaskInstanceStateDataEvent otherUserTaskInstanceDataEvent = mock(UserTaskInstanceStateDataEvent.class);
+        when(otherUserTaskInstanceDataEvent.getId()).thenReturn("otherUserTaskInstanceEvent");
+
+        publisher.publish(List.of(userTaskInstanceDataEvent, otherUserTaskInstanceDataEvent));
+
+        verify(mongoCollection).insertMany(eq(clientSession), eq(List.of(userTaskInstanceDataEvent, otherUserTaskInstanceDataEvent)), any(InsertManyOptions.class));
+        verify(mongoCollection).deleteMany(eq(clientSession), eq(Filters.in(ID, List.of("testUserTaskInstanceEvent", "otherUserTaskInstanceEvent"))));
+    }
+
+    @Test
+    void testPublish_writeBehind() {
+        writeBehindMaxEvents = 2;
+        publisher.configure();
+
+        ProcessInstanceStateDataEvent otherProcessInstanceDataEvent = mock(ProcessInstanceStateDataEvent.class);
+        when(otherProcessInstanceDataEvent.getId()).thenReturn("otherProcessInstanceEvent");
+
+        publisher.publish(processInstanceDataEvent);
+        verify(mongoCollection, never()).insertOne(any());
+
+        publisher.publish(otherProcessInstanceDataEvent);
+        verify(mongoCollection).insertMany(eq(List.of(processInstanceDataEvent, otherProcessInstanceDataEvent)), any(InsertManyOptions.class));
+        verify(mongoCollection).deleteMany(eq(Filters.in(ID, List.of("testProcessInstanceEvent", "otherProcessInstanceEvent"))));
+
+        publisher.publish(userTaskInstanceDataEvent);
+        verify(mongoCollection, never()).insertOne(any());
+
+        publisher.close();
+        verify(mongoCollection).insertOne(eq(userTaskInstanceDataEvent));
+        verify(mongoCollection).deleteOne(eq(Filters.eq(ID, "testUserTaskInstanceEvent")));
+    }
+
+    @Test
+    void testPublish_writeBehindIgnoredWithTransaction() {
+        ClientSession clientSession = mock(ClientSession.class);
+        when(transactionManager.getClientSession()).thenReturn(clientSession);
+        when(transactionManager.enabled()).thenReturn(true);
+        writeBehindMaxEvents = 2;
+        publisher.configure();
+
+        publisher.publish(processInstanceDataEvent);
+        verify(mongoCollection).insertOne(eq(clientSession), eq(processInstanceDataEvent));
+        publisher.close();
+    }
 }
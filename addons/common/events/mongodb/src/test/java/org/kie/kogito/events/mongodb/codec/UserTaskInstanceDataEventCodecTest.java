@@ -22,12 +22,14 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
 import org.bson.BsonReader;
 import org.bson.BsonString;
-import org.bson.BsonWriter;
 import org.bson.Document;
-import org.bson.codecs.Codec;
 import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
 import org.bson.codecs.EncoderContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,20 +38,13 @@ import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceEventMetadata;
 import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceStateEventBody;
-import org.mockito.ArgumentCaptor;
-import org.mockito.MockedStatic;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.events.mongodb.codec.CodecUtils.ID;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
 
 class UserTaskInstanceDataEventCodecTest {
 
@@ -118,18 +113,13 @@ class UserTaskInstanceDataEventCodecTest {
 
     @Test
     void encode() {
-        try (MockedStatic<CodecUtils> codecUtils = mockStatic(CodecUtils.class)) {
-            Codec<Document> mockCodec = mock(Codec.class);
-            codecUtils.when(CodecUtils::codec).thenReturn(mockCodec);
-            codecUtils.when(() -> CodecUtils.encodeDataEvent(any(), any())).thenCallRealMethod();
-            BsonWriter writer = mock(BsonWriter.class);
-            EncoderContext context = EncoderContext.builder().build();
-
-            codec.encode(writer, event, context);
-
-            ArgumentCaptor<Document> captor = ArgumentCaptor.forClass(Document.class);
-            verify(mockCodec, times(1)).encode(eq(writer), captor.capture(), eq(context));
-            Document doc = captor.getValue();
+        try {
+            BsonDocument bson = new BsonDocument();
+
+            codec.encode(new BsonDocumentWriter(bson), event, EncoderContext.builder().build());
+
+            Document doc = new DocumentCodec().decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+            assertThat(bson.getFirstKey()).isEqualTo(ID);
 
             Map<String, Object> node = new ObjectMapper().readValue(doc.toJson(), Map.class);
 
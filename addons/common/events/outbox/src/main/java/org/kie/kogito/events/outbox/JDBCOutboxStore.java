@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.event.DataEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Outbox stored in the {@code event_outbox} table.
+ * <p>
+ * Events are inserted with a connection of the given data source, which must take part in the transaction of the unit
+ * of work: the unit of work data source of the JDBC persistence transaction manager, or a data source enlisted in a JTA
+ * or Spring managed transaction. Appending on a connection in auto commit mode fails, since the events would then be
+ * committed whether or not the instance changes are. Draining reads the oldest rows and
+ * deletes them in a single transaction; on PostgreSQL rows are read with {@code FOR UPDATE SKIP LOCKED}, so several
+ * replicas can relay the same outbox without sending the same events. Dead lettered events are moved to the
+ * {@code event_outbox_dead_letter} table along with the reason.
+ */
+public class JDBCOutboxStore implements OutboxStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JDBCOutboxStore.class);
+
+    static final String INSERT = "INSERT INTO event_outbox (event_type, payload) VALUES (?, ?)";
+    static final String FIND_OLDEST = "SELECT seq, event_type, payload FROM event_outbox ORDER BY seq";
+    static final String FIND_OLDEST_SKIP_LOCKED = FIND_OLDEST + " LIMIT ? FOR UPDATE SKIP LOCKED";
+    static final String DELETE = "DELETE FROM event_outbox WHERE seq = ?";
+    static final String INSERT_DEAD_LETTER = "INSERT INTO event_outbox_dead_letter (seq, event_type, payload, reason, failed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int MAX_REASON_LENGTH = 4000;
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final DataSource dataSource;
+    private final OutboxEventCodec codec;
+    private volatile Boolean skipLocked;
+
+    public JDBCOutboxStore(DataSource dataSource) {
+        this(dataSource, new OutboxEventCodec());
+    }
+
+    public JDBCOutboxStore(DataSource dataSource, OutboxEventCodec codec) {
+        this.dataSource = dataSource;
+        this.codec = codec;
+    }
+
+    @Override
+    public void append(Collection<DataEvent<?>> events) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            if (connection.getAutoCommit()) {
+                throw new IllegalStateException("Outbox events must be appended within the unit of work transaction, "
+                        + "enable the transaction manager with kogito.persistence.transaction.enabled or run the unit of work in a JTA transaction");
+            }
+            for (DataEvent<?> event : events) {
+                statement.setString(1, codec.type(event));
+                statement.setBytes(2, codec.encode(event));
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error appending " + events.size() + " events to outbox", e);
+        }
+    }
+
+    @Override
+    public int drain(int maxEvents, Consumer<List<DataEvent<?>>> publisher) {
+        return inTransaction(connection -> {
+            List<Long> sequences = new ArrayList<>();
+            List<DataEvent<?>> events = new ArrayList<>();
+            for (Row row : read(connection, maxEvents)) {
+                DataEvent<?> event;
+                try {
+                    event = codec.decode(row.type(), row.payload());
+                } catch (RuntimeException e) {
+                    LOGGER.error("Outbox event {} of type {} cannot be read, moving it to the dead letter table", row.seq(), row.type(), e);
+                    deadLetter(connection, row, String.valueOf(e));
+                    continue;
+                }
+                sequences.add(row.seq());
+                events.add(event);
+            }
+            if (!events.isEmpty()) {
+                publisher.accept(events);
+                delete(connection, sequences);
+            }
+            return events.size();
+        });
+    }
+
+    @Override
+    public boolean deadLetterOldest(String reason) {
+        return inTransaction(connection -> {
+            List<Row> rows = read(connection, 1);
+            if (rows.isEmpty()) {
+                return false;
+            }
+            deadLetter(connection, rows.get(0), reason);
+            return true;
+        });
+    }
+
+    private <T> T inTransaction(SQLFunction<Connection, T> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                T result = work.apply(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error accessing outbox", e);
+        }
+    }
+
+    private List<Row> read(Connection connection, int maxEvents) throws SQLException {
+        boolean useSkipLocked = isSkipLocked(connection);
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(useSkipLocked ? FIND_OLDEST_SKIP_LOCKED : FIND_OLDEST)) {
+            if (useSkipLocked) {
+                statement.setInt(1, maxEvents);
+            } else {
+                statement.setMaxRows(maxEvents);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    rows.add(new Row(resultSet.getLong(1), resultSet.getString(2), resultSet.getBytes(3)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void deadLetter(Connection connection, Row row, String reason) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_DEAD_LETTER)) {
+            statement.setLong(1, row.seq());
+            statement.setString(2, row.type());
+            statement.setBytes(3, row.payload());
+            statement.setString(4, reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason);
+            statement.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            statement.executeUpdate();
+        }
+        delete(connection, List.of(row.seq()));
+    }
+
+    private void delete(Connection connection, List<Long> sequences) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (Long sequence : sequences) {
+                statement.setLong(1, sequence);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private boolean isSkipLocked(Connection connection) throws SQLException {
+        Boolean current = skipLocked;
+        if (current == null) {
+            current = POSTGRESQL.equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            LOGGER.debug("Outbox rows locked with SKIP LOCKED: {}", current);
+            skipLocked = current;
+        }
+        return current;
+    }
+
+    private record Row(long seq, String type, byte[] payload) {
+    }
+
+    @FunctionalInterface
+    private interface SQLFunction<T, R> {
+        R apply(T value) throws SQLException;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.jackson.utils.ObjectMapperFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Converts events to and from the JSON representation kept in the outbox, along with the event class name.
+ */
+public class OutboxEventCodec {
+
+    private final ObjectMapper mapper;
+
+    public OutboxEventCodec() {
+        this(ObjectMapperFactory.get());
+    }
+
+    public OutboxEventCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    public String type(DataEvent<?> event) {
+        return event.getClass().getName();
+    }
+
+    public byte[] encode(DataEvent<?> event) {
+        try {
+            return mapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error serializing event " + event.getId(), e);
+        }
+    }
+
+    public DataEvent<?> decode(String type, byte[] payload) {
+        try {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            Class<?> eventClass = Class.forName(type, true, classLoader != null ? classLoader : OutboxEventCodec.class.getClassLoader());
+            return (DataEvent<?>) mapper.readValue(payload, eventClass);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Unknown event type " + type, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error deserializing event of type " + type, e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.RelayEventPublisher;
+
+/**
+ * Event publisher writing events to an {@link OutboxStore} instead of sending them, so the unit of work completes
+ * without waiting on the broker. Being a {@link RelayEventPublisher}, it receives the publishers actually sending the
+ * events instead of the event manager, and starts an {@link OutboxRelay} delivering the stored events to them. The
+ * relay is stopped by {@link #close()}.
+ */
+public class OutboxEventPublisher implements RelayEventPublisher, AutoCloseable {
+
+    private final OutboxStore store;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private OutboxRelay relay;
+
+    public OutboxEventPublisher(OutboxStore store) {
+        this(store, OutboxRelay.DEFAULT_BATCH_SIZE, OutboxRelay.DEFAULT_POLL_INTERVAL, OutboxRelay.DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public OutboxEventPublisher(OutboxStore store, int batchSize, Duration pollInterval, int maxAttempts) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public synchronized void relayTo(Collection<EventPublisher> publishers) {
+        if (relay != null) {
+            relay.close();
+        }
+        relay = new OutboxRelay(store, publishers, batchSize, pollInterval, maxAttempts);
+        relay.start();
+    }
+
+    @Override
+    public void publish(DataEvent<?> event) {
+        store.append(List.of(event));
+    }
+
+    @Override
+    public void publish(Collection<DataEvent<?>> events) {
+        if (!events.isEmpty()) {
+            store.append(events);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (relay != null) {
+            relay.close();
+            relay = null;
+        }
+    }
+}
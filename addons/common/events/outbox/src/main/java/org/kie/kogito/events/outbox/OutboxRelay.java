@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background task draining the {@link OutboxStore} to the publishers sending events to the broker.
+ * <p>
+ * While full batches are read the relay keeps draining; once the outbox is empty it waits for the poll interval before
+ * checking again. After a failure the wait doubles on every consecutive failure, up to {@link #MAX_BACKOFF}. Events are
+ * deleted only after every publisher accepted them, so delivery is at least once: a failure or a crash between publishing
+ * and deleting makes the batch be sent again.
+ * <p>
+ * Accepted only means that {@code publish} returned normally. The guarantee holds for publishers that wait for the broker
+ * acknowledgement before returning; a fire and forget publisher (for instance the Spring Boot Kafka one, or the Quarkus
+ * messaging one with {@code kogito.events.<type>.errors.propagate=false}) lets events be deleted before the broker
+ * stored them, so they are lost if the broker then fails.
+ * <p>
+ * So that a single event the publishers keep rejecting does not stop the relay, after {@code maxAttempts} consecutive
+ * failures the oldest event is relayed alone, and once it has failed {@code maxAttempts} times on its own it is moved to
+ * the dead letter storage of the outbox. A broker outage long enough to reach that point also dead letters events, so
+ * the limit should exceed the expected outages; a limit of zero or less disables dead lettering.
+ */
+public class OutboxRelay implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(500);
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+    public static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final OutboxStore store;
+    private final Collection<EventPublisher> publishers;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final int maxAttempts;
+    private final Object drainLock = new Object();
+    // consecutive failed drains, and consecutive failures relaying the oldest event alone
+    private int failures;
+    private int headFailures;
+    private ScheduledExecutorService executor;
+
+    public OutboxRelay(OutboxStore store, Collection<EventPublisher> publishers) {
+        this(store, publishers, DEFAULT_BATCH_SIZE, DEFAULT_POLL_INTERVAL);
+    }
+
+    public OutboxRelay(OutboxStore store, Collection<EventPublisher> publishers, int batchSize, Duration pollInterval) {
+        this(store, publishers, batchSize, pollInterval, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public OutboxRelay(OutboxStore store, Collection<EventPublisher> publishers, int batchSize, Duration pollInterval, int maxAttempts) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        this.store = store;
+        this.publishers = new ArrayList<>(publishers);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public synchronized void start() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "kogito-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.schedule(this::run, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void run() {
+        long delay = pollInterval.toMillis();
+        try {
+            while (drain() == batchSize) {
+                LOGGER.trace("Outbox batch full, draining again");
+            }
+        } catch (RuntimeException e) {
+            delay = backoff();
+            LOGGER.warn("Error relaying outbox events, retrying in {} ms", delay, e);
+        }
+        synchronized (this) {
+            if (executor != null) {
+                executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private long backoff() {
+        synchronized (drainLock) {
+            return Math.min(pollInterval.toMillis() << Math.min(Math.max(failures - 1, 0), 20), MAX_BACKOFF.toMillis());
+        }
+    }
+
+    /**
+     * Relays one batch of events, or only the oldest one while it keeps failing.
+     *
+     * @return number of events relayed
+     */
+    public int drain() {
+        synchronized (drainLock) {
+            boolean isolating = maxAttempts > 0 && failures >= maxAttempts;
+            int count;
+            try {
+                count = store.drain(isolating ? 1 : batchSize, this::publish);
+            } catch (RuntimeException e) {
+                failures++;
+                if (isolating && ++headFailures >= maxAttempts) {
+                    LOGGER.error("Outbox event could not be relayed after {} attempts, moving it to the dead letter storage", headFailures, e);
+                    store.deadLetterOldest(String.valueOf(e));
+                    failures = 0;
+                    headFailures = 0;
+                }
+                throw e;
+            }
+            failures = 0;
+            headFailures = 0;
+            if (count > 0) {
+                LOGGER.debug("Relayed {} outbox events", count);
+            }
+            return count;
+        }
+    }
+
+    private void publish(List<DataEvent<?>> events) {
+        for (EventPublisher publisher : publishers) {
+            publisher.publish(events);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.kie.kogito.event.DataEvent;
+
+/**
+ * Storage of events waiting to be relayed.
+ * <p>
+ * Events are appended as part of the transaction persisting the process or user task instance that produced them, so
+ * they are stored if and only if the instance change is committed. They are later drained in batches by the
+ * {@link OutboxRelay}. Events that cannot be relayed are moved to a dead letter storage, where they are kept for
+ * inspection but no longer relayed.
+ */
+public interface OutboxStore {
+
+    /**
+     * Appends the events to the outbox, within the transaction active on the current thread if any.
+     *
+     * @param events events to store, in publishing order
+     */
+    void append(Collection<DataEvent<?>> events);
+
+    /**
+     * Reads up to {@code maxEvents} of the oldest events and passes them to the publisher. Events are removed from the
+     * outbox only once the publisher returns normally; if it throws, they stay and will be handed over again. Events that
+     * cannot be read back (for instance because their class is no longer available) are moved to the dead letter storage
+     * instead of being handed over.
+     *
+     * @param maxEvents maximum number of events to read
+     * @param publisher receives the events, in the order they were appended
+     * @return the number of events published
+     */
+    int drain(int maxEvents, Consumer<List<DataEvent<?>>> publisher);
+
+    /**
+     * Moves the oldest event to the dead letter storage.
+     *
+     * @param reason why the event could not be relayed
+     * @return true if there was an event to move
+     */
+    boolean deadLetterOldest(String reason);
+}
@@ -0,0 +1,36 @@
+--
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+--
+
+CREATE TABLE event_outbox
+(
+    seq        bigserial         NOT NULL,
+    event_type character varying NOT NULL,
+    payload    bytea             NOT NULL,
+    CONSTRAINT event_outbox_pkey PRIMARY KEY (seq)
+);
+
+CREATE TABLE event_outbox_dead_letter
+(
+    seq        bigint            NOT NULL,
+    event_type character varying NOT NULL,
+    payload    bytea             NOT NULL,
+    reason     character varying(4000),
+    failed_at  timestamp         NOT NULL,
+    CONSTRAINT event_outbox_dead_letter_pkey PRIMARY KEY (seq)
+);
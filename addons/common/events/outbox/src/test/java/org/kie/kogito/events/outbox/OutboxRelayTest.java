@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class OutboxRelayTest {
+
+    private static class InMemoryOutboxStore implements OutboxStore {
+
+        private final List<DataEvent<?>> events = new ArrayList<>();
+        private final List<DataEvent<?>> deadLetters = new ArrayList<>();
+
+        @Override
+        public synchronized void append(Collection<DataEvent<?>> events) {
+            this.events.addAll(events);
+        }
+
+        @Override
+        public synchronized int drain(int maxEvents, Consumer<List<DataEvent<?>>> publisher) {
+            List<DataEvent<?>> batch = new ArrayList<>(events.subList(0, Math.min(maxEvents, events.size())));
+            if (!batch.isEmpty()) {
+                publisher.accept(batch);
+                events.subList(0, batch.size()).clear();
+            }
+            return batch.size();
+        }
+
+        @Override
+        public synchronized boolean deadLetterOldest(String reason) {
+            if (events.isEmpty()) {
+                return false;
+            }
+            deadLetters.add(events.remove(0));
+            return true;
+        }
+
+        synchronized int size() {
+            return events.size();
+        }
+    }
+
+    private final InMemoryOutboxStore store = new InMemoryOutboxStore();
+
+    @Test
+    void testPublisherAppendsToStore() {
+        OutboxEventPublisher publisher = new OutboxEventPublisher(store);
+        publisher.publish(List.of(mock(DataEvent.class), mock(DataEvent.class)));
+        publisher.publish(mock(DataEvent.class));
+        publisher.publish(List.of());
+
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testDrainInBatches() {
+        store.append(events(5));
+        List<Integer> batches = new ArrayList<>();
+        EventPublisher target = new EventPublisher() {
+            @Override
+            public void publish(DataEvent<?> event) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void publish(Collection<DataEvent<?>> events) {
+                batches.add(events.size());
+            }
+        };
+        OutboxRelay relay = new OutboxRelay(store, List.of(target), 2, Duration.ofMillis(10));
+
+        assertThat(relay.drain()).isEqualTo(2);
+        assertThat(relay.drain()).isEqualTo(2);
+        assertThat(relay.drain()).isEqualTo(1);
+        assertThat(relay.drain()).isZero();
+        assertThat(batches).containsExactly(2, 2, 1);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testFailedPublishKeepsEvents() {
+        store.append(events(3));
+        EventPublisher target = mock(EventPublisher.class);
+        doThrow(new IllegalStateException("broker down")).doNothing().when(target).publish(anyCollection());
+        OutboxRelay relay = new OutboxRelay(store, List.of(target), 10, Duration.ofMillis(10));
+
+        assertThatThrownBy(relay::drain).isInstanceOf(IllegalStateException.class);
+        assertThat(store.size()).isEqualTo(3);
+
+        assertThat(relay.drain()).isEqualTo(3);
+        assertThat(store.size()).isZero();
+        verify(target, times(2)).publish(anyCollection());
+    }
+
+    @Test
+    void testPoisonEventDeadLettered() {
+        List<DataEvent<?>> events = events(3);
+        DataEvent<?> poison = events.get(0);
+        store.append(events);
+        List<DataEvent<?>> published = new ArrayList<>();
+        EventPublisher target = new EventPublisher() {
+            @Override
+            public void publish(DataEvent<?> event) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void publish(Collection<DataEvent<?>> batch) {
+                if (batch.contains(poison)) {
+                    throw new IllegalStateException("rejected");
+                }
+                published.addAll(batch);
+            }
+        };
+        OutboxRelay relay = new OutboxRelay(store, List.of(target), 10, Duration.ofMillis(10), 2);
+
+        // two failed batches, then the oldest event alone fails twice and is moved away
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(relay::drain).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(store.deadLetters).containsExactly(poison);
+
+        assertThat(relay.drain()).isEqualTo(2);
+        assertThat(published).containsExactlyElementsOf(events.subList(1, 3));
+    }
+
+    @Test
+    void testRelayStartedWithRelayedPublishers() throws Exception {
+        EventPublisher target = mock(EventPublisher.class);
+        try (OutboxEventPublisher publisher = new OutboxEventPublisher(store, 10, Duration.ofMillis(10), 3)) {
+            publisher.relayTo(List.of(target));
+            publisher.publish(events(5));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        assertThat(store.size()).isZero();
+        verify(target, atLeastOnce()).publish(anyCollection());
+    }
+
+    @Test
+    void testBackgroundRelay() throws Exception {
+        EventPublisher target = mock(EventPublisher.class);
+        doNothing().when(target).publish(anyCollection());
+        try (OutboxRelay relay = new OutboxRelay(store, List.of(target), 10, Duration.ofMillis(10))) {
+            relay.start();
+            store.append(events(25));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.size() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+        assertThat(store.size()).isZero();
+    }
+
+    private static List<DataEvent<?>> events(int count) {
+        List<DataEvent<?>> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(mock(DataEvent.class));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+
+/**
+ * Collects the job requests issued during a unit of work and hands them to the sender as a single batch once
+ * the unit of work ends, instead of one remote call per timer. Requests that cancel each other inside the same
+ * batch (a job created and cancelled before the unit of work ends) are never sent. Requests of the same job are
+ * kept adjacent and in issue order. Without a unit of work manager every request is sent right away.
+ *
+ * @param <R> request payload handled by the sender
+ */
+public class JobRequestBatcher<R> {
+
+    public enum Operation {
+        CREATE,
+        UPDATE,
+        CANCEL
+    }
+
+    public record JobRequest<R>(Operation operation, String id, R payload) {
+    }
+
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final Consumer<List<JobRequest<R>>> sender;
+    private final Map<UnitOfWork, Batch> batches = new ConcurrentHashMap<>();
+
+    public JobRequestBatcher(UnitOfWorkManager unitOfWorkManager, Consumer<List<JobRequest<R>>> sender) {
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.sender = sender;
+    }
+
+    public void create(String id, R payload) {
+        submit(new JobRequest<>(Operation.CREATE, id, payload));
+    }
+
+    public void update(String id, R payload) {
+        submit(new JobRequest<>(Operation.UPDATE, id, payload));
+    }
+
+    public void cancel(String id, R payload) {
+        submit(new JobRequest<>(Operation.CANCEL, id, payload));
+    }
+
+    private void submit(JobRequest<R> request) {
+        if (unitOfWorkManager == null) {
+            sender.accept(List.of(request));
+            return;
+        }
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        while (true) {
+            Batch batch = batches.get(unitOfWork);
+            if (batch == null) {
+                batch = new Batch(unitOfWork);
+                batch.add(request);
+                if (batches.putIfAbsent(unitOfWork, batch) == null) {
+                    // pass through units of work perform the batch right away
+                    unitOfWork.intercept(batch);
+                    return;
+                }
+            } else if (batch.add(request)) {
+                return;
+            }
+        }
+    }
+
+    int pendingBatches() {
+        return batches.size();
+    }
+
+    private class Batch implements WorkUnit<Batch> {
+
+        private final UnitOfWork unitOfWork;
+        private final Map<String, List<JobRequest<R>>> requests = new LinkedHashMap<>();
+        private boolean closed;
+
+        private Batch(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        synchronized boolean add(JobRequest<R> request) {
+            if (closed) {
+                return false;
+            }
+            List<JobRequest<R>> chain = requests.computeIfAbsent(request.id(), k -> new ArrayList<>(1));
+            JobRequest<R> last = chain.isEmpty() ? null : chain.get(chain.size() - 1);
+            switch (request.operation()) {
+                case CREATE:
+                    if (last != null && last.operation() == Operation.CREATE) {
+                        chain.set(chain.size() - 1, request);
+                    } else {
+                        chain.add(request);
+                    }
+                    break;
+                case UPDATE:
+                    if (last != null && last.operation() != Operation.CANCEL) {
+                        // not sent yet, so the pending request just carries the latest payload
+                        chain.set(chain.size() - 1, new JobRequest<>(last.operation(), request.id(), request.payload()));
+                    } else {
+                        chain.add(request);
+                    }
+                    break;
+                case CANCEL:
+                    boolean createdHere = false;
+                    while (!chain.isEmpty() && chain.get(chain.size() - 1).operation() != Operation.CANCEL) {
+                        createdHere = chain.remove(chain.size() - 1).operation() == Operation.CREATE && chain.isEmpty();
+                    }
+                    if (chain.isEmpty() && createdHere) {
+                        requests.remove(request.id());
+                    } else if (chain.isEmpty()) {
+                        chain.add(request);
+                    }
+                    break;
+            }
+            return true;
+        }
+
+        private synchronized List<JobRequest<R>> close() {
+            closed = true;
+            batches.remove(unitOfWork, this);
+            List<JobRequest<R>> result = new ArrayList<>();
+            requests.values().forEach(result::addAll);
+            return result;
+        }
+
+        @Override
+        public Batch data() {
+            return this;
+        }
+
+        @Override
+        public void perform() {
+            List<JobRequest<R>> toSend = close();
+            if (!toSend.isEmpty()) {
+                sender.accept(toSend);
+            }
+        }
+
+        @Override
+        public void abort() {
+            close();
+        }
+
+        @Override
+        public Integer priority() {
+            // after the work units scheduling timers at the end of the unit of work
+            return LOW_PRIORITY + 1;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.jobs.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.jobs.api.JobRequestBatcher.JobRequest;
+import org.kie.kogito.jobs.api.JobRequestBatcher.Operation;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class JobRequestBatcherTest {
+
+    private List<List<JobRequest<String>>> sent;
+    private TestUnitOfWork unitOfWork;
+    private JobRequestBatcher<String> batcher;
+
+    @BeforeEach
+    void setUp() {
+        sent = new ArrayList<>();
+        unitOfWork = new TestUnitOfWork();
+        batcher = new JobRequestBatcher<>(new TestUnitOfWorkManager(unitOfWork), sent::add);
+    }
+
+    @Test
+    void testSentImmediatelyWithoutUnitOfWork() {
+        JobRequestBatcher<String> immediate = new JobRequestBatcher<>(null, sent::add);
+        immediate.create("1", "job1");
+        immediate.cancel("1", null);
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void testSentAsOneBatchWhenUnitOfWorkEnds() {
+        batcher.create("1", "job1");
+        batcher.create("2", "job2");
+        batcher.cancel("3", null);
+        assertThat(sent).isEmpty();
+
+        unitOfWork.end();
+
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0)).extracting(JobRequest::operation, JobRequest::id)
+                .containsExactly(tuple(Operation.CREATE, "1"), tuple(Operation.CREATE, "2"), tuple(Operation.CANCEL, "3"));
+        assertThat(batcher.pendingBatches()).isZero();
+    }
+
+    @Test
+    void testCreatedAndCancelledJobNotSent() {
+        batcher.create("1", "job1");
+        batcher.update("1", "job1-updated");
+        batcher.cancel("1", null);
+        batcher.create("2", "job2");
+        batcher.update("2", "job2-updated");
+
+        unitOfWork.end();
+
+        assertThat(sent.get(0)).extracting(JobRequest::operation, JobRequest::id, JobRequest::payload)
+                .containsExactly(tuple(Operation.CREATE, "2", "job2-updated"));
+    }
+
+    @Test
+    void testCancelBeforeCreateKeptInOrder() {
+        batcher.cancel("1", null);
+        batcher.create("1", "job1");
+        batcher.create("2", "job2");
+        batcher.cancel("1", null);
+        batcher.create("1", "job1-new");
+
+        unitOfWork.end();
+
+        assertThat(sent.get(0)).extracting(JobRequest::operation, JobRequest::id, JobRequest::payload)
+                .containsExactly(tuple(Operation.CANCEL, "1", null), tuple(Operation.CREATE, "1", "job1-new"), tuple(Operation.CREATE, "2", "job2"));
+    }
+
+    @Test
+    void testAbortedUnitOfWorkSendsNothing() {
+        batcher.create("1", "job1");
+        unitOfWork.abort();
+        assertThat(sent).isEmpty();
+        assertThat(batcher.pendingBatches()).isZero();
+    }
+
+    private static class TestUnitOfWork implements UnitOfWork {
+
+        private final List<WorkUnit<?>> work = new ArrayList<>();
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void end() {
+            work.forEach(WorkUnit::perform);
+        }
+
+        @Override
+        public void abort() {
+            work.forEach(WorkUnit::abort);
+        }
+
+        @Override
+        public void intercept(WorkUnit unit) {
+            work.add(unit);
+        }
+    }
+
+    private static class TestUnitOfWorkManager implements UnitOfWorkManager {
+
+        private final UnitOfWork unitOfWork;
+
+        TestUnitOfWorkManager(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        @Override
+        public UnitOfWork currentUnitOfWork() {
+            return unitOfWork;
+        }
+
+        @Override
+        public UnitOfWork newUnitOfWork() {
+            return unitOfWork;
+        }
+
+        @Override
+        public EventManager eventManager() {
+            return null;
+        }
+
+        @Override
+        public void register(UnitOfWorkEventListener listener) {
+        }
+    }
+}
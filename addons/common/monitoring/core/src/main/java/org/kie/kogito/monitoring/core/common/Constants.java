@@ -24,6 +24,8 @@ public class Constants {
     public static final String SKIP_MONITORING = "skipMonitoring";
     public static final String MONITORING_RULE_USE_DEFAULT = "kogito.monitoring.rule.useDefault";
     public static final String MONITORING_PROCESS_USE_DEFAULT = "kogito.monitoring.process.useDefault";
+    public static final String MONITORING_PROCESS_MAX_NODE_TAG_VALUES = "kogito.monitoring.process.maxNodeTagValues";
+    public static final String MONITORING_ENGINE_ENABLED = "kogito.monitoring.engine.enabled";
     public static final String HTTP_INTERCEPTOR_USE_DEFAULT = "kogito.monitoring.interceptor.useDefault";
 
     private Constants() {
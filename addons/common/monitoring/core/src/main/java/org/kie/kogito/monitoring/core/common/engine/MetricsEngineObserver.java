@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.observability.EngineObserver;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Engine observer exporting lock wait and timeouts, marshalling, persistence, unit of work and event publishing timings as
+ * Micrometer timers and distribution summaries. Meters are registered on first use and cached afterwards.
+ */
+public class MetricsEngineObserver implements EngineObserver {
+
+    static final String LOCK_WAIT = "kogito_process_instance_lock_wait_seconds";
+    static final String LOCK_TIMEOUT = "kogito_process_instance_lock_timeouts";
+    static final String MARSHALLING = "kogito_process_instance_marshalling_seconds";
+    static final String MARSHALLED_SIZE = "kogito_process_instance_marshalled_bytes";
+    static final String PERSISTENCE = "kogito_process_instance_persistence_seconds";
+    static final String WORK_UNIT = "kogito_work_unit_seconds";
+    static final String UNIT_OF_WORK = "kogito_unit_of_work_seconds";
+    static final String EVENT_PUBLISH = "kogito_event_publish_seconds";
+    static final String EVENT_PUBLISH_SIZE = "kogito_event_publish_events";
+
+    private static final String MARSHALL = "marshall";
+    private static final String UNMARSHALL = "unmarshall";
+
+    private final MeterRegistry meterRegistry;
+    private final Tags tags;
+    private final Timer unitOfWork;
+    private final Map<MeterKey, Meter> meters = new ConcurrentHashMap<>();
+
+    public MetricsEngineObserver(KogitoGAV gav, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.tags = Tags.of("artifactId", gav.getArtifactId(), "version", gav.getVersion());
+        this.unitOfWork = Timer.builder(UNIT_OF_WORK).description("Time spent ending units of work").tags(tags).register(meterRegistry);
+    }
+
+    @Override
+    public void onLockAcquired(String processId, String processInstanceId, long waitNanos) {
+        timer(new MeterKey(LOCK_WAIT, null, processId), key -> Timer.builder(LOCK_WAIT)
+                .description("Time spent waiting for process instance locks")
+                .tags(tags).tag("process_id", processId)
+                .register(meterRegistry))
+                .record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onLockTimeout(String processId, String processInstanceId, long waitNanos) {
+        ((Counter) meters.computeIfAbsent(new MeterKey(LOCK_TIMEOUT, null, processId), key -> Counter.builder(LOCK_TIMEOUT)
+                .description("Process instance locks not acquired in time")
+                .tags(tags).tag("process_id", processId)
+                .register(meterRegistry)))
+                .increment();
+    }
+
+    @Override
+    public void onMarshall(String processId, long durationNanos, int bytes) {
+        recordMarshalling(MARSHALL, processId, durationNanos, bytes);
+    }
+
+    @Override
+    public void onUnmarshall(String processId, long durationNanos, int bytes) {
+        recordMarshalling(UNMARSHALL, processId, durationNanos, bytes);
+    }
+
+    private void recordMarshalling(String operation, String processId, long durationNanos, int bytes) {
+        timer(new MeterKey(MARSHALLING, operation, processId), key -> Timer.builder(MARSHALLING)
+                .description("Process instance marshalling time")
+                .tags(tags).tag("operation", operation).tag("process_id", processId)
+                .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        summary(new MeterKey(MARSHALLED_SIZE, operation, processId), key -> DistributionSummary.builder(MARSHALLED_SIZE)
+                .description("Marshalled process instance size")
+                .baseUnit("bytes")
+                .tags(tags).tag("operation", operation).tag("process_id", processId)
+                .register(meterRegistry))
+                .record(bytes);
+    }
+
+    @Override
+    public void onPersistence(String backend, String processId, PersistenceOperation operation, long durationNanos) {
+        timer(new MeterKey(PERSISTENCE, backend + '/' + operation, processId), key -> Timer.builder(PERSISTENCE)
+                .description("Process instance store latency")
+                .tags(tags).tag("backend", backend).tag("operation", operation.name().toLowerCase()).tag("process_id", processId)
+                .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onWorkUnitPerformed(String workUnitType, long durationNanos) {
+        timer(new MeterKey(WORK_UNIT, workUnitType, null), key -> Timer.builder(WORK_UNIT)
+                .description("Time spent performing work units while ending units of work")
+                .tags(tags).tag("type", workUnitType)
+                .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onUnitOfWorkEnded(long durationNanos) {
+        unitOfWork.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onEventsPublished(String publisher, int events, long durationNanos) {
+        timer(new MeterKey(EVENT_PUBLISH, publisher, null), key -> Timer.builder(EVENT_PUBLISH)
+                .description("Time spent publishing event batches")
+                .tags(tags).tag("publisher", publisher)
+                .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        summary(new MeterKey(EVENT_PUBLISH_SIZE, publisher, null), key -> DistributionSummary.builder(EVENT_PUBLISH_SIZE)
+                .description("Number of events per published batch")
+                .tags(tags).tag("publisher", publisher)
+                .register(meterRegistry))
+                .record(events);
+    }
+
+    private Timer timer(MeterKey key, Function<MeterKey, Timer> builder) {
+        return (Timer) meters.computeIfAbsent(key, builder);
+    }
+
+    private DistributionSummary summary(MeterKey key, Function<MeterKey, DistributionSummary> builder) {
+        return (DistributionSummary) meters.computeIfAbsent(key, builder);
+    }
+
+    private record MeterKey(String name, String qualifier, String processId) {
+    }
+}
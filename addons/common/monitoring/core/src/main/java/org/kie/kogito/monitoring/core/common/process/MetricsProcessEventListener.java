@@ -19,9 +19,12 @@
 package org.kie.kogito.monitoring.core.common.process;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.LongToDoubleFunction;
+import java.util.function.Supplier;
 
 import org.kie.api.event.process.ErrorEvent;
 import org.kie.api.event.process.ProcessCompletedEvent;
@@ -44,27 +47,53 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Counter.Builder;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
 
 /**
  * Process event listener that records metrics for process instances.
  * Enhanced with process instance context correlation for better observability.
  * Metrics can be correlated with logs and distributed traces via process instance ID.
+ * <p>
+ * Meters are registered once and cached by process id, tag value and kind, so recording a metric does not go through
+ * the registry. The number of distinct node names, work item names and error messages used as tag values is bounded
+ * per process and meter; values beyond the limit are recorded under {@value #OTHER_TAG_VALUE}.
  */
 public class MetricsProcessEventListener extends DefaultKogitoProcessEventListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsProcessEventListener.class);
     private static final String MDC_PROCESS_INSTANCE_KEY = "processInstanceId";
-    private static Map<String, AtomicInteger> gaugeMap = new ConcurrentHashMap<>();
+    public static final int DEFAULT_MAX_NODE_TAG_VALUES = 100;
+    static final String OTHER_TAG_VALUE = "other";
+    private static final String RUNNING_PROCESS_INSTANCES = "kogito_process_instance_running_total";
+    private static final String RUNNING_PROCESS_INSTANCES_DESCRIPTION = "Running Process Instances";
+    // gauges are shared by listeners reporting to the same registry, as the registry keeps the first registered value
+    private static final Map<GaugeKey, AtomicInteger> gaugeMap = new ConcurrentHashMap<>();
     private final String identifier;
     private final KogitoGAV gav;
     private final MeterRegistry meterRegistry;
+    private final int maxNodeTagValues;
+    private final Tags processTags;
+    private final Map<MeterKey, Meter> meters = new ConcurrentHashMap<>();
+    private final Map<MeterKey, Set<String>> tagValues = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> runningGauges = new ConcurrentHashMap<>();
 
     public MetricsProcessEventListener(String identifier, KogitoGAV gav, MeterRegistry meterRegistry) {
+        this(identifier, gav, meterRegistry, DEFAULT_MAX_NODE_TAG_VALUES);
+    }
+
+    /**
+     * @param maxNodeTagValues maximum number of distinct node names, work item names or error messages recorded per
+     *        process and meter, zero or negative for no limit
+     */
+    public MetricsProcessEventListener(String identifier, KogitoGAV gav, MeterRegistry meterRegistry, int maxNodeTagValues) {
         this.identifier = identifier;
         this.gav = gav;
         this.meterRegistry = meterRegistry;
+        this.maxNodeTagValues = maxNodeTagValues;
+        this.processTags = Tags.of("app_id", identifier, "artifactId", gav.getArtifactId(), "version", gav.getVersion());
     }
 
     protected Counter buildCounter(String name, String description, String processId, Tag... tags) {
@@ -99,38 +128,77 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
     }
 
     private Counter getNumberOfProcessInstancesStartedCounter(String processId) {
-        return buildCounter("kogito_process_instance_started_total", "Started Process Instances", processId);
+        return meter(MeterKind.STARTED, processId, null,
+                () -> buildCounter("kogito_process_instance_started_total", "Started Process Instances", processId));
     }
 
     private Counter getErrorCounter(String processId, String errorMessage) {
-        return buildCounter("kogito_process_instance_error", "Number of errors that has occurred", processId, Tag.of("error_message", errorMessage));
+        return boundedMeter(MeterKind.ERROR, processId, errorMessage,
+                value -> buildCounter("kogito_process_instance_error", "Number of errors that has occurred", processId, Tag.of("error_message", value)));
     }
 
     private Counter getNumberOfSLAsViolatedCounter(String processId, String nodeName) {
-        return buildCounter("kogito_process_instance_sla_violated_total", "Number of SLA violations that has ocurred", processId, Tag.of("node_name", nodeName));
+        return boundedMeter(MeterKind.SLA_VIOLATED, processId, nodeName,
+                value -> buildCounter("kogito_process_instance_sla_violated_total", "Number of SLA violations that has ocurred", processId, Tag.of("node_name", value)));
     }
 
     private Counter getNumberOfProcessInstancesCompletedCounter(String processId, String state) {
-        return buildCounter("kogito_process_instance_completed_total", "Completed Process Instances", processId, Tag.of("process_state", state));
+        return meter(MeterKind.COMPLETED, processId, state,
+                () -> buildCounter("kogito_process_instance_completed_total", "Completed Process Instances", processId, Tag.of("process_state", state)));
     }
 
     private AtomicInteger getRunningProcessInstancesGauge(String processId) {
-        return gaugeMap.computeIfAbsent(identifier + processId, k -> buildGauge("kogito_process_instance_running_total", "Running Process Instances", processId));
+        return runningGauges.computeIfAbsent(processId, k -> gaugeMap.computeIfAbsent(
+                new GaugeKey(meterRegistry, new Meter.Id(RUNNING_PROCESS_INSTANCES, processTags.and("process_id", processId), null, null, Meter.Type.GAUGE)),
+                key -> buildGauge(RUNNING_PROCESS_INSTANCES, RUNNING_PROCESS_INSTANCES_DESCRIPTION, processId)));
     }
 
     private DistributionSummary getProcessInstancesDurationSummary(String processId) {
-        return buildDistributionSummary("kogito_process_instance_duration_seconds",
-                "Process Instances Duration", Tag.of("process_id", processId), Tag.of("app_id", identifier));
+        return meter(MeterKind.PROCESS_DURATION, processId, null, () -> buildDistributionSummary("kogito_process_instance_duration_seconds",
+                "Process Instances Duration", Tag.of("process_id", processId), Tag.of("app_id", identifier)));
     }
 
     private DistributionSummary getWorkItemsDurationSummary(String name) {
-        return buildDistributionSummary("kogito_work_item_duration_seconds",
-                "Work Items Duration", Tag.of("name", name));
+        return boundedMeter(MeterKind.WORK_ITEM_DURATION, null, name, value -> buildDistributionSummary("kogito_work_item_duration_seconds",
+                "Work Items Duration", Tag.of("name", value)));
     }
 
     private DistributionSummary getNodeInstancesDurationSummary(String processId, String nodeName) {
-        return buildDistributionSummary("kogito_node_instance_duration_milliseconds", "Relevant nodes duration in milliseconds", Tag.of("process_id", processId),
-                Tag.of("node_name", nodeName));
+        return boundedMeter(MeterKind.NODE_DURATION, processId, nodeName, value -> buildDistributionSummary("kogito_node_instance_duration_milliseconds",
+                "Relevant nodes duration in milliseconds", Tag.of("process_id", processId), Tag.of("node_name", value)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Meter> T meter(MeterKind kind, String processId, String tagValue, Supplier<T> builder) {
+        return (T) meters.computeIfAbsent(new MeterKey(kind, processId, tagValue), key -> builder.get());
+    }
+
+    private <T extends Meter> T boundedMeter(MeterKind kind, String processId, String tagValue, Function<String, T> builder) {
+        @SuppressWarnings("unchecked")
+        T meter = (T) meters.get(new MeterKey(kind, processId, tagValue));
+        if (meter != null) {
+            return meter;
+        }
+        String value = boundedTagValue(kind, processId, tagValue);
+        return meter(kind, processId, value, () -> builder.apply(value));
+    }
+
+    private String boundedTagValue(MeterKind kind, String processId, String tagValue) {
+        if (maxNodeTagValues <= 0) {
+            return tagValue;
+        }
+        Set<String> values = tagValues.computeIfAbsent(new MeterKey(kind, processId, null), key -> ConcurrentHashMap.newKeySet());
+        if (values.contains(tagValue)) {
+            return tagValue;
+        }
+        synchronized (values) {
+            if (values.size() < maxNodeTagValues) {
+                values.add(tagValue);
+                return tagValue;
+            }
+        }
+        LOGGER.debug("Limit of {} tag values reached for {} metric of process {}, recording {} as {}", maxNodeTagValues, kind, processId, tagValue, OTHER_TAG_VALUE);
+        return OTHER_TAG_VALUE;
     }
 
     protected void recordRunningProcessInstance(String processId) {
@@ -247,4 +315,19 @@ public class MetricsProcessEventListener extends DefaultKogitoProcessEventListen
         }
     }
 
+    private enum MeterKind {
+        STARTED,
+        COMPLETED,
+        ERROR,
+        SLA_VIOLATED,
+        PROCESS_DURATION,
+        WORK_ITEM_DURATION,
+        NODE_DURATION
+    }
+
+    private record MeterKey(MeterKind kind, String processId, String tagValue) {
+    }
+
+    private record GaugeKey(MeterRegistry registry, Meter.Id id) {
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.common.engine;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.observability.EngineObserver.PersistenceOperation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsEngineObserverTest {
+
+    MeterRegistry registry;
+    MetricsEngineObserver observer;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        observer = new MetricsEngineObserver(KogitoGAV.EMPTY_GAV, registry);
+    }
+
+    @Test
+    public void testMarshalling() {
+        observer.onMarshall("myProcess", TimeUnit.MILLISECONDS.toNanos(2), 100);
+        observer.onMarshall("myProcess", TimeUnit.MILLISECONDS.toNanos(4), 300);
+        observer.onUnmarshall("myProcess", TimeUnit.MILLISECONDS.toNanos(1), 300);
+
+        assertThat(registry.find(MetricsEngineObserver.MARSHALLING).tag("operation", "marshall").timer().count()).isEqualTo(2);
+        assertThat(registry.find(MetricsEngineObserver.MARSHALLING).tag("operation", "marshall").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6);
+        assertThat(registry.find(MetricsEngineObserver.MARSHALLED_SIZE).tag("operation", "marshall").summary().totalAmount()).isEqualTo(400);
+        assertThat(registry.find(MetricsEngineObserver.MARSHALLING).tag("operation", "unmarshall").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testPersistence() {
+        observer.onPersistence("JDBCProcessInstances", "myProcess", PersistenceOperation.UPDATE, 10);
+        observer.onPersistence("JDBCProcessInstances", "myProcess", PersistenceOperation.UPDATE, 10);
+        observer.onPersistence("JDBCProcessInstances", "myProcess", PersistenceOperation.FIND_BY_ID, 10);
+
+        assertThat(registry.find(MetricsEngineObserver.PERSISTENCE).timers()).hasSize(2);
+        assertThat(registry.find(MetricsEngineObserver.PERSISTENCE).tag("backend", "JDBCProcessInstances").tag("operation", "update").timer().count()).isEqualTo(2);
+        assertThat(registry.find(MetricsEngineObserver.PERSISTENCE).tag("operation", "find_by_id").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLocks() {
+        observer.onLockAcquired("myProcess", "1", 10);
+        observer.onLockAcquired("myProcess", "2", 10);
+        observer.onLockAcquired("otherProcess", "3", 10);
+        observer.onLockTimeout("myProcess", "1", 20);
+
+        assertThat(registry.find(MetricsEngineObserver.LOCK_WAIT).tag("process_id", "myProcess").timer().count()).isEqualTo(2);
+        assertThat(registry.find(MetricsEngineObserver.LOCK_WAIT).tag("process_id", "otherProcess").timer().count()).isEqualTo(1);
+        assertThat(registry.find(MetricsEngineObserver.LOCK_TIMEOUT).tag("process_id", "myProcess").counter().count()).isEqualTo(1);
+        assertThat(registry.find(MetricsEngineObserver.LOCK_TIMEOUT).tag("process_id", "otherProcess").counter()).isNull();
+    }
+
+    @Test
+    public void testUnitOfWorkAndEvents() {
+        observer.onWorkUnitPerformed("MyProcessInstance", 10);
+        observer.onUnitOfWorkEnded(20);
+        observer.onEventsPublished("MyPublisher", 3, 10);
+
+        assertThat(registry.find(MetricsEngineObserver.WORK_UNIT).tag("type", "MyProcessInstance").timer().count()).isEqualTo(1);
+        assertThat(registry.find(MetricsEngineObserver.UNIT_OF_WORK).timer().count()).isEqualTo(1);
+        assertThat(registry.find(MetricsEngineObserver.EVENT_PUBLISH).tag("publisher", "MyPublisher").timer().count()).isEqualTo(1);
+        assertThat(registry.find(MetricsEngineObserver.EVENT_PUBLISH_SIZE).tag("publisher", "MyPublisher").summary().totalAmount()).isEqualTo(3);
+    }
+}
@@ -21,6 +21,8 @@ package org.kie.kogito.monitoring.core.common.process;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kie.api.event.process.ProcessStartedEvent;
+import org.kie.api.event.process.SLAViolatedEvent;
+import org.kie.api.runtime.process.NodeInstance;
 import org.kie.api.runtime.process.ProcessInstance;
 import org.kie.kogito.KogitoGAV;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcessInstance;
@@ -60,4 +62,57 @@ public class MetricsProcessEventListenerTest {
                 .gauge()
                 .value()).isEqualTo(2);
     }
+
+    @Test
+    public void testMetersAreReused() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry);
+        ProcessStartedEvent processStartedEvent = processStartedEvent("myProcessId");
+
+        eventListener.afterProcessStarted(processStartedEvent);
+        eventListener.afterProcessStarted(processStartedEvent);
+        new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry).afterProcessStarted(processStartedEvent);
+
+        assertThat(registry.find("kogito_process_instance_started_total").counters()).hasSize(1);
+        assertThat(registry.find("kogito_process_instance_started_total").counter().count()).isEqualTo(3);
+        assertThat(registry.find("kogito_process_instance_running_total").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    public void testNodeTagValuesAreBounded() {
+        MetricsProcessEventListener eventListener = new MetricsProcessEventListener("myId", KogitoGAV.EMPTY_GAV, registry, 2);
+
+        eventListener.afterSLAViolated(slaViolatedEvent("boundedProcessId", "node1"));
+        eventListener.afterSLAViolated(slaViolatedEvent("boundedProcessId", "node2"));
+        eventListener.afterSLAViolated(slaViolatedEvent("boundedProcessId", "node3"));
+        eventListener.afterSLAViolated(slaViolatedEvent("boundedProcessId", "node4"));
+        eventListener.afterSLAViolated(slaViolatedEvent("boundedProcessId", "node1"));
+
+        assertThat(registry.find("kogito_process_instance_sla_violated_total").counters()).hasSize(3);
+        assertThat(slaViolations("node1")).isEqualTo(2);
+        assertThat(slaViolations("node2")).isEqualTo(1);
+        assertThat(slaViolations(MetricsProcessEventListener.OTHER_TAG_VALUE)).isEqualTo(2);
+    }
+
+    private double slaViolations(String nodeName) {
+        return registry.find("kogito_process_instance_sla_violated_total").tag("node_name", nodeName).counter().count();
+    }
+
+    private static ProcessStartedEvent processStartedEvent(String processId) {
+        ProcessInstance processInstanceMock = mock(KogitoWorkflowProcessInstance.class);
+        when(processInstanceMock.getProcessId()).thenReturn(processId);
+        ProcessStartedEvent processStartedEvent = mock(ProcessStartedEvent.class);
+        when(processStartedEvent.getProcessInstance()).thenReturn(processInstanceMock);
+        return processStartedEvent;
+    }
+
+    private static SLAViolatedEvent slaViolatedEvent(String processId, String nodeName) {
+        ProcessInstance processInstanceMock = mock(KogitoWorkflowProcessInstance.class);
+        when(processInstanceMock.getProcessId()).thenReturn(processId);
+        NodeInstance nodeInstanceMock = mock(NodeInstance.class);
+        when(nodeInstanceMock.getNodeName()).thenReturn(nodeName);
+        SLAViolatedEvent slaViolatedEvent = mock(SLAViolatedEvent.class);
+        when(slaViolatedEvent.getProcessInstance()).thenReturn(processInstanceMock);
+        when(slaViolatedEvent.getNodeInstance()).thenReturn(nodeInstanceMock);
+        return slaViolatedEvent;
+    }
 }
@@ -22,12 +22,14 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.UserDefinedFileAttributeView;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +39,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.drools.util.PathUtils;
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.MutableProcessInstances;
@@ -54,21 +57,24 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
     private Process<?> process;
     private Path storage;
     private Path eventTypeStorage;
+    private Path businessKeyStorage;
 
     private ProcessInstanceMarshallerService marshaller;
 
     public FileSystemProcessInstances(Process<?> process, Path storage) {
-        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().build());
+        this(process, storage, ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().withDefaultChangeRecords().build());
     }
 
     public FileSystemProcessInstances(Process<?> process, Path storage, ProcessInstanceMarshallerService marshaller) {
         this.process = process;
         this.storage = Paths.get(storage.toString(), process.id());
         this.eventTypeStorage = PathUtils.getSecuredPath(this.storage, "events.types");
+        this.businessKeyStorage = PathUtils.getSecuredPath(this.storage, "business.keys");
         this.marshaller = marshaller;
 
         try {
             Files.createDirectories(this.storage);
+            Files.createDirectories(this.businessKeyStorage);
             if (!Files.exists(eventTypeStorage)) {
                 Files.createFile(eventTypeStorage);
             }
@@ -89,6 +95,15 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
         return Optional.of(pi);
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        Path businessKeyFile = businessKeyFile(businessKey);
+        if (!Files.isRegularFile(businessKeyFile)) {
+            return Optional.empty();
+        }
+        return findById(new String(readBytesFromFile(businessKeyFile), StandardCharsets.UTF_8), mode);
+    }
+
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
         try {
@@ -96,6 +111,7 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
                     .filter(file -> !Files.isDirectory(file))
                     .filter(file -> Files.exists(file))
                     .filter(file -> !file.equals(eventTypeStorage))
+                    .filter(file -> !file.startsWith(businessKeyStorage))
                     .map(this::readBytesFromFile)
                     .map(data -> {
                         ProcessInstance<T> pi = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode);
@@ -108,6 +124,24 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
         }
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        List<String> page;
+        try (Stream<Path> files = Files.list(storage)) {
+            // file names are the instance ids, so only the files of the page are read
+            page = files.filter(Files::isRegularFile)
+                    .filter(file -> !file.equals(eventTypeStorage))
+                    .map(file -> file.getFileName().toString())
+                    .filter(id -> after == null || id.compareTo(after) > 0)
+                    .sorted()
+                    .limit(size)
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read process instances ", e);
+        }
+        return page.stream().map(id -> findById(id, mode)).flatMap(Optional::stream);
+    }
+
     @Override
     public boolean exists(String id) {
         Path processInstanceStorage = PathUtils.getSecuredPath(storage, id);
@@ -124,6 +158,7 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
 
             storeProcessInstance(processInstanceStorage, instance);
             storeEventType(instance);
+            storeBusinessKey(instance);
             connectInstance(processInstanceStorage, instance);
         }
     }
@@ -136,6 +171,7 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
                 storeProcessInstance(processInstanceStorage, instance);
                 connectInstance(processInstanceStorage, instance);
                 storeEventType(instance);
+                storeBusinessKey(instance);
             }
         }
     }
@@ -146,6 +182,7 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
         try {
             Files.deleteIfExists(processInstanceStorage);
             cleanEventType(id);
+            cleanBusinessKey(id);
         } catch (IOException e) {
             throw new RuntimeException("Unable to remove process instance with id " + id, e);
         }
@@ -153,28 +190,59 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
 
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return loadWaiting(waitingIds(eventType), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        // the page is computed on the event type index, so only the files of the page are read
+        List<String> page = waitingIds(eventType).stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
+                .toList();
+        return loadWaiting(page, mode);
+    }
+
+    private List<String> waitingIds(String eventType) {
         try {
             if (!Files.exists(eventTypeStorage)) {
-                return Collections.<ProcessInstance<T>> emptyList().stream();
+                return Collections.emptyList();
             }
-            List<String> processInstanceIds = Files.readAllLines(eventTypeStorage)
+            return Files.readAllLines(eventTypeStorage)
                     .stream()
                     .filter(line -> line.startsWith(eventType + ":"))
                     .map(line -> line.substring(line.indexOf(EVENT_SEPARATOR) + EVENT_SEPARATOR.length())).toList();
-            List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
-            for (String processInstanceId : processInstanceIds) {
-                Path processInstanceStorage = PathUtils.getSecuredPath(storage, processInstanceId);
-                byte[] data = readBytesFromFile(processInstanceStorage);
-                AbstractProcessInstance<T> pi = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode);
-                connectInstance(processInstanceStorage, pi);
-                waitingInstances.add(pi);
-            }
-            return waitingInstances.stream();
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process events with id " + eventType, e);
         }
     }
 
+    private Stream<ProcessInstance<T>> loadWaiting(List<String> processInstanceIds, ProcessInstanceReadMode mode) {
+        List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
+        for (String processInstanceId : processInstanceIds) {
+            Path processInstanceStorage = PathUtils.getSecuredPath(storage, processInstanceId);
+            byte[] data = readBytesFromFile(processInstanceStorage);
+            AbstractProcessInstance<T> pi = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode);
+            connectInstance(processInstanceStorage, pi);
+            waitingInstances.add(pi);
+        }
+        return waitingInstances.stream();
+    }
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        if (!Files.exists(eventTypeStorage)) {
+            return false;
+        }
+        String subscription = eventType + EVENT_SEPARATOR + id;
+        try (Stream<String> lines = Files.lines(eventTypeStorage)) {
+            return lines.anyMatch(subscription::equals);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read process events with id " + eventType, e);
+        }
+    }
+
     protected void storeEventType(ProcessInstance<?> instance) {
         try {
             cleanEventType(instance.id());
@@ -202,12 +270,61 @@ public class FileSystemProcessInstances<T extends Model> implements MutableProce
         }
     }
 
+    /**
+     * Business keys are indexed with one file per business key, named after its base64 encoding and holding the instance id,
+     * plus one file per instance holding its business key so the former can be removed together with the instance.
+     */
+    protected void storeBusinessKey(ProcessInstance<?> instance) {
+        String businessKey = instance.businessKey();
+        if (businessKey == null) {
+            return;
+        }
+        try {
+            Path instanceFile = instanceBusinessKeyFile(instance.id());
+            if (Files.isRegularFile(instanceFile) && businessKey.equals(new String(readBytesFromFile(instanceFile), StandardCharsets.UTF_8))) {
+                return;
+            }
+            cleanBusinessKey(instance.id());
+            Files.write(businessKeyFile(businessKey), instance.id().getBytes(StandardCharsets.UTF_8));
+            Files.write(instanceFile, businessKey.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to store business key of process instance with id " + instance.id(), e);
+        }
+    }
+
+    protected void cleanBusinessKey(String processInstanceId) {
+        try {
+            Path instanceFile = instanceBusinessKeyFile(processInstanceId);
+            if (!Files.isRegularFile(instanceFile)) {
+                return;
+            }
+            Files.deleteIfExists(businessKeyFile(new String(readBytesFromFile(instanceFile), StandardCharsets.UTF_8)));
+            Files.delete(instanceFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to remove business key of process instance with id " + processInstanceId, e);
+        }
+    }
+
+    private Path businessKeyFile(String businessKey) {
+        return businessKeyStorage.resolve(Base64.getUrlEncoder().withoutPadding().encodeToString(businessKey.getBytes(StandardCharsets.UTF_8)) + ".key");
+    }
+
+    private Path instanceBusinessKeyFile(String processInstanceId) {
+        return PathUtils.getSecuredPath(businessKeyStorage, processInstanceId + ".instance");
+    }
+
     protected void storeProcessInstance(Path processInstanceStorage, ProcessInstance<?> instance) {
         try {
-            byte[] data = marshaller.marshallProcessInstance(instance);
-            Files.write(processInstanceStorage, data);
+            MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceChanges(instance);
+            // change records are appended to the snapshot log already stored, anything else replaces the file
+            if (marshalled.isChangeRecord()) {
+                Files.write(processInstanceStorage, marshalled.payload(), StandardOpenOption.APPEND);
+            } else {
+                Files.write(processInstanceStorage, marshalled.payload());
+            }
             setMetadata(processInstanceStorage, PI_DESCRIPTION, instance.description());
             setMetadata(processInstanceStorage, PI_STATUS, String.valueOf(instance.status()));
+            marshalled.written();
 
         } catch (IOException e) {
             throw new RuntimeException("Unable to store process instance with id " + instance.id(), e);
@@ -20,6 +20,7 @@ package org.kie.persistence.filesystem;
 
 import java.util.Collections;
 
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.jbpm.process.instance.impl.Action;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.WorkflowProcess;
@@ -302,6 +303,44 @@ class FileSystemProcessInstancesTest {
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
 
+    @Test
+    void testFindByBusinessKey() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        ProcessInstance<BpmnVariables> processInstance = process.createInstance("order/1", BpmnVariables.create(Collections.singletonMap("test", "test")));
+        processInstance.start();
+
+        ProcessInstances<BpmnVariables> instances = process.instances();
+        assertThat(instances.findByBusinessKey("order/1")).map(ProcessInstance::id).hasValue(processInstance.id());
+        assertThat(instances.findByBusinessKey("order/2")).isEmpty();
+        assertThat(instances.stream().count()).isEqualTo(1);
+
+        processInstance.abort();
+        assertThat(instances.findByBusinessKey("order/1")).isEmpty();
+    }
+
+    @Test
+    void testChangeRecords() {
+        System.setProperty(ProcessInstanceMarshallerService.MAX_CHANGE_RECORDS_PROPERTY, "2");
+        try {
+            BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")));
+            processInstance.start();
+
+            for (int i = 0; i < 5; i++) {
+                processInstance.updateVariables(BpmnVariables.create(Collections.singletonMap("test", "test" + i)));
+                assertThat(process.instances().findById(processInstance.id()))
+                        .hasValueSatisfying(found -> assertThat(found.variables().get("test")).isEqualTo(processInstance.variables().get("test")));
+            }
+            assertThat(processInstance.workItems(securityPolicy)).hasSize(1);
+
+            processInstance.completeWorkItem(processInstance.workItems(securityPolicy).get(0).getId(), null, securityPolicy);
+            assertThat(processInstance.status()).isEqualTo(STATE_COMPLETED);
+            assertEmpty(process.instances());
+        } finally {
+            System.clearProperty(ProcessInstanceMarshallerService.MAX_CHANGE_RECORDS_PROPERTY);
+        }
+    }
+
     private static class FileSystemProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public FileSystemProcessInstancesFactory() {
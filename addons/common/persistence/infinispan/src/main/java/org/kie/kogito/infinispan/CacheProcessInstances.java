@@ -18,15 +18,18 @@
  */
 package org.kie.kogito.infinispan;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,7 +52,11 @@ import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
 
 public class CacheProcessInstances<T extends Model> implements MutableProcessInstances<T> {
-    private final String EVENT_SEPARATOR = "::";
+    private static final String LEGACY_EVENT_SEPARATOR = "::";
+    private static final String EVENT_TYPE_KEY = "::type::";
+    private static final String INSTANCE_KEY = "::instance::";
+    private static final String BUSINESS_KEY = "::businessKey::";
+    private static final String INSTANCE_BUSINESS_KEY = "::instanceBusinessKey::";
     private final RemoteCache<String, byte[]> cache;
     private final ProcessInstanceMarshallerService marshaller;
     private final org.kie.kogito.process.Process<?> process;
@@ -67,6 +74,7 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
         this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build();
         this.lock = lock;
         this.eventKey = process.id() + "-" + process.version() + ".events";
+        migrateLegacyEventTypes();
     }
 
     @Override
@@ -83,9 +91,14 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
         return Optional.ofNullable(cache.getWithMetadata(id)).map(record -> unmarshall(record.getValue(), record.getVersion(), mode));
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        byte[] id = cache.get(eventKey + BUSINESS_KEY + businessKey);
+        return id == null ? Optional.empty() : findById(new String(id, StandardCharsets.UTF_8), mode);
+    }
+
     private Set<String> getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes())
-                .map(e -> e + EVENT_SEPARATOR + instance.id())
                 .collect(Collectors.toCollection(HashSet::new));
     }
 
@@ -94,14 +107,28 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
         if (lock) {
             CloseableIterator<Entry<Object, MetadataValue<Object>>> iterator = cache.retrieveEntriesWithMetadata(null, 1000);
             return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
-                    .filter(v -> !v.getKey().equals(this.eventKey))
+                    .filter(v -> !isIndexKey((String) v.getKey()))
                     .map(v -> unmarshall((byte[]) v.getValue().getValue(), v.getValue().getVersion(), mode))
                     .onClose(iterator::close);
         } else {
-            return cache.entrySet().stream().filter(v -> !v.getKey().equals(this.eventKey)).map(data -> unmarshall(data.getValue(), null, mode));
+            return cache.entrySet().stream().filter(v -> !isIndexKey(v.getKey())).map(data -> unmarshall(data.getValue(), null, mode));
         }
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        List<String> page;
+        // remote caches are not ordered, the page is computed on the keys so only its entries are fetched
+        try (Stream<String> keys = cache.keySet().stream()) {
+            page = keys.filter(key -> !isIndexKey(key))
+                    .filter(key -> after == null || key.compareTo(after) > 0)
+                    .sorted()
+                    .limit(size)
+                    .toList();
+        }
+        return page.stream().map(id -> findById(id, mode)).flatMap(Optional::stream);
+    }
+
     private ProcessInstance<T> unmarshall(byte[] data, Long version, ProcessInstanceReadMode mode) {
         ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(data, process, mode);
         if (version != null) {
@@ -119,8 +146,8 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
     @Override
     public void remove(String processInstanceId) {
         cache.remove(processInstanceId);
-        List<String> events = clearEventTypes(cache.get(this.eventKey), processInstanceId);
-        cache.put(this.eventKey, toBytes(events));
+        updateEventTypes(processInstanceId, new HashSet<>());
+        updateBusinessKey(processInstanceId, null);
     }
 
     @Override
@@ -149,9 +176,8 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
                 }
             }
 
-            List<String> events = clearEventTypes(cache.get(this.eventKey), id);
-            events.addAll(getUniqueEvents(instance));
-            cache.put(this.eventKey, toBytes(events));
+            updateEventTypes(id, getUniqueEvents(instance));
+            updateBusinessKey(id, instance.businessKey());
 
             connectProcessInstance(id, instance);
         }
@@ -191,32 +217,129 @@ public class CacheProcessInstances<T extends Model> implements MutableProcessIns
 
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        byte[] eventData = cache.get(this.eventKey);
-        if (eventData == null) {
-            return Collections.<ProcessInstance<T>> emptyList().stream();
+        List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
+        for (String processInstanceId : fromBytes(cache.get(eventTypeKey(eventType)))) {
+            findById(processInstanceId, mode).ifPresent(waitingInstances::add);
         }
-        String list = new String(eventData);
-        List<String> processInstancesId = Stream.of(list.split(","))
-                .filter(e -> e.startsWith(eventType + EVENT_SEPARATOR))
-                .map(e -> e.substring(e.indexOf(EVENT_SEPARATOR) + EVENT_SEPARATOR.length()))
+        return waitingInstances.stream();
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        // the page is computed on the ids of the event type entry, so only the instances of the page are fetched
+        List<String> page = fromBytes(cache.get(eventTypeKey(eventType))).stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
                 .toList();
+        return page.stream().map(id -> findById(id, mode)).flatMap(Optional::stream);
+    }
 
-        List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
-        for (String processInstanceId : processInstancesId) {
-            findById(processInstanceId).ifPresent(waitingInstances::add);
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        return fromBytes(cache.get(eventKey + INSTANCE_KEY + id)).contains(eventType);
+    }
+
+    /**
+     * Event type subscriptions are kept as one entry per event type, holding the ids of the waiting instances,
+     * plus one entry per instance holding its event types. Only the entries of the event types that changed
+     * are rewritten, each one with a versioned (compare and set) update so concurrent writers do not lose updates.
+     */
+    private void updateEventTypes(String processInstanceId, Set<String> current) {
+        String instanceKey = eventKey + INSTANCE_KEY + processInstanceId;
+        Set<String> previous = fromBytes(cache.get(instanceKey));
+        if (previous.equals(current)) {
+            return;
         }
-        return waitingInstances.stream();
+        for (String eventType : previous) {
+            if (!current.contains(eventType)) {
+                compareAndSet(eventTypeKey(eventType), ids -> ids.remove(processInstanceId));
+            }
+        }
+        for (String eventType : current) {
+            if (!previous.contains(eventType)) {
+                compareAndSet(eventTypeKey(eventType), ids -> ids.add(processInstanceId));
+            }
+        }
+        if (current.isEmpty()) {
+            cache.remove(instanceKey);
+        } else {
+            cache.put(instanceKey, toBytes(current));
+        }
+    }
+
+    /**
+     * Business keys are kept as one entry per business key holding the instance id, plus one entry per instance
+     * holding its business key so the former can be removed together with the instance.
+     */
+    private void updateBusinessKey(String processInstanceId, String businessKey) {
+        String instanceKey = eventKey + INSTANCE_BUSINESS_KEY + processInstanceId;
+        byte[] previous = cache.get(instanceKey);
+        String previousBusinessKey = previous == null ? null : new String(previous, StandardCharsets.UTF_8);
+        if (Objects.equals(previousBusinessKey, businessKey)) {
+            return;
+        }
+        if (previousBusinessKey != null) {
+            cache.remove(eventKey + BUSINESS_KEY + previousBusinessKey);
+        }
+        if (businessKey == null) {
+            cache.remove(instanceKey);
+        } else {
+            cache.put(eventKey + BUSINESS_KEY + businessKey, processInstanceId.getBytes(StandardCharsets.UTF_8));
+            cache.put(instanceKey, businessKey.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Moves the event types stored by previous versions as a single comma separated entry into per event type entries.
+     */
+    private void migrateLegacyEventTypes() {
+        byte[] eventData = cache.get(eventKey);
+        if (eventData == null) {
+            return;
+        }
+        fromBytes(eventData).stream()
+                .filter(e -> e.contains(LEGACY_EVENT_SEPARATOR))
+                .collect(Collectors.groupingBy(e -> e.substring(e.lastIndexOf(LEGACY_EVENT_SEPARATOR) + LEGACY_EVENT_SEPARATOR.length()),
+                        Collectors.mapping(e -> e.substring(0, e.lastIndexOf(LEGACY_EVENT_SEPARATOR)), Collectors.toSet())))
+                .forEach(this::updateEventTypes);
+        cache.remove(eventKey);
+    }
+
+    private void compareAndSet(String key, Consumer<Set<String>> change) {
+        boolean updated;
+        do {
+            MetadataValue<byte[]> existing = cache.getWithMetadata(key);
+            Set<String> ids = fromBytes(existing == null ? null : existing.getValue());
+            change.accept(ids);
+            if (existing == null) {
+                updated = ids.isEmpty() || cache.putIfAbsent(key, toBytes(ids)) == null;
+            } else if (ids.isEmpty()) {
+                updated = cache.removeWithVersion(key, existing.getVersion());
+            } else {
+                updated = cache.replaceWithVersion(key, toBytes(ids), existing.getVersion());
+            }
+        } while (!updated);
     }
 
-    private byte[] toBytes(List<String> events) {
-        return String.join(",", events).getBytes();
+    private String eventTypeKey(String eventType) {
+        return eventKey + EVENT_TYPE_KEY + eventType;
     }
 
-    private List<String> clearEventTypes(byte[] eventData, String processInstanceId) {
-        String list = eventData != null ? new String(eventData) : new String();
-        return Stream.of(list.split(","))
-                .filter(e -> !e.endsWith(EVENT_SEPARATOR + processInstanceId))
-                .collect(Collectors.toCollection(ArrayList::new));
+    private boolean isIndexKey(String key) {
+        return key.startsWith(eventKey);
+    }
+
+    private byte[] toBytes(Set<String> values) {
+        return String.join(",", values).getBytes();
+    }
+
+    private Set<String> fromBytes(byte[] data) {
+        Set<String> values = new HashSet<>();
+        if (data != null && data.length > 0) {
+            values.addAll(Arrays.asList(new String(data).split(",")));
+        }
+        return values;
     }
 
 }
@@ -21,6 +21,7 @@ package org.kie.kogito.persistence.jdbc;
 import javax.sql.DataSource;
 
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
+import org.kie.kogito.persistence.jdbc.transaction.AbstractTransactionManager;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
 import org.kie.kogito.process.Processes;
@@ -45,7 +46,11 @@ public abstract class AbstractProcessInstancesFactory implements ProcessInstance
     }
 
     public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, HeadersPersistentConfig headersConfig, Processes processes) {
-        this.dataSource = dataSource;
+        this(dataSource, lock, headersConfig, processes, null);
+    }
+
+    public AbstractProcessInstancesFactory(DataSource dataSource, Boolean lock, HeadersPersistentConfig headersConfig, Processes processes, AbstractTransactionManager transactionManager) {
+        this.dataSource = transactionManager != null && transactionManager.enabled() ? transactionManager.getDataSource() : dataSource;
         this.lock = lock;
         this.headersConfig = headersConfig;
         this.processes = processes;
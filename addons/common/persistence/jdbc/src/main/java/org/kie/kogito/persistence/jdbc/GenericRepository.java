@@ -18,7 +18,9 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.io.ByteArrayOutputStream;
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -27,9 +29,11 @@ import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
 import org.kie.kogito.Model;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.Processes;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,8 +42,11 @@ import static java.util.Arrays.stream;
 public class GenericRepository extends Repository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenericRepository.class);
+    private static final String ID = "id";
     private static final String PAYLOAD = "payload";
     private static final String VERSION = "version";
+    private static final String QUERY_CANCELED = "57014";
+    private static final int CHANGE_RECORDS_BATCH_SIZE = 100;
 
     private final DataSource dataSource;
     private final Processes processes;
@@ -143,36 +150,29 @@ public class GenericRepository extends Repository {
 
     @Override
     void insertInternal(String processId, String processVersion, String rootProcessId, String rootProcessVersion, UUID id, byte[] payload, String businessKey, String[] eventTypes) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(INSERT);
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
-
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
-
-            for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
-                insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
-            }
-
-            String processInstanceId = id.toString();
-            statement.setString(1, processInstanceId);
-            statement.setBytes(2, payload);
-            statement.setString(3, processId);
-            statement.setString(4, processVersion);
-            statement.setString(5, rootProcessId);
-            statement.setString(6, rootProcessVersion);
-            statement.setLong(7, 0L);
-            statement.executeUpdate();
-            if (businessKey != null) {
-                try (PreparedStatement businessKeyStmt = connection.prepareStatement(INSERT_BUSINESS_KEY)) {
-                    businessKeyStmt.setString(1, businessKey);
-                    businessKeyStmt.setString(2, processInstanceId);
-                    businessKeyStmt.executeUpdate();
+        try (Connection connection = dataSource.getConnection()) {
+            executeInTransaction(connection, () -> {
+                String processInstanceId = id.toString();
+                try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                    statement.setString(1, processInstanceId);
+                    statement.setBytes(2, payload);
+                    statement.setString(3, processId);
+                    statement.setString(4, processVersion);
+                    statement.setString(5, rootProcessId);
+                    statement.setString(6, rootProcessVersion);
+                    statement.setLong(7, 0L);
+                    statement.executeUpdate();
                 }
-            }
+                if (businessKey != null) {
+                    try (PreparedStatement businessKeyStmt = connection.prepareStatement(INSERT_BUSINESS_KEY)) {
+                        businessKeyStmt.setString(1, businessKey);
+                        businessKeyStmt.setString(2, processInstanceId);
+                        businessKeyStmt.executeUpdate();
+                    }
+                }
+                batchUpdate(connection, INSERT_WAITING_FOR_EVENT_TYPE, processInstanceId, Arrays.asList(eventTypes));
+                return null;
+            });
         } catch (Exception e) {
             throw uncheckedException(e, "Error inserting process instance id: %s, processId: %s processVersion: %s business key: %s", id, processId, processVersion, businessKey);
         }
@@ -180,72 +180,244 @@ public class GenericRepository extends Repository {
 
     @Override
     void updateInternal(String processId, String processVersion, UUID id, byte[] payload, String[] eventTypes) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion));
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
+        try (Connection connection = dataSource.getConnection()) {
+            executeInTransaction(connection, () -> {
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE, processVersion))) {
+                    statement.setBytes(1, payload);
+                    statement.setString(2, processId);
+                    statement.setString(3, id.toString());
+                    if (processVersion != null) {
+                        statement.setString(4, processVersion);
+                    }
+                    statement.executeUpdate();
+                }
+                deleteChangeRecords(connection, id.toString(), payload);
+                updateEventTypes(connection, id.toString(), eventTypes);
+                return null;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating process instance %s", id);
+        }
+    }
 
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
+    @Override
+    void appendChangeRecordInternal(String processId, String processVersion, UUID id, byte[] changeRecord, int changeOrder, String[] eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            executeInTransaction(connection, () -> {
+                insertChangeRecord(connection, id.toString(), changeRecord, changeOrder);
+                updateEventTypes(connection, id.toString(), eventTypes);
+                return null;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error appending change record %d of process instance %s", changeOrder, id);
+        }
+    }
 
-            for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
-                insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
-            }
+    @Override
+    boolean appendChangeRecordWithLock(String processId, String processVersion, UUID id, byte[] changeRecord, int changeOrder, long version, String[] eventTypes) {
+        try (Connection connection = dataSource.getConnection()) {
+            return executeInTransaction(connection, () -> {
+                int count;
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_VERSION_WITH_LOCK, processVersion))) {
+                    statement.setLong(1, version + 1);
+                    statement.setString(2, processId);
+                    statement.setString(3, id.toString());
+                    statement.setLong(4, version);
+                    if (processVersion != null) {
+                        statement.setString(5, processVersion);
+                    }
+                    count = statement.executeUpdate();
+                }
+                if (count == 1) {
+                    insertChangeRecord(connection, id.toString(), changeRecord, changeOrder);
+                    updateEventTypes(connection, id.toString(), eventTypes);
+                }
+                return count == 1;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error appending with lock change record %d of process instance %s", changeOrder, id);
+        }
+    }
 
-            statement.setBytes(1, payload);
-            statement.setString(2, processId);
-            statement.setString(3, id.toString());
-            if (processVersion != null) {
-                statement.setString(4, processVersion);
-            }
+    private static void insertChangeRecord(Connection connection, String processInstanceId, byte[] changeRecord, int changeOrder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_CHANGE_RECORD)) {
+            statement.setString(1, processInstanceId);
+            statement.setInt(2, changeOrder);
+            statement.setBytes(3, changeRecord);
             statement.executeUpdate();
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
         }
     }
 
+    /**
+     * A snapshot log replacing the payload starts over, so the change records appended to the previous one are removed.
+     * Plain payloads are written when change records are disabled, no change record can be pending then.
+     */
+    private static void deleteChangeRecords(Connection connection, String processInstanceId, byte[] payload) throws SQLException {
+        if (!MarshalledProcessInstance.isSnapshotLog(payload)) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(DELETE_CHANGE_RECORDS)) {
+            statement.setString(1, processInstanceId);
+            statement.executeUpdate();
+        }
+    }
+
+    /**
+     * Reads at most the given number of rows and appends the change records of the snapshot logs among them. Change
+     * records are looked up with one query per {@value #CHANGE_RECORDS_BATCH_SIZE} snapshot logs instead of one per row;
+     * plain payloads are read with the main query only, as before.
+     */
+    private static List<Record> readRecords(Connection connection, ResultSet resultSet, int maxRows) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        while (rows.size() < maxRows && resultSet.next()) {
+            rows.add(new Row(resultSet.getString(ID), resultSet.getBytes(PAYLOAD), resultSet.getLong(VERSION)));
+        }
+        List<String> snapshotLogIds = rows.stream().filter(row -> MarshalledProcessInstance.isSnapshotLog(row.payload())).map(Row::id).toList();
+        Map<String, ByteArrayOutputStream> changeRecords = new HashMap<>();
+        for (int from = 0; from < snapshotLogIds.size(); from += CHANGE_RECORDS_BATCH_SIZE) {
+            List<String> ids = snapshotLogIds.subList(from, Math.min(from + CHANGE_RECORDS_BATCH_SIZE, snapshotLogIds.size()));
+            String sql = FIND_CHANGE_RECORDS_TEMPLATE.formatted(ids.stream().map(id -> "?").collect(Collectors.joining(", ")));
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < ids.size(); i++) {
+                    statement.setString(i + 1, ids.get(i));
+                }
+                try (ResultSet changes = statement.executeQuery()) {
+                    while (changes.next()) {
+                        changeRecords.computeIfAbsent(changes.getString(1), id -> new ByteArrayOutputStream()).writeBytes(changes.getBytes(2));
+                    }
+                }
+            }
+        }
+        List<Record> records = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            ByteArrayOutputStream changes = changeRecords.get(row.id());
+            records.add(new Record(changes == null ? row.payload() : concat(row.payload(), changes.toByteArray()), row.version()));
+        }
+        return records;
+    }
+
+    private static byte[] concat(byte[] payload, byte[] changes) {
+        byte[] snapshotLog = Arrays.copyOf(payload, payload.length + changes.length);
+        System.arraycopy(changes, 0, snapshotLog, payload.length, changes.length);
+        return snapshotLog;
+    }
+
+    private record Row(String id, byte[] payload, long version) {
+    }
+
     @Override
     boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes) {
-        try (Connection connection = dataSource.getConnection();
-                PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion));
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
-                PreparedStatement insertEventStatement = connection.prepareStatement(INSERT_WAITING_FOR_EVENT_TYPE)) {
+        try (Connection connection = dataSource.getConnection()) {
+            return executeInTransaction(connection, () -> {
+                int count;
+                try (PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(UPDATE_WITH_LOCK, processVersion))) {
+                    statement.setBytes(1, payload);
+                    statement.setLong(2, version + 1);
+                    statement.setString(3, processId);
+                    statement.setString(4, id.toString());
+                    statement.setLong(5, version);
+                    if (processVersion != null) {
+                        statement.setString(6, processVersion);
+                    }
+                    count = statement.executeUpdate();
+                }
+                // event types are only touched when this writer won the optimistic lock
+                if (count == 1) {
+                    deleteChangeRecords(connection, id.toString(), payload);
+                    updateEventTypes(connection, id.toString(), eventTypes);
+                }
+                return count == 1;
+            });
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error updating with lock process instance %s", id);
+        }
+    }
 
-            eventStatement.setString(1, id.toString());
-            eventStatement.executeUpdate();
+    /**
+     * Replaces the event types the process instance is waiting for by applying only the difference
+     * between the stored rows and the given ones. Additions and removals are sent as JDBC batches.
+     *
+     * @param connection The connection the statements are executed on
+     * @param processInstanceId The process instance id
+     * @param eventTypes The event types the process instance is currently waiting for
+     */
+    private void updateEventTypes(Connection connection, String processInstanceId, String[] eventTypes) throws SQLException {
+        Set<String> toInsert = new LinkedHashSet<>(Arrays.asList(eventTypes));
+        Set<String> toDelete = new LinkedHashSet<>();
+        try (PreparedStatement statement = connection.prepareStatement(FIND_WAITING_FOR_EVENT_TYPES)) {
+            statement.setString(1, processInstanceId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String eventType = resultSet.getString(1);
+                    if (!toInsert.remove(eventType)) {
+                        toDelete.add(eventType);
+                    }
+                }
+            }
+        }
+        batchUpdate(connection, DELETE_WAITING_FOR_EVENT_TYPE, processInstanceId, toDelete);
+        batchUpdate(connection, INSERT_WAITING_FOR_EVENT_TYPE, processInstanceId, toInsert);
+    }
 
+    private static void batchUpdate(Connection connection, String sql, String processInstanceId, Collection<String> eventTypes) throws SQLException {
+        if (eventTypes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
             for (String eventType : eventTypes) {
-                insertEventStatement.setString(1, id.toString());
-                insertEventStatement.setString(2, eventType);
-                insertEventStatement.executeUpdate();
+                statement.setString(1, processInstanceId);
+                statement.setString(2, eventType);
+                statement.addBatch();
             }
+            statement.executeBatch();
+        }
+    }
 
-            statement.setBytes(1, payload);
-            statement.setLong(2, version + 1);
-            statement.setString(3, processId);
-            statement.setString(4, id.toString());
-            statement.setLong(5, version);
-            if (processVersion != null) {
-                statement.setString(6, processVersion);
+    /**
+     * Executes the given work as a single transaction on the connection.
+     * If the connection is already part of a managed transaction (auto commit disabled) the work
+     * is executed as is and commit/rollback is left to the transaction owner.
+     */
+    private static <R> R executeInTransaction(Connection connection, SQLWork<R> work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (!autoCommit) {
+            return work.execute();
+        }
+        connection.setAutoCommit(false);
+        try {
+            R result = work.execute();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ex) {
+                e.addSuppressed(ex);
             }
-            int count = statement.executeUpdate();
-            return count == 1;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating with lock process instance %s", id);
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
         }
     }
 
+    @FunctionalInterface
+    private interface SQLWork<R> {
+        R execute() throws SQLException;
+    }
+
     @Override
     boolean deleteInternal(String processId, String processVersion, UUID id) {
         try (Connection connection = dataSource.getConnection();
                 PreparedStatement statement = connection.prepareStatement(sqlIncludingVersion(DELETE, processVersion));
-                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE)) {
+                PreparedStatement eventStatement = connection.prepareStatement(DELETE_ALL_WAITING_FOR_EVENT_TYPE);
+                PreparedStatement changesStatement = connection.prepareStatement(DELETE_CHANGE_RECORDS)) {
 
             eventStatement.setString(1, id.toString());
             eventStatement.executeUpdate();
 
+            changesStatement.setString(1, id.toString());
+            changesStatement.executeUpdate();
+
             statement.setString(1, processId);
             statement.setString(2, id.toString());
             if (processVersion != null) {
@@ -258,8 +430,33 @@ public class GenericRepository extends Repository {
         }
     }
 
-    private Record from(ResultSet rs) throws SQLException {
-        return new Record(rs.getBytes(PAYLOAD), rs.getLong(VERSION));
+    /**
+     * Locks the process instance row until the end of the current transaction. Waiting callers queue on the row
+     * lock. The lock only lasts as long as the transaction bound to the unit of work, so it requires the transaction
+     * manager (<code>kogito.persistence.transaction.enabled</code>): in auto commit mode it would be released at once,
+     * so the call fails instead. A row not inserted yet is not locked, the new instance is not visible to other
+     * replicas until the transaction commits.
+     */
+    @Override
+    boolean lockInternal(UUID id, Duration timeout) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (connection.getAutoCommit()) {
+                throw new IllegalStateException("Process instance " + id
+                        + " cannot be locked without a transaction, enable the transaction manager with kogito.persistence.transaction.enabled");
+            }
+            try (PreparedStatement statement = connection.prepareStatement(LOCK_BY_ID)) {
+                statement.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+                statement.setString(1, id.toString());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                }
+            }
+        } catch (SQLException e) {
+            if (e instanceof SQLTimeoutException || QUERY_CANCELED.equals(e.getSQLState())) {
+                throw new ProcessInstanceLockTimeoutException(id.toString(), timeout.toMillis());
+            }
+            throw uncheckedException(e, "Error locking process instance %s", id);
+        }
     }
 
     @Override
@@ -277,14 +474,11 @@ public class GenericRepository extends Repository {
                 statement.setString(paramIndex, processVersion);
             }
             try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    return Optional.of(from(resultSet));
-                }
+                return readRecords(connection, resultSet, 1).stream().findFirst();
             }
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding process instance %s", id);
         }
-        return Optional.empty();
     }
 
     @Override
@@ -302,18 +496,37 @@ public class GenericRepository extends Repository {
                 statement.setString(paramIndex, processVersion);
             }
 
-            List<Record> data = new ArrayList<>();
-            ResultSet resultSet = statement.executeQuery();
-            while (resultSet.next()) {
-                data.add(from(resultSet));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return readRecords(connection, resultSet, Integer.MAX_VALUE).stream();
             }
-            resultSet.close();
-            return data.stream();
         } catch (SQLException e) {
             throw uncheckedException(e, "Error finding all process instances, for processId %s waiting for %s", processId, eventType);
         }
     }
 
+    @Override
+    boolean existsWaitingFor(String processId, String processVersion, String eventType, UUID id) {
+        Collection<Process<? extends Model>> processIds = getProcessIdsForFiltering();
+        String baseQuery = sqlIncludingVersion(EXISTS_WAITING_FOR_EVENT_TYPE, processVersion);
+        String query = buildQueryWithProcessFiltering(baseQuery, processIds);
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            int paramIndex = bindProcessIds(statement, processIds, 1);
+            statement.setString(paramIndex++, processId);
+            statement.setString(paramIndex++, eventType);
+            statement.setString(paramIndex++, id.toString());
+            if (processVersion != null) {
+                statement.setString(paramIndex, processVersion);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (Exception e) {
+            throw uncheckedException(e, "Error checking if process instance %s is waiting for %s", id, eventType);
+        }
+    }
+
     @Override
     Optional<Record> findByBusinessKey(String processId, String processVersion, String businessKey) {
         Collection<Process<? extends Model>> processIds = getProcessIdsForFiltering();
@@ -329,7 +542,7 @@ public class GenericRepository extends Repository {
                 statement.setString(paramIndex, processVersion);
             }
             try (ResultSet resultSet = statement.executeQuery()) {
-                return resultSet.next() ? Optional.of(from(resultSet)) : Optional.empty();
+                return readRecords(connection, resultSet, 1).stream().findFirst();
             }
         } catch (Exception e) {
             throw uncheckedException(e, "Error finding process instance. Business key: %s, Process Id: %s, Process version: %s", businessKey, processId, processVersion);
@@ -389,12 +602,17 @@ public class GenericRepository extends Repository {
             }
             ResultSet resultSet = close.nest(statement.executeQuery());
             return StreamSupport.stream(new Spliterators.AbstractSpliterator<Record>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                private Iterator<Record> batch = Collections.emptyIterator();
+
                 @Override
                 public boolean tryAdvance(Consumer<? super Record> action) {
                     try {
-                        boolean hasNext = resultSet.next();
+                        if (!batch.hasNext()) {
+                            batch = readRecords(connection, resultSet, CHANGE_RECORDS_BATCH_SIZE).iterator();
+                        }
+                        boolean hasNext = batch.hasNext();
                         if (hasNext) {
-                            action.accept(from(resultSet));
+                            action.accept(batch.next());
                         } else {
                             try {
                                 close.close();
@@ -418,6 +636,58 @@ public class GenericRepository extends Repository {
         }
     }
 
+    @Override
+    List<Record> findPageInternal(String processId, String processVersion, UUID after, int size) {
+        Collection<Process<? extends Model>> processIds = getProcessIdsForFiltering();
+        String baseQuery = sqlIncludingVersion(after == null ? FIND_ALL : FIND_ALL_AFTER, processVersion);
+        String query = buildQueryWithProcessFiltering(baseQuery, processIds) + ORDER_BY_ID;
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            int paramIndex = bindProcessIds(statement, processIds, 1);
+            statement.setString(paramIndex++, processId);
+            if (after != null) {
+                statement.setString(paramIndex++, after.toString());
+            }
+            if (processVersion != null) {
+                statement.setString(paramIndex, processVersion);
+            }
+            // portable way of limiting the result, drivers push it down to the database
+            statement.setMaxRows(size);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return readRecords(connection, resultSet, size);
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error finding process instances after %s, for processId %s", after, processId);
+        }
+    }
+
+    @Override
+    List<Record> findPageInternalWaitingFor(String processId, String processVersion, String eventType, UUID after, int size) {
+        Collection<Process<? extends Model>> processIds = getProcessIdsForFiltering();
+        String baseQuery = sqlIncludingVersion(after == null ? FIND_ALL_WAITING_FOR_EVENT_TYPE : FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER, processVersion);
+        String query = buildQueryWithProcessFiltering(baseQuery, processIds) + ORDER_BY_ID;
+
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(query)) {
+            int paramIndex = bindProcessIds(statement, processIds, 1);
+            statement.setString(paramIndex++, processId);
+            statement.setString(paramIndex++, eventType);
+            if (after != null) {
+                statement.setString(paramIndex++, after.toString());
+            }
+            if (processVersion != null) {
+                statement.setString(paramIndex, processVersion);
+            }
+            statement.setMaxRows(size);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return readRecords(connection, resultSet, size);
+            }
+        } catch (SQLException e) {
+            throw uncheckedException(e, "Error finding process instances after %s, for processId %s waiting for %s", after, processId, eventType);
+        }
+    }
+
     private static String sqlIncludingVersion(String statement, String processVersion) {
         return statement + " " + (processVersion == null ? PROCESS_VERSION_IS_NULL : PROCESS_VERSION_EQUALS_TO);
     }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.time.Duration;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,10 +27,12 @@ import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
 import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
+import org.kie.kogito.persistence.jdbc.transaction.UnitOfWorkDataSource;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
@@ -37,10 +40,11 @@ import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.Processes;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class JDBCProcessInstances<T extends Model> implements MutableProcessInstances<T> {
+public class JDBCProcessInstances<T extends Model> implements MutableProcessInstances<T>, ProcessInstanceLockProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JDBCProcessInstances.class);
 
@@ -48,6 +52,7 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
     private final ProcessInstanceMarshallerService marshaller;
     private final boolean lock;
     private final Repository repository;
+    private final DataSource dataSource;
 
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock) {
         this(process, dataSource, lock, null, null);
@@ -60,9 +65,10 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
     public JDBCProcessInstances(Process<?> process, DataSource dataSource, boolean lock, HeadersPersistentConfig headersConfig, Processes processes) {
         this.process = process;
         this.lock = lock;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().withDefaultChangeRecords()
                 .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
         this.repository = new GenericRepository(dataSource, processes);
+        this.dataSource = dataSource;
     }
 
     @Override
@@ -81,8 +87,11 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
             String[] eventTypes = getUniqueEvents(instance);
             String rootProcessId = ((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getRootProcessId();
             String rootProcessVersion = ((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getRootProcessVersion();
-            repository.insertInternal(process.id(), process.version(), rootProcessId, rootProcessVersion, UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.businessKey(),
+            MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceChanges(instance);
+            repository.insertInternal(process.id(), process.version(), rootProcessId, rootProcessVersion, UUID.fromString(id), marshalled.payload(),
+                    instance.businessKey(),
                     eventTypes);
+            written(marshalled);
             connectInstance(instance);
         } else {
             LOGGER.warn("Skipping create of process instance id: {}, state: {}", id, instance.status());
@@ -94,21 +103,37 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         LOGGER.debug("Updating process instance id: {}, processId: {}, processVersion: {}", id, process.id(), process.version());
         if (isActive(instance) || instance.status() == ProcessInstance.STATE_PENDING) {
             String[] eventTypes = getUniqueEvents(instance);
+            MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceChanges(instance);
             if (lock) {
-                boolean isUpdated = repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), instance.version(), eventTypes);
+                boolean isUpdated = marshalled.isChangeRecord()
+                        ? repository.appendChangeRecordWithLock(process.id(), process.version(), UUID.fromString(id), marshalled.payload(), marshalled.changeRecord(), instance.version(),
+                                eventTypes)
+                        : repository.updateWithLock(process.id(), process.version(), UUID.fromString(id), marshalled.payload(), instance.version(), eventTypes);
                 if (!isUpdated) {
                     throw new ProcessInstanceOptimisticLockingException(id);
                 }
                 ((AbstractProcessInstance<T>) instance).setVersion(instance.version() + 1);
+            } else if (marshalled.isChangeRecord()) {
+                repository.appendChangeRecordInternal(process.id(), process.version(), UUID.fromString(id), marshalled.payload(), marshalled.changeRecord(), eventTypes);
             } else {
-                repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshaller.marshallProcessInstance(instance), eventTypes);
+                repository.updateInternal(process.id(), process.version(), UUID.fromString(id), marshalled.payload(), eventTypes);
             }
+            written(marshalled);
             connectInstance(instance);
         } else {
             LOGGER.warn("Process instance id: {}, state: {} is not active, skipping update", id, instance.status());
         }
     }
 
+    private void written(MarshalledProcessInstance marshalled) {
+        // within a unit of work transaction the written payload only becomes the base of the next change record on commit
+        if (dataSource instanceof UnitOfWorkDataSource unitOfWorkDataSource) {
+            unitOfWorkDataSource.afterCommit(marshalled::written);
+        } else {
+            marshalled.written();
+        }
+    }
+
     @Override
     public long migrateAll(String targetProcessId, String targetProcessVersion) {
         return repository.migrate(process.id(), process.version(), targetProcessId, targetProcessVersion);
@@ -140,6 +165,19 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         return repository.findAllInternalWaitingFor(process.id(), process.version(), eventType).map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        LOGGER.debug("Find process instance page after {} of size {} waiting for {} using mode: {}", after, size, eventType, mode);
+        return repository.findPageInternalWaitingFor(process.id(), process.version(), eventType, after == null ? null : UUID.fromString(after), size).stream()
+                .map(r -> unmarshall(r, mode));
+    }
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        LOGGER.debug("Check if process instance {} is waiting for {}", id, eventType);
+        return repository.existsWaitingFor(process.id(), process.version(), eventType, UUID.fromString(id));
+    }
+
     @Override
     public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
         LOGGER.debug("Find process instance using business Key : {}", businessKey);
@@ -154,6 +192,12 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         return repository.findAllInternal(process.id(), process.version()).map(r -> unmarshall(r, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        LOGGER.debug("Find process instance page after {} of size {} using mode: {}", after, size, mode);
+        return repository.findPageInternal(process.id(), process.version(), after == null ? null : UUID.fromString(after), size).stream().map(r -> unmarshall(r, mode));
+    }
+
     private ProcessInstance<T> unmarshall(Repository.Record record, ProcessInstanceReadMode mode) {
         AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(record.getPayload(), process, mode);
         instance.setVersion(record.getVersion());
@@ -166,6 +210,17 @@ public class JDBCProcessInstances<T extends Model> implements MutableProcessInst
         return this.lock;
     }
 
+    /**
+     * The row lock belongs to the transaction of the current unit of work and is released when it completes,
+     * so the returned lock does nothing on close. It requires the transaction manager to be enabled, and fails
+     * otherwise.
+     */
+    @Override
+    public Lock acquire(String processInstanceId, Duration timeout) {
+        repository.lockInternal(UUID.fromString(processInstanceId), timeout);
+        return NO_LOCK;
+    }
+
     private void connectInstance(ProcessInstance<?> instance) {
         ((AbstractProcessInstance<?>) instance).internalSetReloadSupplier(marshaller.createdReloadFunction(() -> {
             Repository.Record r = repository.findByIdInternal(process.id(), process.version(), UUID.fromString(instance.id())).orElseThrow();
@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.persistence.jdbc;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -26,20 +28,33 @@ abstract class Repository {
 
     static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, root_process_id, root_process_version, version) VALUES (?, ?, ?, ?, ?, ?, ?)";
     static final String INSERT_BUSINESS_KEY = "INSERT INTO business_key_mapping (business_key,process_instance_id) VALUES (?,?)";
-    static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = ?";
-    static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = ? and id = ?";
-    static final String FIND_BY_BUSINESS_KEY = "SELECT payload, version FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
+    static final String FIND_ALL = "SELECT id, payload, version FROM process_instances WHERE process_id = ?";
+    static final String FIND_ALL_AFTER = "SELECT id, payload, version FROM process_instances WHERE process_id = ? and id > ?";
+    static final String ORDER_BY_ID = " ORDER BY id";
+    static final String FIND_BY_ID = "SELECT id, payload, version FROM process_instances WHERE process_id = ? and id = ?";
+    static final String FIND_BY_BUSINESS_KEY = "SELECT id, payload, version FROM process_instances INNER JOIN business_key_mapping ON id = process_instance_id WHERE business_key = ? and process_id = ?";
     static final String UPDATE = "UPDATE process_instances SET payload = ? WHERE process_id = ? and id = ?";
     static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = ?, version = ? WHERE process_id = ? and id = ? and version = ?";
+    static final String LOCK_BY_ID = "SELECT id FROM process_instances WHERE id = ? FOR UPDATE";
     static final String DELETE = "DELETE FROM process_instances WHERE process_id = ? and id = ?";
     static final String PROCESS_VERSION_EQUALS_TO = "and process_version = ?";
     static final String PROCESS_VERSION_IS_NULL = "and process_version is null";
     static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? ";
     static final String MIGRATE_INSTANCES_SQL_TEMPLATE = "UPDATE process_instances SET process_id = ?, process_version = ? WHERE process_id = ? and id IN ( %s ) ";
     static final String FIND_ALL_WAITING_FOR_EVENT_TYPE =
-            "SELECT payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND process_id = ? AND event_type = ?";
+            "SELECT id, payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND process_id = ? AND event_type = ?";
+    static final String FIND_ALL_WAITING_FOR_EVENT_TYPE_AFTER = FIND_ALL_WAITING_FOR_EVENT_TYPE + " AND process_instances.id > ?";
+    static final String EXISTS_WAITING_FOR_EVENT_TYPE =
+            "SELECT 1 FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND process_id = ? AND event_type = ? AND event_types.process_instance_id = ?";
     static final String DELETE_ALL_WAITING_FOR_EVENT_TYPE = "DELETE FROM event_types WHERE process_instance_id = ?";
     static final String INSERT_WAITING_FOR_EVENT_TYPE = "INSERT INTO event_types (process_instance_id, event_type) VALUES(?,?)";
+    static final String FIND_WAITING_FOR_EVENT_TYPES = "SELECT event_type FROM event_types WHERE process_instance_id = ?";
+    static final String DELETE_WAITING_FOR_EVENT_TYPE = "DELETE FROM event_types WHERE process_instance_id = ? AND event_type = ?";
+    static final String UPDATE_VERSION_WITH_LOCK = "UPDATE process_instances SET version = ? WHERE process_id = ? and id = ? and version = ?";
+    static final String INSERT_CHANGE_RECORD = "INSERT INTO process_instance_changes (process_instance_id, change_order, payload) VALUES (?, ?, ?)";
+    static final String FIND_CHANGE_RECORDS_TEMPLATE =
+            "SELECT process_instance_id, payload FROM process_instance_changes WHERE process_instance_id IN ( %s ) ORDER BY process_instance_id, change_order";
+    static final String DELETE_CHANGE_RECORDS = "DELETE FROM process_instance_changes WHERE process_instance_id = ?";
 
     static class Record {
         private final byte[] payload;
@@ -65,16 +80,28 @@ abstract class Repository {
 
     abstract boolean updateWithLock(String processId, String processVersion, UUID id, byte[] payload, long version, String[] eventTypes);
 
+    abstract void appendChangeRecordInternal(String processId, String processVersion, UUID id, byte[] changeRecord, int changeOrder, String[] eventTypes);
+
+    abstract boolean appendChangeRecordWithLock(String processId, String processVersion, UUID id, byte[] changeRecord, int changeOrder, long version, String[] eventTypes);
+
     abstract boolean deleteInternal(String processId, String processVersion, UUID id);
 
+    abstract boolean lockInternal(UUID id, Duration timeout);
+
     abstract Optional<Record> findByIdInternal(String processId, String processVersion, UUID id);
 
     abstract Optional<Record> findByBusinessKey(String processId, String processVersion, String businessKey);
 
     abstract Stream<Record> findAllInternal(String processId, String processVersion);
 
+    abstract List<Record> findPageInternal(String processId, String processVersion, UUID after, int size);
+
     abstract Stream<Record> findAllInternalWaitingFor(String processId, String processVersion, String eventType);
 
+    abstract List<Record> findPageInternalWaitingFor(String processId, String processVersion, String eventType, UUID after, int size);
+
+    abstract boolean existsWaitingFor(String processId, String processVersion, String eventType, UUID id);
+
     protected RuntimeException uncheckedException(Exception ex, String message, Object... param) {
         return new RuntimeException(String.format(message, param), ex);
     }
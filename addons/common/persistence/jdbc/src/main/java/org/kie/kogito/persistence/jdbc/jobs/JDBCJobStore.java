@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.services.jobs.impl.JobStore;
+
+/**
+ * {@link JobStore} keeping embedded jobs in the <code>kogito_jobs</code> table, so timers survive a restart
+ * of the runtime. Jobs are fetched in fire time order using the <code>idx_kogito_jobs_fire_time</code> index.
+ * <p>
+ * Replicas sharing the table lease the due jobs through the <code>lease_owner</code> and <code>locked_until</code> columns:
+ * a conditional update takes the jobs that are not leased, or whose lease has expired, so each job is held by a single
+ * replica and taken over by another one once the lease of a stopped replica expires. A claim takes at most the requested
+ * number of jobs, the earliest ones, leaving the rest of the window to the other replicas; on PostgreSQL the jobs being
+ * claimed by another replica are skipped instead of waited for.
+ */
+public class JDBCJobStore implements JobStore {
+
+    static final String INSERT = "INSERT INTO kogito_jobs (id, fire_time, payload, attempts, lease_owner, locked_until) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String UPDATE = "UPDATE kogito_jobs SET fire_time = ?, payload = ?, attempts = ?, lease_owner = ?, locked_until = ? WHERE id = ?";
+    static final String DELETE = "DELETE FROM kogito_jobs WHERE id = ?";
+    static final String FIND_DUE = "SELECT id, fire_time, payload, attempts FROM kogito_jobs WHERE fire_time < ? ORDER BY fire_time";
+    static final String CLAIMABLE = "(lease_owner IS NULL OR lease_owner = ? OR locked_until < ?)";
+    static final String CLAIM_DUE = "UPDATE kogito_jobs SET lease_owner = ?, locked_until = ? WHERE id IN (SELECT id FROM kogito_jobs WHERE fire_time < ? AND " + CLAIMABLE
+            + " ORDER BY fire_time %s) AND " + CLAIMABLE;
+    static final String ANSI_CLAIM_LIMIT = "FETCH FIRST ? ROWS ONLY";
+    static final String POSTGRESQL_CLAIM_LIMIT = "LIMIT ? FOR UPDATE SKIP LOCKED";
+    static final String FIND_CLAIMED = "SELECT id, fire_time, payload, attempts FROM kogito_jobs WHERE lease_owner = ? AND fire_time < ? ORDER BY fire_time";
+
+    private final DataSource dataSource;
+    private volatile String claimDue;
+
+    public JDBCJobStore(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void save(StoredJob job) {
+        save(job, null, 0);
+    }
+
+    @Override
+    public void save(StoredJob job, String owner, long leaseUntil) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE)) {
+                statement.setLong(1, job.fireTime());
+                statement.setBytes(2, job.payload());
+                statement.setInt(3, job.attempts());
+                setLease(statement, 4, owner, leaseUntil);
+                statement.setString(6, job.id());
+                if (statement.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                statement.setString(1, job.id());
+                statement.setLong(2, job.fireTime());
+                statement.setBytes(3, job.payload());
+                statement.setInt(4, job.attempts());
+                setLease(statement, 5, owner, leaseUntil);
+                statement.executeUpdate();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error saving job " + job.id(), e);
+        }
+    }
+
+    private static void setLease(PreparedStatement statement, int index, String owner, long leaseUntil) throws SQLException {
+        statement.setString(index, owner);
+        if (owner == null) {
+            statement.setNull(index + 1, Types.BIGINT);
+        } else {
+            statement.setLong(index + 1, leaseUntil);
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            statement.setString(1, id);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error removing job " + id, e);
+        }
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(DELETE)) {
+            for (String id : ids) {
+                statement.setString(1, id);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error removing jobs " + ids, e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> findDue(long before, int limit) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(FIND_DUE)) {
+            statement.setLong(1, before);
+            return readJobs(statement, limit);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error loading jobs due before " + before, e);
+        }
+    }
+
+    @Override
+    public List<StoredJob> claimDue(String owner, long before, long now, long leaseUntil, int limit) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(claimDue(connection))) {
+                statement.setString(1, owner);
+                statement.setLong(2, leaseUntil);
+                statement.setLong(3, before);
+                statement.setString(4, owner);
+                statement.setLong(5, now);
+                statement.setInt(6, limit);
+                // checked again in case another replica leased the job after the subquery read it
+                statement.setString(7, owner);
+                statement.setLong(8, now);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(FIND_CLAIMED)) {
+                statement.setString(1, owner);
+                statement.setLong(2, before);
+                return readJobs(statement, limit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error claiming jobs due before " + before + " for " + owner, e);
+        }
+    }
+
+    private String claimDue(Connection connection) throws SQLException {
+        if (claimDue == null) {
+            boolean postgresql = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            claimDue = String.format(CLAIM_DUE, postgresql ? POSTGRESQL_CLAIM_LIMIT : ANSI_CLAIM_LIMIT);
+        }
+        return claimDue;
+    }
+
+    private static List<StoredJob> readJobs(PreparedStatement statement, int limit) throws SQLException {
+        statement.setMaxRows(limit);
+        List<StoredJob> jobs = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                jobs.add(new StoredJob(resultSet.getString("id"), resultSet.getLong("fire_time"), resultSet.getBytes("payload"), resultSet.getInt("attempts")));
+            }
+        }
+        return jobs;
+    }
+}
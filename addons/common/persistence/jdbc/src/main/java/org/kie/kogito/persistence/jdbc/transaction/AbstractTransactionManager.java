@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.transaction;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEventListener;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binds a single JDBC connection and transaction to the unit of work running on the current thread.
+ * All work units collected by the unit of work are then flushed on that connection when the unit
+ * of work ends, and committed (or rolled back on abort) as one transaction instead of one
+ * auto commit transaction per persistence operation.
+ * <p>
+ * If the connection obtained at start is already part of a managed transaction (JTA, Spring),
+ * nothing is bound and the owner of that transaction keeps control of it.
+ */
+public abstract class AbstractTransactionManager implements UnitOfWorkEventListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTransactionManager.class);
+
+    private final DataSource dataSource;
+    private final Boolean enabled;
+    private final UnitOfWorkDataSource unitOfWorkDataSource;
+
+    private final ThreadLocal<BoundConnection> boundConnectionLocal = new ThreadLocal<>();
+
+    protected AbstractTransactionManager(DataSource dataSource, Boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.unitOfWorkDataSource = dataSource == null ? null : newUnitOfWorkDataSource(dataSource);
+    }
+
+    @Override
+    public void onBeforeStartEvent(UnitOfWorkStartEvent event) {
+        if (!enabled()) {
+            return;
+        }
+
+        BoundConnection bound = boundConnectionLocal.get();
+        if (bound != null) {
+            // nested unit of work joins the transaction of the outer one
+            bound.depth++;
+            return;
+        }
+
+        try {
+            Connection connection = dataSource.getConnection();
+            if (connection.getAutoCommit()) {
+                connection.setAutoCommit(false);
+                boundConnectionLocal.set(new BoundConnection(connection));
+            } else {
+                LOGGER.debug("Connection is already part of a managed transaction, skipping unit of work binding");
+                connection.close();
+                boundConnectionLocal.set(new BoundConnection(null));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error starting unit of work transaction", e);
+        }
+    }
+
+    @Override
+    public void onAfterEndEvent(UnitOfWorkEndEvent event) {
+        complete(true);
+    }
+
+    @Override
+    public void onAfterAbortEvent(UnitOfWorkAbortEvent event) {
+        complete(false);
+    }
+
+    private void complete(boolean commit) {
+        if (!enabled()) {
+            return;
+        }
+
+        BoundConnection bound = boundConnectionLocal.get();
+        if (bound == null || --bound.depth > 0) {
+            return;
+        }
+        boundConnectionLocal.remove();
+
+        Connection connection = bound.connection;
+        if (connection == null) {
+            return;
+        }
+        try {
+            if (commit) {
+                connection.commit();
+                bound.afterCommit.forEach(Runnable::run);
+            } else {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error " + (commit ? "committing" : "rolling back") + " unit of work transaction", e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("Error closing unit of work connection", e);
+            }
+        }
+    }
+
+    /**
+     * Returns the connection bound to the unit of work of the current thread, if any.
+     */
+    public Connection getConnection() {
+        BoundConnection bound = boundConnectionLocal.get();
+        return bound == null ? null : bound.connection;
+    }
+
+    /**
+     * Returns a data source that hands out the connection bound to the current unit of work
+     * when there is one, and a regular connection of the underlying data source otherwise.
+     * Closing a bound connection obtained from it is a no-op, the connection is released when
+     * the unit of work ends or aborts.
+     */
+    public UnitOfWorkDataSource getDataSource() {
+        return unitOfWorkDataSource;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    private void afterCommit(Runnable action) {
+        BoundConnection bound = boundConnectionLocal.get();
+        if (bound == null || bound.connection == null) {
+            action.run();
+        } else {
+            bound.afterCommit.add(action);
+        }
+    }
+
+    private UnitOfWorkDataSource newUnitOfWorkDataSource(DataSource delegate) {
+        return (UnitOfWorkDataSource) Proxy.newProxyInstance(AbstractTransactionManager.class.getClassLoader(), new Class<?>[] { UnitOfWorkDataSource.class },
+                (proxy, method, args) -> {
+                    if ("afterCommit".equals(method.getName())) {
+                        afterCommit((Runnable) args[0]);
+                        return null;
+                    }
+                    if ("getConnection".equals(method.getName())) {
+                        Connection connection = getConnection();
+                        if (connection != null) {
+                            return nonClosingConnection(connection);
+                        }
+                    }
+                    return invoke(delegate, method, args);
+                });
+    }
+
+    private static Connection nonClosingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(AbstractTransactionManager.class.getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> "close".equals(method.getName()) ? null : invoke(connection, method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class BoundConnection {
+        private final Connection connection;
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private int depth = 1;
+
+        private BoundConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.transaction;
+
+import javax.sql.DataSource;
+
+/**
+ * Data source returned by {@link AbstractTransactionManager#getDataSource()}, handing out the connection bound to the
+ * unit of work of the current thread.
+ */
+public interface UnitOfWorkDataSource extends DataSource {
+
+    /**
+     * Runs the action once the transaction bound to the current unit of work commits, and drops it if that transaction
+     * rolls back. Without a bound transaction the statements already executed are committed, so the action runs right away.
+     */
+    void afterCommit(Runnable action);
+}
@@ -19,9 +19,15 @@
 package org.kie.kogito.persistence.jdbc;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -33,12 +39,15 @@ import org.kie.kogito.auth.IdentityProviders;
 import org.kie.kogito.auth.SecurityPolicy;
 import org.kie.kogito.internal.process.workitem.Policy;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnProcessInstance;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
 import org.kie.kogito.process.bpmn2.StaticApplicationAssembler;
+import org.kie.kogito.process.impl.AbstractProcessInstance;
 import org.kie.kogito.process.impl.StaticProcessConfig;
 import org.kie.kogito.process.workitems.impl.DefaultKogitoWorkItemHandler;
 
@@ -120,6 +129,28 @@ abstract class AbstractProcessInstancesIT {
         assertEmpty(process.instances());
     }
 
+    @Test
+    void testStreamPage() {
+        BpmnProcess process = createProcess(getDataSource(), lock(), "BPMN2-UserTask.bpmn2");
+        List<String> ids = Stream.generate(() -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+            processInstance.start();
+            return processInstance.id();
+        }).limit(3).sorted().toList();
+
+        ProcessInstances<BpmnVariables> processInstances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(null, 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(1), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(2), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).isEmpty();
+        }
+        abort(processInstances);
+    }
+
     @Test
     void testMultipleProcesses() {
         BpmnProcess utProcess = createProcess(getDataSource(), lock(), "BPMN2-UserTask.bpmn2");
@@ -348,4 +379,34 @@ abstract class AbstractProcessInstancesIT {
         process.send(SignalFactory.of("sig2", "SomeValue"));
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
+
+    @Test
+    public void testEventTypesFollowProcessInstance() throws Exception {
+        BpmnProcess process = createProcess(getDataSource(), lock(), "BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> pi = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        pi.start();
+        assertThat(storedEventTypes(pi.id())).containsExactlyInAnyOrderElementsOf(new HashSet<>(Arrays.asList(((AbstractProcessInstance<?>) pi).internalGetProcessInstance().getEventTypes())));
+
+        pi.workItems().forEach(wi -> pi.completeWorkItem(wi.getId(), Collections.emptyMap()));
+        ProcessInstance<?> updated = process.instances().findById(pi.id()).orElseThrow();
+        assertThat(storedEventTypes(pi.id())).containsExactlyInAnyOrderElementsOf(new HashSet<>(Arrays.asList(((AbstractProcessInstance<?>) updated).internalGetProcessInstance().getEventTypes())));
+        assertThat(process.instances().waitingForEventType("sig1")).extracting(ProcessInstance::id).containsExactly(pi.id());
+
+        process.send(SignalFactory.of("sig1", "SomeValue"));
+        assertThat(storedEventTypes(pi.id())).isEmpty();
+    }
+
+    private Set<String> storedEventTypes(String processInstanceId) throws Exception {
+        Set<String> eventTypes = new HashSet<>();
+        try (Connection connection = getDataSource().getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT event_type FROM event_types WHERE process_instance_id = ?")) {
+            statement.setString(1, processInstanceId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    eventTypes.add(resultSet.getString(1));
+                }
+            }
+        }
+        return eventTypes;
+    }
 }
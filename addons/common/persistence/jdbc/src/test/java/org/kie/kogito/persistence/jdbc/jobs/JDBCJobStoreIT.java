@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.jobs;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.services.jobs.impl.JobStore.StoredJob;
+import org.kie.kogito.testcontainers.KogitoPostgreSqlContainer;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.persistence.jdbc.correlation.JDBCCorrelationServiceIT.initMigration;
+
+@Testcontainers
+public class JDBCJobStoreIT {
+
+    @Container
+    private static final KogitoPostgreSqlContainer PG_CONTAINER = new KogitoPostgreSqlContainer();
+    private static JDBCJobStore store;
+
+    @BeforeAll
+    public static void setUp() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setUrl(PG_CONTAINER.getJdbcUrl());
+        dataSource.setUser(PG_CONTAINER.getUsername());
+        dataSource.setPassword(PG_CONTAINER.getPassword());
+        initMigration(dataSource);
+        store = new JDBCJobStore(dataSource);
+    }
+
+    @Test
+    public void testSaveFindAndRemove() {
+        store.save(new StoredJob("late", 300, new byte[] { 3 }));
+        store.save(new StoredJob("early", 100, new byte[] { 1 }));
+        store.save(new StoredJob("middle", 500, new byte[] { 2 }));
+        store.save(new StoredJob("middle", 200, new byte[] { 2 }));
+
+        List<StoredJob> due = store.findDue(250, 10);
+        assertThat(due).extracting(StoredJob::id).containsExactly("early", "middle");
+        assertThat(due.get(1).payload()).containsExactly(2);
+        assertThat(store.findDue(1000, 1)).extracting(StoredJob::id).containsExactly("early");
+
+        assertThat(store.remove("early")).isTrue();
+        assertThat(store.remove("early")).isFalse();
+        store.removeAll(List.of("middle", "late"));
+        assertThat(store.findDue(1000, 10)).isEmpty();
+    }
+
+    @Test
+    public void testClaimDueLeasesJobsToOneOwner() {
+        store.save(new StoredJob("claim-1", 100, new byte[] { 1 }));
+        store.save(new StoredJob("claim-2", 200, new byte[] { 2 }, 2));
+        store.save(new StoredJob("claim-3", 5000, new byte[] { 3 }));
+
+        List<StoredJob> claimed = store.claimDue("replica-a", 1000, 0, 10000, 10);
+        assertThat(claimed).extracting(StoredJob::id).containsExactly("claim-1", "claim-2");
+        assertThat(claimed.get(1).attempts()).isEqualTo(2);
+        assertThat(store.claimDue("replica-b", 1000, 0, 10000, 10)).isEmpty();
+        // the lease is renewed for its owner
+        assertThat(store.claimDue("replica-a", 1000, 5000, 20000, 10)).hasSize(2);
+        // and taken over once expired
+        assertThat(store.claimDue("replica-b", 1000, 30000, 40000, 10)).extracting(StoredJob::id).containsExactly("claim-1", "claim-2");
+
+        store.removeAll(List.of("claim-1", "claim-2", "claim-3"));
+    }
+
+    @Test
+    public void testClaimDueIsBoundedByLimit() {
+        store.save(new StoredJob("bounded-3", 300, new byte[] { 3 }));
+        store.save(new StoredJob("bounded-1", 100, new byte[] { 1 }));
+        store.save(new StoredJob("bounded-2", 200, new byte[] { 2 }));
+
+        assertThat(store.claimDue("replica-a", 1000, 0, 10000, 2)).extracting(StoredJob::id).containsExactly("bounded-1", "bounded-2");
+        // the rest of the window is left to the other replicas
+        assertThat(store.claimDue("replica-b", 1000, 0, 10000, 10)).extracting(StoredJob::id).containsExactly("bounded-3");
+
+        store.removeAll(List.of("bounded-1", "bounded-2", "bounded-3"));
+    }
+}
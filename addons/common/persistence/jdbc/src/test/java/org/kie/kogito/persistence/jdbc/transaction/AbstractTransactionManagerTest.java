@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.jdbc.transaction;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
+import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
+import org.kie.kogito.uow.events.UnitOfWorkStartEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AbstractTransactionManagerTest {
+
+    static class TestTransactionManager extends AbstractTransactionManager {
+
+        public TestTransactionManager(DataSource dataSource, Boolean enabled) {
+            super(dataSource, enabled);
+        }
+    }
+
+    private DataSource dataSource;
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+    }
+
+    @Test
+    public void testCommitOnEnd() throws SQLException {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+
+        try (Connection first = transactionManager.getDataSource().getConnection()) {
+            first.prepareStatement("SELECT 1");
+        }
+        try (Connection second = transactionManager.getDataSource().getConnection()) {
+            second.prepareStatement("SELECT 2");
+        }
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).setAutoCommit(false);
+        verify(connection, never()).close();
+
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+        verify(connection).commit();
+        verify(connection, never()).rollback();
+        verify(connection).close();
+        assertThat(transactionManager.getConnection()).isNull();
+    }
+
+    @Test
+    public void testRollbackOnAbort() throws SQLException {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        transactionManager.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).close();
+        assertThat(transactionManager.getConnection()).isNull();
+    }
+
+    @Test
+    public void testAfterCommit() throws SQLException {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        Runnable committed = mock(Runnable.class);
+        Runnable rolledBack = mock(Runnable.class);
+
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        transactionManager.getDataSource().afterCommit(committed);
+        verify(committed, never()).run();
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+        verify(committed).run();
+
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        transactionManager.getDataSource().afterCommit(rolledBack);
+        transactionManager.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+        verify(rolledBack, never()).run();
+    }
+
+    @Test
+    public void testAfterCommitWithoutUnitOfWork() {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        Runnable action = mock(Runnable.class);
+
+        transactionManager.getDataSource().afterCommit(action);
+        verify(action).run();
+    }
+
+    @Test
+    public void testNestedUnitOfWorkJoinsOuterTransaction() throws SQLException {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+
+        verify(connection, never()).commit();
+        assertThat(transactionManager.getConnection()).isSameAs(connection);
+
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+        verify(dataSource, times(1)).getConnection();
+        verify(connection).commit();
+    }
+
+    @Test
+    public void testManagedTransactionIsNotBound() throws SQLException {
+        when(connection.getAutoCommit()).thenReturn(false);
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, true);
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+
+        assertThat(transactionManager.getConnection()).isNull();
+        verify(connection).close();
+
+        transactionManager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+        verify(connection, never()).commit();
+    }
+
+    @Test
+    public void testDisabled() throws SQLException {
+        AbstractTransactionManager transactionManager = new TestTransactionManager(dataSource, false);
+        transactionManager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+
+        assertThat(transactionManager.getConnection()).isNull();
+        verify(dataSource, never()).getConnection();
+    }
+}
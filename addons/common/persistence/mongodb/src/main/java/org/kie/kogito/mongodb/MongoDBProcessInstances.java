@@ -18,7 +18,9 @@
  */
 package org.kie.kogito.mongodb;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -26,6 +28,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -45,8 +49,12 @@ import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockProvider;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockTimeoutException;
 
+import com.mongodb.ErrorCategory;
 import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.ClientSession;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
@@ -55,22 +63,34 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.UpdateResult;
 
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES;
+import static org.kie.kogito.mongodb.utils.DocumentConstants.EVENT_TYPES_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_BUSINESS_KEY;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_BUSINESS_KEY_INDEX;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID;
 import static org.kie.kogito.mongodb.utils.DocumentConstants.PROCESS_INSTANCE_ID_INDEX;
 
-public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
+public class MongoDBProcessInstances<T extends Model> implements MutableProcessInstances<T>, ProcessInstanceLockProvider {
 
     private static final String VERSION = "version";
+    private static final String LOCK_ID = "_id";
+    private static final String LOCK_OWNER = "owner";
+    private static final String LOCK_EXPIRES_AT = "expiresAt";
+    private static final Duration MIN_LOCK_LEASE = Duration.ofMinutes(1);
+    private static final long MAX_LOCK_BACKOFF_MILLIS = 200;
     private org.kie.kogito.process.Process<?> process;
     private ProcessInstanceMarshallerService marshaller;
     private final MongoCollection<Document> collection;
     private final MongoCollection<Document> events;
+    private final MongoCollection<Document> locks;
     private final AbstractTransactionManager transactionManager;
     private final boolean lock;
+    private final ThreadLocal<Set<String>> pendingReleases = ThreadLocal.withInitial(HashSet::new);
 
     public MongoDBProcessInstances(MongoClient mongoClient, org.kie.kogito.process.Process<?> process, String dbName, AbstractTransactionManager transactionManager, boolean lock) {
         this(mongoClient, process, dbName, transactionManager, lock, null);
@@ -81,6 +101,9 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         this.process = process;
         this.collection = Objects.requireNonNull(getCollection(mongoClient, process.id(), dbName));
         this.events = Objects.requireNonNull(getCollection(mongoClient, process.id() + "-events", dbName));
+        // answers the paged waitingForEventType query without scanning the event types collection
+        this.events.createIndex(Indexes.ascending(EVENT_TYPES, PROCESS_INSTANCE_ID), new IndexOptions().name(EVENT_TYPES_INDEX).background(true));
+        this.locks = mongoClient.getDatabase(dbName).getCollection(process.id() + "-locks");
         this.marshaller = ProcessInstanceMarshallerService.newBuilder()
                 .withDefaultObjectMarshallerStrategies()
                 .withDefaultListeners()
@@ -104,7 +127,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
         ClientSession clientSession = transactionManager.getClientSession();
-        Bson eventTypeFilter = new Document("eventTypes", eventType);
+        Bson eventTypeFilter = new Document(EVENT_TYPES, eventType);
         List<String> processInstancesId = new ArrayList<>();
         if (clientSession != null) {
             events.find(clientSession, eventTypeFilter).forEach(e -> processInstancesId.add(e.getString("id")));
@@ -116,6 +139,33 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        Bson eventTypeFilter = after == null ? Filters.eq(EVENT_TYPES, eventType) : Filters.and(Filters.eq(EVENT_TYPES, eventType), Filters.gt(PROCESS_INSTANCE_ID, after));
+        List<String> processInstancesId = new ArrayList<>();
+        // the page is computed on the event types collection, so only the instances of the page are fetched
+        (clientSession == null ? events.find(eventTypeFilter) : events.find(clientSession, eventTypeFilter))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .limit(size)
+                .forEach(e -> processInstancesId.add(e.getString(PROCESS_INSTANCE_ID)));
+        if (processInstancesId.isEmpty()) {
+            return Stream.empty();
+        }
+        Bson filters = Filters.in(PROCESS_INSTANCE_ID, processInstancesId);
+        MongoCursor<Document> docs = (clientSession == null ? collection.find(filters) : collection.find(clientSession, filters))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
+    }
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        Bson filter = Filters.and(Filters.eq(PROCESS_INSTANCE_ID, id), Filters.eq(EVENT_TYPES, eventType));
+        return (clientSession == null ? events.find(filter) : events.find(clientSession, filter)).limit(1).first() != null;
+    }
+
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
         ClientSession clientSession = transactionManager.getClientSession();
@@ -123,6 +173,18 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        ClientSession clientSession = transactionManager.getClientSession();
+        Bson filter = after == null ? new Document() : Filters.gt(PROCESS_INSTANCE_ID, after);
+        // seek and limit are answered by the unique process instance id index
+        MongoCursor<Document> docs = (clientSession == null ? collection.find(filter) : collection.find(clientSession, filter))
+                .sort(Sorts.ascending(PROCESS_INSTANCE_ID))
+                .limit(size)
+                .iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(docs, Spliterator.ORDERED), false).map(doc -> unmarshall(doc, mode)).onClose(docs::close);
+    }
+
     private ProcessInstance<T> unmarshall(Document document, ProcessInstanceReadMode mode) {
         ProcessInstance<T> instance = (ProcessInstance<T>) marshaller.unmarshallProcessInstance(document.toJson().getBytes(), process, mode);
         setVersion(instance, document.getLong(VERSION));
@@ -164,7 +226,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         } else {
             Document eventsDocument = new Document()
                     .append("id", id)
-                    .append("eventTypes", eventTypes);
+                    .append(EVENT_TYPES, eventTypes);
             doc.put(VERSION, 0L);
             if (clientSession != null) {
                 collection.insertOne(clientSession, doc);
@@ -186,7 +248,7 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         }
         Document eventsDocument = new Document()
                 .append("id", id)
-                .append("eventTypes", eventTypes);
+                .append(EVENT_TYPES, eventTypes);
 
         if (clientSession != null) {
             result = collection.replaceOne(clientSession, filters, doc);
@@ -239,6 +301,66 @@ public class MongoDBProcessInstances<T extends Model> implements MutableProcessI
         return this.lock;
     }
 
+    /**
+     * Takes a lease on the process instance in the locks collection of the process. The lease is a document keyed by
+     * the process instance id which can only be taken over once expired, so a crashed replica does not keep the
+     * instance locked longer than the lease (the greater of the timeout and one minute). Lease documents are written
+     * outside of the current transaction so other replicas see them immediately.
+     * <p>
+     * When a transaction is active, closing the lock keeps the lease until the transaction is committed or aborted,
+     * so no other replica reads the instance before its changes are visible. Acquiring it again from the same
+     * transaction in the meantime returns at once, the lease being still held.
+     */
+    @Override
+    public Lock acquire(String processInstanceId, Duration timeout) {
+        Set<String> pending = pendingReleases.get();
+        if (pending.contains(processInstanceId)) {
+            return NO_LOCK;
+        }
+        String owner = UUID.randomUUID().toString();
+        long lease = Math.max(timeout.toMillis(), MIN_LOCK_LEASE.toMillis());
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long backoff = 10;
+        while (true) {
+            Date now = new Date();
+            try {
+                locks.updateOne(Filters.and(Filters.eq(LOCK_ID, processInstanceId), Filters.lt(LOCK_EXPIRES_AT, now)),
+                        Updates.combine(Updates.set(LOCK_OWNER, owner), Updates.set(LOCK_EXPIRES_AT, new Date(now.getTime() + lease))),
+                        new UpdateOptions().upsert(true));
+                return () -> release(processInstanceId, owner);
+            } catch (MongoWriteException e) {
+                // an unexpired lease exists, the upsert collided with it
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new ProcessInstanceLockTimeoutException(processInstanceId, timeout.toMillis());
+            }
+            try {
+                Thread.sleep(Math.min(backoff, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for lock of process instance " + processInstanceId, e);
+            }
+            backoff = Math.min(backoff * 2, MAX_LOCK_BACKOFF_MILLIS);
+        }
+    }
+
+    private void release(String processInstanceId, String owner) {
+        Runnable delete = () -> locks.deleteOne(Filters.and(Filters.eq(LOCK_ID, processInstanceId), Filters.eq(LOCK_OWNER, owner)));
+        Set<String> pending = pendingReleases.get();
+        if (transactionManager.afterCompletion(() -> {
+            pending.remove(processInstanceId);
+            delete.run();
+        })) {
+            pending.add(processInstanceId);
+        } else {
+            delete.run();
+        }
+    }
+
     protected MongoCollection<Document> getCollection() {
         return collection;
     }
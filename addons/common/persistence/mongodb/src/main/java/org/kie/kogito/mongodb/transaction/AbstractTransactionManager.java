@@ -18,6 +18,9 @@
  */
 package org.kie.kogito.mongodb.transaction;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.kie.kogito.uow.events.UnitOfWorkAbortEvent;
 import org.kie.kogito.uow.events.UnitOfWorkEndEvent;
 import org.kie.kogito.uow.events.UnitOfWorkEventListener;
@@ -36,6 +39,7 @@ public abstract class AbstractTransactionManager implements UnitOfWorkEventListe
     private final Boolean enabled;
 
     private ThreadLocal<ClientSession> clientSessionLocal = new ThreadLocal<>();
+    private ThreadLocal<List<Runnable>> afterCompletionLocal = new ThreadLocal<>();
 
     public AbstractTransactionManager(MongoClient mongoClient, Boolean enabled) {
         this.mongoClient = mongoClient;
@@ -68,6 +72,7 @@ public abstract class AbstractTransactionManager implements UnitOfWorkEventListe
             clientSession.commitTransaction();
         } finally {
             clientSessionLocal.remove();
+            runAfterCompletion();
         }
     }
 
@@ -81,6 +86,34 @@ public abstract class AbstractTransactionManager implements UnitOfWorkEventListe
             clientSession.abortTransaction();
         } finally {
             clientSessionLocal.remove();
+            runAfterCompletion();
+        }
+    }
+
+    /**
+     * Registers an action to run once the transaction of the current thread is committed or aborted.
+     *
+     * @param action the action to run
+     * @return false if no transaction is active, the action is not registered then
+     */
+    public boolean afterCompletion(Runnable action) {
+        if (getClientSession() == null) {
+            return false;
+        }
+        List<Runnable> actions = afterCompletionLocal.get();
+        if (actions == null) {
+            actions = new ArrayList<>();
+            afterCompletionLocal.set(actions);
+        }
+        actions.add(action);
+        return true;
+    }
+
+    private void runAfterCompletion() {
+        List<Runnable> actions = afterCompletionLocal.get();
+        afterCompletionLocal.remove();
+        if (actions != null) {
+            actions.forEach(Runnable::run);
         }
     }
 
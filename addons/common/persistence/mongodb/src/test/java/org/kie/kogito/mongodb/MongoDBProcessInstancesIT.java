@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.bson.Document;
@@ -272,6 +273,30 @@ class MongoDBProcessInstancesIT {
         assertEmpty(instances);
     }
 
+    @Test
+    void testStreamPage() {
+        AbstractTransactionManager transactionManager = new AbstractTransactionManager(mongoClient, false) {
+        };
+        BpmnProcess process = createProcess(transactionManager, "BPMN2-UserTask.bpmn2");
+        List<String> ids = Stream.generate(() -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+            processInstance.start();
+            return processInstance.id();
+        }).limit(3).sorted().toList();
+
+        ProcessInstances<BpmnVariables> processInstances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(null, 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(1), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(2), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).isEmpty();
+        }
+        abort(processInstances);
+    }
+
     @Test
     void testValuesReadMode() {
         AbstractTransactionManager transactionManager = new AbstractTransactionManager(mongoClient, false) {
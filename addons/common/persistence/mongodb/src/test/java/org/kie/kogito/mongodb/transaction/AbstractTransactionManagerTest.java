@@ -123,4 +123,21 @@ class AbstractTransactionManagerTest {
         manager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
         assertThat(manager.getClientSession()).isEqualTo(clientSession);
     }
+
+    @Test
+    void afterCompletion() {
+        List<String> completed = new ArrayList<>();
+        assertThat(manager.afterCompletion(() -> completed.add("none"))).isFalse();
+
+        manager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        assertThat(manager.afterCompletion(() -> completed.add("commit"))).isTrue();
+        assertThat(completed).isEmpty();
+        manager.onAfterEndEvent(new UnitOfWorkEndEvent(null));
+        assertThat(completed).containsExactly("commit");
+
+        manager.onBeforeStartEvent(new UnitOfWorkStartEvent(null));
+        manager.afterCompletion(() -> completed.add("abort"));
+        manager.onAfterAbortEvent(new UnitOfWorkAbortEvent(null));
+        assertThat(completed).containsExactly("commit", "abort");
+    }
 }
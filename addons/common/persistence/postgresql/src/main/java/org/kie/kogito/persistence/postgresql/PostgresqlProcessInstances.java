@@ -18,12 +18,15 @@
  */
 package org.kie.kogito.persistence.postgresql;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -31,43 +34,86 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
 import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
-import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceOptimisticLockingException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockProvider;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockTimeoutException;
 
 import io.vertx.core.Future;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.pgclient.PgException;
 import io.vertx.pgclient.PgPool;
 import io.vertx.sqlclient.PreparedQuery;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlClient;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.Transaction;
 import io.vertx.sqlclient.Tuple;
 
-public class PostgresqlProcessInstances<T extends Model> implements MutableProcessInstances<T> {
+/**
+ * Process instances stored through the reactive PostgreSQL client.
+ * <p>
+ * Operations are built on the asynchronous client and the blocking methods wait for them up to the configured query
+ * timeout. Each write runs in its own transaction where the process instance statement and the waiting event type
+ * statements are sent together, pipelined on the same connection, instead of waiting for each one to complete.
+ * <p>
+ * Only {@link #findByIdAsync(String, ProcessInstanceReadMode)}, used by {@code ProcessService.findByIdAsync} for the
+ * {@code GET /{id}} endpoint of the reactive REST resource, is exposed without blocking. Process execution (start,
+ * signals, work item transitions, updates and deletes) goes through the blocking methods, so those operations keep a
+ * worker thread busy for the duration of each query and must not run on an event loop thread.
+ * <p>
+ * As {@link ProcessInstanceLockProvider}, a process instance is locked with a transaction level advisory lock held
+ * on a dedicated connection, so replicas queue on the database instead of failing on version checks. The calling thread
+ * blocks until the lock is granted, at most the lock timeout plus the query timeout, and every held lock keeps a pooled
+ * connection busy until it is closed: the pool must be sized above the number of instances locked at once (the worker
+ * threads running process operations), otherwise lock and write requests wait for a free connection.
+ */
+public class PostgresqlProcessInstances<T extends Model> implements AsyncMutableProcessInstances<T>, ProcessInstanceLockProvider {
 
     private static final String VERSION = "version";
     private static final String PAYLOAD = "payload";
+    private static final String CHANGES = "changes";
 
     private static final String IS_NULL = "is null";
     private static final String INSERT = "INSERT INTO process_instances (id, payload, process_id, process_version, version) VALUES ($1, $2, $3, $4, $5)";
     private static final String UPDATE = "UPDATE process_instances SET payload = $1 WHERE process_id = $2 and id = $3 and process_version ";
     private static final String DELETE = "DELETE FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
-    private static final String FIND_BY_ID = "SELECT payload, version FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
-    private static final String FIND_ALL = "SELECT payload, version FROM process_instances WHERE process_id = $1 and process_version ";
+    private static final String EXISTS = "SELECT 1 FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
+    // change records appended to a snapshot log are concatenated in order, so they come along with the payload in one round trip
+    private static final String SELECT_PAYLOAD =
+            "SELECT payload, version, (SELECT string_agg(changes.payload, ''::bytea ORDER BY changes.change_order) FROM process_instance_changes changes "
+                    + "WHERE changes.process_instance_id = process_instances.id) AS changes";
+    private static final String FIND_BY_ID = SELECT_PAYLOAD + " FROM process_instances WHERE process_id = $1 and id = $2 and process_version ";
+    private static final String FIND_ALL = SELECT_PAYLOAD + " FROM process_instances WHERE process_id = $1 and process_version ";
+    private static final String FIND_PAGE_AFTER = SELECT_PAYLOAD + " FROM process_instances WHERE process_id = $1 and id > $2 and process_version ";
+    private static final String ORDER_BY_ID_LIMIT = " ORDER BY id LIMIT $";
     private static final String UPDATE_WITH_LOCK = "UPDATE process_instances SET payload = $1, version = $2 WHERE process_id = $3 and id = $4 and version = $5 and process_version ";
+    private static final String UPDATE_VERSION_WITH_LOCK = "UPDATE process_instances SET version = $1 WHERE process_id = $2 and id = $3 and version = $4 and process_version ";
+    private static final String INSERT_CHANGE_RECORD = "INSERT INTO process_instance_changes (process_instance_id, change_order, payload) VALUES ($1, $2, $3)";
+    private static final String DELETE_CHANGE_RECORDS = "DELETE FROM process_instance_changes WHERE process_instance_id = $1";
     private static final String MIGRATE_BULK = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and process_version ";
     private static final String MIGRATE_INSTANCE = "UPDATE process_instances SET process_id = $1, process_version = $2 WHERE process_id = $3 and id = ANY ($4) and process_version ";
     static final String FIND_ALL_WAITING_FOR_EVENT_TYPE =
-            "SELECT payload, version FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND process_version ";
+            SELECT_PAYLOAD + " FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND process_version ";
+    static final String FIND_PAGE_WAITING_FOR_EVENT_TYPE_AFTER = SELECT_PAYLOAD
+            + " FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND id > $3 AND process_version ";
+    static final String EXISTS_WAITING_FOR_EVENT_TYPE =
+            "SELECT 1 FROM event_types, process_instances WHERE process_instances.id = event_types.process_instance_id AND event_type = $1 AND process_id = $2 AND event_types.process_instance_id = $3 AND process_version ";
     static final String DELETE_ALL_WAITING_FOR_EVENT_TYPE = "DELETE FROM event_types WHERE process_instance_id = $1";
     static final String INSERT_WAITING_FOR_EVENT_TYPE = "INSERT INTO event_types (process_instance_id, event_type) VALUES($1,$2)";
+    private static final String SET_LOCK_TIMEOUT = "SET LOCAL lock_timeout = ";
+    private static final String ADVISORY_LOCK = "SELECT pg_advisory_xact_lock(hashtextextended($1, 0))";
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
 
     private final Process<?> process;
     private final PgPool client;
@@ -79,92 +125,190 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
         this.process = process;
         this.client = client;
         this.queryTimeoutMillis = queryTimeoutMillis;
-        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
+        this.marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners().withDefaultChangeRecords()
                 .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
         this.lock = lock;
     }
 
     @Override
     public boolean exists(String id) {
-        return findById(id).isPresent();
+        return await(existsAsync(id), "Error finding process instance %s", id);
+    }
+
+    private CompletionStage<Boolean> existsAsync(String id) {
+        return client.preparedQuery(EXISTS + processVersion(3)).execute(tuple(process.id(), id))
+                .map(rows -> rows.rowCount() > 0)
+                .toCompletionStage();
     }
 
     @Override
     public void create(String id, ProcessInstance<T> instance) {
+        await(createAsync(id, instance), "Error inserting process instance %s", id);
+    }
+
+    private CompletionStage<Void> createAsync(String id, ProcessInstance<T> instance) {
         if (!isActive(instance) && instance.status() != ProcessInstance.STATE_PENDING) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
+        MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceChanges(instance);
+        Buffer payload = Buffer.buffer(marshalled.payload());
         String[] eventTypes = getUniqueEvents(instance);
-        insertInternal(id, marshaller.marshallProcessInstance(instance), eventTypes);
-        connectProcessInstance(instance);
+        return client.withTransaction(connection -> Future.all(
+                connection.preparedQuery(INSERT).execute(Tuple.of(id, payload, process.id(), process.version(), 0L)),
+                insertEventTypes(connection, id, eventTypes)))
+                .<Void> map(result -> {
+                    marshalled.written();
+                    connectProcessInstance(instance);
+                    return null;
+                })
+                .toCompletionStage();
     }
 
     @Override
     public void update(String id, ProcessInstance<T> instance) {
+        await(updateAsync(id, instance), "Error updating process instance %s", id);
+    }
+
+    private CompletionStage<Void> updateAsync(String id, ProcessInstance<T> instance) {
         if (!isActive(instance) && instance.status() != ProcessInstance.STATE_PENDING) {
-            return;
+            return CompletableFuture.completedFuture(null);
         }
-
+        MarshalledProcessInstance marshalled = marshaller.marshallProcessInstanceChanges(instance);
+        Buffer payload = Buffer.buffer(marshalled.payload());
         String[] eventTypes = getUniqueEvents(instance);
-        if (lock) {
-            updateWithLock(id, marshaller.marshallProcessInstance(instance), instance.version(), eventTypes);
-            ((AbstractProcessInstance<T>) instance).setVersion(instance.version() + 1);
-        } else {
-            updateInternal(id, marshaller.marshallProcessInstance(instance), eventTypes);
-        }
+        long version = instance.version();
+        return client.withTransaction(connection -> {
+            Future<RowSet<Row>> update = marshalled.isChangeRecord()
+                    ? appendChangeRecord(connection, id, payload, marshalled.changeRecord(), version)
+                    : update(connection, id, payload, version);
+            Future<RowSet<Row>> delete = connection.preparedQuery(DELETE_ALL_WAITING_FOR_EVENT_TYPE).execute(Tuple.of(id));
+            // a failed optimistic lock check rolls back the event type changes sent along with the update
+            return Future.all(update, delete, insertEventTypes(connection, id, eventTypes))
+                    .compose(result -> !lock || update.result().rowCount() == 1 ? Future.<Void> succeededFuture()
+                            : Future.<Void> failedFuture(new ProcessInstanceOptimisticLockingException(id)));
+        }).<Void> map(result -> {
+            if (lock) {
+                ((AbstractProcessInstance<T>) instance).setVersion(version + 1);
+            }
+            // only a committed payload becomes the base of the next change record
+            marshalled.written();
+            connectProcessInstance(instance);
+            return null;
+        }).toCompletionStage();
+    }
 
-        connectProcessInstance(instance);
+    private Future<RowSet<Row>> update(SqlConnection connection, String id, Buffer payload, long version) {
+        Future<RowSet<Row>> update = lock
+                ? connection.preparedQuery(UPDATE_WITH_LOCK + processVersion(6)).execute(tuple(payload, version + 1, process.id(), id, version))
+                : connection.preparedQuery(UPDATE + processVersion(4)).execute(tuple(payload, process.id(), id));
+        if (!MarshalledProcessInstance.isSnapshotLog(payload.getBytes())) {
+            return update;
+        }
+        // a new snapshot log starts over, the change records of the previous one are dropped
+        return Future.all(update, connection.preparedQuery(DELETE_CHANGE_RECORDS).execute(Tuple.of(id))).map(result -> update.result());
+    }
 
+    private Future<RowSet<Row>> appendChangeRecord(SqlConnection connection, String id, Buffer changeRecord, int changeOrder, long version) {
+        Future<RowSet<Row>> insert = connection.preparedQuery(INSERT_CHANGE_RECORD).execute(Tuple.of(id, changeOrder, changeRecord));
+        if (!lock) {
+            return insert;
+        }
+        Future<RowSet<Row>> update = connection.preparedQuery(UPDATE_VERSION_WITH_LOCK + processVersion(5)).execute(tuple(version + 1, process.id(), id, version));
+        return Future.all(update, insert).map(result -> update.result());
     }
 
     private String[] getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes()).collect(Collectors.toCollection(HashSet::new)).toArray(String[]::new);
     }
 
+    private Future<?> insertEventTypes(SqlClient connection, String id, String[] eventTypes) {
+        if (eventTypes.length == 0) {
+            return Future.succeededFuture();
+        }
+        List<Tuple> tupleEvents = new ArrayList<>(eventTypes.length);
+        for (String eventType : eventTypes) {
+            tupleEvents.add(Tuple.of(id, eventType));
+        }
+        return connection.preparedQuery(INSERT_WAITING_FOR_EVENT_TYPE).executeBatch(tupleEvents);
+    }
+
     @Override
     public void remove(String id) {
-        deleteInternal(id);
+        await(removeAsync(id), "Error deleting process instance %s", id);
+    }
+
+    private CompletionStage<Void> removeAsync(String id) {
+        return client.withTransaction(connection -> Future.all(
+                connection.preparedQuery(DELETE + processVersion(3)).execute(tuple(process.id(), id)),
+                connection.preparedQuery(DELETE_ALL_WAITING_FOR_EVENT_TYPE).execute(Tuple.of(id)),
+                connection.preparedQuery(DELETE_CHANGE_RECORDS).execute(Tuple.of(id))))
+                .<Void> mapEmpty()
+                .toCompletionStage();
     }
 
     @Override
     public Optional<ProcessInstance<T>> findById(String id, ProcessInstanceReadMode mode) {
-        return findByIdInternal(id).map(r -> {
-            return (AbstractProcessInstance<T>) unmarshall(r, mode);
-        });
+        return await(findByIdAsync(id, mode), "Error finding process instance %s", id);
+    }
+
+    @Override
+    public CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode) {
+        return findByIdInternal(id).map(row -> row.map(r -> unmarshall(r, mode))).toCompletionStage();
     }
 
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
-        try {
-            return getResultFromFuture(client.preparedQuery(FIND_ALL + (process.version() == null ? IS_NULL : "= $2")).execute(tuple(process.id())))
-                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
-                    .map(row -> unmarshall(row, mode));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        } catch (ExecutionException | TimeoutException e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        }
+        RowSet<Row> rows = await(client.preparedQuery(FIND_ALL + processVersion(2)).execute(tuple(process.id())).toCompletionStage(),
+                "Error finding all process instances, for processId %s", process.id());
+        return StreamSupport.stream(rows.spliterator(), false).map(row -> unmarshall(row, mode));
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        Future<RowSet<Row>> future = after == null
+                ? client.preparedQuery(FIND_ALL + processVersion(3) + ORDER_BY_ID_LIMIT + 2).execute(tuple(process.id(), size))
+                : client.preparedQuery(FIND_PAGE_AFTER + processVersion(4) + ORDER_BY_ID_LIMIT + 3).execute(tuple(process.id(), after, size));
+        RowSet<Row> rows = await(future.toCompletionStage(), "Error finding process instances after %s, for processId %s", after, process.id());
+        return StreamSupport.stream(rows.spliterator(), false).map(row -> unmarshall(row, mode));
     }
 
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        try {
-            Tuple parameters = tuple(eventType, process.id());
-            return getResultFromFuture(client.preparedQuery(FIND_ALL_WAITING_FOR_EVENT_TYPE + (process.version() == null ? IS_NULL : "= $3")).execute(parameters))
-                    .map(r -> StreamSupport.stream(r.spliterator(), false)).orElse(Stream.empty())
-                    .map(row -> unmarshall(row, mode));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        } catch (ExecutionException | TimeoutException e) {
-            throw uncheckedException(e, "Error finding all process instances, for processId %s", process.id());
-        }
+        return await(waitingForEventTypeAsync(eventType, mode), "Error finding all process instances, for processId %s", process.id()).stream();
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        Future<RowSet<Row>> future = after == null
+                ? client.preparedQuery(FIND_ALL_WAITING_FOR_EVENT_TYPE + processVersion(4) + ORDER_BY_ID_LIMIT + 3).execute(tuple(eventType, process.id(), size))
+                : client.preparedQuery(FIND_PAGE_WAITING_FOR_EVENT_TYPE_AFTER + processVersion(5) + ORDER_BY_ID_LIMIT + 4).execute(tuple(eventType, process.id(), after, size));
+        RowSet<Row> rows = await(future.toCompletionStage(), "Error finding process instances waiting for %s after %s, for processId %s", eventType, after, process.id());
+        return StreamSupport.stream(rows.spliterator(), false).map(row -> unmarshall(row, mode));
+    }
 
+    private CompletionStage<List<ProcessInstance<T>>> waitingForEventTypeAsync(String eventType, ProcessInstanceReadMode mode) {
+        return client.preparedQuery(FIND_ALL_WAITING_FOR_EVENT_TYPE + processVersion(3)).execute(tuple(eventType, process.id()))
+                .map(rows -> {
+                    List<ProcessInstance<T>> instances = new ArrayList<>(rows.rowCount());
+                    rows.forEach(row -> instances.add(unmarshall(row, mode)));
+                    return instances;
+                })
+                .toCompletionStage();
+    }
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        return await(isWaitingForAsync(eventType, id), "Error checking if process instance %s is waiting for %s", id, eventType);
+    }
+
+    private CompletionStage<Boolean> isWaitingForAsync(String eventType, String id) {
+        return client.preparedQuery(EXISTS_WAITING_FOR_EVENT_TYPE + processVersion(4)).execute(tuple(eventType, process.id(), id))
+                .map(rows -> rows.rowCount() > 0)
+                .toCompletionStage();
     }
 
     private ProcessInstance<T> unmarshall(Row r, ProcessInstanceReadMode mode) {
-        AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(r.getBuffer(PAYLOAD).getBytes(), process, mode);
+        AbstractProcessInstance<T> instance = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(payload(r), process, mode);
         instance.setVersion(r.getLong(VERSION));
         connectProcessInstance(instance);
         return instance;
@@ -176,33 +320,16 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
     }
 
     private void connectProcessInstance(ProcessInstance<T> instance) {
-        ((AbstractProcessInstance<T>) instance).internalSetReloadSupplier(marshaller.createdReloadFunction(() -> findByIdInternal(instance.id()).map(r -> {
-            ((AbstractProcessInstance<T>) instance).setVersion(r.getLong(VERSION));
-            return r.getBuffer(PAYLOAD).getBytes();
-        }).orElseThrow()));
+        ((AbstractProcessInstance<T>) instance).internalSetReloadSupplier(marshaller.createdReloadFunction(
+                () -> await(findByIdInternal(instance.id()).toCompletionStage(), "Error finding process instance %s", instance.id()).map(r -> {
+                    ((AbstractProcessInstance<T>) instance).setVersion(r.getLong(VERSION));
+                    return payload(r);
+                }).orElseThrow()));
     }
 
-    private boolean insertInternal(String id, byte[] payload, String[] eventTypes) {
-        try {
-            Tuple tuple = Tuple.of(id, Buffer.buffer(payload), process.id(), process.version(), 0L);
-            Future<RowSet<Row>> future = client.preparedQuery(INSERT).execute(tuple);
-            boolean inserted = getExecutedResult(future);
-
-            List<Tuple> tupleEvents = new ArrayList<>();
-            for (String eventType : eventTypes) {
-                tupleEvents.add(Tuple.of(id, eventType));
-            }
-
-            if (!tupleEvents.isEmpty()) {
-                executeFuture(client.preparedQuery(INSERT_WAITING_FOR_EVENT_TYPE).executeBatch(tupleEvents));
-            }
-            return inserted;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error inserting process instance %s", id);
-        }
+    private static byte[] payload(Row r) {
+        Buffer changes = r.getBuffer(CHANGES);
+        return changes == null ? r.getBuffer(PAYLOAD).getBytes() : r.getBuffer(PAYLOAD).copy().appendBuffer(changes).getBytes();
     }
 
     private RuntimeException uncheckedException(Exception ex, String message, Object... param) {
@@ -211,115 +338,74 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
 
     @Override
     public long migrateAll(String targetProcessId, String targetProcessVersion) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_BULK + IS_NULL);
-            } else {
-                rows = client.preparedQuery(MIGRATE_BULK + "= $4");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id()));
-            return getResultFromFuture(future).map(RowSet::rowCount).orElse(0);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error migration process instance %s %s", process.id(), process.version());
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s %s", process.id(), process.version());
-        }
+        PreparedQuery<RowSet<Row>> rows = client.preparedQuery(MIGRATE_BULK + processVersion(4));
+        Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id()));
+        return await(future.map(RowSet::rowCount).toCompletionStage(), "Error migration process instance %s %s", process.id(), process.version());
     }
 
     @Override
     public void migrateProcessInstances(String targetProcessId, String targetProcessVersion, String... processIds) {
-        try {
-            PreparedQuery<RowSet<Row>> rows = null;
-            if (process.version() == null) {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + IS_NULL);
-            } else {
-                rows = client.preparedQuery(MIGRATE_INSTANCE + "= $5");
-            }
-            Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id(), processIds));
-            getExecutedResult(future);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", Arrays.toString(processIds));
-        }
+        PreparedQuery<RowSet<Row>> rows = client.preparedQuery(MIGRATE_INSTANCE + processVersion(5));
+        Future<RowSet<Row>> future = rows.execute(tuple(targetProcessId, targetProcessVersion, process.id(), processIds));
+        await(future.toCompletionStage(), "Error migrating process instance %s", Arrays.toString(processIds));
     }
 
-    private boolean updateInternal(String id, byte[] payload, String[] eventTypes) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(UPDATE + (process.version() == null ? IS_NULL : "= $4"))
-                            .execute(tuple(Buffer.buffer(payload), process.id(), id));
-
-            boolean result = getExecutedResult(future);
-            executeFuture(client.preparedQuery(DELETE_ALL_WAITING_FOR_EVENT_TYPE).execute(Tuple.of(id)));
-            List<Tuple> tupleEvents = new ArrayList<>();
-            for (String eventType : eventTypes) {
-                tupleEvents.add(Tuple.of(id, eventType));
-            }
-            if (!tupleEvents.isEmpty()) {
-                executeFuture(client.preparedQuery(INSERT_WAITING_FOR_EVENT_TYPE).executeBatch(tupleEvents));
-            }
-            return result;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
+    private Future<Optional<Row>> findByIdInternal(String id) {
+        return client.preparedQuery(FIND_BY_ID + processVersion(3)).execute(tuple(process.id(), id))
+                .map(rows -> Optional.of(rows.iterator()).filter(Iterator::hasNext).map(Iterator::next));
     }
 
-    private boolean deleteInternal(String id) {
+    /**
+     * Blocks until the advisory lock is granted, at most the given timeout plus the query timeout. The lock holds a
+     * connection of the pool until it is closed.
+     */
+    @Override
+    public Lock acquire(String processInstanceId, Duration timeout) {
+        Future<Lock> locked = client.getConnection().compose(connection -> connection.begin()
+                .compose(transaction -> connection.query(SET_LOCK_TIMEOUT + timeout.toMillis()).execute()
+                        .compose(result -> connection.preparedQuery(ADVISORY_LOCK).execute(Tuple.of(processInstanceId)))
+                        .<Lock> map(result -> () -> release(connection, transaction)))
+                .onFailure(e -> connection.close()));
         try {
-            Future<RowSet<Row>> future = client.preparedQuery(DELETE + (process.version() == null ? IS_NULL : "= $3"))
-                    .execute(tuple(process.id(), id));
-            boolean result = getExecutedResult(future);
-            executeFuture(client.preparedQuery(DELETE_ALL_WAITING_FOR_EVENT_TYPE).execute(Tuple.of(id)));
-            return result;
+            return locked.toCompletionStage().toCompletableFuture().get(timeout.toMillis() + queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error deleting process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error deleting process instance %s", id);
+            locked.onSuccess(Lock::close);
+            throw uncheckedException(e, "Error locking process instance %s", processInstanceId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof PgException pgException && LOCK_NOT_AVAILABLE.equals(pgException.getSqlState())) {
+                throw new ProcessInstanceLockTimeoutException(processInstanceId, timeout.toMillis());
+            }
+            throw uncheckedException(e, "Error locking process instance %s", processInstanceId);
+        } catch (TimeoutException e) {
+            // the lock might still be granted later on, make sure it is released then
+            locked.onSuccess(Lock::close);
+            throw new ProcessInstanceLockTimeoutException(processInstanceId, timeout.toMillis());
         }
     }
 
-    private Boolean getExecutedResult(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
-        try {
-            return getResultFromFuture(future).map(RowSet::rowCount).map(count -> count == 1).orElse(false);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw e;
-        }
+    private void release(SqlConnection connection, Transaction transaction) {
+        transaction.commit().onComplete(result -> connection.close());
     }
 
-    private Optional<RowSet<Row>> getResultFromFuture(Future<RowSet<Row>> future) throws ExecutionException, TimeoutException, InterruptedException {
+    private <R> R await(CompletionStage<R> stage, String message, Object... params) {
         try {
-            return Optional.ofNullable(executeFuture(future));
+            return stage.toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw e;
+            throw uncheckedException(e, message, params);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ProcessInstanceOptimisticLockingException) {
+                throw (ProcessInstanceOptimisticLockingException) e.getCause();
+            }
+            throw uncheckedException(e, message, params);
+        } catch (TimeoutException e) {
+            throw uncheckedException(e, message, params);
         }
     }
 
-    private <R> R executeFuture(Future<R> future) throws InterruptedException, ExecutionException, TimeoutException {
-        return future.toCompletionStage().toCompletableFuture().get(queryTimeoutMillis, TimeUnit.MILLISECONDS);
-    }
-
-    private Optional<Row> findByIdInternal(String id) {
-        try {
-            Future<RowSet<Row>> future =
-                    client.preparedQuery(FIND_BY_ID + (process.version() == null ? IS_NULL : "= $3"))
-                            .execute(tuple(process.id(), id));
-            return getResultFromFuture(future).map(RowSet::iterator).filter(Iterator::hasNext).map(Iterator::next);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error finding process instance %s", id);
-        }
+    private String processVersion(int parameterIndex) {
+        return process.version() == null ? IS_NULL : "= $" + parameterIndex;
     }
 
     private Tuple tuple(Object... parameters) {
@@ -329,31 +415,4 @@ public class PostgresqlProcessInstances<T extends Model> implements MutableProce
         }
         return tuple;
     }
-
-    private boolean updateWithLock(String id, byte[] payload, long version, String[] eventTypes) {
-        try {
-            Future<RowSet<Row>> future = client.preparedQuery(UPDATE_WITH_LOCK + (process.version() == null ? IS_NULL : "= $6"))
-                    .execute(tuple(Buffer.buffer(payload), version + 1, process.id(), id, version));
-            if (!getExecutedResult(future)) {
-                throw new ProcessInstanceOptimisticLockingException(id);
-            }
-            executeFuture(client.preparedQuery(DELETE_ALL_WAITING_FOR_EVENT_TYPE).execute(Tuple.of(id)));
-            List<Tuple> tupleEvents = new ArrayList<>();
-            for (String eventType : eventTypes) {
-                tupleEvents.add(Tuple.of(id, eventType));
-            }
-            if (!tupleEvents.isEmpty()) {
-                executeFuture(client.preparedQuery(INSERT_WAITING_FOR_EVENT_TYPE).executeBatch(tupleEvents));
-            }
-            return true;
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } catch (ProcessInstanceOptimisticLockingException e) {
-            throw e;
-        } catch (Exception e) {
-            throw uncheckedException(e, "Error updating process instance %s", id);
-        }
-        return false;
-    }
-
 }
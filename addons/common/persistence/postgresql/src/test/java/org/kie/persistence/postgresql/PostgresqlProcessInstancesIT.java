@@ -21,6 +21,7 @@ package org.kie.persistence.postgresql;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -36,6 +37,7 @@ import org.kie.kogito.persistence.postgresql.PostgresqlProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
@@ -125,6 +127,28 @@ class PostgresqlProcessInstancesIT {
         return PgPool.pool(container.getReactiveUrl());
     }
 
+    @Test
+    void testStreamPage() {
+        BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
+        List<String> ids = Stream.generate(() -> {
+            ProcessInstance<BpmnVariables> processInstance = process.createInstance(BpmnVariables.create());
+            processInstance.start();
+            return processInstance.id();
+        }).limit(3).sorted().toList();
+
+        ProcessInstances<BpmnVariables> processInstances = process.instances();
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(null, 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(1), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        }
+        try (Stream<ProcessInstance<BpmnVariables>> page = processInstances.stream(ids.get(2), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).isEmpty();
+        }
+        abort(processInstances);
+    }
+
     @Test
     void testBasicFlow() {
         BpmnProcess process = createProcess("BPMN2-UserTask.bpmn2");
@@ -321,6 +345,22 @@ class PostgresqlProcessInstancesIT {
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
 
+    @Test
+    public void testFindByIdAsync() throws Exception {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        PostgresqlProcessInstances<BpmnVariables> instances = (PostgresqlProcessInstances<BpmnVariables>) process.instances();
+        ProcessInstance<BpmnVariables> pi = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        pi.start();
+        pi.workItems().forEach(wi -> pi.completeWorkItem(wi.getId(), Collections.emptyMap()));
+
+        assertThat(instances.findByIdAsync(pi.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get()).map(ProcessInstance::id).hasValue(pi.id());
+        assertThat(instances.isWaitingFor("sig1", pi.id())).isTrue();
+
+        instances.remove(pi.id());
+        assertThat(instances.findByIdAsync(pi.id(), ProcessInstanceReadMode.READ_ONLY).toCompletableFuture().get()).isEmpty();
+        assertThat(instances.isWaitingFor("sig1", pi.id())).isFalse();
+    }
+
     private class PostgreProcessInstancesFactory extends AbstractProcessInstancesFactory {
 
         public PostgreProcessInstancesFactory(PgPool client, boolean lock, HeadersPersistentConfig headersConfig) {
@@ -19,10 +19,12 @@
 package org.kie.kogito.persistence.rocksdb;
 
 import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterators.AbstractSpliterator;
@@ -40,29 +42,55 @@ import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
-
-import static java.util.stream.Collectors.toCollection;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
 
 public class RocksDBProcessInstances<T extends Model> implements MutableProcessInstances<T> {
-    private final String EVENT_SEPARATOR = "::";
+    private static final String LEGACY_EVENT_SEPARATOR = "::";
+    // separates the parts of the event type index keys, event types and ids never contain it
+    private static final char KEY_SEPARATOR = '\0';
+    private static final byte[] EMPTY = new byte[0];
+
     private final Process<T> process;
     private final ProcessInstanceMarshallerService marshaller;
     private final RocksDB db;
-    private String eventKey;
+    private final ColumnFamilyHandle eventTypes;
+    private final ColumnFamilyHandle businessKeys;
+    private final String eventKey;
+    private final String eventTypeKeyPrefix;
+    private final String instanceKeyPrefix;
+    private final String businessKeyPrefix;
 
-    public RocksDBProcessInstances(Process<T> process, RocksDB db) {
-        this(process, db, null);
+    public RocksDBProcessInstances(Process<T> process, RocksDB db, ColumnFamilyHandle eventTypes, ColumnFamilyHandle businessKeys) {
+        this(process, db, eventTypes, businessKeys, null);
     }
 
-    public RocksDBProcessInstances(Process<T> process, RocksDB db, HeadersPersistentConfig headersConfig) {
+    /**
+     * Event type subscriptions are kept in the given column family as a secondary index with two kinds of keys
+     * <ul>
+     * <li>{@code <process>\0t\0<eventType>\0<instanceId>} so instances waiting for an event type are found with a prefix scan</li>
+     * <li>{@code <process>\0i\0<instanceId>} holding the event types of the instance, so updates only write the changed ones</li>
+     * </ul>
+     * Business keys are kept the same way in their own column family, {@code <process>\0k\0<businessKey>} holding the instance id
+     * and {@code <process>\0i\0<instanceId>} holding the business key, so the index entry can be dropped on removal.
+     */
+    public RocksDBProcessInstances(Process<T> process, RocksDB db, ColumnFamilyHandle eventTypes, ColumnFamilyHandle businessKeys, HeadersPersistentConfig headersConfig) {
         this.process = process;
         marshaller = ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().withDefaultListeners()
                 .withContextEntry(MarshallerContextName.MARSHALLER_HEADERS_CONFIG, headersConfig).build();
         this.db = db;
+        this.eventTypes = eventTypes;
+        this.businessKeys = businessKeys;
         this.eventKey = process.id() + "-" + process.version() + ".events";
+        String processKeyPrefix = process.id() + "-" + process.version() + KEY_SEPARATOR;
+        this.eventTypeKeyPrefix = processKeyPrefix + "t" + KEY_SEPARATOR;
+        this.instanceKeyPrefix = processKeyPrefix + "i" + KEY_SEPARATOR;
+        this.businessKeyPrefix = processKeyPrefix + "k" + KEY_SEPARATOR;
+        migrateLegacyEventTypes();
     }
 
     private class RockSplitIterator extends AbstractSpliterator<ProcessInstance<T>> implements Closeable {
@@ -113,29 +141,84 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        try {
+            byte[] id = db.get(businessKeys, toBytes(businessKeyPrefix + businessKey));
+            return id == null ? Optional.empty() : findById(new String(id, StandardCharsets.UTF_8), mode);
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
         RocksDBProcessInstances<T>.RockSplitIterator iterator = new RockSplitIterator(db.newIterator(), mode);
         return StreamSupport.stream(iterator, false).onClose(iterator::close);
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        List<ProcessInstance<T>> page = new ArrayList<>();
+        try (RocksIterator iterator = db.newIterator()) {
+            if (after == null) {
+                iterator.seekToFirst();
+            } else {
+                byte[] afterKey = after.getBytes();
+                iterator.seek(afterKey);
+                if (iterator.isValid() && Arrays.equals(iterator.key(), afterKey)) {
+                    iterator.next();
+                }
+            }
+            for (; iterator.isValid() && page.size() < size; iterator.next()) {
+                if (!eventKey.equals(new String(iterator.key()))) {
+                    page.add(unmarshall(iterator.value(), mode));
+                }
+            }
+        }
+        return page.stream();
+    }
+
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        try {
-            byte[] eventData = db.get(this.eventKey.getBytes());
-            if (eventData == null) {
-                return Collections.<ProcessInstance<T>> emptyList().stream();
+        return loadWaiting(waitingIds(eventType, null, Integer.MAX_VALUE), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        return loadWaiting(waitingIds(eventType, after, size), mode);
+    }
+
+    // index keys are sorted by event type and then by id, so a page is a seek followed by a bounded scan
+    private List<String> waitingIds(String eventType, String after, int size) {
+        byte[] prefix = toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR);
+        List<String> processInstancesId = new ArrayList<>();
+        try (RocksIterator iterator = db.newIterator(eventTypes)) {
+            if (after == null) {
+                iterator.seek(prefix);
+            } else {
+                byte[] afterKey = toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + after);
+                iterator.seek(afterKey);
+                if (iterator.isValid() && Arrays.equals(iterator.key(), afterKey)) {
+                    iterator.next();
+                }
+            }
+            for (; iterator.isValid() && startsWith(iterator.key(), prefix) && processInstancesId.size() < size; iterator.next()) {
+                byte[] key = iterator.key();
+                processInstancesId.add(new String(key, prefix.length, key.length - prefix.length, StandardCharsets.UTF_8));
             }
-            String list = new String(eventData);
-            List<String> processInstancesId = Stream.of(list.split(","))
-                    .filter(e -> e.startsWith(eventType + EVENT_SEPARATOR))
-                    .map(e -> e.substring(e.indexOf(EVENT_SEPARATOR) + EVENT_SEPARATOR.length()))
-                    .toList();
+        }
+        return processInstancesId;
+    }
 
+    private Stream<ProcessInstance<T>> loadWaiting(List<String> processInstancesId, ProcessInstanceReadMode mode) {
+        try {
             List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
             for (String processInstanceId : processInstancesId) {
                 byte[] processData = db.get(processInstanceId.getBytes());
-                waitingInstances.add(unmarshall(processData, mode));
+                if (processData != null) {
+                    waitingInstances.add(unmarshall(processData, mode));
+                }
             }
             return waitingInstances.stream();
         } catch (RocksDBException ex) {
@@ -143,6 +226,16 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
         }
     }
 
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        try {
+            return db.get(eventTypes, toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + id)) != null;
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     @Override
     public boolean exists(String id) {
         try {
@@ -158,45 +251,127 @@ public class RocksDBProcessInstances<T extends Model> implements MutableProcessI
     }
 
     @Override
-    public synchronized void update(String id, ProcessInstance<T> instance) {
-        try {
-            db.put(id.getBytes(), marshaller.marshallProcessInstance(instance));
+    public void update(String id, ProcessInstance<T> instance) {
+        try (WriteBatch batch = new WriteBatch()) {
+            batch.put(id.getBytes(), marshaller.marshallProcessInstance(instance));
+            Set<String> current = getUniqueEvents(instance);
+            Set<String> previous = readEventTypes(id);
+            for (String eventType : previous) {
+                if (!current.contains(eventType)) {
+                    batch.delete(eventTypes, toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + id));
+                }
+            }
+            for (String eventType : current) {
+                if (!previous.contains(eventType)) {
+                    batch.put(eventTypes, toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + id), EMPTY);
+                }
+            }
+            if (current.isEmpty()) {
+                batch.delete(eventTypes, toBytes(instanceKeyPrefix + id));
+            } else if (!current.equals(previous)) {
+                batch.put(eventTypes, toBytes(instanceKeyPrefix + id), toBytes(String.join(String.valueOf(KEY_SEPARATOR), current)));
+            }
+            updateBusinessKey(batch, id, instance.businessKey());
+            write(batch);
             connectProcessInstance(instance);
-            Set<String> events = clearEventTypes(instance.id());
-            events.addAll(getUniqueEvents(instance));
-            db.put(this.eventKey.getBytes(), toBytes(events));
         } catch (RocksDBException ex) {
             throw new IllegalStateException(ex);
         }
     }
 
-    private byte[] toBytes(Set<String> events) {
-        return String.join(",", events).getBytes();
+    @Override
+    public void remove(String id) {
+        try (WriteBatch batch = new WriteBatch()) {
+            batch.delete(id.getBytes());
+            for (String eventType : readEventTypes(id)) {
+                batch.delete(eventTypes, toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + id));
+            }
+            batch.delete(eventTypes, toBytes(instanceKeyPrefix + id));
+            updateBusinessKey(batch, id, null);
+            write(batch);
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 
-    private Set<String> clearEventTypes(String processInstanceId) throws RocksDBException {
-        byte[] eventData = db.get(this.eventKey.getBytes());
-        String list = eventData != null ? new String(eventData) : new String();
-        return Stream.of(list.split(",")).filter(e -> !e.endsWith(EVENT_SEPARATOR + processInstanceId)).collect(toCollection(HashSet::new));
+    private void write(WriteBatch batch) throws RocksDBException {
+        try (WriteOptions writeOptions = new WriteOptions()) {
+            db.write(writeOptions, batch);
+        }
     }
 
-    @Override
-    public synchronized void remove(String id) {
-        try {
-            db.delete(id.getBytes());
-            Set<String> events = clearEventTypes(id);
-            db.put(this.eventKey.getBytes(), toBytes(events));
-        } catch (RocksDBException ex) {
-            throw new IllegalStateException(ex);
+    private void updateBusinessKey(WriteBatch batch, String id, String businessKey) throws RocksDBException {
+        byte[] instanceKey = toBytes(instanceKeyPrefix + id);
+        byte[] previous = db.get(businessKeys, instanceKey);
+        String previousBusinessKey = previous == null ? null : new String(previous, StandardCharsets.UTF_8);
+        if (Objects.equals(previousBusinessKey, businessKey)) {
+            return;
         }
+        if (previousBusinessKey != null) {
+            batch.delete(businessKeys, toBytes(businessKeyPrefix + previousBusinessKey));
+        }
+        if (businessKey == null) {
+            batch.delete(businessKeys, instanceKey);
+        } else {
+            batch.put(businessKeys, toBytes(businessKeyPrefix + businessKey), toBytes(id));
+            batch.put(businessKeys, instanceKey, toBytes(businessKey));
+        }
+    }
+
+    private Set<String> readEventTypes(String processInstanceId) throws RocksDBException {
+        byte[] data = db.get(eventTypes, toBytes(instanceKeyPrefix + processInstanceId));
+        Set<String> events = new HashSet<>();
+        if (data != null && data.length > 0) {
+            events.addAll(Arrays.asList(new String(data, StandardCharsets.UTF_8).split(String.valueOf(KEY_SEPARATOR))));
+        }
+        return events;
     }
 
     private Set<String> getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes())
-                .map(e -> e + EVENT_SEPARATOR + instance.id())
                 .collect(Collectors.toCollection(HashSet::new));
     }
 
+    /**
+     * Moves the event types stored by previous versions as a single comma separated entry into the event type index.
+     */
+    private void migrateLegacyEventTypes() {
+        try {
+            byte[] eventData = db.get(eventKey.getBytes());
+            if (eventData == null) {
+                return;
+            }
+            try (WriteBatch batch = new WriteBatch()) {
+                Stream.of(new String(eventData).split(","))
+                        .filter(e -> e.contains(LEGACY_EVENT_SEPARATOR))
+                        .collect(Collectors.groupingBy(e -> e.substring(e.lastIndexOf(LEGACY_EVENT_SEPARATOR) + LEGACY_EVENT_SEPARATOR.length()),
+                                Collectors.mapping(e -> e.substring(0, e.lastIndexOf(LEGACY_EVENT_SEPARATOR)), Collectors.toSet())))
+                        .forEach((id, events) -> {
+                            try {
+                                for (String eventType : events) {
+                                    batch.put(eventTypes, toBytes(eventTypeKeyPrefix + eventType + KEY_SEPARATOR + id), EMPTY);
+                                }
+                                batch.put(eventTypes, toBytes(instanceKeyPrefix + id), toBytes(String.join(String.valueOf(KEY_SEPARATOR), events)));
+                            } catch (RocksDBException ex) {
+                                throw new IllegalStateException(ex);
+                            }
+                        });
+                batch.delete(eventKey.getBytes());
+                write(batch);
+            }
+        } catch (RocksDBException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static byte[] toBytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
     private ProcessInstance<T> unmarshall(byte[] data, ProcessInstanceReadMode mode) {
         AbstractProcessInstance<?> pi = (AbstractProcessInstance<?>) marshaller.unmarshallProcessInstance(data, process, mode);
         connectProcessInstance(pi);
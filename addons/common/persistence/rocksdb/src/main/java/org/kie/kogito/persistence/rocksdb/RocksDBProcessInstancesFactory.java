@@ -18,34 +18,85 @@
  */
 package org.kie.kogito.persistence.rocksdb;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
 import org.rocksdb.Options;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 
 public class RocksDBProcessInstancesFactory implements ProcessInstancesFactory, AutoCloseable {
 
+    static final byte[] EVENT_TYPES_COLUMN_FAMILY = "event-types".getBytes();
+    static final byte[] BUSINESS_KEYS_COLUMN_FAMILY = "business-keys".getBytes();
+
     private final RocksDB db;
     private final HeadersPersistentConfig headersConfig;
+    private final DBOptions dbOptions;
+    private final ColumnFamilyOptions columnFamilyOptions;
+    private final List<ColumnFamilyHandle> columnFamilies = new ArrayList<>();
+    private final ColumnFamilyHandle eventTypesColumnFamily;
+    private final ColumnFamilyHandle businessKeysColumnFamily;
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation) throws RocksDBException {
         this(options, dbLocation, null);
     }
 
     public RocksDBProcessInstancesFactory(Options options, String dbLocation, HeadersPersistentConfig headersConfig) throws RocksDBException {
-        this.db = RocksDB.open(options, dbLocation);
+        this.dbOptions = new DBOptions(options).setCreateMissingColumnFamilies(true);
+        this.columnFamilyOptions = new ColumnFamilyOptions(options);
+        // every existing column family must be listed when opening the database
+        List<byte[]> columnFamilyNames = new ArrayList<>();
+        columnFamilyNames.add(RocksDB.DEFAULT_COLUMN_FAMILY);
+        // an existing but empty directory (a fresh data directory) holds no database yet
+        if (new File(dbLocation, "CURRENT").exists()) {
+            for (byte[] name : RocksDB.listColumnFamilies(options, dbLocation)) {
+                if (!Arrays.equals(name, RocksDB.DEFAULT_COLUMN_FAMILY)) {
+                    columnFamilyNames.add(name);
+                }
+            }
+        }
+        int eventTypesIndex = indexOrAdd(columnFamilyNames, EVENT_TYPES_COLUMN_FAMILY);
+        int businessKeysIndex = indexOrAdd(columnFamilyNames, BUSINESS_KEYS_COLUMN_FAMILY);
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (byte[] name : columnFamilyNames) {
+            descriptors.add(new ColumnFamilyDescriptor(name, columnFamilyOptions));
+        }
+        this.db = RocksDB.open(dbOptions, dbLocation, descriptors, columnFamilies);
+        this.eventTypesColumnFamily = columnFamilies.get(eventTypesIndex);
+        this.businessKeysColumnFamily = columnFamilies.get(businessKeysIndex);
         this.headersConfig = headersConfig;
     }
 
+    private static int indexOrAdd(List<byte[]> names, byte[] name) {
+        for (int i = 0; i < names.size(); i++) {
+            if (Arrays.equals(names.get(i), name)) {
+                return i;
+            }
+        }
+        names.add(name);
+        return names.size() - 1;
+    }
+
     @Override
     public RocksDBProcessInstances<?> createProcessInstances(Process<?> process) {
-        return new RocksDBProcessInstances(process, db, headersConfig);
+        return new RocksDBProcessInstances(process, db, eventTypesColumnFamily, businessKeysColumnFamily, headersConfig);
     }
 
     @Override
     public void close() {
+        columnFamilies.forEach(ColumnFamilyHandle::close);
         db.close();
+        dbOptions.close();
+        columnFamilyOptions.close();
     }
 }
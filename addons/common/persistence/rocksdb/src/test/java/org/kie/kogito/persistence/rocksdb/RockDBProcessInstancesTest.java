@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -42,6 +43,7 @@ import org.kie.kogito.Model;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.bpmn2.BpmnProcess;
 import org.kie.kogito.process.bpmn2.BpmnVariables;
@@ -157,6 +159,65 @@ class RockDBProcessInstancesTest {
         assertThat(process.instances().stream().count()).isEqualTo(0);
     }
 
+    @Test
+    public void testWaitingForEventTypeIndex() throws RocksDBException {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> pi1 = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        ProcessInstance<BpmnVariables> pi2 = process.createInstance(BpmnVariables.create(Collections.singletonMap("name", "sig2")));
+        pi1.start();
+        pi2.start();
+        pi1.workItems().forEach(wi -> pi1.completeWorkItem(wi.getId(), Collections.emptyMap()));
+        pi2.workItems().forEach(wi -> pi2.completeWorkItem(wi.getId(), Collections.emptyMap()));
+
+        assertThat(process.instances().waitingForEventType("sig1")).extracting(ProcessInstance::id).containsExactly(pi1.id());
+        assertThat(process.instances().waitingForEventType("sig2")).extracting(ProcessInstance::id).containsExactly(pi2.id());
+
+        // the index survives reopening the database
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString());
+        process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        assertThat(process.instances().waitingForEventType("sig1")).extracting(ProcessInstance::id).containsExactly(pi1.id());
+
+        process.send(SignalFactory.of("sig1", "SomeValue"));
+        assertThat(process.instances().waitingForEventType("sig1")).isEmpty();
+        assertThat(process.instances().waitingForEventType("sig2")).extracting(ProcessInstance::id).containsExactly(pi2.id());
+    }
+
+    @Test
+    public void testFindByBusinessKey() throws RocksDBException {
+        BpmnProcess process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        ProcessInstance<BpmnVariables> pi1 = process.createInstance("order-1", BpmnVariables.create(Collections.singletonMap("name", "sig1")));
+        pi1.start();
+        pi1.workItems().forEach(wi -> pi1.completeWorkItem(wi.getId(), Collections.emptyMap()));
+
+        assertThat(process.instances().findByBusinessKey("order-1")).map(ProcessInstance::id).hasValue(pi1.id());
+        assertThat(process.instances().findByBusinessKey("order-2")).isEmpty();
+
+        // the index survives reopening the database
+        factory.close();
+        factory = new RocksDBProcessInstancesFactory(options, tempDir.toString());
+        process = createProcess("BPMN2-IntermediateCatchEventSignal.bpmn2");
+        assertThat(process.instances().findByBusinessKey("order-1")).map(ProcessInstance::id).hasValue(pi1.id());
+
+        process.send(SignalFactory.of("sig1", "SomeValue"));
+        assertThat(process.instances().findByBusinessKey("order-1")).isEmpty();
+    }
+
+    @Test
+    void testStreamPage() {
+        List<String> ids = Stream.generate(this::createProcessInstance).limit(3).map(WorkflowProcessInstance::getId).sorted().toList();
+
+        try (Stream<ProcessInstance<?>> page = pi.stream(null, 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(0), ids.get(1));
+        }
+        try (Stream<ProcessInstance<?>> page = pi.stream(ids.get(1), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).extracting(ProcessInstance::id).containsExactly(ids.get(2));
+        }
+        try (Stream<ProcessInstance<?>> page = pi.stream(ids.get(2), 2, ProcessInstanceReadMode.READ_ONLY)) {
+            assertThat(page).isEmpty();
+        }
+    }
+
     WorkflowProcessInstance createProcessInstance() {
         WorkflowProcessInstance instance = ((AbstractProcessInstance<?>) process.createInstance(BpmnVariables.create(Collections.singletonMap("test", "test")))).internalGetProcessInstance();
         logger.debug("Created instance {}", instance.getId());
@@ -18,40 +18,81 @@
  */
 package org.kie.kogito.tracing.decision;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.event.cloudevents.utils.CloudEventUtils;
+import org.kie.kogito.tracing.EventEmitter;
+import org.kie.kogito.tracing.decision.aggregator.Aggregation;
 import org.kie.kogito.tracing.decision.aggregator.Aggregator;
-import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
+import org.kie.kogito.tracing.decision.aggregator.StreamingAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
 import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
 import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Collects the {@link EvaluateEvent}s of the running evaluations and emits the aggregated trace
+ * event of each one as soon as it terminates.
+ * <p>
+ * The amount of buffered data is bounded: an evaluation is dropped if starting it would exceed the
+ * maximum number of buffered evaluations, or if one of its events would exceed the maximum number
+ * of buffered events. Evaluations that receive no event for longer than the execution timeout
+ * (e.g. because their termination event got lost) are evicted. Discarded data is counted and
+ * can be read with {@link #getDroppedExecutions()}, {@link #getEvictedExecutions()} and
+ * {@link #getDroppedEvents()}, or exported with {@link DecisionTracingCollectorMetrics}.
+ */
 public class DecisionTracingCollector {
 
+    public static final int DEFAULT_MAX_BUFFERED_EXECUTIONS = 10_000;
+    public static final int DEFAULT_MAX_BUFFERED_EVENTS = 1_000_000;
+    public static final Duration DEFAULT_EXECUTION_TIMEOUT = Duration.ofMinutes(5);
+
     private static final Logger LOG = LoggerFactory.getLogger(DecisionTracingCollector.class);
 
-    private final Map<String, List<EvaluateEvent>> cacheMap;
-    private final Map<String, TerminationDetector> terminationDetectorMap;
+    private static final long MAX_EVICTION_CHECK_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final Map<String, BufferedExecution> executions;
     private final Aggregator aggregator;
-    private final Consumer<String> payloadConsumer;
+    private final EventEmitter eventEmitter;
     private final BiFunction<String, String, DMNModel> modelSupplier;
     private final Supplier<TerminationDetector> terminationDetectorSupplier;
     private final ConfigBean configBean;
+    private final int maxBufferedExecutions;
+    private final int maxBufferedEvents;
+    private final long executionTimeoutNanos;
+    private final long evictionCheckIntervalNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger bufferedEvents = new AtomicInteger();
+    private final LongAdder droppedExecutions = new LongAdder();
+    private final LongAdder evictedExecutions = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+    private volatile long nextEvictionCheck;
 
     public DecisionTracingCollector(Consumer<String> payloadConsumer, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
-        this(new DefaultAggregator(), payloadConsumer, modelSupplier, CounterTerminationDetector::new, configBean);
+        this((EventEmitter) payloadConsumer::accept, modelSupplier, configBean);
+    }
+
+    public DecisionTracingCollector(EventEmitter eventEmitter, BiFunction<String, String, DMNModel> modelSupplier, ConfigBean configBean) {
+        this(new StreamingAggregator(), eventEmitter, modelSupplier, CounterTerminationDetector::new, configBean);
     }
 
     public DecisionTracingCollector(
@@ -60,47 +101,237 @@ public class DecisionTracingCollector {
             BiFunction<String, String, DMNModel> modelSupplier,
             Supplier<TerminationDetector> terminationDetectorSupplier,
             ConfigBean configBean) {
-        this.cacheMap = new ConcurrentHashMap<>();
-        this.terminationDetectorMap = new ConcurrentHashMap<>();
+        this(aggregator, (EventEmitter) payloadConsumer::accept, modelSupplier, terminationDetectorSupplier, configBean);
+    }
+
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            EventEmitter eventEmitter,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean) {
+        this(aggregator, eventEmitter, modelSupplier, terminationDetectorSupplier, configBean,
+                DEFAULT_MAX_BUFFERED_EXECUTIONS, DEFAULT_MAX_BUFFERED_EVENTS, DEFAULT_EXECUTION_TIMEOUT);
+    }
+
+    public DecisionTracingCollector(
+            Aggregator aggregator,
+            EventEmitter eventEmitter,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxBufferedExecutions,
+            int maxBufferedEvents,
+            Duration executionTimeout) {
+        this(aggregator, eventEmitter, modelSupplier, terminationDetectorSupplier, configBean,
+                maxBufferedExecutions, maxBufferedEvents, executionTimeout, System::nanoTime);
+    }
+
+    DecisionTracingCollector(
+            Aggregator aggregator,
+            EventEmitter eventEmitter,
+            BiFunction<String, String, DMNModel> modelSupplier,
+            Supplier<TerminationDetector> terminationDetectorSupplier,
+            ConfigBean configBean,
+            int maxBufferedExecutions,
+            int maxBufferedEvents,
+            Duration executionTimeout,
+            LongSupplier nanoClock) {
+        if (maxBufferedExecutions <= 0 || maxBufferedEvents <= 0) {
+            throw new IllegalArgumentException("Buffer limits must be positive");
+        }
+        if (executionTimeout.isNegative() || executionTimeout.isZero()) {
+            throw new IllegalArgumentException("Execution timeout must be positive");
+        }
+        this.executions = new ConcurrentHashMap<>();
         this.aggregator = aggregator;
-        this.payloadConsumer = payloadConsumer;
+        this.eventEmitter = eventEmitter;
         this.modelSupplier = modelSupplier;
         this.terminationDetectorSupplier = terminationDetectorSupplier;
         this.configBean = configBean;
+        this.maxBufferedExecutions = maxBufferedExecutions;
+        this.maxBufferedEvents = maxBufferedEvents;
+        this.executionTimeoutNanos = executionTimeout.toNanos();
+        this.evictionCheckIntervalNanos = Math.min(executionTimeoutNanos, MAX_EVICTION_CHECK_INTERVAL_NANOS);
+        this.nanoClock = nanoClock;
+        this.nextEvictionCheck = nanoClock.getAsLong() + evictionCheckIntervalNanos;
     }
 
     public void addEvent(EvaluateEvent event) {
         LOG.trace("Received {}(executionId: {}, modelName: {}, modelNamespace: {})", event.getType(), event.getExecutionId(), event.getModelName(), event.getModelNamespace());
 
+        long now = nanoClock.getAsLong();
+        if (now - nextEvictionCheck >= 0) {
+            evictExpired(now);
+        }
+
+        String executionId = event.getExecutionId();
+        BufferedExecution execution = executions.get(executionId);
+        if (execution == null) {
+            execution = startExecution(event, now);
+            if (execution == null) {
+                return;
+            }
+        }
+
+        synchronized (execution) {
+            if (execution.completed) {
+                // concurrently evicted or dropped
+                droppedEvents.increment();
+                return;
+            }
+            if (bufferedEvents.incrementAndGet() > maxBufferedEvents) {
+                bufferedEvents.decrementAndGet();
+                droppedEvents.increment();
+                discard(executionId, execution);
+                droppedExecutions.increment();
+                LOG.warn("Dropped evaluation {}: more than {} events buffered (dropped evaluations so far: {})", executionId, maxBufferedEvents, droppedExecutions.sum());
+                return;
+            }
+            execution.aggregation.add(event);
+            execution.terminationDetector.add(event);
+            execution.lastUpdate = now;
+
+            if (execution.terminationDetector.isTerminated()) {
+                remove(executionId, execution);
+                emit(executionId, execution.aggregation.complete());
+            }
+        }
+    }
+
+    /**
+     * @return The number of evaluations that have been discarded because of the buffer limits.
+     */
+    public long getDroppedExecutions() {
+        return droppedExecutions.sum();
+    }
+
+    /**
+     * @return The number of evaluations that have been discarded because they exceeded the execution timeout.
+     */
+    public long getEvictedExecutions() {
+        return evictedExecutions.sum();
+    }
+
+    /**
+     * @return The number of events that have been discarded, including the ones of dropped and evicted evaluations.
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * @return The number of evaluations currently buffered.
+     */
+    public int getBufferedExecutions() {
+        return executions.size();
+    }
+
+    /**
+     * @return The number of events currently buffered.
+     */
+    public int getBufferedEvents() {
+        return bufferedEvents.get();
+    }
+
+    private BufferedExecution startExecution(EvaluateEvent event, long now) {
         String executionId = event.getExecutionId();
-        if (!cacheMap.containsKey(executionId)) {
-            cacheMap.put(executionId, new LinkedList<>());
-            terminationDetectorMap.put(executionId, terminationDetectorSupplier.get());
-            LOG.trace("Added evaluation {} to cache (current size: {})", executionId, cacheMap.size());
+        if (!isStartEvent(event)) {
+            // the evaluation has already been dropped, evicted or completed: don't buffer an incomplete one
+            droppedEvents.increment();
+            LOG.debug("Ignored {} of unknown evaluation {}", event.getType(), executionId);
+            return null;
+        }
+        if (isFull()) {
+            evictExpired(now);
+        }
+        if (isFull()) {
+            droppedEvents.increment();
+            droppedExecutions.increment();
+            LOG.warn("Dropped evaluation {}: buffer is full ({} evaluations, {} events, dropped evaluations so far: {})",
+                    executionId, executions.size(), bufferedEvents.get(), droppedExecutions.sum());
+            return null;
         }
+        DMNModel model = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
+        BufferedExecution execution = new BufferedExecution(aggregator.newAggregation(model, executionId, configBean), terminationDetectorSupplier.get(), now);
+        BufferedExecution previous = executions.putIfAbsent(executionId, execution);
+        if (previous != null) {
+            return previous;
+        }
+        LOG.trace("Added evaluation {} to cache (current size: {})", executionId, executions.size());
+        return execution;
+    }
 
-        cacheMap.get(executionId).add(event);
-        terminationDetectorMap.get(executionId).add(event);
+    private boolean isFull() {
+        return executions.size() >= maxBufferedExecutions || bufferedEvents.get() >= maxBufferedEvents;
+    }
 
-        if (terminationDetectorMap.get(executionId).isTerminated()) {
-            DMNModel dmnModel = modelSupplier.apply(event.getModelNamespace(), event.getModelName());
-            Optional<String> optPayload = aggregate(dmnModel, executionId, cacheMap.get(executionId));
+    private static boolean isStartEvent(EvaluateEvent event) {
+        return event.getType() == EvaluateEventType.BEFORE_EVALUATE_ALL || event.getType() == EvaluateEventType.BEFORE_EVALUATE_DECISION_SERVICE;
+    }
 
-            if (optPayload.isPresent()) {
-                String payload = optPayload.get();
-                payloadConsumer.accept(payload);
-                LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length());
-            } else {
-                LOG.error("Failed aggregating data for evaluation {}", executionId);
+    private void evictExpired(long now) {
+        nextEvictionCheck = now + evictionCheckIntervalNanos;
+        Iterator<Map.Entry<String, BufferedExecution>> iterator = executions.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, BufferedExecution> entry = iterator.next();
+            BufferedExecution execution = entry.getValue();
+            if (now - execution.lastUpdate > executionTimeoutNanos) {
+                synchronized (execution) {
+                    if (!execution.completed && now - execution.lastUpdate > executionTimeoutNanos) {
+                        discard(entry.getKey(), execution);
+                        evictedExecutions.increment();
+                        LOG.warn("Evicted evaluation {}: no events received for {} ms", entry.getKey(), Duration.ofNanos(executionTimeoutNanos).toMillis());
+                    }
+                }
             }
+        }
+    }
+
+    private void discard(String executionId, BufferedExecution execution) {
+        droppedEvents.add(execution.aggregation.size());
+        remove(executionId, execution);
+    }
 
-            cacheMap.remove(executionId);
-            terminationDetectorMap.remove(executionId);
-            LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, cacheMap.size());
+    private void remove(String executionId, BufferedExecution execution) {
+        execution.completed = true;
+        executions.remove(executionId, execution);
+        bufferedEvents.addAndGet(-execution.aggregation.size());
+        LOG.trace("Removed evaluation {} from cache (current size: {})", executionId, executions.size());
+    }
+
+    private void emit(String executionId, Optional<CloudEvent> cloudEvent) {
+        Optional<byte[]> optPayload = cloudEvent.flatMap(DecisionTracingCollector::serialize);
+
+        if (optPayload.isPresent()) {
+            byte[] payload = optPayload.get();
+            eventEmitter.emit(payload);
+            LOG.debug("Generated aggregated event for evaluation {} (length {})", executionId, payload.length);
+        } else {
+            LOG.error("Failed aggregating data for evaluation {}", executionId);
+        }
+    }
+
+    private static Optional<byte[]> serialize(CloudEvent event) {
+        try {
+            return Optional.of(CloudEventUtils.Mapper.mapper().writeValueAsBytes(event));
+        } catch (JsonProcessingException e) {
+            LOG.error("Unable to encode CloudEvent", e);
+            return Optional.empty();
         }
     }
 
-    private Optional<String> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events) {
-        return aggregator.aggregate(model, executionId, events, configBean).flatMap(CloudEventUtils::encode);
+    private static class BufferedExecution {
+
+        private final Aggregation aggregation;
+        private final TerminationDetector terminationDetector;
+        private volatile long lastUpdate;
+        private volatile boolean completed;
+
+        BufferedExecution(Aggregation aggregation, TerminationDetector terminationDetector, long lastUpdate) {
+            this.aggregation = aggregation;
+            this.terminationDetector = terminationDetector;
+            this.lastUpdate = lastUpdate;
+        }
     }
 }
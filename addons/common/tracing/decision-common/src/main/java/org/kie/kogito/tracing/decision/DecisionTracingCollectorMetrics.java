@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Registers the buffer meters of a {@link DecisionTracingCollector}. Only loaded when Micrometer is on the classpath.
+ */
+public final class DecisionTracingCollectorMetrics {
+
+    private DecisionTracingCollectorMetrics() {
+    }
+
+    public static void bind(DecisionTracingCollector collector) {
+        bind(Metrics.globalRegistry, collector);
+    }
+
+    public static void bind(MeterRegistry registry, DecisionTracingCollector collector) {
+        FunctionCounter.builder("kogito.tracing.decision.executions.dropped", collector, DecisionTracingCollector::getDroppedExecutions)
+                .description("Evaluations discarded because the trace buffer was full")
+                .register(registry);
+        FunctionCounter.builder("kogito.tracing.decision.executions.evicted", collector, DecisionTracingCollector::getEvictedExecutions)
+                .description("Evaluations discarded because they exceeded the execution timeout")
+                .register(registry);
+        FunctionCounter.builder("kogito.tracing.decision.events.dropped", collector, DecisionTracingCollector::getDroppedEvents)
+                .description("Evaluate events discarded, including the ones of dropped and evicted evaluations")
+                .register(registry);
+        Gauge.builder("kogito.tracing.decision.executions.buffered", collector, DecisionTracingCollector::getBufferedExecutions)
+                .description("Evaluations currently buffered by the trace collector")
+                .register(registry);
+        Gauge.builder("kogito.tracing.decision.events.buffered", collector, DecisionTracingCollector::getBufferedEvents)
+                .description("Evaluate events currently buffered by the trace collector")
+                .register(registry);
+    }
+}
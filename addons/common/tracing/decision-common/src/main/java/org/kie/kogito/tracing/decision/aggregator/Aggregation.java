@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.util.Optional;
+
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * Aggregation of the {@link EvaluateEvent}s of a single evaluation, created by {@link Aggregator#newAggregation}.
+ * <p>
+ * Events are supplied in the order they were fired and {@link #complete()} is invoked once, after the
+ * evaluation is terminated. Instances are not thread safe.
+ */
+public interface Aggregation {
+
+    void add(EvaluateEvent event);
+
+    Optional<CloudEvent> complete();
+
+    /**
+     * @return The number of events added so far.
+     */
+    int size();
+}
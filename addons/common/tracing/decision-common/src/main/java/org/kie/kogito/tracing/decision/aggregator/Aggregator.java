@@ -31,4 +31,19 @@ import io.cloudevents.CloudEvent;
 public interface Aggregator {
 
     Optional<CloudEvent> aggregate(DMNModel model, String executionId, List<EvaluateEvent> events, ConfigBean configBean);
+
+    /**
+     * Starts the aggregation of a single evaluation whose events are going to be supplied one at a time.
+     * <p>
+     * The default implementation buffers all the events and delegates to {@link #aggregate} once the
+     * aggregation is completed. Implementations able to build the trace incrementally should override it.
+     *
+     * @param model DMN model of the evaluation (may be null if not found).
+     * @param executionId Execution ID of the evaluation.
+     * @param configBean Configuration of the application.
+     * @return A new {@link Aggregation}.
+     */
+    default Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        return new BufferedAggregation(this, model, executionId, configBean);
+    }
 }
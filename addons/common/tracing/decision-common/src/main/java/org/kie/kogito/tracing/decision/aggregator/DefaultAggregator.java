@@ -86,7 +86,7 @@ public class DefaultAggregator implements Aggregator {
                 : buildDefaultCloudEvent(model, executionId, events, configBean);
     }
 
-    private static Optional<CloudEvent> buildNotEnoughDataCloudEvent(DMNModel model, String executionId, ConfigBean configBean) {
+    static Optional<CloudEvent> buildNotEnoughDataCloudEvent(DMNModel model, String executionId, ConfigBean configBean) {
         TraceHeader header = new TraceHeader(
                 TraceEventType.DMN,
                 executionId,
@@ -107,12 +107,17 @@ public class DefaultAggregator implements Aggregator {
         EvaluateEvent firstEvent = events.get(0);
         EvaluateEvent lastEvent = events.get(events.size() - 1);
 
+        Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = buildTraceExecutionSteps(model, executionId, events);
+
+        return buildCloudEvent(model, executionId, firstEvent, lastEvent, executionStepsPair.getLeft(), executionStepsPair.getRight(), configBean);
+    }
+
+    static Optional<CloudEvent> buildCloudEvent(DMNModel model, String executionId, EvaluateEvent firstEvent, EvaluateEvent lastEvent,
+            List<TraceExecutionStep> executionSteps, List<Message> executionStepsMessages, ConfigBean configBean) {
         List<TraceInputValue> inputs = buildTraceInputValues(model, firstEvent);
 
         List<TraceOutputValue> outputs = buildTraceOutputValues(model, lastEvent);
 
-        Pair<List<TraceExecutionStep>, List<Message>> executionStepsPair = buildTraceExecutionSteps(model, executionId, events);
-
         TraceHeader header = new TraceHeader(
                 TraceEventType.DMN,
                 executionId,
@@ -122,13 +127,13 @@ public class DefaultAggregator implements Aggregator {
                 firstEvent.toTraceResourceId(configBean.getServiceUrl()),
                 Stream.of(
                         model == null ? Stream.of(EventUtils.messageFrom(InternalMessageType.DMN_MODEL_NOT_FOUND)) : Stream.<Message> empty(),
-                        executionStepsPair.getRight().stream(),
+                        executionStepsMessages.stream(),
                         lastEvent.getResult().getMessages().stream()
                                 .filter(m -> m.getSourceId() == null || m.getSourceId().isEmpty()))
                         .flatMap(Function.identity()).collect(Collectors.toList()));
 
         // complete event
-        TraceEvent event = new TraceEvent(header, inputs, outputs, executionStepsPair.getLeft());
+        TraceEvent event = new TraceEvent(header, inputs, outputs, executionSteps);
         return CloudEventUtils
                 .build(executionId, buildSource(configBean.getServiceUrl(), firstEvent), event, TraceEvent.class);
     }
@@ -215,13 +220,17 @@ public class DefaultAggregator implements Aggregator {
         for (int i = 1; i < events.size() - 1; i++) {
             processEvaluateEventInHierarchy(model, stack, executionSteps, events.get(i));
         }
+        checkHierarchyCompleted(stack);
+        return executionSteps;
+    }
+
+    static void checkHierarchyCompleted(Deque<DefaultAggregatorStackEntry> stack) {
         if (!stack.isEmpty()) {
             throw new IllegalStateException("Can't match all after events with corresponding before events");
         }
-        return executionSteps;
     }
 
-    private static void processEvaluateEventInHierarchy(DMNModel model, Deque<DefaultAggregatorStackEntry> stack, List<TraceExecutionStep> executionSteps, EvaluateEvent event) {
+    static void processEvaluateEventInHierarchy(DMNModel model, Deque<DefaultAggregatorStackEntry> stack, List<TraceExecutionStep> executionSteps, EvaluateEvent event) {
         LOG.trace("Started aggregating event {} (execution steps: {}, stack size: {})", event.getType(), executionSteps.size(), stack.size());
         if (event.getType().isBefore()) {
             stack.push(new DefaultAggregatorStackEntry(event));
@@ -229,11 +238,12 @@ public class DefaultAggregator implements Aggregator {
             if (stack.isEmpty() || !stack.peek().isValidAfterEvent(event)) {
                 throw new IllegalStateException(String.format("Can't match %s after event with corresponding before event", event.getType()));
             }
-            DefaultAggregatorStackEntry stackEntry = stack.pop();
-            TraceExecutionStep step = buildTraceExecutionStep(model, stackEntry, event);
+            // the step is built before popping so that a failure leaves the stack untouched
+            TraceExecutionStep step = buildTraceExecutionStep(model, stack.peek(), event);
             if (step == null) {
                 throw new IllegalStateException(String.format("Can't build TraceExecutionStep for a %s event", event.getType()));
             }
+            stack.pop();
             if (stack.isEmpty()) {
                 executionSteps.add(step);
             } else {
@@ -251,7 +261,7 @@ public class DefaultAggregator implements Aggregator {
                 .collect(Collectors.toList());
     }
 
-    private static TraceExecutionStep buildTraceExecutionStep(DMNModel model, DefaultAggregatorStackEntry stackEntry, EvaluateEvent afterEvent) {
+    static TraceExecutionStep buildTraceExecutionStep(DMNModel model, DefaultAggregatorStackEntry stackEntry, EvaluateEvent afterEvent) {
         TraceExecutionStepType type = Optional.ofNullable(afterEvent.getType()).map(EvaluateEventType::toTraceExecutionStepType).orElse(null);
         if (type == null) {
             return null;
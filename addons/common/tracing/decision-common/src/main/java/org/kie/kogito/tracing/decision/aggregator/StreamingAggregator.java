@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.tracing.decision.event.EventUtils;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.message.InternalMessageType;
+import org.kie.kogito.tracing.event.message.Message;
+import org.kie.kogito.tracing.event.trace.TraceExecutionStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cloudevents.CloudEvent;
+
+/**
+ * {@link DefaultAggregator} that builds the trace while the evaluation is running, instead of
+ * buffering all its {@link EvaluateEvent}s until it terminates.
+ * <p>
+ * Only the first event (inputs) and the most recent one (outputs, if it turns out to be the last)
+ * are retained: every other event is folded into the {@link TraceExecutionStep} hierarchy as soon
+ * as the following one arrives, so the evaluation context it carries can be released early.
+ * The resulting {@link CloudEvent} is the same produced by {@link DefaultAggregator#aggregate}
+ * for the same list of events.
+ */
+public class StreamingAggregator extends DefaultAggregator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingAggregator.class);
+
+    @Override
+    public Aggregation newAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+        return new StreamingAggregation(model, executionId, configBean);
+    }
+
+    static class StreamingAggregation implements Aggregation {
+
+        private final DMNModel model;
+        private final String executionId;
+        private final ConfigBean configBean;
+        private final Deque<DefaultAggregatorStackEntry> stack;
+        private final List<TraceExecutionStep> executionSteps;
+        private EvaluateEvent firstEvent;
+        private EvaluateEvent lastEvent;
+        private IllegalStateException hierarchyError;
+        private int size;
+
+        StreamingAggregation(DMNModel model, String executionId, ConfigBean configBean) {
+            this.model = model;
+            this.executionId = executionId;
+            this.configBean = configBean;
+            this.stack = new ArrayDeque<>();
+            this.executionSteps = new ArrayList<>();
+        }
+
+        @Override
+        public void add(EvaluateEvent event) {
+            if (firstEvent == null) {
+                firstEvent = event;
+            } else {
+                // the previous event is not the last one anymore, so it belongs to the execution steps
+                if (lastEvent != null) {
+                    process(lastEvent);
+                }
+                lastEvent = event;
+            }
+            size++;
+        }
+
+        @Override
+        public Optional<CloudEvent> complete() {
+            if (firstEvent == null) {
+                return buildNotEnoughDataCloudEvent(model, executionId, configBean);
+            }
+            if (hierarchyError == null) {
+                try {
+                    checkHierarchyCompleted(stack);
+                } catch (IllegalStateException e) {
+                    switchToList(e);
+                }
+            }
+            if (hierarchyError != null && lastEvent != null) {
+                addListStep(lastEvent);
+            }
+            List<Message> messages = hierarchyError == null
+                    ? Collections.emptyList()
+                    : Collections.singletonList(EventUtils.messageFrom(InternalMessageType.NO_EXECUTION_STEP_HIERARCHY, hierarchyError));
+            return buildCloudEvent(model, executionId, firstEvent, lastEvent == null ? firstEvent : lastEvent, executionSteps, messages, configBean);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private void process(EvaluateEvent event) {
+            if (hierarchyError == null) {
+                try {
+                    processEvaluateEventInHierarchy(model, stack, executionSteps, event);
+                    return;
+                } catch (IllegalStateException e) {
+                    switchToList(e);
+                }
+            }
+            addListStep(event);
+        }
+
+        /**
+         * Replaces the partial hierarchy with the flat list of steps {@link DefaultAggregator} produces when
+         * the hierarchy can't be built: one step per "after" event, in order, without duration nor children.
+         * Steps complete after their children, so a post-order visit of the completed steps followed by the
+         * children of the pending stack entries (outermost first) yields them in the original order.
+         */
+        private void switchToList(IllegalStateException e) {
+            LOG.error(String.format("IllegalStateException during aggregation of evaluation %s", executionId), e);
+            hierarchyError = e;
+
+            List<TraceExecutionStep> completedSteps = new ArrayList<>(executionSteps);
+            executionSteps.clear();
+            if (firstEvent.getType().isAfter()) {
+                addListStep(firstEvent);
+            }
+            completedSteps.forEach(this::addFlattened);
+            Iterator<DefaultAggregatorStackEntry> outermostFirst = stack.descendingIterator();
+            while (outermostFirst.hasNext()) {
+                outermostFirst.next().getChildren().forEach(this::addFlattened);
+            }
+            stack.clear();
+        }
+
+        private void addFlattened(TraceExecutionStep step) {
+            step.getChildren().forEach(this::addFlattened);
+            executionSteps.add(new TraceExecutionStep(step.getType(), 0L, step.getName(), step.getResult(), step.getMessages(), step.getAdditionalData(), Collections.emptyList()));
+        }
+
+        private void addListStep(EvaluateEvent event) {
+            if (event.getType().isAfter()) {
+                TraceExecutionStep step = buildTraceExecutionStep(model, null, event);
+                if (step != null) {
+                    executionSteps.add(step);
+                }
+            }
+        }
+    }
+}
@@ -19,9 +19,11 @@
 package org.kie.kogito.tracing.decision;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -32,6 +34,9 @@ import org.kie.dmn.feel.util.Pair;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.config.StaticConfigBean;
 import org.kie.kogito.event.cloudevents.utils.CloudEventUtils;
+import org.kie.kogito.tracing.EventEmitter;
+import org.kie.kogito.tracing.decision.aggregator.DefaultAggregator;
+import org.kie.kogito.tracing.decision.aggregator.StreamingAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.mock.MockDefaultAggregator;
 import org.kie.kogito.tracing.decision.terminationdetector.BoundariesTerminationDetector;
@@ -40,6 +45,8 @@ import org.kie.kogito.tracing.decision.terminationdetector.TerminationDetector;
 import org.mockito.ArgumentCaptor;
 
 import io.cloudevents.CloudEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_ALL_EXECUTION_ID;
@@ -48,7 +55,9 @@ import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
 import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.readEvaluateEventsFromJsonResource;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -118,6 +127,110 @@ class DecisionTracingCollectorTest {
         assertThat(payloads.get(evaluateDecisionServiceIndex)).isEqualTo(expectedEvaluateDecisionService);
     }
 
+    @Test
+    void testCollectorWithStreamingAggregatorEmitsSamePayloadsAsDefaultAggregator() throws IOException {
+        Consumer<String> payloadConsumer = mock(Consumer.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(payloadConsumer, (namespace, name) -> model, configBean);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        evaluateAllEvents.forEach(collector::addEvent);
+
+        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(payloadConsumer).accept(payloadCaptor.capture());
+
+        String expected = new DefaultAggregator().aggregate(model, EVALUATE_ALL_EXECUTION_ID, evaluateAllEvents, configBean)
+                .flatMap(CloudEventUtils::encode)
+                .orElseThrow(IllegalStateException::new);
+        assertThat(payloadCaptor.getValue()).isEqualTo(expected);
+        assertThat(collector.getBufferedExecutions()).isZero();
+        assertThat(collector.getBufferedEvents()).isZero();
+    }
+
+    @Test
+    void testCollectorDropsExecutionsExceedingMaxBufferedExecutions() throws IOException {
+        EventEmitter eventEmitter = mock(EventEmitter.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 1, 1000, Duration.ofMinutes(1));
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+        evaluateAllEvents.stream().skip(1).forEach(collector::addEvent);
+
+        verify(eventEmitter, times(1)).emit(any(byte[].class));
+        assertThat(collector.getDroppedExecutions()).isEqualTo(1);
+        assertThat(collector.getDroppedEvents()).isEqualTo(evaluateDecisionServiceEvents.size());
+        assertThat(collector.getBufferedExecutions()).isZero();
+        assertThat(collector.getBufferedEvents()).isZero();
+    }
+
+    @Test
+    void testCollectorDropsExecutionsExceedingMaxBufferedEvents() throws IOException {
+        EventEmitter eventEmitter = mock(EventEmitter.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 10, 3, Duration.ofMinutes(1));
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        evaluateAllEvents.forEach(collector::addEvent);
+
+        verify(eventEmitter, never()).emit(any(byte[].class));
+        assertThat(collector.getDroppedExecutions()).isEqualTo(1);
+        assertThat(collector.getDroppedEvents()).isEqualTo(evaluateAllEvents.size());
+        assertThat(collector.getBufferedExecutions()).isZero();
+        assertThat(collector.getBufferedEvents()).isZero();
+    }
+
+    @Test
+    void testCollectorEvictsExpiredExecutions() throws IOException {
+        EventEmitter eventEmitter = mock(EventEmitter.class);
+        AtomicLong clock = new AtomicLong();
+        DecisionTracingCollector collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 10, 1000, Duration.ofSeconds(1), clock::get);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        List<EvaluateEvent> evaluateDecisionServiceEvents = readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+
+        collector.addEvent(evaluateAllEvents.get(0));
+        collector.addEvent(evaluateAllEvents.get(1));
+        assertThat(collector.getBufferedExecutions()).isEqualTo(1);
+        assertThat(collector.getBufferedEvents()).isEqualTo(2);
+
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        evaluateDecisionServiceEvents.forEach(collector::addEvent);
+
+        verify(eventEmitter, times(1)).emit(any(byte[].class));
+        assertThat(collector.getEvictedExecutions()).isEqualTo(1);
+        assertThat(collector.getDroppedExecutions()).isZero();
+        assertThat(collector.getDroppedEvents()).isEqualTo(2);
+        assertThat(collector.getBufferedExecutions()).isZero();
+        assertThat(collector.getBufferedEvents()).isZero();
+    }
+
+    @Test
+    void testCollectorMetrics() throws IOException {
+        EventEmitter eventEmitter = mock(EventEmitter.class);
+        DecisionTracingCollector collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, (namespace, name) -> model,
+                CounterTerminationDetector::new, configBean, 10, 3, Duration.ofMinutes(1));
+        MeterRegistry registry = new SimpleMeterRegistry();
+        DecisionTracingCollectorMetrics.bind(registry, collector);
+
+        List<EvaluateEvent> evaluateAllEvents = readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        collector.addEvent(evaluateAllEvents.get(0));
+        collector.addEvent(evaluateAllEvents.get(1));
+
+        assertThat(registry.get("kogito.tracing.decision.executions.buffered").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("kogito.tracing.decision.events.buffered").gauge().value()).isEqualTo(2);
+
+        evaluateAllEvents.stream().skip(2).forEach(collector::addEvent);
+
+        assertThat(registry.get("kogito.tracing.decision.executions.dropped").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("kogito.tracing.decision.executions.evicted").functionCounter().count()).isZero();
+        assertThat(registry.get("kogito.tracing.decision.events.dropped").functionCounter().count()).isEqualTo(evaluateAllEvents.size());
+        assertThat(registry.get("kogito.tracing.decision.executions.buffered").gauge().value()).isZero();
+    }
+
     private static String encodeFromCall(Map<String, Pair<List<EvaluateEvent>, CloudEvent>> aggregatorCalls, String key) {
         return Optional.ofNullable(aggregatorCalls.get(key))
                 .map(Pair::getRight)
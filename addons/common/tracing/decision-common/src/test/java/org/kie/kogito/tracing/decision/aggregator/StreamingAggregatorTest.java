@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.tracing.decision.aggregator;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.kogito.config.StaticConfigBean;
+import org.kie.kogito.event.cloudevents.utils.CloudEventUtils;
+import org.kie.kogito.tracing.decision.DecisionTracingTestUtils;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
+import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEventType;
+
+import io.cloudevents.CloudEvent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.kie.kogito.dmn.DecisionTestUtils.DECISION_SERVICE_DECISION_ID;
+import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_ALL_EXECUTION_ID;
+import static org.kie.kogito.dmn.DecisionTestUtils.EVALUATE_DECISION_SERVICE_EXECUTION_ID;
+import static org.kie.kogito.dmn.DecisionTestUtils.FIRST_DECISION_NODE_ID;
+import static org.kie.kogito.dmn.DecisionTestUtils.LAST_DECISION_NODE_ID;
+import static org.kie.kogito.dmn.DecisionTestUtils.createDMNModel;
+import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_ALL_JSON_RESOURCE;
+import static org.kie.kogito.tracing.decision.DecisionTracingTestUtils.EVALUATE_DECISION_SERVICE_JSON_RESOURCE;
+
+class StreamingAggregatorTest {
+
+    private static DMNModel model;
+    private static StaticConfigBean configBean;
+
+    @BeforeAll
+    static void initModel() {
+        model = createDMNModel();
+        configBean = new StaticConfigBean();
+    }
+
+    @Test
+    void testAggregationWithNoEventsReturnsNotEnoughData() {
+        assertSameAsDefaultAggregator(model, EVALUATE_ALL_EXECUTION_ID, Collections.emptyList());
+    }
+
+    @Test
+    void testAggregationOnEvaluateAllIsSameAsDefaultAggregator() throws IOException {
+        List<EvaluateEvent> events = DecisionTracingTestUtils.readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        assertSameAsDefaultAggregator(model, EVALUATE_ALL_EXECUTION_ID, events);
+        assertSameAsDefaultAggregator(null, EVALUATE_ALL_EXECUTION_ID, events);
+        assertSameAsDefaultAggregator(model, EVALUATE_ALL_EXECUTION_ID, events.subList(0, 1));
+        assertSameAsDefaultAggregator(model, EVALUATE_ALL_EXECUTION_ID, events.subList(0, 2));
+    }
+
+    @Test
+    void testAggregationOnEvaluateAllWithMissingEventsIsSameAsDefaultAggregator() throws IOException {
+        assertSameAsDefaultAggregatorWithout(EVALUATE_ALL_JSON_RESOURCE, EVALUATE_ALL_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.BEFORE_EVALUATE_DECISION && FIRST_DECISION_NODE_ID.equals(e.getNodeId()));
+        assertSameAsDefaultAggregatorWithout(EVALUATE_ALL_JSON_RESOURCE, EVALUATE_ALL_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.AFTER_EVALUATE_DECISION && FIRST_DECISION_NODE_ID.equals(e.getNodeId()));
+        assertSameAsDefaultAggregatorWithout(EVALUATE_ALL_JSON_RESOURCE, EVALUATE_ALL_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.BEFORE_EVALUATE_DECISION && LAST_DECISION_NODE_ID.equals(e.getNodeId()));
+        assertSameAsDefaultAggregatorWithout(EVALUATE_ALL_JSON_RESOURCE, EVALUATE_ALL_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.AFTER_EVALUATE_DECISION && LAST_DECISION_NODE_ID.equals(e.getNodeId()));
+    }
+
+    @Test
+    void testAggregationOnEvaluateDecisionServiceIsSameAsDefaultAggregator() throws IOException {
+        List<EvaluateEvent> events = DecisionTracingTestUtils.readEvaluateEventsFromJsonResource(EVALUATE_DECISION_SERVICE_JSON_RESOURCE);
+        assertSameAsDefaultAggregator(model, EVALUATE_DECISION_SERVICE_EXECUTION_ID, events);
+        assertSameAsDefaultAggregator(null, EVALUATE_DECISION_SERVICE_EXECUTION_ID, events);
+        assertSameAsDefaultAggregator(model, EVALUATE_DECISION_SERVICE_EXECUTION_ID, events.subList(0, 1));
+    }
+
+    @Test
+    void testAggregationOnEvaluateDecisionServiceWithMissingEventsIsSameAsDefaultAggregator() throws IOException {
+        assertSameAsDefaultAggregatorWithout(EVALUATE_DECISION_SERVICE_JSON_RESOURCE, EVALUATE_DECISION_SERVICE_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.BEFORE_EVALUATE_DECISION && DECISION_SERVICE_DECISION_ID.equals(e.getNodeId()));
+        assertSameAsDefaultAggregatorWithout(EVALUATE_DECISION_SERVICE_JSON_RESOURCE, EVALUATE_DECISION_SERVICE_EXECUTION_ID,
+                e -> e.getType() == EvaluateEventType.AFTER_EVALUATE_DECISION && DECISION_SERVICE_DECISION_ID.equals(e.getNodeId()));
+    }
+
+    @Test
+    void testAggregationCountsAddedEvents() throws IOException {
+        List<EvaluateEvent> events = DecisionTracingTestUtils.readEvaluateEventsFromJsonResource(EVALUATE_ALL_JSON_RESOURCE);
+        Aggregation aggregation = new StreamingAggregator().newAggregation(model, EVALUATE_ALL_EXECUTION_ID, configBean);
+        events.forEach(aggregation::add);
+        assertThat(aggregation.size()).isEqualTo(events.size());
+    }
+
+    private static void assertSameAsDefaultAggregatorWithout(String resource, String executionId, Predicate<EvaluateEvent> excluded) throws IOException {
+        List<EvaluateEvent> events = DecisionTracingTestUtils.readEvaluateEventsFromJsonResource(resource).stream()
+                .filter(excluded.negate())
+                .collect(Collectors.toList());
+        assertSameAsDefaultAggregator(model, executionId, events);
+    }
+
+    private static void assertSameAsDefaultAggregator(DMNModel model, String executionId, List<EvaluateEvent> events) {
+        CloudEvent expected = new DefaultAggregator().aggregate(model, executionId, events, configBean).orElseThrow(IllegalStateException::new);
+
+        Aggregation aggregation = new StreamingAggregator().newAggregation(model, executionId, configBean);
+        events.forEach(aggregation::add);
+        CloudEvent actual = aggregation.complete().orElseThrow(IllegalStateException::new);
+
+        assertThat(CloudEventUtils.encode(actual)).isEqualTo(CloudEventUtils.encode(expected));
+    }
+}
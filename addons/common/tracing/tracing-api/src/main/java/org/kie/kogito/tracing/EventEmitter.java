@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.tracing;
 
+import java.nio.charset.StandardCharsets;
+
 public interface EventEmitter {
 
     /**
@@ -26,4 +28,16 @@ public interface EventEmitter {
      * @param payload Payload to emit.
      */
     void emit(final String payload);
+
+    /**
+     * Emit an already serialized, UTF-8 encoded payload as an event.
+     * <p>
+     * Emitters backed by a binary transport should override this method to skip the decoding,
+     * which by default turns the payload into a {@link String} for {@link #emit(String)}.
+     *
+     * @param payload Payload to emit.
+     */
+    default void emit(final byte[] payload) {
+        emit(new String(payload, StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event;
+
+import java.util.Collection;
+
+/**
+ * Event publisher taking over the delivery of the events to the other publishers, for instance storing them first
+ * and relaying them later.
+ * <p>
+ * When a relay publisher is available, it is the only one registered on the event manager, and the other publishers
+ * are handed over to it through {@link #relayTo(Collection)}.
+ */
+public interface RelayEventPublisher extends EventPublisher {
+
+    /**
+     * @param publishers publishers the events must be delivered to
+     */
+    void relayTo(Collection<EventPublisher> publishers);
+}
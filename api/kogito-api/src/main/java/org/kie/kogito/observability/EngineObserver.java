@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.observability;
+
+/**
+ * Receives timings from the engine hot paths: process instance locking, marshalling, persistence, unit of work
+ * completion and event publishing.
+ * <p>
+ * Observers are registered through {@link EngineObservers}. When none is registered the engine does not take any
+ * timing at all. Methods are invoked synchronously on the engine threads, so implementations must be fast and must not
+ * throw.
+ */
+public interface EngineObserver {
+
+    enum PersistenceOperation {
+        CREATE,
+        UPDATE,
+        REMOVE,
+        FIND_BY_ID
+    }
+
+    /**
+     * Invoked once the lock for the process instance has been acquired.
+     *
+     * @param processId the process id
+     * @param processInstanceId the process instance id
+     * @param waitNanos time spent waiting for the lock
+     */
+    default void onLockAcquired(String processId, String processInstanceId, long waitNanos) {
+    }
+
+    /**
+     * Invoked when the lock for the process instance could not be acquired in time.
+     *
+     * @param processId the process id
+     * @param processInstanceId the process instance id
+     * @param waitNanos time spent waiting for the lock
+     */
+    default void onLockTimeout(String processId, String processInstanceId, long waitNanos) {
+    }
+
+    /**
+     * Invoked after a process instance has been marshalled.
+     *
+     * @param processId the process id
+     * @param durationNanos marshalling time
+     * @param bytes size of the marshalled process instance
+     */
+    default void onMarshall(String processId, long durationNanos, int bytes) {
+    }
+
+    /**
+     * Invoked after a process instance has been unmarshalled.
+     *
+     * @param processId the process id
+     * @param durationNanos unmarshalling time
+     * @param bytes size of the marshalled process instance
+     */
+    default void onUnmarshall(String processId, long durationNanos, int bytes) {
+    }
+
+    /**
+     * Invoked after the process instances store has completed an operation.
+     *
+     * @param backend the store implementation, usually its simple class name
+     * @param processId the process id
+     * @param operation the operation
+     * @param durationNanos time spent in the store, including marshalling
+     */
+    default void onPersistence(String backend, String processId, PersistenceOperation operation, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a work unit has been performed while ending a unit of work.
+     *
+     * @param workUnitType the type of work, usually the simple class name of the work unit or of its data
+     * @param durationNanos time spent performing the work unit
+     */
+    default void onWorkUnitPerformed(String workUnitType, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a unit of work has ended, including the publishing of its events.
+     *
+     * @param durationNanos time spent ending the unit of work
+     */
+    default void onUnitOfWorkEnded(long durationNanos) {
+    }
+
+    /**
+     * Invoked after an event publisher has published a batch of events.
+     *
+     * @param publisher the publisher, usually its simple class name
+     * @param events number of events published
+     * @param durationNanos time spent by the publisher
+     */
+    default void onEventsPublished(String publisher, int events, long durationNanos) {
+    }
+}
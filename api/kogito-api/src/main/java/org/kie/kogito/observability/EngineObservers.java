@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import org.kie.kogito.observability.EngineObserver.PersistenceOperation;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
+
+/**
+ * Holds the {@link EngineObserver}s notified by the engine.
+ * <p>
+ * Observers are discovered with {@link ServiceLoader} when this class is initialized and can be added later with
+ * {@link #register(EngineObserver)}. Instrumented code checks {@link #current()} first and skips timing altogether when
+ * it returns {@code null}.
+ */
+public final class EngineObservers {
+
+    private static final List<EngineObserver> observers = new ArrayList<>();
+    private static volatile EngineObserver current;
+
+    static {
+        ServiceLoader.load(EngineObserver.class).forEach(EngineObservers::register);
+    }
+
+    private EngineObservers() {
+    }
+
+    /**
+     * @return the observer to notify, or {@code null} when no observer is registered
+     */
+    public static EngineObserver current() {
+        return current;
+    }
+
+    public static synchronized void register(EngineObserver observer) {
+        if (!observers.contains(observer)) {
+            observers.add(observer);
+            update();
+        }
+    }
+
+    public static synchronized void unregister(EngineObserver observer) {
+        if (observers.remove(observer)) {
+            update();
+        }
+    }
+
+    private static void update() {
+        if (observers.isEmpty()) {
+            current = null;
+        } else if (observers.size() == 1) {
+            current = observers.get(0);
+        } else {
+            current = new CompositeEngineObserver(List.copyOf(observers));
+        }
+    }
+
+    public static <T> Optional<ProcessInstance<T>> findById(ProcessInstances<T> instances, String processId, String id) {
+        EngineObserver observer = current;
+        if (observer == null) {
+            return instances.findById(id);
+        }
+        long start = System.nanoTime();
+        try {
+            return instances.findById(id);
+        } finally {
+            observer.onPersistence(backend(instances), processId, PersistenceOperation.FIND_BY_ID, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> Optional<ProcessInstance<T>> findById(ProcessInstances<T> instances, String processId, String id, ProcessInstanceReadMode mode) {
+        EngineObserver observer = current;
+        if (observer == null) {
+            return instances.findById(id, mode);
+        }
+        long start = System.nanoTime();
+        try {
+            return instances.findById(id, mode);
+        } finally {
+            observer.onPersistence(backend(instances), processId, PersistenceOperation.FIND_BY_ID, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> void create(MutableProcessInstances<T> instances, ProcessInstance<T> instance) {
+        EngineObserver observer = current;
+        if (observer == null) {
+            instances.create(instance.id(), instance);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            instances.create(instance.id(), instance);
+        } finally {
+            observer.onPersistence(backend(instances), instance.process().id(), PersistenceOperation.CREATE, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> void update(MutableProcessInstances<T> instances, ProcessInstance<T> instance) {
+        EngineObserver observer = current;
+        if (observer == null) {
+            instances.update(instance.id(), instance);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            instances.update(instance.id(), instance);
+        } finally {
+            observer.onPersistence(backend(instances), instance.process().id(), PersistenceOperation.UPDATE, System.nanoTime() - start);
+        }
+    }
+
+    public static <T> void remove(MutableProcessInstances<T> instances, ProcessInstance<T> instance) {
+        EngineObserver observer = current;
+        if (observer == null) {
+            instances.remove(instance.id());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            instances.remove(instance.id());
+        } finally {
+            observer.onPersistence(backend(instances), instance.process().id(), PersistenceOperation.REMOVE, System.nanoTime() - start);
+        }
+    }
+
+    private static String backend(ProcessInstances<?> instances) {
+        return instances.getClass().getSimpleName();
+    }
+
+    private static class CompositeEngineObserver implements EngineObserver {
+
+        private final List<EngineObserver> delegates;
+
+        CompositeEngineObserver(List<EngineObserver> delegates) {
+            this.delegates = delegates;
+        }
+
+        @Override
+        public void onLockAcquired(String processId, String processInstanceId, long waitNanos) {
+            delegates.forEach(o -> o.onLockAcquired(processId, processInstanceId, waitNanos));
+        }
+
+        @Override
+        public void onLockTimeout(String processId, String processInstanceId, long waitNanos) {
+            delegates.forEach(o -> o.onLockTimeout(processId, processInstanceId, waitNanos));
+        }
+
+        @Override
+        public void onMarshall(String processId, long durationNanos, int bytes) {
+            delegates.forEach(o -> o.onMarshall(processId, durationNanos, bytes));
+        }
+
+        @Override
+        public void onUnmarshall(String processId, long durationNanos, int bytes) {
+            delegates.forEach(o -> o.onUnmarshall(processId, durationNanos, bytes));
+        }
+
+        @Override
+        public void onPersistence(String backend, String processId, PersistenceOperation operation, long durationNanos) {
+            delegates.forEach(o -> o.onPersistence(backend, processId, operation, durationNanos));
+        }
+
+        @Override
+        public void onWorkUnitPerformed(String workUnitType, long durationNanos) {
+            delegates.forEach(o -> o.onWorkUnitPerformed(workUnitType, durationNanos));
+        }
+
+        @Override
+        public void onUnitOfWorkEnded(long durationNanos) {
+            delegates.forEach(o -> o.onUnitOfWorkEnded(durationNanos));
+        }
+
+        @Override
+        public void onEventsPublished(String publisher, int events, long durationNanos) {
+            delegates.forEach(o -> o.onEventsPublished(publisher, events, durationNanos));
+        }
+    }
+}
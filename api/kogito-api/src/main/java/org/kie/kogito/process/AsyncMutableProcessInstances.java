@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process;
+
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@link MutableProcessInstances} backed by an asynchronous client, able to read a process instance without blocking.
+ * <p>
+ * The returned stage usually completes on the client I/O threads, so dependent actions must not block. Process execution
+ * only uses the blocking {@link MutableProcessInstances} methods; the non blocking read serves callers that just read an
+ * instance, such as {@link ProcessService#findByIdAsync}.
+ */
+public interface AsyncMutableProcessInstances<T> extends MutableProcessInstances<T> {
+
+    CompletionStage<Optional<ProcessInstance<T>>> findByIdAsync(String id, ProcessInstanceReadMode mode);
+}
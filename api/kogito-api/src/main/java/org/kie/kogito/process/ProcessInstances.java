@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.process;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -51,19 +52,66 @@ public interface ProcessInstances<T> {
         return stream(ProcessInstanceReadMode.READ_ONLY);
     }
 
+    /**
+     * Returns one page of process instances ordered by id, to be closed once consumed.
+     * Implementations are expected to seek and limit in the store itself, so instances
+     * outside of the page are neither read nor unmarshalled.
+     *
+     * @param after id of the last instance of the previous page, null to start from the first one
+     * @param size maximum number of instances to return
+     * @param mode read mode of the returned instances
+     * @return the instances whose id is greater than {@code after}, at most {@code size} of them
+     */
+    default Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        return stream(mode).filter(pi -> after == null || pi.id().compareTo(after) > 0)
+                .sorted(Comparator.comparing(ProcessInstance::id))
+                .limit(size);
+    }
+
     default Stream<ProcessInstance<T>> waitingForEventType(String eventType) {
         return waitingForEventType(eventType, ProcessInstanceReadMode.READ_ONLY);
     }
 
     Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode);
 
+    /**
+     * Returns one page of the process instances waiting for the given event type, ordered by id, to be closed once consumed.
+     * Same contract as {@link #stream(String, int, ProcessInstanceReadMode)}, restricted to the instances waiting for the event type.
+     * The default implementation loads every waiting instance to compute each page, so stores are expected to override it
+     * with a seek on their event type index.
+     *
+     * @param eventType event type the instances are waiting for
+     * @param after id of the last instance of the previous page, null to start from the first one
+     * @param size maximum number of instances to return
+     * @param mode read mode of the returned instances
+     * @return the waiting instances whose id is greater than {@code after}, at most {@code size} of them
+     */
+    default Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        return waitingForEventType(eventType, mode).filter(pi -> after == null || pi.id().compareTo(after) > 0)
+                .sorted(Comparator.comparing(ProcessInstance::id))
+                .limit(size);
+    }
+
+    /**
+     * Checks if the process instance with the given id is waiting for the given event type.
+     * Implementations are expected to answer it from their event type index, without loading
+     * the instances waiting for the event type.
+     *
+     * @param eventType event type to check
+     * @param id process instance id
+     * @return true if the process instance is waiting for the event type
+     */
+    default boolean isWaitingFor(String eventType, String id) {
+        try (Stream<ProcessInstance<T>> waiting = waitingForEventType(eventType, ProcessInstanceReadMode.READ_ONLY)) {
+            return waiting.anyMatch(p -> p.id().equals(id));
+        }
+    }
+
     default Stream<ProcessInstance<T>> acceptingEventType(String signalName, String id) {
         return findById(id, ProcessInstanceReadMode.MUTABLE)
                 .filter(pi -> {
                     // Check if waiting for event (traditional signal event)
-                    boolean isWaitingForSignal = Stream.concat(
-                            waitingForEventType(signalName, ProcessInstanceReadMode.READ_ONLY),
-                            waitingForEventType("Message-" + signalName, ProcessInstanceReadMode.READ_ONLY)).anyMatch(p -> p.id().equals(id));
+                    boolean isWaitingForSignal = isWaitingFor(signalName, id) || isWaitingFor("Message-" + signalName, id);
 
                     boolean isAdHocNode = pi.adHocFragments().stream()
                             .anyMatch(fragment -> fragment.getName().equals(signalName));
@@ -22,7 +22,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.kie.kogito.MapOutput;
 import org.kie.kogito.MappableToModel;
@@ -59,8 +63,28 @@ public interface ProcessService {
 
     <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process);
 
+    /**
+     * Returns the output of one page of process instances ordered by id, to be closed once consumed.
+     *
+     * @param process process whose instances are listed
+     * @param after id of the last instance of the previous page, null for the first page
+     * @param size page size, null or out of range values fall back to the configured process instance limit
+     * @return the output of the instances of the page
+     */
+    <T extends MappableToModel<R>, R> Stream<R> streamProcessInstanceOutput(Process<T> process, String after, Integer size);
+
+    default <T extends MappableToModel<R>, R> List<R> getProcessInstanceOutput(Process<T> process, String after, Integer size) {
+        try (Stream<R> stream = streamProcessInstanceOutput(process, after, size)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
     <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id);
 
+    default <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        return CompletableFuture.supplyAsync(() -> findById(process, id));
+    }
+
     <T extends MappableToModel<R>, R> Optional<R> signalProcessInstance(Process<T> process, String id, Object data, String signalName);
 
     <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... id) throws UnsupportedOperationException;
@@ -19,9 +19,11 @@
 
 package org.kie.kogito.signal;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.SignalFactory;
 
 public interface ProcessInstanceResolver<T> {
 
@@ -29,4 +31,17 @@ public interface ProcessInstanceResolver<T> {
 
     List<ProcessInstance<T>> waitingForEvents(String eventType);
 
+    /**
+     * Sends the signal to every process instance waiting for the event type.
+     *
+     * @param eventType event type of the signal
+     * @param payload payload of the signal
+     * @param excluded ids of the instances already signalled
+     */
+    default void signalWaiting(String eventType, Object payload, Collection<String> excluded) {
+        waitingForEvents(eventType).stream()
+                .filter(p -> !excluded.contains(p.id()))
+                .forEach(p -> p.send(SignalFactory.of(eventType, payload)));
+    }
+
 }
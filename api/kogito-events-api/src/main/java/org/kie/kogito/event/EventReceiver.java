@@ -18,7 +18,10 @@
  */
 package org.kie.kogito.event;
 
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Event receiver interface.
@@ -39,6 +42,24 @@ public interface EventReceiver extends AutoCloseable {
      */
     <T> void subscribe(Consumer<DataEvent<T>> consumer, Class<T> dataClass);
 
+    /**
+     * Subscribe an event consumer that completes its work asynchronously. Implementations able to acknowledge the external message
+     * once the returned completion stage is done should override this method. The default implementation waits for the stage on the
+     * receiving thread, so the message is never acknowledged before the event has been consumed and a failure is rethrown.
+     * 
+     * @param consumer consumer function that accepts the data event object and return a completion stage with the result of the consumption.
+     * @param dataClass the model object class wrapped into the data event
+     */
+    default <T> void subscribeAsync(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> dataClass) {
+        subscribe(event -> {
+            try {
+                consumer.apply(event).toCompletableFuture().join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+            }
+        }, dataClass);
+    }
+
     @Override
     default void close() throws Exception {
     }
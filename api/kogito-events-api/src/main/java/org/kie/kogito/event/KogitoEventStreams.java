@@ -25,6 +25,10 @@ public class KogitoEventStreams {
     public static final String QUEUE_SIZE_PROPERTY = "kogito.quarkus.events.threads.queueSize";
     public static final String DEFAULT_MAX_THREADS = "10";
     public static final String DEFAULT_QUEUE_SIZE = "1";
+    public static final String OVERFLOW_SIZE_PROPERTY = "kogito.quarkus.events.threads.overflowSize";
+    public static final String OVERFLOW_POLICY_PROPERTY = "kogito.quarkus.events.threads.overflowPolicy";
+    public static final String DEFAULT_OVERFLOW_SIZE = "10000";
+    public static final String DEFAULT_OVERFLOW_POLICY = "nack";
     public static final String THREAD_NAME = "kogito-event-executor";
 
     private KogitoEventStreams() {
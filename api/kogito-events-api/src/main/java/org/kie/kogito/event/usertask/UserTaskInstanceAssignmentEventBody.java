@@ -19,11 +19,29 @@
 
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
-public class UserTaskInstanceAssignmentEventBody {
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTFCollection;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTFCollection;
+
+public class UserTaskInstanceAssignmentEventBody implements KogitoMarshallEventSupport, CloudEventVisitor {
 
     // common fields for events
     private Date eventDate;
@@ -40,6 +58,33 @@ public class UserTaskInstanceAssignmentEventBody {
 
     private String eventType; //ADDED REMOVED
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, assignmentType);
+        writeUTFCollection(out, users);
+        writeUTF(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskName = readUTF(in);
+        assignmentType = readUTF(in);
+        users = readUTFCollection(in, new ArrayList<>());
+        eventType = readUTF(in);
+    }
+
+    @Override
+    public void visit(DataEvent<?> dataEvent) {
+        this.userTaskInstanceId = (String) dataEvent.getExtension(CloudEventExtensionConstants.PROCESS_USER_TASK_INSTANCE_ID);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
@@ -18,11 +18,28 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.net.URI;
 import java.util.Date;
 import java.util.Objects;
-
-public class UserTaskInstanceAttachmentEventBody {
+import java.util.Set;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readInt;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeInt;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+
+public class UserTaskInstanceAttachmentEventBody implements KogitoMarshallEventSupport, CloudEventVisitor {
     public static final int EVENT_TYPE_ADDED = 1;
     public static final int EVENT_TYPE_CHANGE = 2;
     public static final int EVENT_TYPE_DELETED = 3;
@@ -46,6 +63,36 @@ public class UserTaskInstanceAttachmentEventBody {
         return new Builder(new UserTaskInstanceAttachmentEventBody());
     }
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, attachmentId);
+        writeUTF(out, attachmentName);
+        writeUTF(out, attachmentURI != null ? attachmentURI.toString() : null);
+        writeInt(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskName = readUTF(in);
+        attachmentId = readUTF(in);
+        attachmentName = readUTF(in);
+        String uri = readUTF(in);
+        attachmentURI = uri != null ? URI.create(uri) : null;
+        eventType = readInt(in);
+    }
+
+    @Override
+    public void visit(DataEvent<?> dataEvent) {
+        this.userTaskInstanceId = (String) dataEvent.getExtension(CloudEventExtensionConstants.PROCESS_USER_TASK_INSTANCE_ID);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
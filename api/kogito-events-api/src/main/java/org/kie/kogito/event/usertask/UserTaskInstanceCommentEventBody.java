@@ -18,10 +18,27 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.Objects;
+import java.util.Set;
 
-public class UserTaskInstanceCommentEventBody {
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readInt;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeInt;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+
+public class UserTaskInstanceCommentEventBody implements KogitoMarshallEventSupport, CloudEventVisitor {
 
     public static final int EVENT_TYPE_ADDED = 1;
     public static final int EVENT_TYPE_CHANGE = 2;
@@ -48,6 +65,33 @@ public class UserTaskInstanceCommentEventBody {
         return new Builder(new UserTaskInstanceCommentEventBody());
     }
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, commentId);
+        writeUTF(out, commentContent);
+        writeInt(out, eventType);
+    }
+
+    @Override
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskName = readUTF(in);
+        commentId = readUTF(in);
+        commentContent = readUTF(in);
+        eventType = readInt(in);
+    }
+
+    @Override
+    public void visit(DataEvent<?> dataEvent) {
+        this.userTaskInstanceId = (String) dataEvent.getExtension(CloudEventExtensionConstants.PROCESS_USER_TASK_INSTANCE_ID);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
@@ -18,10 +18,27 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
+import java.util.Set;
 
-public class UserTaskInstanceDeadlineEventBody {
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readObject;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeObject;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+
+public class UserTaskInstanceDeadlineEventBody implements KogitoMarshallEventSupport, CloudEventVisitor {
 
     // common fields for events
     private Date eventDate;
@@ -39,6 +56,34 @@ public class UserTaskInstanceDeadlineEventBody {
 
     private String eventType;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskName);
+        writeObject(out, notification);
+        writeObject(out, inputs);
+        writeUTF(out, eventType);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskName = readUTF(in);
+        notification = (Map<String, Object>) readObject(in);
+        inputs = (Map<String, Object>) readObject(in);
+        eventType = readUTF(in);
+    }
+
+    @Override
+    public void visit(DataEvent<?> dataEvent) {
+        this.userTaskInstanceId = (String) dataEvent.getExtension(CloudEventExtensionConstants.PROCESS_USER_TASK_INSTANCE_ID);
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
@@ -18,14 +18,28 @@
  */
 package org.kie.kogito.event.usertask;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
 import org.kie.kogito.event.process.ProcessInstanceEventMetadata;
 
-public class UserTaskInstanceStateEventBody {
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeDate;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+
+public class UserTaskInstanceStateEventBody implements KogitoMarshallEventSupport, CloudEventVisitor {
 
     // common fields for events
     private Date eventDate;
@@ -51,6 +65,44 @@ public class UserTaskInstanceStateEventBody {
 
     private Date slaDueDate;
 
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeDate(out, eventDate);
+        writeUTF(out, eventUser);
+        writeUTF(out, userTaskDefinitionId);
+        writeUTF(out, userTaskName);
+        writeUTF(out, userTaskDescription);
+        writeUTF(out, userTaskPriority);
+        writeUTF(out, userTaskReferenceName);
+        writeUTF(out, state);
+        writeUTF(out, actualOwner);
+        writeUTF(out, eventType);
+        writeUTF(out, externalReferenceId);
+        writeDate(out, slaDueDate);
+    }
+
+    @Override
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        eventDate = readDate(in);
+        eventUser = readUTF(in);
+        userTaskDefinitionId = readUTF(in);
+        userTaskName = readUTF(in);
+        userTaskDescription = readUTF(in);
+        userTaskPriority = readUTF(in);
+        userTaskReferenceName = readUTF(in);
+        state = readUTF(in);
+        actualOwner = readUTF(in);
+        eventType = readUTF(in);
+        externalReferenceId = readUTF(in);
+        slaDueDate = readDate(in);
+    }
+
+    @Override
+    public void visit(DataEvent<?> dataEvent) {
+        this.userTaskInstanceId = (String) dataEvent.getExtension(CloudEventExtensionConstants.PROCESS_USER_TASK_INSTANCE_ID);
+        this.processInstanceId = dataEvent.getKogitoProcessInstanceId();
+    }
+
     public Date getEventDate() {
         return eventDate;
     }
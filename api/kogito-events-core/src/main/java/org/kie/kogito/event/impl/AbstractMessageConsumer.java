@@ -20,6 +20,7 @@ package org.kie.kogito.event.impl;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 import org.kie.kogito.Application;
@@ -46,9 +47,35 @@ public abstract class AbstractMessageConsumer<M extends Model, D> {
             Class<D> dataClass,
             ProcessService processService,
             Set<String> correlations) {
+        init(trigger, eventReceiver, dataClass, PartitionedEventDispatcher.fromSystemProperties(
+                new ProcessEventDispatcher<>(process, getModelConverter(), processService, correlations, getDataResolver()), correlations));
+    }
+
+    /**
+     * Same as {@link #init(Application, Process, String, EventReceiver, Class, ProcessService, Set)}, dispatching the events
+     * to the given number of workers, see {@link PartitionedEventDispatcher}.
+     */
+    protected void init(Application application,
+            Process<M> process,
+            String trigger,
+            EventReceiver eventReceiver,
+            Class<D> dataClass,
+            ProcessService processService,
+            Set<String> correlations,
+            int workers,
+            int maxInFlight) {
+        init(trigger, eventReceiver, dataClass, PartitionedEventDispatcher.of(
+                new ProcessEventDispatcher<>(process, getModelConverter(), processService, correlations, getDataResolver()), correlations, workers, maxInFlight));
+    }
+
+    private void init(String trigger, EventReceiver eventReceiver, Class<D> dataClass, EventDispatcher<M, D> eventDispatcher) {
         this.trigger = trigger;
-        this.eventDispatcher = new ProcessEventDispatcher<>(process, getModelConverter(), processService, correlations, getDataResolver());
-        eventReceiver.subscribe(this::consume, dataClass);
+        this.eventDispatcher = eventDispatcher;
+        if (eventDispatcher instanceof PartitionedEventDispatcher) {
+            eventReceiver.subscribeAsync(this::consumeAsync, dataClass);
+        } else {
+            eventReceiver.subscribe(this::consume, dataClass);
+        }
         logger.info("Consumer for {} started", trigger);
     }
 
@@ -66,6 +93,25 @@ public abstract class AbstractMessageConsumer<M extends Model, D> {
         logger.trace("Consume completed {} for trigger {}", payload, trigger);
     }
 
+    private CompletionStage<?> consumeAsync(DataEvent<D> payload) {
+        logger.trace("Received {} for trigger {}", payload, trigger);
+        return ((PartitionedEventDispatcher<M, D>) eventDispatcher).dispatchAsync(trigger, payload)
+                .whenComplete((result, error) -> logger.trace("Consume completed {} for trigger {}", payload, trigger));
+    }
+
+    /**
+     * Stops the event dispatcher, waiting for the events already accepted to be handled. To be invoked on shutdown.
+     */
+    protected void close() {
+        if (eventDispatcher instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) eventDispatcher).close();
+            } catch (Exception ex) {
+                logger.warn("Error closing event dispatcher for trigger {}", trigger, ex);
+            }
+        }
+    }
+
     protected Optional<Function<D, M>> getModelConverter() {
         return Optional.empty();
     }
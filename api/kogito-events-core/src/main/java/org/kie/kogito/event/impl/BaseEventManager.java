@@ -27,6 +27,10 @@ import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.impl.adapter.DataEventAdapter.DataEventAdapterConfig;
+import org.kie.kogito.event.impl.adapter.DataEventAdapters;
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,10 +41,26 @@ public class BaseEventManager implements EventManager {
     private String service;
     private Addons addons;
     private Set<EventPublisher> publishers = new LinkedHashSet<>();
+    private volatile DataEventAdapters dataEventAdapters;
+    private EventBatchCoalescer coalescer = EventBatchCoalescer.fromSystemProperties();
 
     @Override
     public EventBatch newBatch() {
-        return new DefaultInstanceEventBatch(service, addons);
+        return new DefaultInstanceEventBatch(dataEventAdapters(), coalescer);
+    }
+
+    private DataEventAdapters dataEventAdapters() {
+        DataEventAdapters current = dataEventAdapters;
+        if (current == null) {
+            synchronized (this) {
+                current = dataEventAdapters;
+                if (current == null) {
+                    current = DataEventAdapters.load(new DataEventAdapterConfig(service, addons != null ? addons : Addons.EMTPY));
+                    dataEventAdapters = current;
+                }
+            }
+        }
+        return current;
     }
 
     @Override
@@ -55,7 +75,16 @@ public class BaseEventManager implements EventManager {
             logger.debug("publishing {}", event);
         }
 
-        publishers.forEach(p -> p.publish(events));
+        EngineObserver observer = EngineObservers.current();
+        if (observer == null) {
+            publishers.forEach(p -> p.publish(events));
+            return;
+        }
+        for (EventPublisher publisher : publishers) {
+            long start = System.nanoTime();
+            publisher.publish(events);
+            observer.onEventsPublished(publisher.getClass().getSimpleName(), events.size(), System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -63,14 +92,20 @@ public class BaseEventManager implements EventManager {
         this.publishers.add(publisher);
     }
 
+    public void setEventBatchCoalescer(EventBatchCoalescer coalescer) {
+        this.coalescer = coalescer != null ? coalescer : EventBatchCoalescer.NONE;
+    }
+
     @Override
     public void setService(String service) {
         this.service = service;
+        this.dataEventAdapters = null;
     }
 
     @Override
     public void setAddons(Addons addons) {
         this.addons = addons;
+        this.dataEventAdapters = null;
     }
 
 }
@@ -18,18 +18,15 @@
  */
 package org.kie.kogito.event.impl;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.List;
-import java.util.ServiceLoader;
 import java.util.TreeSet;
 
 import org.kie.kogito.Addons;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventBatch;
-import org.kie.kogito.event.impl.adapter.DataEventAdapter;
 import org.kie.kogito.event.impl.adapter.DataEventAdapter.DataEventAdapterConfig;
+import org.kie.kogito.event.impl.adapter.DataEventAdapters;
 import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceStateEventBody;
 import org.slf4j.Logger;
@@ -39,14 +36,21 @@ public class DefaultInstanceEventBatch implements EventBatch {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInstanceEventBatch.class);
 
-    private String service;
-    private Addons addons;
     private Collection<DataEvent<?>> processedEvents;
-    private List<DataEventAdapter> dataEventAdapters;
+    private DataEventAdapters dataEventAdapters;
+    private EventBatchCoalescer coalescer;
 
     public DefaultInstanceEventBatch(String service, Addons addons) {
-        this.service = service;
-        this.addons = addons != null ? addons : Addons.EMTPY;
+        this(DataEventAdapters.load(new DataEventAdapterConfig(service, addons != null ? addons : Addons.EMTPY)));
+    }
+
+    public DefaultInstanceEventBatch(DataEventAdapters dataEventAdapters) {
+        this(dataEventAdapters, EventBatchCoalescer.NONE);
+    }
+
+    public DefaultInstanceEventBatch(DataEventAdapters dataEventAdapters, EventBatchCoalescer coalescer) {
+        this.dataEventAdapters = dataEventAdapters;
+        this.coalescer = coalescer;
         this.processedEvents = new TreeSet<>(new Comparator<DataEvent<?>>() {
             @Override
             public int compare(DataEvent<?> event1, DataEvent<?> event2) {
@@ -56,20 +60,17 @@ public class DefaultInstanceEventBatch implements EventBatch {
                                 ((ProcessInstanceStateDataEvent) event1).getData().getEventType() == ProcessInstanceStateEventBody.EVENT_TYPE_STARTED ? -1 : 1;
             }
         });
-        this.dataEventAdapters = new ArrayList<>();
-        ServiceLoader.load(DataEventAdapter.class).forEach(this.dataEventAdapters::add);
-        this.dataEventAdapters.stream().forEach(a -> a.setup(new DataEventAdapterConfig(this.service, this.addons)));
     }
 
     @Override
     public void append(Object event) {
         LOG.trace("event generated {}", event);
-        this.dataEventAdapters.stream().filter(a -> a.accept(event)).map(a -> a.adapt(event)).forEach(this.processedEvents::add);
+        this.processedEvents.addAll(dataEventAdapters.adapt(event));
     }
 
     @Override
     public Collection<DataEvent<?>> events() {
-        return processedEvents;
+        return coalescer.coalesce(processedEvents);
     }
 
 }
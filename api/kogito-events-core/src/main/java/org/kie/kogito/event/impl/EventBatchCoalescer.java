@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.process.ProcessInstanceNodeDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceNodeEventBody;
+import org.kie.kogito.event.process.ProcessInstanceVariableDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceVariableEventBody;
+
+/**
+ * Removes redundant events from the events of a unit of work before they are published.
+ * <ul>
+ * <li>variables: only the last change of a variable within the same process instance and container is kept.</li>
+ * <li>nodes: a node instance both entered and left within the unit of work only produces its exit event.</li>
+ * <li>non observable nodes: enter and exit events of the configured node types or node definition ids are dropped.</li>
+ * </ul>
+ * Each stage is disabled by default and can be enabled through the {@value #VARIABLES_PROPERTY},
+ * {@value #NODES_PROPERTY} and {@value #NON_OBSERVABLE_NODES_PROPERTY} (comma separated) system properties.
+ */
+public class EventBatchCoalescer {
+
+    public static final String VARIABLES_PROPERTY = "kogito.events.coalesce.variables";
+    public static final String NODES_PROPERTY = "kogito.events.coalesce.nodes";
+    public static final String NON_OBSERVABLE_NODES_PROPERTY = "kogito.events.coalesce.non-observable-nodes";
+
+    public static final EventBatchCoalescer NONE = new EventBatchCoalescer(false, false, Set.of());
+
+    private final boolean variables;
+    private final boolean nodes;
+    private final Set<String> nonObservableNodes;
+
+    public EventBatchCoalescer(boolean variables, boolean nodes, Set<String> nonObservableNodes) {
+        this.variables = variables;
+        this.nodes = nodes;
+        this.nonObservableNodes = Set.copyOf(nonObservableNodes);
+    }
+
+    public static EventBatchCoalescer fromSystemProperties() {
+        String nonObservable = System.getProperty(NON_OBSERVABLE_NODES_PROPERTY, "");
+        return new EventBatchCoalescer(Boolean.getBoolean(VARIABLES_PROPERTY), Boolean.getBoolean(NODES_PROPERTY),
+                Arrays.stream(nonObservable.split(",")).map(String::trim).filter(s -> !s.isEmpty()).collect(Collectors.toSet()));
+    }
+
+    public boolean isEnabled() {
+        return variables || nodes || !nonObservableNodes.isEmpty();
+    }
+
+    /**
+     * @param events events of the unit of work, in publishing order
+     * @return the events left, in the same order
+     */
+    public Collection<DataEvent<?>> coalesce(Collection<DataEvent<?>> events) {
+        if (!isEnabled() || events.size() < 2 && nonObservableNodes.isEmpty()) {
+            return events;
+        }
+        Map<String, DataEvent<?>> lastVariableChange = new HashMap<>();
+        Set<String> leftNodeInstances = new HashSet<>();
+        for (DataEvent<?> event : events) {
+            if (variables && event instanceof ProcessInstanceVariableDataEvent variableEvent) {
+                lastVariableChange.put(variableKey(variableEvent.getData()), event);
+            } else if (nodes && event instanceof ProcessInstanceNodeDataEvent nodeEvent && isEventType(nodeEvent.getData(), ProcessInstanceNodeEventBody.EVENT_TYPE_EXIT)) {
+                leftNodeInstances.add(nodeEvent.getData().getNodeInstanceId());
+            }
+        }
+
+        List<DataEvent<?>> result = new ArrayList<>(events.size());
+        for (DataEvent<?> event : events) {
+            if (event instanceof ProcessInstanceVariableDataEvent variableEvent) {
+                if (variables && lastVariableChange.get(variableKey(variableEvent.getData())) != event) {
+                    continue;
+                }
+            } else if (event instanceof ProcessInstanceNodeDataEvent nodeEvent) {
+                ProcessInstanceNodeEventBody body = nodeEvent.getData();
+                if (isNonObservable(body)) {
+                    continue;
+                }
+                if (nodes && isEventType(body, ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER) && leftNodeInstances.contains(body.getNodeInstanceId())) {
+                    continue;
+                }
+            }
+            result.add(event);
+        }
+        return result;
+    }
+
+    private boolean isNonObservable(ProcessInstanceNodeEventBody body) {
+        return !nonObservableNodes.isEmpty()
+                && (isEventType(body, ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER) || isEventType(body, ProcessInstanceNodeEventBody.EVENT_TYPE_EXIT))
+                && (nonObservableNodes.contains(body.getNodeType()) || nonObservableNodes.contains(body.getNodeDefinitionId()));
+    }
+
+    private static boolean isEventType(ProcessInstanceNodeEventBody body, int eventType) {
+        return body.getEventType() != null && body.getEventType() == eventType;
+    }
+
+    private static String variableKey(ProcessInstanceVariableEventBody body) {
+        return body.getProcessInstanceId() + '\0' + body.getNodeContainerInstanceId() + '\0' + body.getVariableId() + '\0' + body.getVariableName();
+    }
+}
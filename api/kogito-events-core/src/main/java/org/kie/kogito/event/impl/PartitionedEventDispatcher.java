@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.kie.kogito.Model;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.EventDispatcher;
+import org.kie.kogito.process.ProcessInstance;
+
+/**
+ * Dispatches events to a fixed number of single threaded workers, choosing the worker from the correlation values,
+ * the reference id or the business key of the event (in that order). Events targeting the same instance are therefore
+ * always handled by the same worker, in arrival order, while events targeting different instances are handled in parallel.
+ * Events without any of those keys are distributed round robin.
+ * <p>
+ * {@link #dispatchAsync(String, DataEvent)} returns a stage completed once the worker has handled the event (exceptionally if
+ * handling failed), so the receiver acknowledges or rejects the message only after it has been processed.
+ * {@link #dispatch(String, DataEvent)} waits for that stage, keeping the {@link EventDispatcher} contract.
+ * <p>
+ * The number of events accepted but not yet handled is limited by {@value #MAX_IN_FLIGHT_PROPERTY}. Once the limit is reached
+ * new events are rejected with a {@link RejectedExecutionException} rather than blocking the receiving thread (which might be
+ * an event loop); the rejected message is then nacked and the connector failure strategy applies. Since a rejected event may be
+ * redelivered after later events of the same instance, raise the limit if ordering under load matters.
+ * <p>
+ * {@link #close()} stops accepting events and waits for the queued ones to be handled.
+ */
+public class PartitionedEventDispatcher<M extends Model, D> implements EventDispatcher<M, D>, AutoCloseable {
+
+    public static final String WORKERS_PROPERTY = "kogito.events.consumer.workers";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "kogito.events.consumer.max-in-flight";
+    public static final String DEFAULT_WORKERS = "0";
+    public static final String DEFAULT_MAX_IN_FLIGHT = "1000";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final EventDispatcher<M, D> delegate;
+    private final Set<String> correlationKeys;
+    private final ExecutorService[] workers;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public PartitionedEventDispatcher(EventDispatcher<M, D> delegate, Set<String> correlationKeys, int workers, int maxInFlight) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be positive, was " + workers);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of in flight events must be positive, was " + maxInFlight);
+        }
+        this.delegate = delegate;
+        this.correlationKeys = correlationKeys == null ? Set.of() : correlationKeys;
+        this.workers = new ExecutorService[workers];
+        for (int i = 0; i < workers; i++) {
+            String name = "kogito-event-consumer-" + i;
+            this.workers[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Wraps the given dispatcher when the number of workers is greater than zero, otherwise returns it unchanged.
+     */
+    public static <M extends Model, D> EventDispatcher<M, D> of(EventDispatcher<M, D> delegate, Set<String> correlationKeys, int workers, int maxInFlight) {
+        return workers > 0 ? new PartitionedEventDispatcher<>(delegate, correlationKeys, workers, maxInFlight) : delegate;
+    }
+
+    /**
+     * Same as {@link #of(EventDispatcher, Set, int, int)}, reading the number of workers and the in flight limit from
+     * {@value #WORKERS_PROPERTY} and {@value #MAX_IN_FLIGHT_PROPERTY} system properties. Used when no configuration is
+     * available, Quarkus and Spring Boot consumers read both from the application configuration.
+     */
+    public static <M extends Model, D> EventDispatcher<M, D> fromSystemProperties(EventDispatcher<M, D> delegate, Set<String> correlationKeys) {
+        return of(delegate, correlationKeys, Integer.getInteger(WORKERS_PROPERTY, Integer.parseInt(DEFAULT_WORKERS)),
+                Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, Integer.parseInt(DEFAULT_MAX_IN_FLIGHT)));
+    }
+
+    @Override
+    public ProcessInstance<M> dispatch(String trigger, DataEvent<D> event) {
+        try {
+            return dispatchAsync(trigger, event).toCompletableFuture().join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+        }
+    }
+
+    /**
+     * Queues the event on its worker.
+     *
+     * @return stage completed with the dispatch result once the event has been handled, or completed exceptionally if handling
+     *         failed or the event was rejected because {@value #MAX_IN_FLIGHT_PROPERTY} events are already in flight
+     */
+    public CompletionStage<ProcessInstance<M>> dispatchAsync(String trigger, DataEvent<D> event) {
+        if (!inFlight.tryAcquire()) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    String.format("Event %s for trigger %s rejected, %d events are already in flight", event.getId(), trigger, maxInFlight)));
+        }
+        CompletableFuture<ProcessInstance<M>> result = new CompletableFuture<>();
+        try {
+            workers[workerIndex(event)].execute(() -> handle(trigger, event, result));
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            result.completeExceptionally(ex);
+        }
+        return result;
+    }
+
+    /**
+     * @return number of events accepted and not yet handled
+     */
+    public int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private void handle(String trigger, DataEvent<D> event, CompletableFuture<ProcessInstance<M>> result) {
+        try {
+            result.complete(delegate.dispatch(trigger, event));
+        } catch (Throwable ex) {
+            result.completeExceptionally(ex);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    int workerIndex(DataEvent<D> event) {
+        String key = partitionKey(event);
+        return Math.floorMod(key == null ? roundRobin.getAndIncrement() : key.hashCode(), workers.length);
+    }
+
+    private String partitionKey(DataEvent<D> event) {
+        if (!correlationKeys.isEmpty()) {
+            List<Object> values = correlationKeys.stream().sorted().map(k -> resolve(event, k)).collect(Collectors.toList());
+            if (values.stream().anyMatch(Objects::nonNull)) {
+                return values.toString();
+            }
+        }
+        String key = event.getKogitoReferenceId();
+        return key != null ? key : event.getKogitoBusinessKey();
+    }
+
+    private Object resolve(DataEvent<?> event, String key) {
+        if (event.getAttributeNames().contains(key)) {
+            return event.getAttribute(key);
+        }
+        return event.getExtensionNames().contains(key) ? event.getExtension(key) : null;
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService worker : workers) {
+            worker.shutdown();
+        }
+        try {
+            for (ExecutorService worker : workers) {
+                if (!worker.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    worker.shutdownNow();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
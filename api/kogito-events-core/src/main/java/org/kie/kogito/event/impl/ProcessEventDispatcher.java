@@ -35,6 +35,7 @@ import org.kie.kogito.correlation.CorrelationInstance;
 import org.kie.kogito.correlation.SimpleCorrelation;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.EventDispatcher;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessService;
@@ -134,7 +135,7 @@ public class ProcessEventDispatcher<M extends Model, D> implements EventDispatch
 
     private Optional<ProcessInstance<M>> findById(String id) {
         LOGGER.debug("Received message with process {} with instance id '{}'", process.id(), id);
-        Optional<ProcessInstance<M>> result = process.instances().findById(id);
+        Optional<ProcessInstance<M>> result = EngineObservers.findById(process.instances(), process.id(), id);
         if (LOGGER.isDebugEnabled() && result.isEmpty()) {
             LOGGER.debug("No instance found for process {} with instance id '{}'", process.id(), id);
         }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl.adapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.impl.adapter.DataEventAdapter.DataEventAdapterConfig;
+
+/**
+ * Set of {@link DataEventAdapter} discovered and configured once for a given {@link DataEventAdapterConfig}.
+ * <p>
+ * Adapters are looked up by the concrete class of the event being adapted. The candidate adapters for a class are
+ * computed the first time an event of that class is seen and reused afterwards, so adapting an event only
+ * evaluates {@link DataEventAdapter#accept(Object)} on the adapters whose {@link DataEventAdapter#type()} matches.
+ */
+public class DataEventAdapters {
+
+    private static final DataEventAdapter[] NONE = new DataEventAdapter[0];
+
+    private final List<DataEventAdapter> adapters;
+
+    private final ClassValue<DataEventAdapter[]> adaptersByType = new ClassValue<>() {
+        @Override
+        protected DataEventAdapter[] computeValue(Class<?> eventType) {
+            List<DataEventAdapter> candidates = new ArrayList<>();
+            for (DataEventAdapter adapter : adapters) {
+                if (adapter.type().isAssignableFrom(eventType)) {
+                    candidates.add(adapter);
+                }
+            }
+            return candidates.isEmpty() ? NONE : candidates.toArray(DataEventAdapter[]::new);
+        }
+    };
+
+    public static DataEventAdapters load(DataEventAdapterConfig config) {
+        List<DataEventAdapter> adapters = new ArrayList<>();
+        ServiceLoader.load(DataEventAdapter.class).forEach(adapters::add);
+        return new DataEventAdapters(adapters, config);
+    }
+
+    public DataEventAdapters(List<DataEventAdapter> adapters, DataEventAdapterConfig config) {
+        this.adapters = Collections.unmodifiableList(new ArrayList<>(adapters));
+        this.adapters.forEach(a -> a.setup(config));
+    }
+
+    public List<DataEventAdapter> adapters() {
+        return adapters;
+    }
+
+    public List<DataEvent<?>> adapt(Object event) {
+        if (event == null) {
+            return Collections.emptyList();
+        }
+        DataEventAdapter[] candidates = adaptersByType.get(event.getClass());
+        if (candidates.length == 0) {
+            return Collections.emptyList();
+        }
+        List<DataEvent<?>> result = new ArrayList<>(candidates.length);
+        for (DataEventAdapter adapter : candidates) {
+            if (adapter.accept(event)) {
+                result.add(adapter.adapt(event));
+            }
+        }
+        return result;
+    }
+}
@@ -26,6 +26,7 @@ import java.net.URI;
 import org.kie.kogito.event.AbstractDataEvent;
 import org.kie.kogito.event.DataEvent;
 import org.kie.kogito.event.process.ProcessInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 
 import io.cloudevents.SpecVersion;
 
@@ -74,4 +75,21 @@ class KogitoDataEventSerializationHelper {
         event.setKogitoAddons(info.getAddons());
     }
 
+    static void populateCloudEvent(UserTaskInstanceDataEvent<?> event, UserTaskInstanceDataEventExtensionRecord info) {
+        event.setKogitoUserTaskInstanceId(info.getUserTaskInstanceId());
+        event.setKogitoReferenceId(info.getReferenceId());
+        event.setKogitoProcessId(info.getProcessId());
+        event.setKogitoProcessVersion(info.getProcessVersion());
+        event.setKogitoProcessInstanceId(info.getProcessInstanceId());
+        event.setKogitoProcessInstanceState(info.getProcessInstanceState());
+        event.setKogitoProcessType(info.getProcessType());
+        event.setKogitoParentProcessInstanceId(info.getParentInstanceId());
+        event.setKogitoRootProcessId(info.getRootId());
+        event.setKogitoRootProcessVersion(info.getRootVersion());
+        event.setKogitoRootProcessInstanceId(info.getRootInstanceId());
+        event.setKogitoBusinessKey(info.getBusinessKey());
+        event.setSource(info.getSource());
+        event.setKogitoAddons(info.getAddons());
+    }
+
 }
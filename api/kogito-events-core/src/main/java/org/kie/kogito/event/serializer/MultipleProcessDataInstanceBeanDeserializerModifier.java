@@ -19,6 +19,7 @@
 package org.kie.kogito.event.serializer;
 
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
 
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
@@ -34,6 +35,8 @@ public class MultipleProcessDataInstanceBeanDeserializerModifier extends BeanDes
             DeserializationConfig config, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
         if (beanDesc.getBeanClass().equals(MultipleProcessInstanceDataEvent.class)) {
             return new MultipleProcessInstanceDataEventDeserializer((JsonDeserializer<Object>) deserializer);
+        } else if (beanDesc.getBeanClass().equals(MultipleUserTaskInstanceDataEvent.class)) {
+            return new MultipleUserTaskInstanceDataEventDeserializer((JsonDeserializer<Object>) deserializer);
         }
         return deserializer;
     }
@@ -19,6 +19,7 @@
 package org.kie.kogito.event.serializer;
 
 import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
 
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JsonSerializer;
@@ -34,6 +35,8 @@ public class MultipleProcessDataInstanceBeanSerializerModifier extends BeanSeria
             SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
         if (beanDesc.getBeanClass().equals(MultipleProcessInstanceDataEvent.class)) {
             return new MultipleProcessInstanceDataEventSerializer((JsonSerializer<Object>) serializer);
+        } else if (beanDesc.getBeanClass().equals(MultipleUserTaskInstanceDataEvent.class)) {
+            return new MultipleUserTaskInstanceDataEventSerializer((JsonSerializer<Object>) serializer);
         }
         return serializer;
     }
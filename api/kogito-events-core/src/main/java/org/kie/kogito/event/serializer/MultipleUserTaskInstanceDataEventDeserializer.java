@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import org.kie.kogito.event.process.CloudEventVisitor;
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAssignmentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceAttachmentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceAttachmentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDeadlineDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceDeadlineEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableEventBody;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+
+import io.cloudevents.SpecVersion;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readInt;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+
+public class MultipleUserTaskInstanceDataEventDeserializer extends JsonDeserializer<MultipleUserTaskInstanceDataEvent> implements ResolvableDeserializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultipleUserTaskInstanceDataEventDeserializer.class);
+
+    private JsonDeserializer<Object> defaultDeserializer;
+
+    public MultipleUserTaskInstanceDataEventDeserializer(JsonDeserializer<Object> deserializer) {
+        this.defaultDeserializer = deserializer;
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+        ((ResolvableDeserializer) defaultDeserializer).resolve(ctxt);
+    }
+
+    @Override
+    public MultipleUserTaskInstanceDataEvent deserialize(JsonParser p, DeserializationContext ctxt)
+            throws IOException, JacksonException {
+        JsonNode node = p.getCodec().readTree(p);
+        JsonNode dataContentType = node.get("datacontenttype");
+        if (dataContentType != null && MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE.equals(dataContentType.asText())) {
+            MultipleUserTaskInstanceDataEvent event = new MultipleUserTaskInstanceDataEvent();
+            event.setDataContentType(dataContentType.asText());
+            event.setSource(URI.create(node.get("source").asText()));
+            event.setType(node.get("type").asText());
+            event.setSpecVersion(SpecVersion.parse(node.get("specversion").asText()));
+            event.setId(node.get("id").asText());
+            JsonNode data = node.get("data");
+            if (data != null) {
+                event.setData(readFromBytes(data.binaryValue(), isCompressed(node), buildFlagSet(node)));
+            }
+            return event;
+        } else {
+            JsonParser newParser = node.traverse(p.getCodec());
+            newParser.nextToken();
+            return (MultipleUserTaskInstanceDataEvent) defaultDeserializer.deserialize(newParser, ctxt);
+        }
+    }
+
+    private Set<KogitoMarshallEventFlag> buildFlagSet(JsonNode node) {
+        JsonNode flagsNode = node.get(MultipleUserTaskInstanceDataEvent.MARSHALL_FLAGS);
+        return flagsNode != null && flagsNode.isNumber() ? KogitoMarshallEventFlag.buildFlagsSet(flagsNode.intValue()) : EnumSet.noneOf(KogitoMarshallEventFlag.class);
+    }
+
+    private static boolean isCompressed(JsonNode node) {
+        JsonNode compress = node.get(MultipleUserTaskInstanceDataEvent.COMPRESS_DATA);
+        return compress != null && compress.isBoolean() && compress.asBoolean();
+    }
+
+    static Collection<UserTaskInstanceDataEvent<?>> readFromBytes(byte[] binaryValue, boolean compressed, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        InputStream wrappedIn = new ByteArrayInputStream(binaryValue);
+        if (compressed) {
+            logger.trace("Gzip compressed byte array");
+            wrappedIn = new GZIPInputStream(wrappedIn);
+        }
+        try (DataInputStream in = new DataInputStream(wrappedIn)) {
+            int size = readInt(in);
+            logger.trace("Reading collection of size {}", size);
+            Collection<UserTaskInstanceDataEvent<?>> result = new ArrayList<>(size);
+            List<UserTaskInstanceDataEventExtensionRecord> infos = new ArrayList<>();
+            while (size-- > 0) {
+                int readInfo = readInt(in);
+                logger.trace("Info ordinal is {}", readInfo);
+                UserTaskInstanceDataEventExtensionRecord info;
+                if (readInfo == -1) {
+                    info = new UserTaskInstanceDataEventExtensionRecord();
+                    info.readEvent(in, flags);
+                    logger.trace("Info read is {}", info);
+                    infos.add(info);
+                } else {
+                    info = infos.get(readInfo);
+                    logger.trace("Info cached is {}", info);
+                }
+                String type = in.readUTF();
+                logger.trace("Type is {}", type);
+                result.add(getCloudEvent(in, type, info, flags));
+                logger.trace("{} events remaining", size);
+            }
+            return result;
+        }
+    }
+
+    private static UserTaskInstanceDataEvent<?> getCloudEvent(DataInputStream in, String type, UserTaskInstanceDataEventExtensionRecord info,
+            Set<KogitoMarshallEventFlag> flags) throws IOException {
+        switch (type) {
+            case UserTaskInstanceStateDataEvent.USER_TASK_INSTANCE_STATE_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceStateDataEvent(), () -> UserTaskInstanceStateEventBody.create().build(), info, flags);
+            case UserTaskInstanceAssignmentDataEvent.USER_TASK_INSTANCE_ASSIGNMENT_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceAssignmentDataEvent(), () -> UserTaskInstanceAssignmentEventBody.create().build(), info, flags);
+            case UserTaskInstanceAttachmentDataEvent.USER_TASK_INSTANCE_ATTACHMENT_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceAttachmentDataEvent(), () -> UserTaskInstanceAttachmentEventBody.create().build(), info, flags);
+            case UserTaskInstanceCommentDataEvent.USER_TASK_INSTANCE_COMMENT_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceCommentDataEvent(), () -> UserTaskInstanceCommentEventBody.create().build(), info, flags);
+            case UserTaskInstanceDeadlineDataEvent.USER_TASK_INSTANCE_DEADLINE_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceDeadlineDataEvent(), () -> UserTaskInstanceDeadlineEventBody.create().build(), info, flags);
+            case UserTaskInstanceVariableDataEvent.USER_TASK_INSTANCE_VARIABLE_DATA_EVENT:
+                return buildDataEvent(in, type, new UserTaskInstanceVariableDataEvent(), () -> UserTaskInstanceVariableEventBody.create().build(), info, flags);
+            default:
+                throw new UnsupportedOperationException("Unrecognized event type " + type);
+        }
+    }
+
+    private static <T extends UserTaskInstanceDataEvent<V>, V extends KogitoMarshallEventSupport & CloudEventVisitor> T buildDataEvent(DataInput in, String type, T cloudEvent,
+            Supplier<V> bodySupplier, UserTaskInstanceDataEventExtensionRecord info, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        cloudEvent.setType(type);
+        int delta = readInt(in);
+        logger.trace("Time delta is {}", delta);
+        cloudEvent.setTime(info.getTime().plus(delta, ChronoUnit.MILLIS));
+        cloudEvent.setKogitoUserTaskInstanceState(readUTF(in));
+        cloudEvent.setKogitoIdentity(readUTF(in));
+        KogitoDataEventSerializationHelper.readCloudEventAttrs(in, cloudEvent);
+        logger.trace("Cloud event before population {}", cloudEvent);
+        KogitoDataEventSerializationHelper.populateCloudEvent(cloudEvent, info);
+        logger.trace("Cloud event after population {}", cloudEvent);
+
+        boolean isNotNull = in.readBoolean();
+        if (isNotNull) {
+            logger.trace("Data is not null");
+            V body = bodySupplier.get();
+            body.readEvent(in, flags);
+            logger.trace("Event body before population {}", body);
+            body.visit(cloudEvent);
+            logger.trace("Event body after population {}", body);
+            cloudEvent.setData(body);
+        } else {
+            logger.trace("Data is null");
+        }
+        return cloudEvent;
+    }
+
+}
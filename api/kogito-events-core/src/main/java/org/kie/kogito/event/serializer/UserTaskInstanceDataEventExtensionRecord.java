@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.serializer;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+import org.kie.kogito.event.process.KogitoMarshallEventFlag;
+import org.kie.kogito.event.process.KogitoMarshallEventSupport;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
+
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readTime;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.readUTF;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeTime;
+import static org.kie.kogito.event.process.KogitoEventBodySerializationHelper.writeUTF;
+
+class UserTaskInstanceDataEventExtensionRecord implements KogitoMarshallEventSupport {
+
+    // user task state and identity change between events of the same task, so they are written per event
+    private String userTaskInstanceId;
+    private String referenceId;
+    private String processId;
+    private String processVersion;
+    private String processInstanceId;
+    private String processInstanceState;
+    private String processType;
+    private String parentInstanceId;
+    private String rootId;
+    private String rootVersion;
+    private String rootInstanceId;
+    private String businessKey;
+    private URI source;
+    private OffsetDateTime time;
+    private String addons;
+    private transient int ordinal;
+
+    public UserTaskInstanceDataEventExtensionRecord() {
+    }
+
+    public UserTaskInstanceDataEventExtensionRecord(int ordinal, UserTaskInstanceDataEvent<?> dataEvent) {
+        this.ordinal = ordinal;
+        userTaskInstanceId = dataEvent.getKogitoUserTaskInstanceId();
+        referenceId = dataEvent.getKogitoReferenceId();
+        processId = dataEvent.getKogitoProcessId();
+        processVersion = dataEvent.getKogitoProcessVersion();
+        processInstanceId = dataEvent.getKogitoProcessInstanceId();
+        processInstanceState = dataEvent.getKogitoProcessInstanceState();
+        processType = dataEvent.getKogitoProcessType();
+        parentInstanceId = dataEvent.getKogitoParentProcessInstanceId();
+        rootId = dataEvent.getKogitoRootProcessId();
+        rootVersion = dataEvent.getKogitoRootProcessVersion();
+        rootInstanceId = dataEvent.getKogitoRootProcessInstanceId();
+        businessKey = dataEvent.getKogitoBusinessKey();
+        source = dataEvent.getSource();
+        time = dataEvent.getTime();
+        addons = dataEvent.getKogitoAddons();
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    public String getUserTaskInstanceId() {
+        return userTaskInstanceId;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public String getProcessVersion() {
+        return processVersion;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public String getProcessInstanceState() {
+        return processInstanceState;
+    }
+
+    public String getProcessType() {
+        return processType;
+    }
+
+    public String getParentInstanceId() {
+        return parentInstanceId;
+    }
+
+    public String getRootId() {
+        return rootId;
+    }
+
+    public String getRootVersion() {
+        return rootVersion;
+    }
+
+    public String getRootInstanceId() {
+        return rootInstanceId;
+    }
+
+    public String getBusinessKey() {
+        return businessKey;
+    }
+
+    public URI getSource() {
+        return source;
+    }
+
+    public OffsetDateTime getTime() {
+        return time;
+    }
+
+    public String getAddons() {
+        return addons;
+    }
+
+    @Override
+    public void writeEvent(DataOutput out) throws IOException {
+        writeUTF(out, userTaskInstanceId);
+        writeUTF(out, referenceId);
+        writeUTF(out, processId);
+        writeUTF(out, processVersion);
+        writeUTF(out, processInstanceId);
+        writeUTF(out, processInstanceState);
+        writeUTF(out, processType);
+        writeUTF(out, parentInstanceId);
+        writeUTF(out, rootId);
+        writeUTF(out, rootVersion);
+        writeUTF(out, rootInstanceId);
+        writeUTF(out, businessKey);
+        writeTime(out, time);
+        writeUTF(out, source != null ? source.toString() : null);
+        writeUTF(out, addons);
+    }
+
+    @Override
+    public void readEvent(DataInput in, Set<KogitoMarshallEventFlag> flags) throws IOException {
+        userTaskInstanceId = readUTF(in);
+        referenceId = readUTF(in);
+        processId = readUTF(in);
+        processVersion = readUTF(in);
+        processInstanceId = readUTF(in);
+        processInstanceState = readUTF(in);
+        processType = readUTF(in);
+        parentInstanceId = readUTF(in);
+        rootId = readUTF(in);
+        rootVersion = readUTF(in);
+        rootInstanceId = readUTF(in);
+        businessKey = readUTF(in);
+        time = readTime(in);
+        String sourceText = readUTF(in);
+        source = sourceText != null ? URI.create(sourceText) : null;
+        addons = readUTF(in);
+    }
+
+    @Override
+    public String toString() {
+        return "UserTaskInstanceDataEventExtensionRecord [userTaskInstanceId=" + userTaskInstanceId + ", referenceId=" + referenceId + ", processId=" + processId
+                + ", processVersion=" + processVersion + ", processInstanceId=" + processInstanceId + ", processInstanceState=" + processInstanceState + ", processType=" + processType
+                + ", parentInstanceId=" + parentInstanceId + ", rootId=" + rootId + ", rootVersion=" + rootVersion + ", rootInstanceId=" + rootInstanceId + ", businessKey=" + businessKey
+                + ", source=" + source + ", time=" + time + ", addons=" + addons + "]";
+    }
+
+}
@@ -21,9 +21,16 @@ package org.kie.kogito.event.usertask;
 import java.net.URI;
 import java.util.Collection;
 
+import org.kie.kogito.event.process.MultipleProcessInstanceDataEvent;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class MultipleUserTaskInstanceDataEvent extends UserTaskInstanceDataEvent<Collection<UserTaskInstanceDataEvent<?>>> {
 
     public static final String TYPE = "MultipleUserTaskInstanceDataEvent";
+    public static final String BINARY_CONTENT_TYPE = MultipleProcessInstanceDataEvent.BINARY_CONTENT_TYPE;
+    public static final String COMPRESS_DATA = MultipleProcessInstanceDataEvent.COMPRESS_DATA;
+    public static final String MARSHALL_FLAGS = MultipleProcessInstanceDataEvent.MARSHALL_FLAGS;
 
     public MultipleUserTaskInstanceDataEvent() {
     }
@@ -31,4 +38,22 @@ public class MultipleUserTaskInstanceDataEvent extends UserTaskInstanceDataEvent
     public MultipleUserTaskInstanceDataEvent(URI source, Collection<UserTaskInstanceDataEvent<?>> body) {
         super(TYPE, source, body);
     }
+
+    @JsonIgnore
+    public boolean isCompressed() {
+        return MultipleProcessInstanceDataEvent.isCompressed(getExtension(COMPRESS_DATA));
+    }
+
+    public void setCompressed(boolean compressed) {
+        addExtensionAttribute(COMPRESS_DATA, compressed);
+    }
+
+    public void setMarshallFlags(Integer flags) {
+        addExtensionAttribute(MARSHALL_FLAGS, flags);
+    }
+
+    @JsonIgnore
+    public Integer getMarshallFlags() {
+        return MultipleProcessInstanceDataEvent.getMarshallerFlags(getExtension(MARSHALL_FLAGS));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.DataEvent;
+import org.kie.kogito.event.process.ProcessInstanceNodeDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceNodeEventBody;
+import org.kie.kogito.event.process.ProcessInstanceVariableDataEvent;
+import org.kie.kogito.event.process.ProcessInstanceVariableEventBody;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventBatchCoalescerTest {
+
+    private static final String PROCESS_INSTANCE_ID = "pi-1";
+
+    @Test
+    void testDisabledKeepsEvents() {
+        List<DataEvent<?>> events = List.of(variable("x", 1), variable("x", 2));
+        assertThat(EventBatchCoalescer.NONE.coalesce(events)).isSameAs(events);
+    }
+
+    @Test
+    void testLastVariableChangeKept() {
+        DataEvent<?> x1 = variable("x", 1);
+        DataEvent<?> y1 = variable("y", 1);
+        DataEvent<?> x2 = variable("x", 2);
+        DataEvent<?> x3 = variable("x", 3);
+
+        Collection<DataEvent<?>> result = new EventBatchCoalescer(true, false, Set.of()).coalesce(List.of(x1, y1, x2, x3));
+
+        assertThat(result).containsExactly(y1, x3);
+    }
+
+    @Test
+    void testSynchronousNodesCollapsed() {
+        DataEvent<?> enterScript = node("n1", "ActionNode", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+        DataEvent<?> exitScript = node("n1", "ActionNode", ProcessInstanceNodeEventBody.EVENT_TYPE_EXIT);
+        DataEvent<?> enterTask = node("n2", "HumanTaskNode", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+
+        Collection<DataEvent<?>> result = new EventBatchCoalescer(false, true, Set.of()).coalesce(List.of(enterScript, exitScript, enterTask));
+
+        assertThat(result).containsExactly(exitScript, enterTask);
+    }
+
+    @Test
+    void testNonObservableNodesDropped() {
+        DataEvent<?> enterSplit = node("n1", "Split", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+        DataEvent<?> exitSplit = node("n1", "Split", ProcessInstanceNodeEventBody.EVENT_TYPE_EXIT);
+        DataEvent<?> errorSplit = node("n1", "Split", ProcessInstanceNodeEventBody.EVENT_TYPE_ERROR);
+        DataEvent<?> enterTask = node("n2", "HumanTaskNode", ProcessInstanceNodeEventBody.EVENT_TYPE_ENTER);
+        DataEvent<?> x = variable("x", 1);
+
+        Collection<DataEvent<?>> result = new EventBatchCoalescer(false, false, Set.of("Split")).coalesce(List.of(enterSplit, exitSplit, errorSplit, enterTask, x));
+
+        assertThat(result).containsExactly(errorSplit, enterTask, x);
+    }
+
+    private static DataEvent<?> variable(String name, Object value) {
+        ProcessInstanceVariableEventBody body = ProcessInstanceVariableEventBody.create()
+                .processInstanceId(PROCESS_INSTANCE_ID)
+                .variableId(name)
+                .variableName(name)
+                .variableValue(value)
+                .build();
+        return ProcessInstanceVariableDataEvent.builder().data(body).build();
+    }
+
+    private static DataEvent<?> node(String nodeInstanceId, String nodeType, int eventType) {
+        ProcessInstanceNodeEventBody body = ProcessInstanceNodeEventBody.create()
+                .processInstanceId(PROCESS_INSTANCE_ID)
+                .nodeInstanceId(nodeInstanceId)
+                .nodeDefinitionId(nodeInstanceId + "-definition")
+                .nodeType(nodeType)
+                .eventType(eventType)
+                .build();
+        return ProcessInstanceNodeDataEvent.builder().data(body).build();
+    }
+}
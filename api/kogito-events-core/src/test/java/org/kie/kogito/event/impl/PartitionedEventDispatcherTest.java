@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.event.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventDispatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionedEventDispatcherTest {
+
+    private static final String DUMMY_TOPIC = "dummyTopic";
+
+    @Test
+    void testOrderKeptPerReference() throws InterruptedException {
+        Map<String, List<String>> received = new ConcurrentHashMap<>();
+        Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(40);
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> {
+            String reference = event.getKogitoReferenceId();
+            received.computeIfAbsent(reference, k -> Collections.synchronizedList(new ArrayList<>())).add(event.getData().getDummyField());
+            threads.computeIfAbsent(reference, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            latch.countDown();
+            return null;
+        };
+        try (PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>(delegate, Set.of(), 4, 100)) {
+            for (int i = 0; i < 10; i++) {
+                for (String reference : List.of("a", "b", "c", "d")) {
+                    dispatcher.dispatch(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent(Integer.toString(i)), DUMMY_TOPIC, "source", reference));
+                }
+            }
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+        List<String> expected = List.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        assertThat(received).hasSize(4).allSatisfy((reference, values) -> assertThat(values).isEqualTo(expected));
+        assertThat(threads).allSatisfy((reference, names) -> assertThat(names).hasSize(1));
+    }
+
+    @Test
+    void testPartitionedOnlyWithWorkers() throws Exception {
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> null;
+        assertThat(PartitionedEventDispatcher.of(delegate, Set.of(), 0, 10)).isSameAs(delegate);
+        EventDispatcher<DummyModel, TestEvent> partitioned = PartitionedEventDispatcher.of(delegate, Set.of(), 2, 10);
+        assertThat(partitioned).isInstanceOf(PartitionedEventDispatcher.class);
+        ((PartitionedEventDispatcher<DummyModel, TestEvent>) partitioned).close();
+    }
+
+    @Test
+    void testSameCorrelationSameWorker() {
+        PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>((trigger, event) -> null, Set.of("type"), 8, 10);
+        try {
+            int index = dispatcher.workerIndex(new TestCloudEvent<>(new TestEvent("pepe"), "order-1", "source", "ref-1"));
+            assertThat(dispatcher.workerIndex(new TestCloudEvent<>(new TestEvent("pepa"), "order-1", "source", "ref-2"))).isEqualTo(index);
+        } finally {
+            dispatcher.close();
+        }
+    }
+
+    @Test
+    void testCompletedAfterHandling() {
+        CountDownLatch release = new CountDownLatch(1);
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        try (PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>(delegate, Set.of(), 2, 10)) {
+            CompletionStage<?> stage = dispatcher.dispatchAsync(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("1"), DUMMY_TOPIC, "source", "a"));
+            assertThat(stage.toCompletableFuture()).isNotDone();
+            release.countDown();
+            assertThat(stage.toCompletableFuture()).succeedsWithin(5, TimeUnit.SECONDS);
+            assertThat(dispatcher.inFlight()).isZero();
+        }
+    }
+
+    @Test
+    void testHandlingErrorPropagated() {
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> {
+            throw new IllegalStateException("boom");
+        };
+        try (PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>(delegate, Set.of(), 2, 10)) {
+            TestCloudEvent<TestEvent> event = new TestCloudEvent<>(new TestEvent("1"), DUMMY_TOPIC, "source", "a");
+            assertThat(dispatcher.dispatchAsync(DUMMY_TOPIC, event).toCompletableFuture()).failsWithin(5, TimeUnit.SECONDS)
+                    .withThrowableOfType(ExecutionException.class).withRootCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> dispatcher.dispatch(DUMMY_TOPIC, event)).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        }
+    }
+
+    @Test
+    void testInFlightLimitRejects() {
+        CountDownLatch release = new CountDownLatch(1);
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        try (PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>(delegate, Set.of(), 2, 2)) {
+            dispatcher.dispatchAsync(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("1"), DUMMY_TOPIC, "source", "a"));
+            dispatcher.dispatchAsync(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("2"), DUMMY_TOPIC, "source", "b"));
+            CompletionStage<?> rejected = dispatcher.dispatchAsync(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent("3"), DUMMY_TOPIC, "source", "c"));
+            assertThat(rejected.toCompletableFuture()).isCompletedExceptionally();
+            assertThat(rejected.toCompletableFuture()).failsWithin(0, TimeUnit.SECONDS).withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(dispatcher.inFlight()).isEqualTo(2);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testCloseHandlesQueuedEvents() {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        EventDispatcher<DummyModel, TestEvent> delegate = (trigger, event) -> {
+            received.add(event.getData().getDummyField());
+            return null;
+        };
+        PartitionedEventDispatcher<DummyModel, TestEvent> dispatcher = new PartitionedEventDispatcher<>(delegate, Set.of(), 1, 100);
+        for (int i = 0; i < 20; i++) {
+            dispatcher.dispatchAsync(DUMMY_TOPIC, new TestCloudEvent<>(new TestEvent(Integer.toString(i)), DUMMY_TOPIC, "source", "a"));
+        }
+        dispatcher.close();
+        assertThat(received).hasSize(20);
+    }
+}
@@ -29,7 +29,10 @@ import org.kie.api.event.process.ProcessStartedEvent;
 import org.kie.api.event.process.ProcessVariableChangedEvent;
 import org.kie.api.runtime.process.NodeInstance;
 import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.kogito.Addons;
 import org.kie.kogito.event.impl.adapter.AdapterHelper;
+import org.kie.kogito.event.impl.adapter.DataEventAdapter.DataEventAdapterConfig;
+import org.kie.kogito.event.impl.adapter.DataEventAdapters;
 import org.kie.kogito.event.process.ProcessInstanceErrorDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceNodeDataEvent;
 import org.kie.kogito.event.process.ProcessInstanceStateDataEvent;
@@ -89,6 +92,24 @@ public class ProcessInstanceEventBatchTest {
                 ProcessInstanceStateDataEvent.class);
     }
 
+    @Test
+    public void testSharedAdapters() {
+        DataEventAdapters adapters = DataEventAdapters.load(new DataEventAdapterConfig("", Addons.EMTPY));
+        KogitoWorkflowProcess process = Mockito.mock(KogitoWorkflowProcess.class);
+        KogitoWorkflowProcessInstance processInstance = Mockito.mock(KogitoWorkflowProcessInstance.class);
+        Mockito.when(processInstance.getProcess()).thenReturn(process);
+
+        DefaultInstanceEventBatch first = new DefaultInstanceEventBatch(adapters);
+        first.append(mockEvent(ProcessStartedEvent.class, processInstance));
+        first.append(new Object());
+        DefaultInstanceEventBatch second = new DefaultInstanceEventBatch(adapters);
+        second.append(mockEvent(ProcessStartedEvent.class, processInstance));
+        second.append(mockEvent(ProcessCompletedEvent.class, processInstance));
+
+        assertThat(first.events()).hasExactlyElementsOfTypes(ProcessInstanceStateDataEvent.class);
+        assertThat(second.events()).hasExactlyElementsOfTypes(ProcessInstanceStateDataEvent.class, ProcessInstanceStateDataEvent.class);
+    }
+
     private <T extends ProcessEvent> T mockEvent(Class<T> clazz, ProcessInstance processInstance) {
         T event = Mockito.mock(clazz);
         Mockito.when(event.getProcessInstance()).thenReturn(processInstance);
@@ -35,7 +35,14 @@ import org.kie.kogito.event.AbstractDataEvent;
 import org.kie.kogito.event.DataEventFactory;
 import org.kie.kogito.event.cloudevents.CloudEventExtensionConstants;
 import org.kie.kogito.event.serializer.MultipleProcessDataInstanceConverterFactory;
+import org.kie.kogito.event.usertask.MultipleUserTaskInstanceDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceCommentEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceDataEvent;
 import org.kie.kogito.event.usertask.UserTaskInstanceStateDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceStateEventBody;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableDataEvent;
+import org.kie.kogito.event.usertask.UserTaskInstanceVariableEventBody;
 import org.kie.kogito.jackson.utils.JsonObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -427,6 +434,84 @@ class ProcessEventsTest {
                 EXTENSION_1, EXTENSION_2);
     }
 
+    @Test
+    void multipleUserTaskInstanceDataEvent() throws IOException {
+        JsonNode expectedVarValue = OBJECT_MAPPER.createObjectNode().put("name", "John Doe");
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, false, false);
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, true, false);
+        processMultipleUserTaskInstanceDataEvent(expectedVarValue, true, true);
+    }
+
+    private void processMultipleUserTaskInstanceDataEvent(JsonNode expectedVarValue, boolean binary, boolean compress) throws IOException {
+        UserTaskInstanceStateDataEvent.UserTaskInstanceStateDataEventBuilder stateBuilder = UserTaskInstanceStateDataEvent.builder();
+        setBaseEventValues(stateBuilder, UserTaskInstanceStateDataEvent.USER_TASK_INSTANCE_STATE_DATA_EVENT);
+        stateBuilder.kogitoUserTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).kogitoUserTaskInstanceState(PROCESS_USER_TASK_INSTANCE_STATE);
+        UserTaskInstanceStateDataEvent stateEvent = stateBuilder.build();
+        stateEvent.setData(UserTaskInstanceStateEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).userTaskName(NODE_NAME).state(PROCESS_USER_TASK_INSTANCE_STATE).actualOwner(SUBJECT)
+                .processInstanceId(PROCESS_INSTANCE_ID).eventType(PROCESS_USER_TASK_INSTANCE_STATE).build());
+
+        UserTaskInstanceVariableDataEvent.UserTaskInstanceVariableDataEventBuilder varBuilder = UserTaskInstanceVariableDataEvent.builder();
+        setBaseEventValues(varBuilder, UserTaskInstanceVariableDataEvent.USER_TASK_INSTANCE_VARIABLE_DATA_EVENT);
+        varBuilder.kogitoUserTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).kogitoUserTaskInstanceState(PROCESS_USER_TASK_INSTANCE_STATE);
+        UserTaskInstanceVariableDataEvent varEvent = varBuilder.build();
+        varEvent.setData(UserTaskInstanceVariableEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(PROCESS_USER_TASK_INSTANCE_ID).userTaskName(NODE_NAME).variableType("INPUT").variableId(VARIABLE_NAME).variableName(VARIABLE_NAME)
+                .variableValue(expectedVarValue).build());
+
+        UserTaskInstanceCommentDataEvent.UserTaskInstanceCommentDataEventBuilder commentBuilder = UserTaskInstanceCommentDataEvent.builder();
+        setBaseEventValues(commentBuilder, UserTaskInstanceCommentDataEvent.USER_TASK_INSTANCE_COMMENT_DATA_EVENT);
+        commentBuilder.kogitoUserTaskInstanceId(NODE_CONTAINER_INSTANCEID).kogitoUserTaskInstanceState(PROCESS_USER_TASK_INSTANCE_STATE);
+        UserTaskInstanceCommentDataEvent commentEvent = commentBuilder.build();
+        commentEvent.setData(UserTaskInstanceCommentEventBody.create().eventDate(toDate(TIME)).eventUser(SUBJECT).userTaskDefinitionId(NODE_CONTAINER_ID)
+                .userTaskInstanceId(NODE_CONTAINER_INSTANCEID).userTaskName(NODE_NAME).commentId(ID).commentContent(ERROR_MESSAGE)
+                .eventType(UserTaskInstanceCommentEventBody.EVENT_TYPE_ADDED).build());
+
+        MultipleUserTaskInstanceDataEvent event = new MultipleUserTaskInstanceDataEvent(SOURCE, Arrays.asList(stateEvent, varEvent, commentEvent));
+        if (binary) {
+            event.setDataContentType(MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE);
+            event.setMarshallFlags(KogitoMarshallEventFlag.buildFlags(EnumSet.allOf(KogitoMarshallEventFlag.class)));
+        }
+        if (compress) {
+            event.setCompressed(compress);
+        }
+
+        MultipleUserTaskInstanceDataEvent deserializedEvent = OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsBytes(event), MultipleUserTaskInstanceDataEvent.class);
+        assertThat(deserializedEvent.getData()).hasSize(event.getData().size());
+        Iterator<UserTaskInstanceDataEvent<?>> iter = deserializedEvent.getData().iterator();
+
+        UserTaskInstanceStateDataEvent deserializedStateEvent = (UserTaskInstanceStateDataEvent) iter.next();
+        assertBaseEventValues(deserializedStateEvent, UserTaskInstanceStateDataEvent.USER_TASK_INSTANCE_STATE_DATA_EVENT);
+        assertThat(deserializedStateEvent.getKogitoUserTaskInstanceId()).isEqualTo(PROCESS_USER_TASK_INSTANCE_ID);
+        assertThat(deserializedStateEvent.getKogitoUserTaskInstanceState()).isEqualTo(PROCESS_USER_TASK_INSTANCE_STATE);
+        UserTaskInstanceStateEventBody stateBody = deserializedStateEvent.getData();
+        assertThat(stateBody.getUserTaskInstanceId()).isEqualTo(PROCESS_USER_TASK_INSTANCE_ID);
+        assertThat(stateBody.getUserTaskDefinitionId()).isEqualTo(NODE_CONTAINER_ID);
+        assertThat(stateBody.getUserTaskName()).isEqualTo(NODE_NAME);
+        assertThat(stateBody.getState()).isEqualTo(PROCESS_USER_TASK_INSTANCE_STATE);
+        assertThat(stateBody.getActualOwner()).isEqualTo(SUBJECT);
+        assertThat(stateBody.getProcessInstanceId()).isEqualTo(PROCESS_INSTANCE_ID);
+        assertThat(stateBody.getEventUser()).isEqualTo(SUBJECT);
+        assertThat(stateBody.getEventDate()).isEqualTo(toDate(TIME));
+
+        UserTaskInstanceVariableDataEvent deserializedVarEvent = (UserTaskInstanceVariableDataEvent) iter.next();
+        assertBaseEventValues(deserializedVarEvent, UserTaskInstanceVariableDataEvent.USER_TASK_INSTANCE_VARIABLE_DATA_EVENT);
+        UserTaskInstanceVariableEventBody varBody = deserializedVarEvent.getData();
+        assertThat(varBody.getUserTaskInstanceId()).isEqualTo(PROCESS_USER_TASK_INSTANCE_ID);
+        assertThat(varBody.getVariableType()).isEqualTo("INPUT");
+        assertThat(varBody.getVariableName()).isEqualTo(VARIABLE_NAME);
+        assertThat(varBody.getVariableValue()).isEqualTo(expectedVarValue);
+
+        UserTaskInstanceCommentDataEvent deserializedCommentEvent = (UserTaskInstanceCommentDataEvent) iter.next();
+        assertBaseEventValues(deserializedCommentEvent, UserTaskInstanceCommentDataEvent.USER_TASK_INSTANCE_COMMENT_DATA_EVENT);
+        assertThat(deserializedCommentEvent.getKogitoUserTaskInstanceId()).isEqualTo(NODE_CONTAINER_INSTANCEID);
+        UserTaskInstanceCommentEventBody commentBody = deserializedCommentEvent.getData();
+        assertThat(commentBody.getUserTaskInstanceId()).isEqualTo(NODE_CONTAINER_INSTANCEID);
+        assertThat(commentBody.getCommentId()).isEqualTo(ID);
+        assertThat(commentBody.getCommentContent()).isEqualTo(ERROR_MESSAGE);
+        assertThat(commentBody.getEventType()).isEqualTo(UserTaskInstanceCommentEventBody.EVENT_TYPE_ADDED);
+    }
+
     @Test
     void variableInstanceDataEvent() throws Exception {
         ProcessInstanceVariableDataEvent.ProcessInstanceVariableDataEventBuilder builder = ProcessInstanceVariableDataEvent.builder();
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel: entries are hashed by their due tick into a fixed number of slots, so adding and removing an
+ * entry is O(1) and advancing the wheel only visits the slots of the elapsed ticks. Entries due more than one
+ * revolution ahead stay in their slot until the revolution they are due in.
+ */
+class HashedTimingWheel<E> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<String, Entry<E>>> slots;
+    private final Map<String, Entry<E>> entries = new HashMap<>();
+    private long currentTick;
+
+    private record Entry<E>(String id, long tick, E element) {
+    }
+
+    /**
+     * @param tickMillis duration of a tick in milliseconds
+     * @param size number of slots, rounded up to a power of two
+     * @param startTime time of the first tick, in epoch milliseconds
+     */
+    HashedTimingWheel(long tickMillis, int size, long startTime) {
+        this.tickMillis = tickMillis;
+        int slotCount = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.mask = slotCount - 1;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new LinkedHashMap<>());
+        }
+        this.currentTick = startTime / tickMillis;
+    }
+
+    /**
+     * Adds the element, replacing the one with the same id. Elements due before the current tick expire on the next advance.
+     */
+    synchronized void add(String id, long dueTime, E element) {
+        remove(id);
+        long tick = Math.max(dueTime / tickMillis, currentTick + 1);
+        Entry<E> entry = new Entry<>(id, tick, element);
+        slots.get((int) (tick & mask)).put(id, entry);
+        entries.put(id, entry);
+    }
+
+    synchronized E remove(String id) {
+        Entry<E> entry = entries.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        slots.get((int) (entry.tick() & mask)).remove(id);
+        return entry.element();
+    }
+
+    synchronized boolean contains(String id) {
+        return entries.containsKey(id);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the wheel up to the given time and removes the elements due until then.
+     *
+     * @param now current time, in epoch milliseconds
+     * @return the expired elements, in due order within each slot
+     */
+    synchronized List<E> advance(long now) {
+        long targetTick = now / tickMillis;
+        List<E> expired = new ArrayList<>();
+        // after a whole revolution every slot has been visited, the remaining ticks would only revisit them
+        long firstTick = Math.max(currentTick + 1, targetTick - mask);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Iterator<Entry<E>> iterator = slots.get((int) (tick & mask)).values().iterator();
+            while (iterator.hasNext()) {
+                Entry<E> entry = iterator.next();
+                if (entry.tick() <= targetTick) {
+                    iterator.remove();
+                    entries.remove(entry.id());
+                    expired.add(entry.element());
+                }
+            }
+        }
+        if (targetTick > currentTick) {
+            currentTick = targetTick;
+        }
+        return expired;
+    }
+}
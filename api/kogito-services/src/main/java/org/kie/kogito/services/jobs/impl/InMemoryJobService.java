@@ -77,7 +77,7 @@ public class InMemoryJobService implements JobsService, AutoCloseable {
         }).orElseThrow(() -> new IllegalArgumentException("Could not schedule ProcessInstanceJobDescription " + jobDescription + ". No job executor factory provided"));
     }
 
-    private Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
+    protected Optional<JobExecutorFactory> findJobExecutorFactory(JobDescription jobDescription) {
         return jobExecutorFactories.stream().filter(factory -> factory.accept(jobDescription)).findFirst();
     }
 
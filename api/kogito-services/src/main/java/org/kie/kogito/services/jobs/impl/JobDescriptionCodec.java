@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+import org.kie.kogito.jobs.descriptors.ProcessJobDescription;
+import org.kie.kogito.jobs.descriptors.UserTaskInstanceJobDescription;
+
+/**
+ * Binary encoding of the job descriptions handled by the embedded job service, used as {@link JobStore} payload.
+ */
+class JobDescriptionCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte PROCESS_INSTANCE = 1;
+    private static final byte PROCESS = 2;
+    private static final byte USER_TASK_INSTANCE = 3;
+
+    boolean supports(JobDescription description) {
+        return description instanceof ProcessInstanceJobDescription || description instanceof ProcessJobDescription || description instanceof UserTaskInstanceJobDescription;
+    }
+
+    byte[] encode(JobDescription description) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            if (description instanceof ProcessInstanceJobDescription job) {
+                out.writeByte(PROCESS_INSTANCE);
+                writeCommon(out, job);
+                writeString(out, job.timerId());
+                writeString(out, job.processInstanceId());
+                writeString(out, job.rootProcessInstanceId());
+                writeString(out, job.processId());
+                writeString(out, job.processVersion());
+                writeString(out, job.rootProcessId());
+                writeString(out, job.rootProcessVersion());
+                writeString(out, job.nodeInstanceId());
+            } else if (description instanceof ProcessJobDescription job) {
+                out.writeByte(PROCESS);
+                writeCommon(out, job);
+                writeString(out, job.processId());
+                writeString(out, job.processVersion());
+            } else if (description instanceof UserTaskInstanceJobDescription job) {
+                out.writeByte(USER_TASK_INSTANCE);
+                writeCommon(out, job);
+                writeString(out, job.userTaskInstanceId());
+                writeString(out, job.processId());
+                writeString(out, job.processVersion());
+                writeString(out, job.processInstanceId());
+                writeString(out, job.nodeInstanceId());
+                writeString(out, job.rootProcessInstanceId());
+                writeString(out, job.rootProcessId());
+                writeString(out, job.rootProcessVersion());
+            } else {
+                throw new IllegalArgumentException("Unsupported job description " + description);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    JobDescription decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported job payload version " + version);
+            }
+            byte type = in.readByte();
+            String id = in.readUTF();
+            Integer priority = in.readInt();
+            ExpirationTime expirationTime = readExpirationTime(in);
+            switch (type) {
+                case PROCESS_INSTANCE:
+                    return new ProcessInstanceJobDescription(id, readString(in), expirationTime, priority, readString(in), readString(in), readString(in), readString(in),
+                            readString(in), readString(in), readString(in));
+                case PROCESS:
+                    return ProcessJobDescription.of(expirationTime, priority, readString(in), readString(in), id);
+                case USER_TASK_INSTANCE:
+                    return new UserTaskInstanceJobDescription(id, expirationTime, priority, readString(in), readString(in), readString(in), readString(in), readString(in),
+                            readString(in), readString(in), readString(in));
+                default:
+                    throw new IllegalArgumentException("Unsupported job type " + type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return a copy of the description due at the given expiration time
+     */
+    JobDescription withExpirationTime(JobDescription description, ExpirationTime expirationTime) {
+        if (description instanceof ProcessInstanceJobDescription job) {
+            return new ProcessInstanceJobDescription(job.id(), job.timerId(), expirationTime, job.priority(), job.processInstanceId(), job.rootProcessInstanceId(), job.processId(),
+                    job.processVersion(), job.rootProcessId(), job.rootProcessVersion(), job.nodeInstanceId());
+        } else if (description instanceof ProcessJobDescription job) {
+            return ProcessJobDescription.of(expirationTime, job.priority(), job.processId(), job.processVersion(), job.id());
+        } else if (description instanceof UserTaskInstanceJobDescription job) {
+            return new UserTaskInstanceJobDescription(job.id(), expirationTime, job.priority(), job.userTaskInstanceId(), job.processId(), job.processVersion(), job.processInstanceId(),
+                    job.nodeInstanceId(), job.rootProcessInstanceId(), job.rootProcessId(), job.rootProcessVersion());
+        }
+        throw new IllegalArgumentException("Unsupported job description " + description);
+    }
+
+    private static void writeCommon(DataOutputStream out, JobDescription description) throws IOException {
+        out.writeUTF(description.id());
+        out.writeInt(description.priority() == null ? ProcessInstanceJobDescription.DEFAULT_PRIORITY : description.priority());
+        ExpirationTime expirationTime = description.expirationTime();
+        out.writeLong(expirationTime.get().toInstant().toEpochMilli());
+        out.writeUTF(expirationTime.get().getZone().getId());
+        out.writeLong(expirationTime.repeatInterval() == null ? -1 : expirationTime.repeatInterval());
+        out.writeInt(expirationTime.repeatLimit() == null ? 0 : expirationTime.repeatLimit());
+    }
+
+    private static ExpirationTime readExpirationTime(DataInputStream in) throws IOException {
+        long time = in.readLong();
+        ZoneId zone = ZoneId.of(in.readUTF());
+        long interval = in.readLong();
+        int limit = in.readInt();
+        return new StoredExpirationTime(ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), zone), interval < 0 ? null : interval, limit);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Expiration time of a job read from the store, or of the next execution of a repeatable job.
+     */
+    record StoredExpirationTime(ZonedDateTime get, Long repeatInterval, Integer repeatLimit) implements ExpirationTime {
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Durable storage of the jobs scheduled by the {@link PersistentJobService}.
+ * <p>
+ * Jobs are opaque to the store: it only knows their id, the time they are due at, the number of failed attempts and an
+ * encoded payload, which allows fetching the jobs due within the next time window without decoding the rest.
+ * <p>
+ * Stores shared by several replicas must lease the jobs they hand over, overriding {@link #save(StoredJob, String, long)}
+ * and {@link #claimDue(String, long, long, long, int)}; otherwise every replica fires every job.
+ */
+public interface JobStore {
+
+    record StoredJob(String id, long fireTime, byte[] payload, int attempts) {
+
+        public StoredJob(String id, long fireTime, byte[] payload) {
+            this(id, fireTime, payload, 0);
+        }
+    }
+
+    /**
+     * Inserts the job, or replaces the stored one with the same id, without leasing it to any owner.
+     *
+     * @param job job to store
+     */
+    void save(StoredJob job);
+
+    /**
+     * Inserts the job, or replaces the stored one with the same id, leased to the given owner.
+     *
+     * @param job job to store
+     * @param owner owner of the lease
+     * @param leaseUntil end of the lease, in epoch milliseconds
+     */
+    default void save(StoredJob job, String owner, long leaseUntil) {
+        save(job);
+    }
+
+    /**
+     * @param id id of the job to remove
+     * @return true if the job was stored
+     */
+    boolean remove(String id);
+
+    /**
+     * Removes several jobs at once. Stores able to group the deletions into a single round trip are expected to override it.
+     *
+     * @param ids ids of the jobs to remove
+     */
+    default void removeAll(Collection<String> ids) {
+        ids.forEach(this::remove);
+    }
+
+    /**
+     * @param before exclusive upper bound of the fire time, in epoch milliseconds
+     * @param limit maximum number of jobs to return
+     * @return the jobs due before the given time, ordered by fire time
+     */
+    List<StoredJob> findDue(long before, int limit);
+
+    /**
+     * Leases to the given owner the jobs due before the given time that are not leased or whose lease has expired, extends
+     * the lease of the jobs the owner already holds and returns the latter. The default implementation does not lease
+     * anything and is only suitable for a single replica.
+     *
+     * @param owner owner of the lease
+     * @param before exclusive upper bound of the fire time, in epoch milliseconds
+     * @param now current time, leases ending before it are expired
+     * @param leaseUntil end of the lease, in epoch milliseconds
+     * @param limit maximum number of jobs to return
+     * @return the jobs leased by the owner due before the given time, ordered by fire time
+     */
+    default List<StoredJob> claimDue(String owner, long before, long now, long leaseUntil, int limit) {
+        return findDue(before, limit);
+    }
+}
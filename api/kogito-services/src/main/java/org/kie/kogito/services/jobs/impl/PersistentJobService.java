@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.services.jobs.impl.JobDescriptionCodec.StoredExpirationTime;
+import org.kie.kogito.services.jobs.impl.JobStore.StoredJob;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Embedded job service keeping the jobs in a {@link JobStore}, so they survive restarts.
+ * <p>
+ * Only the jobs due within the next {@value #HORIZON_PROPERTY} milliseconds are held in memory, in a
+ * {@link HashedTimingWheel} advanced every {@value #TICK_PROPERTY} milliseconds; the window is reloaded from the store
+ * when half of it has elapsed. Due jobs are fired in batches of {@value #BATCH_SIZE_PROPERTY} through the registered
+ * {@link JobExecutorFactory} (and so {@link TriggerJobCommand} for process instance timers), and the fired jobs of a
+ * batch are removed from the store together. Jobs are fired at least once: a job fired right before a crash may be
+ * fired again on restart.
+ * <p>
+ * Each service instance leases the jobs it loads for twice the horizon and renews the lease on every reload, so replicas
+ * sharing a store that supports leases ({@link JobStore#claimDue(String, long, long, long, int)}) fire each job once; the
+ * jobs of a stopped replica are taken over once their lease expires. With a store that does not lease, every replica
+ * fires every job.
+ * <p>
+ * A job whose execution fails is retried after {@value #RETRY_DELAY_PROPERTY} milliseconds, doubled on every further
+ * failure, and dropped after {@value #MAX_ATTEMPTS_PROPERTY} attempts.
+ */
+public class PersistentJobService extends InMemoryJobService {
+
+    public static final String TICK_PROPERTY = "kogito.jobs.embedded.tick";
+    public static final String WHEEL_SIZE_PROPERTY = "kogito.jobs.embedded.wheel-size";
+    public static final String HORIZON_PROPERTY = "kogito.jobs.embedded.horizon";
+    public static final String BATCH_SIZE_PROPERTY = "kogito.jobs.embedded.batch-size";
+    public static final String LOAD_LIMIT_PROPERTY = "kogito.jobs.embedded.load-limit";
+    public static final String MAX_ATTEMPTS_PROPERTY = "kogito.jobs.embedded.max-attempts";
+    public static final String RETRY_DELAY_PROPERTY = "kogito.jobs.embedded.retry-delay";
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final long DEFAULT_RETRY_DELAY = 1000L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentJobService.class);
+
+    private final JobStore store;
+    private final JobDescriptionCodec codec = new JobDescriptionCodec();
+    private final HashedTimingWheel<JobDescription> wheel;
+    private final long horizonMillis;
+    private final int batchSize;
+    private final int loadLimit;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final String owner = UUID.randomUUID().toString();
+    // failed attempts of the jobs held in memory, for those which failed at least once
+    private final Map<String, Integer> failures = new ConcurrentHashMap<>();
+    // jobs handed over to a batch and not completed yet
+    private final Map<String, JobDescription> firing = new ConcurrentHashMap<>();
+    // ids of the jobs completed by the batch executed by the current thread, removed from the store once the batch is done
+    private final ThreadLocal<List<String>> completed = new ThreadLocal<>();
+    private final Object windowLock = new Object();
+    private volatile long horizonEnd;
+    private final ScheduledFuture<?> ticker;
+
+    public PersistentJobService(JobStore store) {
+        this(new ScheduledThreadPoolExecutor(Integer.parseInt(System.getProperty(IN_MEMORY_JOB_SERVICE_POOL_SIZE_PROPERTY, "10"))), store);
+    }
+
+    public PersistentJobService(ScheduledExecutorService scheduler, JobStore store) {
+        this(scheduler, store, Long.getLong(TICK_PROPERTY, 100L), Integer.getInteger(WHEEL_SIZE_PROPERTY, 512), Long.getLong(HORIZON_PROPERTY, 60000L),
+                Integer.getInteger(BATCH_SIZE_PROPERTY, 100), Integer.getInteger(LOAD_LIMIT_PROPERTY, 10000),
+                Integer.getInteger(MAX_ATTEMPTS_PROPERTY, DEFAULT_MAX_ATTEMPTS), Long.getLong(RETRY_DELAY_PROPERTY, DEFAULT_RETRY_DELAY));
+    }
+
+    public PersistentJobService(ScheduledExecutorService scheduler, JobStore store, long tickMillis, int wheelSize, long horizonMillis, int batchSize, int loadLimit) {
+        this(scheduler, store, tickMillis, wheelSize, horizonMillis, batchSize, loadLimit, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY);
+    }
+
+    public PersistentJobService(ScheduledExecutorService scheduler, JobStore store, long tickMillis, int wheelSize, long horizonMillis, int batchSize, int loadLimit,
+            int maxAttempts, long retryDelayMillis) {
+        super(scheduler);
+        this.store = store;
+        this.horizonMillis = horizonMillis;
+        this.batchSize = batchSize;
+        this.loadLimit = loadLimit;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMillis = retryDelayMillis;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        // jobs stored before a restart, including the overdue ones, are loaded by the first tick
+        this.ticker = scheduler.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String scheduleJob(JobDescription jobDescription) {
+        LOGGER.debug("ScheduleProcessJob: {}", jobDescription);
+        if (findJobExecutorFactory(jobDescription).isEmpty()) {
+            throw new IllegalArgumentException("Could not schedule ProcessInstanceJobDescription " + jobDescription + ". No job executor factory provided");
+        }
+        String jobId = jobDescription.id();
+        long fireTime = jobDescription.expirationTime().get().toInstant().toEpochMilli();
+        if (!codec.supports(jobDescription)) {
+            LOGGER.warn("Job {} of type {} cannot be stored, it will be lost on restart", jobId, jobDescription.getClass().getName());
+        }
+        schedule(jobDescription, fireTime, 0);
+        return jobId;
+    }
+
+    private void schedule(JobDescription jobDescription, long fireTime, int attempts) {
+        String jobId = jobDescription.id();
+        boolean durable = codec.supports(jobDescription);
+        synchronized (windowLock) {
+            boolean inWindow = fireTime < horizonEnd;
+            if (durable) {
+                StoredJob job = new StoredJob(jobId, fireTime, codec.encode(jobDescription), attempts);
+                if (inWindow) {
+                    // held in memory, so leased like the jobs loaded with the window
+                    store.save(job, owner, System.currentTimeMillis() + leaseMillis());
+                } else {
+                    store.save(job);
+                }
+            }
+            if (!durable || inWindow) {
+                wheel.add(jobId, fireTime, jobDescription);
+            }
+        }
+    }
+
+    private long leaseMillis() {
+        return 2 * horizonMillis;
+    }
+
+    @Override
+    public boolean cancelJob(String id, boolean force) {
+        LOGGER.debug("Cancel Job: {}", id);
+        List<String> batch = completed.get();
+        if (batch != null && firing.remove(id) != null) {
+            // cancelled by the job itself, removed with the rest of the batch
+            batch.add(id);
+            return true;
+        }
+        failures.remove(id);
+        synchronized (windowLock) {
+            boolean scheduled = wheel.remove(id) != null;
+            boolean running = firing.remove(id) != null;
+            return store.remove(id) || scheduled || running;
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            if (now + horizonMillis / 2 >= horizonEnd) {
+                loadWindow(now);
+            }
+            List<JobDescription> due = wheel.advance(now);
+            for (int i = 0; i < due.size(); i += batchSize) {
+                List<JobDescription> batch = due.subList(i, Math.min(i + batchSize, due.size()));
+                batch.forEach(job -> firing.put(job.id(), job));
+                scheduler.execute(() -> fire(batch));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Error advancing embedded job service", e);
+        }
+    }
+
+    private void loadWindow(long now) {
+        synchronized (windowLock) {
+            long end = now + horizonMillis;
+            List<StoredJob> jobs = store.claimDue(owner, end, now, now + leaseMillis(), loadLimit);
+            for (StoredJob job : jobs) {
+                if (!wheel.contains(job.id()) && !firing.containsKey(job.id())) {
+                    if (job.attempts() > 0) {
+                        failures.put(job.id(), job.attempts());
+                    }
+                    wheel.add(job.id(), job.fireTime(), codec.decode(job.payload()));
+                }
+            }
+            // when the window is truncated, later jobs are loaded once the wheel has caught up
+            horizonEnd = jobs.size() < loadLimit ? end : jobs.get(jobs.size() - 1).fireTime();
+            LOGGER.debug("Loaded {} jobs due before {}, {} jobs in memory", jobs.size(), horizonEnd, wheel.size());
+        }
+    }
+
+    private void fire(List<JobDescription> batch) {
+        List<String> done = new ArrayList<>();
+        completed.set(done);
+        try {
+            for (JobDescription job : batch) {
+                try {
+                    fire(job, done);
+                } catch (RuntimeException e) {
+                    retry(job, e);
+                }
+            }
+        } finally {
+            completed.remove();
+            if (!done.isEmpty()) {
+                store.removeAll(done);
+            }
+        }
+    }
+
+    private void fire(JobDescription job, List<String> done) {
+        Long interval = job.expirationTime().repeatInterval();
+        JobExecutorFactory factory = findJobExecutorFactory(job).orElseThrow(() -> new IllegalStateException("No job executor factory for " + job));
+        Runnable runnable = interval != null ? factory.createNewRepeteableRunnable(this, job) : factory.createNewRunnable(this, job);
+        runnable.run();
+        failures.remove(job.id());
+        if (firing.remove(job.id()) == null) {
+            // cancelled while running
+            return;
+        }
+        ExpirationTime current = job.expirationTime();
+        int limit = current.repeatLimit() == null ? 0 : current.repeatLimit();
+        if (interval == null || limit == 1) {
+            // single shot or last repetition
+            done.add(job.id());
+            return;
+        }
+        ZonedDateTime next = current.get().plus(interval, ChronoUnit.MILLIS);
+        scheduleJob(codec.withExpirationTime(job, new StoredExpirationTime(next, interval, limit > 0 ? limit - 1 : limit)));
+    }
+
+    private void retry(JobDescription job, RuntimeException error) {
+        if (firing.remove(job.id()) == null) {
+            // cancelled while running
+            failures.remove(job.id());
+            LOGGER.error("Error executing cancelled job {}", job.id(), error);
+            return;
+        }
+        int attempts = failures.merge(job.id(), 1, Integer::sum);
+        if (attempts >= maxAttempts) {
+            LOGGER.error("Error executing job {}, giving up after {} attempts", job.id(), attempts, error);
+            failures.remove(job.id());
+            synchronized (windowLock) {
+                store.remove(job.id());
+            }
+            return;
+        }
+        long delay = retryDelayMillis << Math.min(attempts - 1, 20);
+        LOGGER.warn("Error executing job {}, attempt {} of {}, retrying in {} ms", job.id(), attempts, maxAttempts, delay, error);
+        schedule(job, System.currentTimeMillis() + delay, attempts);
+    }
+
+    @Override
+    public void close() throws Exception {
+        ticker.cancel(false);
+        super.close();
+    }
+}
@@ -21,6 +21,7 @@ package org.kie.kogito.services.jobs.impl;
 import java.util.Objects;
 import java.util.Optional;
 
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.Signal;
@@ -57,7 +58,7 @@ public class TriggerJobCommand {
 
     public boolean execute() {
         return UnitOfWorkExecutor.executeInUnitOfWork(uom, () -> {
-            Optional<? extends ProcessInstance<?>> processInstanceFound = process.instances().findById(processInstanceId);
+            Optional<? extends ProcessInstance<?>> processInstanceFound = EngineObservers.findById(process.instances(), process.id(), processInstanceId);
             return processInstanceFound.map(processInstance -> {
                 processInstance.send(new JobSignal(SIGNAL, TimerInstance.with(correlationId, timerId, limit)));
                 return true;
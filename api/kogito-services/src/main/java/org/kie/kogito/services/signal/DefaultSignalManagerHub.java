@@ -65,13 +65,11 @@ public class DefaultSignalManagerHub implements SignalManagerHub {
             }
         });
 
-        var processInstancesWaiting = workflowInstanceResolver.stream()
-                .map(e -> e.waitingForEvents(eventType))
-                .flatMap(List::stream)
-                .filter(p -> !idList.contains(p.id()))
-                .toList();
-
-        processInstancesWaiting.forEach(eventListener -> eventListener.send(SignalFactory.of(eventType, payload)));
+        List<ProcessInstanceResolver<?>> resolvers;
+        synchronized (workflowInstanceResolver) {
+            resolvers = new ArrayList<>(workflowInstanceResolver);
+        }
+        resolvers.forEach(resolver -> resolver.signalWaiting(eventType, payload, idList));
     }
 
     @Override
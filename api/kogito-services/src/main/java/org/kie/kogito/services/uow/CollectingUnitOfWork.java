@@ -20,13 +20,17 @@ package org.kie.kogito.services.uow;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.kie.kogito.event.EventBatch;
 import org.kie.kogito.event.EventManager;
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.WorkUnit;
 
@@ -61,13 +65,45 @@ public class CollectingUnitOfWork implements UnitOfWork {
     @Override
     public void end() {
         checkStarted();
-
-        for (WorkUnit<?> work : sorted()) {
-            work.perform();
+        EngineObserver observer = EngineObservers.current();
+        long start = observer != null ? System.nanoTime() : 0L;
+
+        // work intercepted by other work units while ending is performed in a following round
+        Set<WorkUnit<?>> performed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Collection<WorkUnit<?>> pending = sorted();
+        while (!pending.isEmpty()) {
+            for (WorkUnit<?> work : pending) {
+                if (observer == null) {
+                    work.perform();
+                } else {
+                    long workStart = System.nanoTime();
+                    work.perform();
+                    observer.onWorkUnitPerformed(workUnitType(work), System.nanoTime() - workStart);
+                }
+                performed.add(work);
+            }
+            pending = sorted();
+            pending.removeIf(performed::contains);
         }
 
         eventManager.publish(batch);
         done();
+        if (observer != null) {
+            observer.onUnitOfWorkEnded(System.nanoTime() - start);
+        }
+    }
+
+    private static String workUnitType(WorkUnit<?> work) {
+        Class<?> type = work.getClass();
+        // work units created through WorkUnit.create are anonymous, their data tells what they are about
+        if (type.isAnonymousClass() || type.isSynthetic()) {
+            Object data = work.data();
+            if (data != null) {
+                return data.getClass().getSimpleName();
+            }
+            return type.getName();
+        }
+        return type.getSimpleName();
     }
 
     @Override
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    @Test
+    void testExpiresOnlyDueEntries() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 8, 0);
+        wheel.add("a", 25, "a");
+        wheel.add("b", 55, "b");
+        // more than one revolution ahead, shares the slot of "a"
+        wheel.add("c", 105, "c");
+
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(29)).containsExactly("a");
+        assertThat(wheel.advance(60)).containsExactly("b");
+        assertThat(wheel.size()).isOne();
+        assertThat(wheel.advance(110)).containsExactly("c");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void testOverdueEntriesExpireOnNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 8, 1000);
+        wheel.add("late", 10, "late");
+
+        assertThat(wheel.advance(1010)).containsExactly("late");
+    }
+
+    @Test
+    void testRemoveAndReplace() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 8, 0);
+        wheel.add("a", 25, "first");
+        wheel.add("a", 45, "second");
+        wheel.add("b", 25, "b");
+
+        assertThat(wheel.remove("b")).isEqualTo("b");
+        assertThat(wheel.advance(30)).isEmpty();
+        assertThat(wheel.advance(50)).containsExactly("second");
+    }
+
+    @Test
+    void testLongPauseVisitsEverySlot() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(10, 4, 0);
+        wheel.add("a", 15, "a");
+        wheel.add("b", 35, "b");
+
+        assertThat(wheel.advance(10000)).containsExactlyInAnyOrder("a", "b");
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.services.jobs.impl;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.jobs.DurationExpirationTime;
+import org.kie.kogito.jobs.ExactExpirationTime;
+import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.JobsService;
+import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentJobServiceTest {
+
+    private InMemoryJobStore store;
+    private List<String> fired;
+    private Map<String, Integer> failing;
+    private PersistentJobService service;
+
+    @BeforeEach
+    void setup() {
+        store = new InMemoryJobStore();
+        fired = Collections.synchronizedList(new ArrayList<>());
+        failing = new ConcurrentHashMap<>();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        if (service != null) {
+            service.close();
+        }
+    }
+
+    private PersistentJobService start() {
+        service = new PersistentJobService(new ScheduledThreadPoolExecutor(2), store, 10, 64, 1000, 10, 100, 3, 20);
+        service.registerJobExecutorFactory(new RecordingJobExecutorFactory());
+        return service;
+    }
+
+    private static ProcessInstanceJobDescription job(String id, long delay) {
+        return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id(id)
+                .timerId("timer")
+                .expirationTime(DurationExpirationTime.after(delay))
+                .processInstanceId("pi-" + id)
+                .processId("process")
+                .build();
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) {
+        long timeout = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > timeout) {
+                return false;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void testJobStoredFiredAndRemoved() {
+        start().scheduleJob(job("near", 50));
+        assertThat(store.jobs).containsKey("near");
+
+        assertThat(waitUntil(() -> fired.contains("near") && store.jobs.isEmpty())).isTrue();
+    }
+
+    @Test
+    void testJobBeyondHorizonOnlyStored() throws InterruptedException {
+        start().scheduleJob(job("far", 60000));
+        Thread.sleep(200);
+        assertThat(fired).isEmpty();
+        assertThat(store.jobs).containsKey("far");
+    }
+
+    @Test
+    void testStoredJobsFiredAfterRestart() {
+        JobDescriptionCodec codec = new JobDescriptionCodec();
+        ProcessInstanceJobDescription overdue = ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("overdue")
+                .timerId("timer")
+                .expirationTime(ExactExpirationTime.of(ZonedDateTime.now().minusMinutes(5)))
+                .processInstanceId("pi-overdue")
+                .processId("process")
+                .build();
+        store.save(new JobStore.StoredJob("overdue", overdue.expirationTime().get().toInstant().toEpochMilli(), codec.encode(overdue)));
+
+        start();
+
+        assertThat(waitUntil(() -> fired.contains("overdue") && store.jobs.isEmpty())).isTrue();
+    }
+
+    @Test
+    void testCancelledJobNotFired() throws InterruptedException {
+        start().scheduleJob(job("cancelled", 300));
+        assertThat(service.cancelJob("cancelled")).isTrue();
+        assertThat(store.jobs).isEmpty();
+        Thread.sleep(500);
+        assertThat(fired).isEmpty();
+    }
+
+    @Test
+    void testRepeatableJobHonoursLimit() throws InterruptedException {
+        start().scheduleJob(ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("repeat")
+                .timerId("timer")
+                .expirationTime(DurationExpirationTime.repeat(20, 30L, 3))
+                .processInstanceId("pi-repeat")
+                .processId("process")
+                .build());
+
+        assertThat(waitUntil(() -> store.jobs.isEmpty())).isTrue();
+        Thread.sleep(200);
+        assertThat(fired).containsExactly("repeat", "repeat", "repeat");
+    }
+
+    @Test
+    void testFailedJobRetried() {
+        failing.put("flaky", 1);
+        start().scheduleJob(job("flaky", 20));
+
+        assertThat(waitUntil(() -> fired.size() == 2 && store.jobs.isEmpty())).isTrue();
+        assertThat(fired).containsExactly("flaky", "flaky");
+    }
+
+    @Test
+    void testFailingJobDroppedAfterMaxAttempts() throws InterruptedException {
+        failing.put("broken", Integer.MAX_VALUE);
+        start().scheduleJob(job("broken", 20));
+
+        assertThat(waitUntil(() -> store.jobs.isEmpty())).isTrue();
+        Thread.sleep(300);
+        assertThat(fired).containsExactly("broken", "broken", "broken");
+    }
+
+    @Test
+    void testCodecRoundTrip() {
+        JobDescriptionCodec codec = new JobDescriptionCodec();
+        ProcessInstanceJobDescription job = ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
+                .id("job")
+                .timerId("timer")
+                .expirationTime(DurationExpirationTime.repeat(100, 1000L, 3))
+                .processInstanceId("pi")
+                .rootProcessInstanceId("root")
+                .processId("process")
+                .processVersion("1.0")
+                .nodeInstanceId("node")
+                .build();
+
+        ProcessInstanceJobDescription decoded = (ProcessInstanceJobDescription) codec.decode(codec.encode(job));
+
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("expirationTime").isEqualTo(job);
+        assertThat(decoded.expirationTime().get().toInstant()).isEqualTo(job.expirationTime().get().toInstant().truncatedTo(ChronoUnit.MILLIS));
+        assertThat(decoded.expirationTime().repeatInterval()).isEqualTo(1000L);
+        assertThat(decoded.expirationTime().repeatLimit()).isEqualTo(3);
+    }
+
+    private class RecordingJobExecutorFactory implements JobExecutorFactory {
+
+        @Override
+        public Set<Class<? extends JobDescription>> types() {
+            return Set.of(ProcessInstanceJobDescription.class);
+        }
+
+        @Override
+        public Runnable createNewRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> {
+                fired.add(jobDescription.id());
+                if (failing.computeIfPresent(jobDescription.id(), (id, remaining) -> remaining - 1) != null) {
+                    failing.remove(jobDescription.id(), 0);
+                    throw new IllegalStateException("Failing job " + jobDescription.id());
+                }
+                jobService.cancelJob(jobDescription.id());
+            };
+        }
+
+        @Override
+        public Runnable createNewRepeteableRunnable(JobsService jobService, JobDescription jobDescription) {
+            return () -> fired.add(jobDescription.id());
+        }
+    }
+
+    private static class InMemoryJobStore implements JobStore {
+
+        private final Map<String, StoredJob> jobs = new ConcurrentHashMap<>();
+
+        @Override
+        public void save(StoredJob job) {
+            jobs.put(job.id(), job);
+        }
+
+        @Override
+        public boolean remove(String id) {
+            return jobs.remove(id) != null;
+        }
+
+        @Override
+        public List<StoredJob> findDue(long before, int limit) {
+            return jobs.values().stream()
+                    .filter(job -> job.fireTime() < before)
+                    .sorted((a, b) -> Long.compare(a.fireTime(), b.fireTime()))
+                    .limit(limit)
+                    .toList();
+        }
+    }
+}
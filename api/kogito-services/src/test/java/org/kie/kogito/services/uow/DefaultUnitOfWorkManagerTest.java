@@ -22,6 +22,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.uow.UnitOfWork;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.uow.WorkUnit;
@@ -30,6 +32,8 @@ import org.kie.kogito.uow.events.UnitOfWorkEventListener;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -73,6 +77,24 @@ public class DefaultUnitOfWorkManagerTest {
         verify(listener, never()).onAfterAbortEvent(any());
     }
 
+    @Test
+    public void testUnitOfWorkObserved() {
+        EngineObserver observer = mock(EngineObserver.class);
+        EngineObservers.register(observer);
+        try {
+            UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+            unit.start();
+            unit.intercept(new BaseWorkUnit(new AtomicInteger(0), (d) -> ((AtomicInteger) d).incrementAndGet()));
+            unit.end();
+
+            verify(observer).onWorkUnitPerformed(eq(BaseWorkUnit.class.getSimpleName()), anyLong());
+            verify(observer).onUnitOfWorkEnded(anyLong());
+        } finally {
+            EngineObservers.unregister(observer);
+        }
+        assertThat(EngineObservers.current()).isNull();
+    }
+
     @Test
     public void testUnitOfWorkStartAbort() {
 
@@ -149,4 +171,23 @@ public class DefaultUnitOfWorkManagerTest {
         assertThat(counter).hasValue(1);
         assertThat(picounter).hasValue(0);
     }
+
+    @Test
+    public void testUnitOfWorkPerformsWorkInterceptedWhileEnding() {
+
+        UnitOfWork unit = unitOfWorkManager.newUnitOfWork();
+
+        final AtomicInteger counter = new AtomicInteger(0);
+
+        BaseWorkUnit<AtomicInteger> lateWork = new BaseWorkUnit<>(counter, d -> d.incrementAndGet());
+        BaseWorkUnit<AtomicInteger> work = new BaseWorkUnit<>(counter, d -> {
+            d.incrementAndGet();
+            unit.intercept(lateWork);
+        }, null, WorkUnit.LOW_PRIORITY);
+        unit.start();
+        unit.intercept(work);
+        unit.end();
+
+        assertThat(counter).hasValue(2);
+    }
 }
@@ -27,6 +27,7 @@ import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.jbpm.process.core.ProcessSupplier;
@@ -54,6 +55,7 @@ import org.kie.kogito.internal.utils.ConversionUtils;
 import org.kie.kogito.jobs.DurationExpirationTime;
 import org.kie.kogito.jobs.ExactExpirationTime;
 import org.kie.kogito.jobs.ExpirationTime;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessConfig;
@@ -65,6 +67,9 @@ import org.kie.kogito.process.ProcessVersionResolver;
 import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.SignalFactory;
 import org.kie.kogito.process.WorkItem;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategies;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
+import org.kie.kogito.services.uow.UnitOfWorkExecutor;
 import org.kie.kogito.signal.ProcessInstanceResolver;
 import org.kie.kogito.signal.SignalManagerHub;
 
@@ -76,6 +81,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
     protected final ProcessRuntimeServiceProvider services;
     protected ProcessInstancesFactory processInstancesFactory;
     protected MutableProcessInstances<T> instances;
+    private volatile ProcessInstanceLockStrategy processInstanceLockStrategy;
     protected CompletionEventListener completionEventListener = new CompletionEventListener();
 
     protected Application app;
@@ -89,6 +95,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
     private CorrelationService correlations;
     private ProcessVersionResolver versionResolver;
     private ProcessInstanceResolver<T> processInstanceResolver;
+    private BroadcastSignalDispatcher<T> broadcastSignalDispatcher;
 
     protected AbstractProcess() {
         this(null, new LightProcessRuntimeServiceProvider());
@@ -206,9 +213,19 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
         } else {
             this.instances = new MapProcessInstances<>(this);
         }
+        this.processInstanceLockStrategy = null;
         return this;
     }
 
+    public ProcessInstanceLockStrategy processInstanceLockStrategy() {
+        ProcessInstanceLockStrategy current = processInstanceLockStrategy;
+        if (current == null) {
+            current = ProcessInstanceLockStrategies.forProcess(id(), instances);
+            processInstanceLockStrategy = current;
+        }
+        return current;
+    }
+
     protected void registerListeners() {
 
     }
@@ -232,26 +249,31 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
                 @Override
                 public List<ProcessInstance<T>> waitingForEvents(String eventType) {
                     List<ProcessInstance<T>> list = instances.waitingForEventType(eventType, ProcessInstanceReadMode.MUTABLE)
-                            .map(e -> (AbstractProcessInstance<T>) e)
-                            .map(pi -> {
-                                KogitoProcessRuntime runtime = getProcessRuntime();
-                                KogitoProcessInstance instance = runtime.getProcessInstance(pi.id());
-                                if (instance != null) {
-                                    return (AbstractProcessInstance<T>) instance.unwrap();
-                                }
-                                return pi;
-                            })
-                            .map(e -> (ProcessInstance<T>) e)
+                            .map(AbstractProcess.this::loadedInstance)
                             .toList();
                     return list;
                 }
 
+                @Override
+                public void signalWaiting(String eventType, Object payload, Collection<String> excluded) {
+                    if (broadcastSignalDispatcher != null) {
+                        broadcastSignalDispatcher.signal(eventType, payload, excluded);
+                    } else {
+                        ProcessInstanceResolver.super.signalWaiting(eventType, payload, excluded);
+                    }
+                }
+
                 @Override
                 public ProcessInstance<T> findById(String processInstanceId) {
-                    Optional<ProcessInstance<T>> instance = instances.findById(processInstanceId);
+                    Optional<ProcessInstance<T>> instance = EngineObservers.findById(instances, id(), processInstanceId);
                     return instance.orElse(null);
                 }
             };
+            int chunkSize = BroadcastSignalDispatcher.chunkSize();
+            if (chunkSize > 0) {
+                broadcastSignalDispatcher = new BroadcastSignalDispatcher<>(instances, processInstanceLockStrategy(), this::loadedInstance,
+                        this::executeBroadcastSlice, chunkSize, BroadcastSignalDispatcher.parallelism());
+            }
             signalManagerHub.addProcessInstanceResolver(processInstanceResolver);
         }
 
@@ -263,11 +285,29 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
         if (this.services.getSignalManager() instanceof SignalManagerHub signalManagerHub) {
             signalManagerHub.removeProcessInstanceResolver(processInstanceResolver);
         }
+        if (broadcastSignalDispatcher != null) {
+            broadcastSignalDispatcher.close();
+            broadcastSignalDispatcher = null;
+        }
         this.internalProcessRuntime.dispose();
         this.internalProcessRuntime = null;
         this.activated = false;
     }
 
+    // instances currently executed by the runtime are signalled through their loaded copy
+    private ProcessInstance<T> loadedInstance(ProcessInstance<T> pi) {
+        KogitoProcessInstance instance = getProcessRuntime().getProcessInstance(pi.id());
+        return instance != null ? (ProcessInstance<T>) instance.unwrap() : pi;
+    }
+
+    private void executeBroadcastSlice(Supplier<Void> slice) {
+        if (app != null) {
+            UnitOfWorkExecutor.executeInUnitOfWork(app.unitOfWorkManager(), slice);
+        } else {
+            slice.get();
+        }
+    }
+
     protected ExpirationTime configureTimerInstance(Timer timer) {
         switch (timer.getTimeType()) {
             case Timer.TIME_CYCLE:
@@ -352,7 +392,7 @@ public abstract class AbstractProcess<T extends Model> implements Process<T>, Pr
                         parentKogitoProcessInstance.signalEvent(type, event);
                     } else {
                         //if not present ProcessInstanceManager try to signal instance from repository
-                        instances().findById(pi.getParentProcessInstanceId()).ifPresent(p -> p.send(SignalFactory.of(type, event)));
+                        EngineObservers.findById(instances(), id(), pi.getParentProcessInstanceId()).ifPresent(p -> p.send(SignalFactory.of(type, event)));
                     }
                 }
             }
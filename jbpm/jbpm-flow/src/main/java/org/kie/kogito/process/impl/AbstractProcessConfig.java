@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.process.impl;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Supplier;
@@ -32,6 +33,7 @@ import org.kie.kogito.auth.IdentityProvider;
 import org.kie.kogito.auth.impl.NoOpAuthTokenProvider;
 import org.kie.kogito.calendar.BusinessCalendar;
 import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.RelayEventPublisher;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.ProcessEventListenerConfig;
@@ -81,11 +83,31 @@ public abstract class AbstractProcessConfig implements ProcessConfig {
         this.authTokenProvider = orDefault(authTokenProvider, NoOpAuthTokenProvider::new);
         this.businessCalendar = orDefault(businessCalendar, () -> null);
 
-        eventPublishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
+        registerPublishers(eventPublishers);
         unitOfWorkListeners.forEach(listener -> unitOfWorkManager().register(listener));
         unitOfWorkManager().eventManager().setService(kogitoService);
     }
 
+    private void registerPublishers(Iterable<EventPublisher> eventPublishers) {
+        List<RelayEventPublisher> relays = new ArrayList<>();
+        List<EventPublisher> publishers = new ArrayList<>();
+        for (EventPublisher publisher : eventPublishers) {
+            if (publisher instanceof RelayEventPublisher relay) {
+                relays.add(relay);
+            } else {
+                publishers.add(publisher);
+            }
+        }
+        if (relays.isEmpty()) {
+            publishers.forEach(publisher -> unitOfWorkManager().eventManager().addPublisher(publisher));
+        } else {
+            for (RelayEventPublisher relay : relays) {
+                relay.relayTo(publishers);
+                unitOfWorkManager().eventManager().addPublisher(relay);
+            }
+        }
+    }
+
     private static WorkItemHandlerConfig mergeWorkItemHandler(Iterable<WorkItemHandlerConfig> workItemHandlerConfigs,
             Supplier<WorkItemHandlerConfig> supplier) {
         Iterator<WorkItemHandlerConfig> iterator = workItemHandlerConfigs.iterator();
@@ -61,6 +61,7 @@ import org.kie.kogito.internal.process.workitem.WorkItemNotFoundException;
 import org.kie.kogito.internal.process.workitem.WorkItemTransition;
 import org.kie.kogito.jobs.TimerDescription;
 import org.kie.kogito.process.EventDescription;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.process.MutableProcessInstances;
 import org.kie.kogito.process.NodeInstanceNotFoundException;
 import org.kie.kogito.process.NodeNotFoundException;
@@ -73,8 +74,6 @@ import org.kie.kogito.process.Signal;
 import org.kie.kogito.process.WorkItem;
 import org.kie.kogito.process.flexible.AdHocFragment;
 import org.kie.kogito.process.flexible.Milestone;
-import org.kie.kogito.process.impl.lock.ContextAwareProcessInstanceLockStrategy;
-import org.kie.kogito.process.impl.lock.ProcessInstanceAtomicLockStrategy;
 import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
 import org.kie.kogito.process.workitems.InternalKogitoWorkItem;
 import org.slf4j.Logger;
@@ -123,7 +122,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.process = process;
         this.rt = (InternalProcessRuntime) rt;
         this.variables = variables;
-        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(ProcessInstanceAtomicLockStrategy.instance());
+        this.processInstanceLockStrategy = process.processInstanceLockStrategy();
         setCorrelationKey(businessKey);
         Map<String, Object> map = bind(variables);
 
@@ -161,7 +160,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         this.process = process;
         this.rt = (InternalProcessRuntime) rt;
         this.variables = variables;
-        this.processInstanceLockStrategy = new ContextAwareProcessInstanceLockStrategy(ProcessInstanceAtomicLockStrategy.instance());
+        this.processInstanceLockStrategy = process.processInstanceLockStrategy();
 
         syncWorkflowInstanceState((WorkflowProcessInstance) wpi);
     }
@@ -271,6 +270,13 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         internalUnloadState();
     }
 
+    private void discardPersistedState() {
+        if (reloadSupplier != null && processInstance != null && (status == STATE_ACTIVE || status == STATE_ERROR || status == STATE_SUSPENDED)) {
+            disconnect();
+            processInstance = null;
+        }
+    }
+
     public void internalUnloadState() {
         switch (status) {
             case STATE_COMPLETED, STATE_ABORTED:
@@ -369,7 +375,7 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
             if (isProcessInstanceConnected()) {
                 getProcessRuntime().getProcessInstanceManager().addProcessInstance(workflowProcessInstance);
             }
-            ((MutableProcessInstances<T>) process.instances()).remove(this.id());
+            EngineObservers.remove((MutableProcessInstances<T>) process.instances(), this);
             String pid = workflowProcessInstance.getStringId();
             getProcessRuntime().getKogitoProcessRuntime().abortProcessInstance(pid);
 
@@ -616,6 +622,10 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         boolean isReentrant = processInstanceLockStrategy.isLockedByCurrentThread(id);
 
         return processInstanceLockStrategy.executeOperation(id, () -> {
+            if (!isReentrant && processInstanceLockStrategy.isDistributed()) {
+                // another replica may have changed the instance while waiting for the lock
+                discardPersistedState();
+            }
             WorkflowProcessInstanceImpl workflowProcessInstance = internalLoadProcessInstanceState();
             if (isProcessInstanceConnected()) {
                 getProcessRuntime().getProcessInstanceManager().addProcessInstance(workflowProcessInstance);
@@ -778,17 +788,17 @@ public abstract class AbstractProcessInstance<T extends Model> implements Proces
         switch (workflowProcessInstanceImpl.getState()) {
             case KogitoProcessInstance.STATE_ABORTED, KogitoProcessInstance.STATE_COMPLETED:
                 correlationInstance.map(CorrelationInstance::getCorrelation).ifPresent(c -> process.correlations().delete(c));
-                ((MutableProcessInstances<T>) process.instances()).remove(this.id());
+                EngineObservers.remove((MutableProcessInstances<T>) process.instances(), this);
                 break;
             case KogitoProcessInstance.STATE_PENDING:
                 if (reloadSupplier == null) {
-                    ((MutableProcessInstances<T>) process.instances()).create(this.id(), this);
+                    EngineObservers.create((MutableProcessInstances<T>) process.instances(), this);
                 } else {
-                    ((MutableProcessInstances<T>) process.instances()).update(this.id(), this);
+                    EngineObservers.update((MutableProcessInstances<T>) process.instances(), this);
                 }
                 break;
             case KogitoProcessInstance.STATE_ACTIVE, KogitoProcessInstance.STATE_ERROR, KogitoProcessInstance.STATE_SUSPENDED:
-                ((MutableProcessInstances<T>) process.instances()).update(this.id(), this);
+                EngineObservers.update((MutableProcessInstances<T>) process.instances(), this);
                 break;
         }
     }
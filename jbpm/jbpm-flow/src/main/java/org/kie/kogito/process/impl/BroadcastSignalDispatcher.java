@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.SignalFactory;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers a signal to every instance of a process waiting for it, reading the waiting instances from the store one
+ * page ({@value #CHUNK_SIZE_PROPERTY}) at a time. Each page is split in up to {@value #PARALLELISM_PROPERTY} slices
+ * signalled in parallel, each one within its own unit of work.
+ * <p>
+ * Instances are signalled one at a time: each one is locked, signalled, written and unlocked before moving to the
+ * next one, so a slice never holds more than one lock and cannot deadlock with other slices sharing a lock stripe.
+ * A failure signalling an instance does not stop the others; once the whole broadcast is done the first failure is
+ * rethrown, with the other ones added as suppressed exceptions.
+ * <p>
+ * Disabled unless {@value #CHUNK_SIZE_PROPERTY} system property is set to a positive value.
+ */
+class BroadcastSignalDispatcher<T extends Model> implements AutoCloseable {
+
+    public static final String CHUNK_SIZE_PROPERTY = "kogito.signal.broadcast.chunk-size";
+    public static final String PARALLELISM_PROPERTY = "kogito.signal.broadcast.parallelism";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BroadcastSignalDispatcher.class);
+
+    private final MutableProcessInstances<T> instances;
+    private final ProcessInstanceLockStrategy lockStrategy;
+    private final UnaryOperator<ProcessInstance<T>> loadedInstance;
+    private final SliceExecutor sliceExecutor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    BroadcastSignalDispatcher(MutableProcessInstances<T> instances, ProcessInstanceLockStrategy lockStrategy, UnaryOperator<ProcessInstance<T>> loadedInstance,
+            SliceExecutor sliceExecutor, int chunkSize, int parallelism) {
+        this.instances = instances;
+        this.lockStrategy = lockStrategy;
+        this.loadedInstance = loadedInstance;
+        this.sliceExecutor = sliceExecutor;
+        this.chunkSize = chunkSize;
+        this.parallelism = Math.max(1, parallelism);
+        this.executor = this.parallelism > 1 ? Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread thread = new Thread(r, "kogito-signal-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    static int chunkSize() {
+        return Integer.getInteger(CHUNK_SIZE_PROPERTY, 0);
+    }
+
+    static int parallelism() {
+        return Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Runs each slice, typically within its own unit of work.
+     */
+    @FunctionalInterface
+    interface SliceExecutor {
+        void execute(Supplier<Void> slice);
+    }
+
+    void signal(String eventType, Object payload, Collection<String> excluded) {
+        List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<>());
+        String after = null;
+        List<ProcessInstance<T>> page;
+        do {
+            try (Stream<ProcessInstance<T>> stream = instances.waitingForEventType(eventType, after, chunkSize, ProcessInstanceReadMode.MUTABLE)) {
+                page = stream.toList();
+            }
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+                signalPage(page, eventType, payload, excluded, failures);
+            }
+        } while (page.size() == chunkSize);
+
+        if (!failures.isEmpty()) {
+            RuntimeException failure = failures.get(0);
+            failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+            throw failure;
+        }
+    }
+
+    private void signalPage(List<ProcessInstance<T>> page, String eventType, Object payload, Collection<String> excluded, List<RuntimeException> failures) {
+        List<List<ProcessInstance<T>>> slices = new ArrayList<>();
+        int sliceCount = Math.min(parallelism, page.size());
+        for (int i = 0; i < sliceCount; i++) {
+            slices.add(new ArrayList<>());
+        }
+        int index = 0;
+        for (ProcessInstance<T> waiting : page) {
+            if (excluded.contains(waiting.id())) {
+                continue;
+            }
+            ProcessInstance<T> instance = loadedInstance.apply(waiting);
+            if (lockStrategy.isLockedByCurrentThread(instance.id())) {
+                // the instance is being executed by the caller, it cannot be signalled from another thread
+                signal(instance, eventType, payload, failures);
+            } else {
+                slices.get(index++ % sliceCount).add(instance);
+            }
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (List<ProcessInstance<T>> slice : slices) {
+            if (slice.isEmpty()) {
+                continue;
+            }
+            Runnable task = () -> {
+                try {
+                    sliceExecutor.execute(() -> signalSlice(slice, eventType, payload, failures));
+                } catch (RuntimeException ex) {
+                    // the unit of work of the slice failed to start or to complete
+                    failures.add(ex);
+                }
+            };
+            if (executor == null) {
+                task.run();
+            } else {
+                futures.add(CompletableFuture.runAsync(task, executor));
+            }
+        }
+        futures.forEach(CompletableFuture::join);
+    }
+
+    private Void signalSlice(List<ProcessInstance<T>> slice, String eventType, Object payload, List<RuntimeException> failures) {
+        slice.forEach(instance -> signal(instance, eventType, payload, failures));
+        return null;
+    }
+
+    private void signal(ProcessInstance<T> instance, String eventType, Object payload, List<RuntimeException> failures) {
+        try {
+            // locks, signals, writes and unlocks the instance
+            instance.send(SignalFactory.of(eventType, payload));
+        } catch (RuntimeException ex) {
+            LOGGER.debug("Error signalling {} to process instance {}", eventType, instance.id(), ex);
+            failures.add(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -24,9 +24,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,7 +43,15 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
     private final ConcurrentHashMap<String, WorkflowProcessInstance> instances = new ConcurrentHashMap<>();
     private AbstractProcess<T> process;
 
-    private final ConcurrentMap<String, List<String>> eventTypes = new ConcurrentHashMap<>();
+    // event type -> ids of the instances waiting for it
+    private final ConcurrentMap<String, Set<String>> eventTypes = new ConcurrentHashMap<>();
+    // instance id -> event types the instance is waiting for, used to apply only the changed event types
+    private final ConcurrentMap<String, Set<String>> instanceEventTypes = new ConcurrentHashMap<>();
+
+    // business key -> id of the instance owning it
+    private final ConcurrentMap<String, String> businessKeys = new ConcurrentHashMap<>();
+    // instance id -> business key, used to clean the business key index on removal
+    private final ConcurrentMap<String, String> instanceBusinessKeys = new ConcurrentHashMap<>();
 
     public MapProcessInstances(AbstractProcess<T> process) {
         this.process = process;
@@ -58,6 +66,12 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
         return Optional.ofNullable(toProcessInstance(instance, mode));
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        String id = businessKeys.get(businessKey);
+        return id == null ? Optional.empty() : findById(id, mode);
+    }
+
     @Override
     public void create(String id, ProcessInstance<T> instance) {
         WorkflowProcessInstance existing = instances.putIfAbsent(id, ((AbstractProcessInstance<T>) instance).internalGetProcessInstance());
@@ -66,6 +80,7 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
         }
         connectProcessInstance(instance);
         mergeEventTypes(instance);
+        mergeBusinessKey(instance);
     }
 
     @Override
@@ -74,6 +89,7 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
             instances.put(id, ((AbstractProcessInstance<T>) instance).internalGetProcessInstance());
             connectProcessInstance(instance);
             mergeEventTypes(instance);
+            mergeBusinessKey(instance);
         }
     }
 
@@ -81,6 +97,7 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
     public void remove(String id) {
         instances.remove(id);
         cleanEventTypes(id);
+        cleanBusinessKey(id);
     }
 
     @Override
@@ -93,19 +110,48 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
         return instances.values().stream().map(e -> toProcessInstance(e, mode));
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        // only the ids are sorted, instances are converted once they are part of the page
+        return instances.keySet().stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
+                .map(instances::get)
+                .filter(Objects::nonNull)
+                .map(e -> toProcessInstance(e, mode));
+    }
+
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        List<String> processInstanceIds = eventTypes.getOrDefault(eventType, Collections.emptyList());
+        Set<String> processInstanceIds = eventTypes.getOrDefault(eventType, Collections.emptySet());
         List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
 
         for (String processInstanceId : processInstanceIds) {
-            AbstractProcessInstance pi = (AbstractProcessInstance) toProcessInstance(instances.get(processInstanceId), mode);
-            connectProcessInstance(pi);
-            waitingInstances.add(pi);
+            WorkflowProcessInstance instance = instances.get(processInstanceId);
+            if (instance != null) {
+                waitingInstances.add(toProcessInstance(instance, mode));
+            }
         }
         return waitingInstances.stream();
     }
 
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        return eventTypes.getOrDefault(eventType, Collections.emptySet()).stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
+                .map(instances::get)
+                .filter(Objects::nonNull)
+                .map(e -> toProcessInstance(e, mode));
+    }
+
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        return eventTypes.getOrDefault(eventType, Collections.emptySet()).contains(id);
+    }
+
     private ProcessInstance<T> toProcessInstance(WorkflowProcessInstance instance, ProcessInstanceReadMode mode) {
         ProcessInstance<T> processInstance = null;
         if (mode.equals(ProcessInstanceReadMode.READ_ONLY)) {
@@ -129,38 +175,64 @@ class MapProcessInstances<T extends Model> implements MutableProcessInstances<T>
     }
 
     private void mergeEventTypes(ProcessInstance<T> instance) {
-        cleanEventTypes(instance.id());
-        String[] events = getUniqueEvents(instance);
-        for (String eventType : events) {
-            eventTypes.compute(eventType, (k, v) -> {
-                List<String> instancesId = v;
-                if (instancesId == null) {
-                    instancesId = new CopyOnWriteArrayList<>();
+        String processInstanceId = instance.id();
+        Set<String> current = getUniqueEvents(instance);
+        Set<String> previous = current.isEmpty() ? instanceEventTypes.remove(processInstanceId) : instanceEventTypes.put(processInstanceId, current);
+        if (previous != null) {
+            for (String eventType : previous) {
+                if (!current.contains(eventType)) {
+                    removeEventType(eventType, processInstanceId);
                 }
-                instancesId.add(instance.id());
-                return !instancesId.isEmpty() ? instancesId : null;
-            });
+            }
+        }
+        for (String eventType : current) {
+            if (previous == null || !previous.contains(eventType)) {
+                eventTypes.compute(eventType, (k, v) -> {
+                    Set<String> instancesId = v == null ? ConcurrentHashMap.newKeySet() : v;
+                    instancesId.add(processInstanceId);
+                    return instancesId;
+                });
+            }
         }
     }
 
     private void cleanEventTypes(String processInstanceId) {
-        for (String eventType : eventTypes.keySet()) {
-            eventTypes.compute(eventType, (k, v) -> {
-                List<String> instancesId = v;
-                if (instancesId == null) {
-                    instancesId = new CopyOnWriteArrayList<>();
-                }
-                instancesId.remove(processInstanceId);
-                return !instancesId.isEmpty() ? instancesId : null;
-            });
+        Set<String> previous = instanceEventTypes.remove(processInstanceId);
+        if (previous != null) {
+            previous.forEach(eventType -> removeEventType(eventType, processInstanceId));
+        }
+    }
+
+    private void removeEventType(String eventType, String processInstanceId) {
+        eventTypes.computeIfPresent(eventType, (k, v) -> {
+            v.remove(processInstanceId);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    private void mergeBusinessKey(ProcessInstance<T> instance) {
+        String processInstanceId = instance.id();
+        String businessKey = instance.businessKey();
+        String previous = businessKey == null ? instanceBusinessKeys.remove(processInstanceId) : instanceBusinessKeys.put(processInstanceId, businessKey);
+        if (previous != null && !previous.equals(businessKey)) {
+            businessKeys.remove(previous, processInstanceId);
+        }
+        if (businessKey != null) {
+            businessKeys.put(businessKey, processInstanceId);
+        }
+    }
+
+    private void cleanBusinessKey(String processInstanceId) {
+        String previous = instanceBusinessKeys.remove(processInstanceId);
+        if (previous != null) {
+            businessKeys.remove(previous, processInstanceId);
         }
     }
 
-    private String[] getUniqueEvents(ProcessInstance<T> instance) {
+    private Set<String> getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes())
                 .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(HashSet::new))
-                .toArray(String[]::new);
+                .collect(Collectors.toCollection(HashSet::new));
     }
 
 }
@@ -21,6 +21,7 @@ package org.kie.kogito.process.impl;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -39,6 +40,8 @@ import org.kie.kogito.internal.process.runtime.KogitoNode;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.internal.process.workitem.Policy;
 import org.kie.kogito.internal.process.workitem.WorkItemNotFoundException;
+import org.kie.kogito.observability.EngineObservers;
+import org.kie.kogito.process.AsyncMutableProcessInstances;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceNotFoundException;
@@ -103,14 +106,30 @@ public class ProcessServiceImpl implements ProcessService {
         }
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> Stream<R> streamProcessInstanceOutput(Process<T> process, String after, Integer size) {
+        int pageSize = size == null || size <= 0 || size > processInstanceLimit ? processInstanceLimit : size;
+        return process.instances().stream(after, pageSize, ProcessInstanceReadMode.READ_ONLY)
+                .map(ProcessInstance::variables)
+                .map(MappableToModel::toModel);
+    }
+
     @Override
     public <T extends MappableToModel<R>, R> Optional<R> findById(Process<T> process, String id) {
-        Optional<ProcessInstance<T>> instance = process.instances()
-                .findById(id, ProcessInstanceReadMode.READ_ONLY);
+        Optional<ProcessInstance<T>> instance = EngineObservers.findById(process.instances(), process.id(), id, ProcessInstanceReadMode.READ_ONLY);
         Optional<T> mappable = instance.map(ProcessInstance::variables);
         return mappable.map(MappableToModel::toModel);
     }
 
+    @Override
+    public <T extends MappableToModel<R>, R> CompletionStage<Optional<R>> findByIdAsync(Process<T> process, String id) {
+        if (process.instances() instanceof AsyncMutableProcessInstances<T> instances) {
+            return instances.findByIdAsync(id, ProcessInstanceReadMode.READ_ONLY)
+                    .thenApply(instance -> instance.map(ProcessInstance::variables).map(MappableToModel::toModel));
+        }
+        return ProcessService.super.findByIdAsync(process, id);
+    }
+
     @Override
     public <T> void migrateProcessInstances(Process<T> process, String targetProcessId, String targetProcessVersion, String... processIds) throws UnsupportedOperationException {
         process.instances().migrateProcessInstances(targetProcessId, targetProcessVersion, processIds);
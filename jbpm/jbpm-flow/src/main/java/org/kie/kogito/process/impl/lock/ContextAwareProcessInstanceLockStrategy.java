@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.process.impl.lock;
 
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.services.context.ProcessInstanceContext;
 
 /**
@@ -34,21 +36,27 @@ import org.kie.kogito.services.context.ProcessInstanceContext;
  */
 public class ContextAwareProcessInstanceLockStrategy implements ProcessInstanceLockStrategy {
 
+    private final String processId;
     private final ProcessInstanceLockStrategy delegate;
 
     /**
      * Creates a new context-aware lock strategy that wraps an existing lock strategy.
      *
+     * @param processId the id of the process whose instances are locked, reported with lock timings
      * @param delegate the underlying lock strategy to delegate to
      */
-    public ContextAwareProcessInstanceLockStrategy(ProcessInstanceLockStrategy delegate) {
+    public ContextAwareProcessInstanceLockStrategy(String processId, ProcessInstanceLockStrategy delegate) {
+        this.processId = processId;
         this.delegate = delegate;
     }
 
     /**
      * Executes the given operation within the lock and process instance context.
      * The process instance ID is automatically set in the MDC before execution
-     * and cleared after execution completes (even if an exception is thrown).
+     * and the previous context is restored after execution completes (even if an exception is thrown).
+     * Nested operations on the same process instance leave the MDC untouched.
+     * The time spent waiting for the lock, or until the lock timed out, is reported to the registered
+     * {@link EngineObserver}, if any.
      *
      * @param processInstanceId the process instance ID for context and locking
      * @param operation the operation to execute
@@ -57,18 +65,52 @@ public class ContextAwareProcessInstanceLockStrategy implements ProcessInstanceL
      */
     @Override
     public <T> T executeOperation(String processInstanceId, WorkflowAtomicExecutor<T> operation) {
-        return delegate.executeOperation(processInstanceId, () -> {
-            ProcessInstanceContext.setProcessInstanceId(processInstanceId);
-            try {
-                return operation.execute();
-            } finally {
+        EngineObserver observer = EngineObservers.current();
+        if (observer == null) {
+            return delegate.executeOperation(processInstanceId, () -> executeInContext(processInstanceId, operation));
+        }
+        long start = System.nanoTime();
+        boolean[] acquired = new boolean[1];
+        try {
+            return delegate.executeOperation(processInstanceId, () -> {
+                acquired[0] = true;
+                observer.onLockAcquired(processId, processInstanceId, System.nanoTime() - start);
+                return executeInContext(processInstanceId, operation);
+            });
+        } catch (ProcessInstanceLockTimeoutException e) {
+            // a timeout thrown by a nested operation has already been reported
+            if (!acquired[0]) {
+                observer.onLockTimeout(processId, processInstanceId, System.nanoTime() - start);
+            }
+            throw e;
+        }
+    }
+
+    private static <T> T executeInContext(String processInstanceId, WorkflowAtomicExecutor<T> operation) {
+        String previous = ProcessInstanceContext.hasContext() ? ProcessInstanceContext.getProcessInstanceId() : null;
+        if (processInstanceId.equals(previous)) {
+            // nested operation on the same instance, context is already in place
+            return operation.execute();
+        }
+        ProcessInstanceContext.setProcessInstanceId(processInstanceId);
+        try {
+            return operation.execute();
+        } finally {
+            if (previous == null) {
                 ProcessInstanceContext.clear();
+            } else {
+                ProcessInstanceContext.setProcessInstanceId(previous);
             }
-        });
+        }
     }
 
     @Override
     public boolean isLockedByCurrentThread(String processInstanceId) {
         return delegate.isLockedByCurrentThread(processInstanceId);
     }
+
+    @Override
+    public boolean isDistributed() {
+        return delegate.isDistributed();
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+
+/**
+ * Lock strategy serializing operations on a process instance across replicas.
+ * <p>
+ * Threads of the same JVM queue on the local strategy first, so only one of them at a time waits on the
+ * {@link ProcessInstanceLockProvider}. Nested operations on an instance already locked by the current thread do not
+ * go to the provider again.
+ */
+public class DistributedProcessInstanceLockStrategy implements ProcessInstanceLockStrategy {
+
+    private final ProcessInstanceLockStrategy local;
+    private final ProcessInstanceLockProvider provider;
+    private final Duration timeout;
+
+    public DistributedProcessInstanceLockStrategy(ProcessInstanceLockStrategy local, ProcessInstanceLockProvider provider, Duration timeout) {
+        this.local = local;
+        this.provider = provider;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public <T> T executeOperation(String processInstanceId, WorkflowAtomicExecutor<T> operation) {
+        if (local.isLockedByCurrentThread(processInstanceId)) {
+            return local.executeOperation(processInstanceId, operation);
+        }
+        return local.executeOperation(processInstanceId, () -> {
+            try (ProcessInstanceLockProvider.Lock lock = provider.acquire(processInstanceId, timeout)) {
+                return operation.execute();
+            }
+        });
+    }
+
+    @Override
+    public boolean isLockedByCurrentThread(String processInstanceId) {
+        return local.isLockedByCurrentThread(processInstanceId);
+    }
+
+    @Override
+    public boolean isDistributed() {
+        return true;
+    }
+}
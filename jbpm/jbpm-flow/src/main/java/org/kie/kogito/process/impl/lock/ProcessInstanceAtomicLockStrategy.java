@@ -20,6 +20,7 @@ package org.kie.kogito.process.impl.lock;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
@@ -28,13 +29,8 @@ import org.slf4j.LoggerFactory;
 public class ProcessInstanceAtomicLockStrategy implements ProcessInstanceLockStrategy {
 
     private class ProcessInstanceLockHolder {
-        Integer counter;
-        ReentrantLock lock;
-
-        public ProcessInstanceLockHolder() {
-            counter = 0;
-            lock = new ReentrantLock();
-        }
+        final AtomicInteger counter = new AtomicInteger();
+        final ReentrantLock lock = new ReentrantLock();
 
         void lock() {
             lock.lock();
@@ -45,7 +41,7 @@ public class ProcessInstanceAtomicLockStrategy implements ProcessInstanceLockStr
         }
 
         boolean isReferenced() {
-            return counter > 0;
+            return counter.get() > 0;
         }
 
         boolean isHeldByCurrentThread() {
@@ -53,11 +49,11 @@ public class ProcessInstanceAtomicLockStrategy implements ProcessInstanceLockStr
         }
 
         public void addReference() {
-            counter++;
+            counter.incrementAndGet();
         }
 
         public void removeReference() {
-            counter--;
+            counter.decrementAndGet();
         }
     }
 
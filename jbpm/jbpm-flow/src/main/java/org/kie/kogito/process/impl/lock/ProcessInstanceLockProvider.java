@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+
+/**
+ * Cluster wide lock on process instances, implemented by persistence stores able to serialize access to an instance
+ * across replicas.
+ */
+public interface ProcessInstanceLockProvider {
+
+    interface Lock extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    Lock NO_LOCK = () -> {
+    };
+
+    /**
+     * Blocks until the lock on the process instance is granted. The returned lock must be closed once the operation on
+     * the process instance is done; stores tying the lock to the surrounding transaction may release it only on commit.
+     *
+     * @param processInstanceId the process instance id
+     * @param timeout maximum time to wait for the lock
+     * @return the acquired lock
+     * @throws ProcessInstanceLockTimeoutException if the lock could not be acquired in time
+     */
+    Lock acquire(String processInstanceId, Duration timeout);
+}
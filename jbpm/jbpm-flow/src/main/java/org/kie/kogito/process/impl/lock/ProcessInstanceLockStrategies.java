@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the lock strategy used by process instances.
+ * <p>
+ * The strategy is selected with the {@value #STRATEGY_PROPERTY} system property: {@code atomic} (default) keeps one
+ * lock per active process instance, {@code striped} uses {@link ProcessInstanceStripedLockStrategy} with
+ * {@value #STRIPES_PROPERTY} locks waiting at most {@value #TIMEOUT_PROPERTY} milliseconds (30 seconds by default, zero
+ * or negative to wait indefinitely).
+ * <p>
+ * Processes listed in {@value #DISTRIBUTED_PROPERTY} (comma separated process ids, or {@code *} for all of them)
+ * additionally lock their instances through the persistence store, when it implements
+ * {@link ProcessInstanceLockProvider}, waiting at most {@value #DISTRIBUTED_TIMEOUT_PROPERTY} milliseconds.
+ * <p>
+ * Lock wait times and timeouts are reported per process id to the registered
+ * {@link org.kie.kogito.observability.EngineObserver}.
+ */
+public final class ProcessInstanceLockStrategies {
+
+    public static final String STRATEGY_PROPERTY = "kogito.process.instance.lock.strategy";
+    public static final String STRIPES_PROPERTY = "kogito.process.instance.lock.stripes";
+    public static final String TIMEOUT_PROPERTY = "kogito.process.instance.lock.timeout";
+    public static final String DISTRIBUTED_PROPERTY = "kogito.process.instance.lock.distributed";
+    public static final String DISTRIBUTED_TIMEOUT_PROPERTY = "kogito.process.instance.lock.distributed.timeout";
+
+    public static final Duration DEFAULT_DISTRIBUTED_TIMEOUT = Duration.ofSeconds(30);
+
+    public static final String ATOMIC = "atomic";
+    public static final String STRIPED = "striped";
+
+    private static ProcessInstanceLockStrategy localStrategy;
+
+    private ProcessInstanceLockStrategies() {
+    }
+
+    /**
+     * @param processId the process id
+     * @param instances the process instances store of the process
+     * @return the distributed strategy if enabled for the process and supported by the store, the configured strategy
+     *         otherwise, wrapped so the process instance id is available in the logging context
+     */
+    public static ProcessInstanceLockStrategy forProcess(String processId, Object instances) {
+        if (instances instanceof ProcessInstanceLockProvider provider && isDistributed(processId)) {
+            Long timeout = Long.getLong(DISTRIBUTED_TIMEOUT_PROPERTY);
+            return new ContextAwareProcessInstanceLockStrategy(processId,
+                    new DistributedProcessInstanceLockStrategy(localStrategy(), provider, timeout != null ? Duration.ofMillis(timeout) : DEFAULT_DISTRIBUTED_TIMEOUT));
+        }
+        return new ContextAwareProcessInstanceLockStrategy(processId, localStrategy());
+    }
+
+    private static boolean isDistributed(String processId) {
+        String property = System.getProperty(DISTRIBUTED_PROPERTY);
+        if (property == null || property.isBlank()) {
+            return false;
+        }
+        Set<String> processIds = Arrays.stream(property.split(",")).map(String::trim).collect(Collectors.toSet());
+        return processIds.contains("*") || processIds.contains(processId);
+    }
+
+    private static synchronized ProcessInstanceLockStrategy localStrategy() {
+        if (localStrategy == null) {
+            localStrategy = create();
+        }
+        return localStrategy;
+    }
+
+    private static ProcessInstanceLockStrategy create() {
+        String strategy = System.getProperty(STRATEGY_PROPERTY, ATOMIC);
+        if (STRIPED.equalsIgnoreCase(strategy)) {
+            int stripes = Integer.getInteger(STRIPES_PROPERTY, ProcessInstanceStripedLockStrategy.DEFAULT_STRIPES);
+            Long timeout = Long.getLong(TIMEOUT_PROPERTY);
+            return new ProcessInstanceStripedLockStrategy(stripes, timeout != null ? Duration.ofMillis(timeout) : ProcessInstanceStripedLockStrategy.DEFAULT_TIMEOUT);
+        }
+        if (!ATOMIC.equalsIgnoreCase(strategy)) {
+            throw new IllegalArgumentException("Unknown process instance lock strategy " + strategy + ", expected " + ATOMIC + " or " + STRIPED);
+        }
+        return ProcessInstanceAtomicLockStrategy.instance();
+    }
+}
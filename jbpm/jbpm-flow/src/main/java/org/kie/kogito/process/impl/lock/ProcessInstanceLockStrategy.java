@@ -30,4 +30,14 @@ public interface ProcessInstanceLockStrategy {
      */
     boolean isLockedByCurrentThread(String processInstanceId);
 
+    /**
+     * Whether the lock is shared with other replicas. In that case the state of the process instance might have been
+     * changed elsewhere while waiting for the lock, and it has to be reloaded once the lock is acquired.
+     *
+     * @return true if the lock is held across replicas, false if it is local to this JVM
+     */
+    default boolean isDistributed() {
+        return false;
+    }
+
 }
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lock strategy backed by a fixed array of reentrant locks. A process instance id is mapped to one stripe by its hash,
+ * so no lock object is allocated nor removed per operation. Locks park through {@link ReentrantLock}, which does not pin
+ * virtual threads.
+ * <p>
+ * Different process instances may share a stripe; the strategy keeps track of which ids the owner thread entered so
+ * {@link #isLockedByCurrentThread(String)} stays accurate per process instance. A
+ * {@link ProcessInstanceLockTimeoutException} is thrown if the stripe cannot be acquired within the lock timeout,
+ * {@link #DEFAULT_TIMEOUT} unless configured otherwise: nested operations on different instances may take shared
+ * stripes in any order, so waiting indefinitely could deadlock.
+ */
+public class ProcessInstanceStripedLockStrategy implements ProcessInstanceLockStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProcessInstanceStripedLockStrategy.class);
+
+    public static final int DEFAULT_STRIPES = 256;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final class Stripe {
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        // only accessed by the thread owning the lock
+        final Map<String, Integer> entries = new HashMap<>();
+
+        void enter(String processInstanceId) {
+            entries.merge(processInstanceId, 1, Integer::sum);
+        }
+
+        void exit(String processInstanceId) {
+            entries.computeIfPresent(processInstanceId, (k, v) -> v > 1 ? v - 1 : null);
+        }
+
+        boolean isEnteredByCurrentThread(String processInstanceId) {
+            return lock.isHeldByCurrentThread() && entries.containsKey(processInstanceId);
+        }
+    }
+
+    private final Stripe[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+
+    public ProcessInstanceStripedLockStrategy() {
+        this(DEFAULT_STRIPES, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * @param stripes number of locks, rounded up to the next power of two
+     * @param timeout maximum time to wait for a lock, or null to wait indefinitely
+     */
+    public ProcessInstanceStripedLockStrategy(int stripes, Duration timeout) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Number of stripes must be positive, was " + stripes);
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = timeout == null || timeout.isZero() || timeout.isNegative() ? -1 : timeout.toNanos();
+    }
+
+    @Override
+    public <T> T executeOperation(String processInstanceId, WorkflowAtomicExecutor<T> executor) {
+        Stripe stripe = stripe(processInstanceId);
+        acquire(stripe, processInstanceId);
+        try {
+            stripe.enter(processInstanceId);
+            try {
+                return executor.execute();
+            } finally {
+                stripe.exit(processInstanceId);
+            }
+        } finally {
+            stripe.lock.unlock();
+            LOG.trace("Lock released for {}", processInstanceId);
+        }
+    }
+
+    private void acquire(Stripe stripe, String processInstanceId) {
+        ReentrantLock lock = stripe.lock;
+        if (lock.tryLock()) {
+            return;
+        }
+        LOG.trace("Waiting for lock of {}", processInstanceId);
+        try {
+            if (timeoutNanos < 0) {
+                lock.lockInterruptibly();
+            } else if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ProcessInstanceLockTimeoutException(processInstanceId, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lock of process instance " + processInstanceId, e);
+        }
+        LOG.trace("Lock acquired for {}", processInstanceId);
+    }
+
+    private Stripe stripe(String processInstanceId) {
+        int h = processInstanceId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    @Override
+    public boolean isLockedByCurrentThread(String processInstanceId) {
+        return stripe(processInstanceId).isEnteredByCurrentThread(processInstanceId);
+    }
+}
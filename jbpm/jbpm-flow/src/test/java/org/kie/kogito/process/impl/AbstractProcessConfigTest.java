@@ -22,12 +22,19 @@ import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.event.EventManager;
+import org.kie.kogito.event.EventPublisher;
+import org.kie.kogito.event.RelayEventPublisher;
 import org.kie.kogito.internal.process.workitem.KogitoWorkItemHandler;
 import org.kie.kogito.process.ProcessConfig;
 import org.kie.kogito.process.WorkItemHandlerConfig;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class AbstractProcessConfigTest {
 
@@ -36,6 +43,26 @@ public class AbstractProcessConfigTest {
             super(workItemHandlerConfig, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
                     Collections.emptyList(), null, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
         }
+
+        protected MockProcessConfig(UnitOfWorkManager unitOfWorkManager, Iterable<EventPublisher> eventPublishers) {
+            super(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), List.of(unitOfWorkManager), Collections.emptyList(),
+                    eventPublishers, null, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+        }
+    }
+
+    @Test
+    void testRelayPublisherTakesOverOtherPublishers() {
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        EventManager eventManager = mock(EventManager.class);
+        when(unitOfWorkManager.eventManager()).thenReturn(eventManager);
+        EventPublisher publisher = mock(EventPublisher.class);
+        RelayEventPublisher relay = mock(RelayEventPublisher.class);
+
+        new MockProcessConfig(unitOfWorkManager, List.of(publisher, relay));
+
+        verify(relay).relayTo(List.of(publisher));
+        verify(eventManager).addPublisher(relay);
+        verify(eventManager, never()).addPublisher(publisher);
     }
 
     @Test
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Model;
+import org.kie.kogito.process.MutableProcessInstances;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.impl.lock.ProcessInstanceAtomicLockStrategy;
+import org.kie.kogito.process.impl.lock.ProcessInstanceLockStrategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BroadcastSignalDispatcherTest {
+
+    private static final String EVENT_TYPE = "Message-orders";
+
+    private MutableProcessInstances<Model> instances;
+    private ProcessInstanceLockStrategy lockStrategy;
+    private List<ProcessInstance<Model>> waiting;
+    private List<String> signalled;
+    private BroadcastSignalDispatcher<Model> dispatcher;
+
+    @BeforeEach
+    void setup() {
+        instances = mock(MutableProcessInstances.class);
+        lockStrategy = ProcessInstanceAtomicLockStrategy.instance();
+        signalled = Collections.synchronizedList(new ArrayList<>());
+        waiting = IntStream.range(0, 5).mapToObj(i -> waitingInstance("instance-" + i)).toList();
+
+        when(instances.waitingForEventType(eq(EVENT_TYPE), any(), anyInt(), eq(ProcessInstanceReadMode.MUTABLE))).thenAnswer(invocation -> {
+            String after = invocation.getArgument(1);
+            int size = invocation.getArgument(2);
+            return waiting.stream().filter(pi -> after == null || pi.id().compareTo(after) > 0).limit(size);
+        });
+    }
+
+    @AfterEach
+    void close() {
+        dispatcher.close();
+    }
+
+    private AbstractProcessInstance<Model> waitingInstance(String id) {
+        AbstractProcessInstance<Model> instance = mock(AbstractProcessInstance.class);
+        when(instance.id()).thenReturn(id);
+        doAnswer(invocation -> {
+            // send takes the lock of the instance itself, so none must be held by the dispatcher
+            assertThat(waiting.stream().noneMatch(pi -> lockStrategy.isLockedByCurrentThread(pi.id()))).isTrue();
+            signalled.add(id);
+            return null;
+        }).when(instance).send(any());
+        return instance;
+    }
+
+    @Test
+    void testSignalAllWaitingInChunks() {
+        dispatcher = new BroadcastSignalDispatcher<>(instances, lockStrategy, UnaryOperator.identity(), slice -> slice.get(), 2, 2);
+
+        dispatcher.signal(EVENT_TYPE, "payload", Set.of());
+
+        assertThat(signalled).containsExactlyInAnyOrder("instance-0", "instance-1", "instance-2", "instance-3", "instance-4");
+        verify(instances).waitingForEventType(EVENT_TYPE, null, 2, ProcessInstanceReadMode.MUTABLE);
+        verify(instances).waitingForEventType(EVENT_TYPE, "instance-3", 2, ProcessInstanceReadMode.MUTABLE);
+        verify(instances, never()).waitingForEventType(EVENT_TYPE, ProcessInstanceReadMode.MUTABLE);
+    }
+
+    @Test
+    void testExcludedNotSignalled() {
+        dispatcher = new BroadcastSignalDispatcher<>(instances, lockStrategy, UnaryOperator.identity(), slice -> slice.get(), 10, 1);
+
+        dispatcher.signal(EVENT_TYPE, "payload", Set.of("instance-1", "instance-3"));
+
+        assertThat(signalled).containsExactly("instance-0", "instance-2", "instance-4");
+    }
+
+    @Test
+    void testFailuresDoNotStopTheBroadcastAndAreRethrown() {
+        IllegalStateException first = new IllegalStateException("instance-1");
+        IllegalStateException second = new IllegalStateException("instance-3");
+        doAnswer(invocation -> {
+            throw first;
+        }).when(waiting.get(1)).send(any());
+        doAnswer(invocation -> {
+            throw second;
+        }).when(waiting.get(3)).send(any());
+        dispatcher = new BroadcastSignalDispatcher<>(instances, lockStrategy, UnaryOperator.identity(), slice -> slice.get(), 2, 1);
+
+        Throwable thrown = catchThrowable(() -> dispatcher.signal(EVENT_TYPE, "payload", Set.of()));
+
+        assertThat(signalled).containsExactly("instance-0", "instance-2", "instance-4");
+        assertThat(thrown).isSameAs(first);
+        assertThat(thrown.getSuppressed()).containsExactly(second);
+    }
+}
@@ -254,4 +254,60 @@ class ProcessInstancesAcceptingEventTypeTest {
         assertThat(result).isNotNull();
         assertThat(result.count()).isEqualTo(1);
     }
+
+    @Test
+    void testIsWaitingFor() {
+        // Given: Process instance waiting for a signal and a message
+        String processInstanceId = "test-accepting-event-instance-7";
+        String signalName = "HelloMartin";
+
+        when(workflowProcessInstance.getStringId()).thenReturn(processInstanceId);
+        when(workflowProcessInstance.getEventTypes()).thenReturn(new String[] { signalName, "Message-" + signalName });
+        when(processInstance.id()).thenReturn(processInstanceId);
+        when(processInstance.internalGetProcessInstance()).thenReturn(workflowProcessInstance);
+
+        processInstances.create(processInstanceId, processInstance);
+
+        // Then: Only the stored event types for that instance match
+        assertThat(processInstances.isWaitingFor(signalName, processInstanceId)).isTrue();
+        assertThat(processInstances.isWaitingFor("Message-" + signalName, processInstanceId)).isTrue();
+        assertThat(processInstances.isWaitingFor("ByeMartin", processInstanceId)).isFalse();
+        assertThat(processInstances.isWaitingFor(signalName, "other-instance")).isFalse();
+
+        // When: The instance no longer waits for the message and is later removed
+        when(workflowProcessInstance.getEventTypes()).thenReturn(new String[] { signalName });
+        when(processInstance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        processInstances.update(processInstanceId, processInstance);
+        assertThat(processInstances.isWaitingFor("Message-" + signalName, processInstanceId)).isFalse();
+        assertThat(processInstances.isWaitingFor(signalName, processInstanceId)).isTrue();
+
+        processInstances.remove(processInstanceId);
+        assertThat(processInstances.isWaitingFor(signalName, processInstanceId)).isFalse();
+    }
+
+    @Test
+    void testFindByBusinessKey() {
+        // Given: Process instance started with a business key
+        String processInstanceId = "test-accepting-event-instance-8";
+        String businessKey = "order-1";
+
+        when(workflowProcessInstance.getStringId()).thenReturn(processInstanceId);
+        when(workflowProcessInstance.getEventTypes()).thenReturn(new String[] {});
+        when(processInstance.id()).thenReturn(processInstanceId);
+        when(processInstance.businessKey()).thenReturn(businessKey);
+        when(processInstance.internalGetProcessInstance()).thenReturn(workflowProcessInstance);
+        when(process.createReadOnlyInstance(any(WorkflowProcessInstance.class))).thenAnswer(invocation -> processInstance);
+
+        processInstances.create(processInstanceId, processInstance);
+
+        // Then: The instance is found through its business key only
+        assertThat(processInstances.findByBusinessKey(businessKey)).containsSame(processInstance);
+        assertThat(processInstances.findByBusinessKey("order-2")).isEmpty();
+
+        // When: The instance is removed
+        processInstances.remove(processInstanceId);
+
+        // Then: The business key no longer resolves
+        assertThat(processInstances.findByBusinessKey(businessKey)).isEmpty();
+    }
 }
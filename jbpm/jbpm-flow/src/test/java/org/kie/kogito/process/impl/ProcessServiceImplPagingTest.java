@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.Application;
+import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.process.Process;
+import org.kie.kogito.process.ProcessInstance;
+import org.kie.kogito.process.ProcessInstanceReadMode;
+import org.kie.kogito.process.ProcessInstances;
+import org.kie.kogito.process.impl.ProcessServiceImplSignalTest.TestModel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProcessServiceImplPagingTest {
+
+    private static final short PROCESS_INSTANCE_LIMIT = 10;
+
+    private ProcessServiceImpl processService;
+    private Process<TestModel> process;
+    private ProcessInstances<TestModel> processInstances;
+    private TestModel model;
+
+    @BeforeEach
+    void setup() {
+        Application application = mock(Application.class);
+        ConfigBean configBean = mock(ConfigBean.class);
+        process = mock(Process.class);
+        processInstances = mock(ProcessInstances.class);
+        model = new TestModel();
+
+        when(application.config()).thenReturn(mock(org.kie.kogito.Config.class));
+        when(application.config().get(ConfigBean.class)).thenReturn(configBean);
+        when(configBean.processInstanceLimit()).thenReturn(PROCESS_INSTANCE_LIMIT);
+        when(process.instances()).thenReturn(processInstances);
+
+        processService = new ProcessServiceImpl(application);
+    }
+
+    @Test
+    void testPageRequestedFromStore() {
+        ProcessInstance<TestModel> processInstance = mock(ProcessInstance.class);
+        when(processInstance.variables()).thenReturn(model);
+        when(processInstances.stream("id-1", 5, ProcessInstanceReadMode.READ_ONLY)).thenReturn(Stream.of(processInstance));
+
+        List<TestModel> page = processService.getProcessInstanceOutput(process, "id-1", 5);
+
+        assertThat(page).containsExactly(model);
+    }
+
+    @Test
+    void testPageSizeCappedByProcessInstanceLimit() {
+        when(processInstances.stream(eq(null), anyInt(), eq(ProcessInstanceReadMode.READ_ONLY))).thenReturn(Stream.empty());
+
+        processService.getProcessInstanceOutput(process, null, null);
+        processService.getProcessInstanceOutput(process, null, 0);
+        processService.getProcessInstanceOutput(process, null, PROCESS_INSTANCE_LIMIT + 1);
+
+        verify(processInstances, times(3)).stream(null, PROCESS_INSTANCE_LIMIT, ProcessInstanceReadMode.READ_ONLY);
+    }
+
+    @Test
+    void testStreamClosesStorePage() {
+        boolean[] closed = new boolean[1];
+        when(processInstances.stream(null, 2, ProcessInstanceReadMode.READ_ONLY)).thenReturn(Stream.<ProcessInstance<TestModel>> empty().onClose(() -> closed[0] = true));
+
+        try (Stream<TestModel> page = processService.streamProcessInstanceOutput(process, null, 2)) {
+            assertThat(page).isEmpty();
+        }
+
+        assertThat(closed[0]).isTrue();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContextAwareProcessInstanceLockStrategyTest {
+
+    private static final String PROCESS_ID = "testProcess";
+
+    private final List<String> acquired = new CopyOnWriteArrayList<>();
+    private final List<String> timeouts = new CopyOnWriteArrayList<>();
+
+    private final EngineObserver observer = new EngineObserver() {
+        @Override
+        public void onLockAcquired(String processId, String processInstanceId, long waitNanos) {
+            acquired.add(processId + "/" + processInstanceId);
+        }
+
+        @Override
+        public void onLockTimeout(String processId, String processInstanceId, long waitNanos) {
+            timeouts.add(processId + "/" + processInstanceId);
+        }
+    };
+
+    @BeforeEach
+    void register() {
+        EngineObservers.register(observer);
+    }
+
+    @AfterEach
+    void unregister() {
+        EngineObservers.unregister(observer);
+    }
+
+    @Test
+    void testLockReportedWithProcessId() {
+        ContextAwareProcessInstanceLockStrategy strategy = new ContextAwareProcessInstanceLockStrategy(PROCESS_ID, new ProcessInstanceStripedLockStrategy());
+
+        assertThat(strategy.executeOperation("1", () -> "done")).isEqualTo("done");
+
+        assertThat(acquired).containsExactly(PROCESS_ID + "/1");
+        assertThat(timeouts).isEmpty();
+    }
+
+    @Test
+    void testNestedTimeoutReportedOnce() throws Exception {
+        ProcessInstanceStripedLockStrategy childLocks = new ProcessInstanceStripedLockStrategy(1, Duration.ofMillis(50));
+        ContextAwareProcessInstanceLockStrategy parent = new ContextAwareProcessInstanceLockStrategy(PROCESS_ID, new ProcessInstanceStripedLockStrategy());
+        ContextAwareProcessInstanceLockStrategy child = new ContextAwareProcessInstanceLockStrategy("childProcess", childLocks);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> childLocks.executeOperation("3", () -> {
+            locked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // the nested operation times out, the parent operation must not report it again
+        assertThatThrownBy(() -> parent.executeOperation("1", () -> child.executeOperation("2", () -> null)))
+                .isInstanceOf(ProcessInstanceLockTimeoutException.class);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+
+        assertThat(acquired).containsExactly(PROCESS_ID + "/1");
+        assertThat(timeouts).containsExactly("childProcess/2");
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DistributedProcessInstanceLockStrategyTest {
+
+    private static final String PROCESS_INSTANCE_ID = "testProcessInstanceId-1";
+
+    private final InMemoryProcessInstanceLockProvider provider = new InMemoryProcessInstanceLockProvider();
+
+    private ProcessInstanceLockStrategy replica(Duration timeout) {
+        return new DistributedProcessInstanceLockStrategy(new ProcessInstanceStripedLockStrategy(), provider, timeout);
+    }
+
+    @Test
+    void testReentrantCallsLockOnce() {
+        ProcessInstanceLockStrategy strategy = replica(Duration.ofSeconds(5));
+
+        String result = strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+            assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isTrue();
+            return strategy.executeOperation(PROCESS_INSTANCE_ID, () -> "success");
+        });
+
+        assertThat(result).isEqualTo("success");
+        assertThat(provider.acquisitions()).isEqualTo(1);
+        assertThat(strategy.isDistributed()).isTrue();
+        assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isFalse();
+    }
+
+    @Test
+    void testReplicasQueueOnSameProcessInstance() throws Exception {
+        List<ProcessInstanceLockStrategy> replicas = List.of(replica(Duration.ofSeconds(10)), replica(Duration.ofSeconds(10)));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        int operations = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                ProcessInstanceLockStrategy strategy = replicas.get(i % replicas.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+                        maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                        try {
+                            Thread.sleep(2);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        inside.decrementAndGet();
+                        return null;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(maxInside.get()).isEqualTo(1);
+        assertThat(provider.acquisitions()).isEqualTo(operations);
+    }
+
+    @Test
+    void testTimeoutWhileOtherReplicaHoldsLock() throws Exception {
+        ProcessInstanceLockStrategy holder = replica(Duration.ofSeconds(5));
+        ProcessInstanceLockStrategy waiter = replica(Duration.ofMillis(50));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> future = executor.submit(() -> holder.executeOperation(PROCESS_INSTANCE_ID, () -> {
+                locked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> waiter.executeOperation(PROCESS_INSTANCE_ID, () -> null)).isInstanceOf(ProcessInstanceLockTimeoutException.class);
+            release.countDown();
+            future.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(waiter.executeOperation(PROCESS_INSTANCE_ID, () -> "done")).isEqualTo("done");
+    }
+}
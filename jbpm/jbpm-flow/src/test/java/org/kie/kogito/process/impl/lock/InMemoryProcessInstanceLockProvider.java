@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in for a persistence backed {@link ProcessInstanceLockProvider}, shared by several local lock strategies to
+ * emulate replicas. Unlike the local locks it is not reentrant, as a database lock taken by another replica would not be.
+ */
+class InMemoryProcessInstanceLockProvider implements ProcessInstanceLockProvider {
+
+    private final Map<String, Semaphore> locks = new ConcurrentHashMap<>();
+    private final AtomicInteger acquisitions = new AtomicInteger();
+
+    @Override
+    public Lock acquire(String processInstanceId, Duration timeout) {
+        Semaphore semaphore = locks.computeIfAbsent(processInstanceId, k -> new Semaphore(1, true));
+        try {
+            if (!semaphore.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ProcessInstanceLockTimeoutException(processInstanceId, timeout.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        acquisitions.incrementAndGet();
+        return semaphore::release;
+    }
+
+    int acquisitions() {
+        return acquisitions.get();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.process.impl.lock;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProcessInstanceStripedLockStrategyTest {
+
+    private static final String PROCESS_INSTANCE_ID = "testProcessInstanceId-1";
+
+    @Test
+    void testProcessInstanceIsLockedByCurrentThreadReentrantCalls() {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy();
+        assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isFalse();
+
+        String result = strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+            assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isTrue();
+            return strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+                assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isTrue();
+                return "success";
+            });
+        });
+
+        assertThat(result).isEqualTo("success");
+        assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isFalse();
+    }
+
+    @Test
+    void testSharedStripeTracksProcessInstances() {
+        // a single stripe forces every process instance onto the same lock
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(1, null);
+        String processInstanceId2 = "testProcessInstanceId-2";
+
+        strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+            assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isTrue();
+            assertThat(strategy.isLockedByCurrentThread(processInstanceId2)).isFalse();
+            return strategy.executeOperation(processInstanceId2, () -> {
+                assertThat(strategy.isLockedByCurrentThread(processInstanceId2)).isTrue();
+                return null;
+            });
+        });
+
+        assertThat(strategy.isLockedByCurrentThread(PROCESS_INSTANCE_ID)).isFalse();
+        assertThat(strategy.isLockedByCurrentThread(processInstanceId2)).isFalse();
+    }
+
+    @Test
+    void testLockTimeout() throws Exception {
+        ProcessInstanceStripedLockStrategy strategy = new ProcessInstanceStripedLockStrategy(16, Duration.ofMillis(50));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> strategy.executeOperation(PROCESS_INSTANCE_ID, () -> {
+            locked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+
+        assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> strategy.executeOperation(PROCESS_INSTANCE_ID, () -> null))
+                .isInstanceOf(ProcessInstanceLockTimeoutException.class);
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+
+        assertThat(strategy.executeOperation(PROCESS_INSTANCE_ID, () -> "done")).isEqualTo("done");
+    }
+}
@@ -137,7 +137,19 @@ public class InMemoryProcessInstances<T extends Model> implements MutableProcess
 
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
-        List<String> processInstanceIds = eventTypes.getOrDefault(eventType, Collections.emptyList());
+        return loadWaiting(eventTypes.getOrDefault(eventType, Collections.emptyList()), mode);
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        return loadWaiting(eventTypes.getOrDefault(eventType, Collections.emptyList()).stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
+                .toList(), mode);
+    }
+
+    private Stream<ProcessInstance<T>> loadWaiting(List<String> processInstanceIds, ProcessInstanceReadMode mode) {
         List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
 
         for (String processInstanceId : processInstanceIds) {
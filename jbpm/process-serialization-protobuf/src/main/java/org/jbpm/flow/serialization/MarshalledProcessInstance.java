@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization;
+
+/**
+ * Process instance marshalled with change records enabled. It is either a snapshot, replacing whatever was stored for
+ * the instance, or the change record number {@link #changeRecord()} (starting at one after each snapshot) that has
+ * to be appended to the stored snapshot.
+ * <p>
+ * The next change record is computed against the payload written here, so {@link #written()} must be called once the
+ * payload has been stored (and committed, when written within a transaction). If the write fails it is simply not
+ * called, and the next change record is still computed against what the store holds.
+ */
+public record MarshalledProcessInstance(byte[] payload, int changeRecord, Runnable onWritten) {
+
+    /**
+     * Marks the beginning of a snapshot log. A plain process instance message never starts with a zero byte,
+     * since that is not a valid protobuf tag.
+     */
+    public static final byte SNAPSHOT_LOG_MARKER = 0;
+
+    public MarshalledProcessInstance(byte[] payload, int changeRecord) {
+        this(payload, changeRecord, () -> {
+        });
+    }
+
+    /**
+     * Makes the written payload the base of the next change record of the process instance.
+     */
+    public void written() {
+        onWritten.run();
+    }
+
+    public boolean isChangeRecord() {
+        return changeRecord > 0;
+    }
+
+    /**
+     * Tells whether the stored payload is a snapshot log, the only format change records can be appended to.
+     */
+    public static boolean isSnapshotLog(byte[] payload) {
+        return payload != null && payload.length > 0 && payload[0] == SNAPSHOT_LOG_MARKER;
+    }
+}
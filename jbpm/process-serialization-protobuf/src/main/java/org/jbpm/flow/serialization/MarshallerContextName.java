@@ -37,6 +37,10 @@ public final class MarshallerContextName<T> {
             new MarshallerContextName<>("MARSHALLER_INSTANCE_LISTENERS", () -> new ProcessInstanceMarshallerListener[0]);
     public static final MarshallerContextName<NodeInstanceReader[]> MARSHALLER_NODE_INSTANCE_READER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_READER", () -> new NodeInstanceReader[0]);
     public static final MarshallerContextName<NodeInstanceWriter[]> MARSHALLER_NODE_INSTANCE_WRITER = new MarshallerContextName<>("MARSHALLER_NODE_INSTANCE_WRITER", () -> new NodeInstanceWriter[0]);
+    public static final MarshallerContextName<Integer> MARSHALLER_MAX_CHANGE_RECORDS = new MarshallerContextName<>("MAX_CHANGE_RECORDS");
+    public static final MarshallerContextName<Integer> MARSHALLER_CHANGE_RECORD = new MarshallerContextName<>("CHANGE_RECORD", () -> 0);
+    public static final MarshallerContextName<Runnable> MARSHALLER_ON_WRITTEN = new MarshallerContextName<>("ON_WRITTEN", () -> () -> {
+    });
 
     public static final String MARSHALLER_FORMAT_JSON = "json";
 
@@ -32,6 +32,8 @@ import java.util.function.Supplier;
 
 import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceMarshallerFactory;
 import org.jbpm.util.JbpmClassLoaderUtil;
+import org.kie.kogito.observability.EngineObserver;
+import org.kie.kogito.observability.EngineObservers;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceReadMode;
@@ -42,6 +44,12 @@ import org.slf4j.LoggerFactory;
 public class ProcessInstanceMarshallerService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessInstanceMarshallerService.class);
 
+    /**
+     * Number of change records appended to a process instance snapshot before a new snapshot is written,
+     * change records are disabled when not positive.
+     */
+    public static final String MAX_CHANGE_RECORDS_PROPERTY = "kogito.persistence.max-change-records";
+
     private List<ObjectMarshallerStrategy> strats;
 
     private List<ProcessInstanceMarshallerListener> listeners;
@@ -53,6 +61,8 @@ public class ProcessInstanceMarshallerService {
     private List<NodeInstanceReader> readers;
     private List<NodeInstanceWriter> writers;
 
+    private Integer maxChangeRecords;
+
     public class Builder {
 
         public Builder() {
@@ -107,6 +117,21 @@ public class ProcessInstanceMarshallerService {
             return this;
         }
 
+        /**
+         * Enables change records, see {@link ProcessInstanceMarshallerService#marshallProcessInstanceChanges(ProcessInstance)}.
+         * 
+         * @param maxChangeRecords number of change records written before compacting them into a new snapshot,
+         *        change records are disabled when not positive
+         */
+        public Builder withChangeRecords(int maxChangeRecords) {
+            ProcessInstanceMarshallerService.this.maxChangeRecords = maxChangeRecords > 0 ? maxChangeRecords : null;
+            return this;
+        }
+
+        public Builder withDefaultChangeRecords() {
+            return withChangeRecords(Integer.getInteger(MAX_CHANGE_RECORDS_PROPERTY, 0));
+        }
+
         public Builder withListeners(ProcessInstanceMarshallerListener... strategies) {
             for (ProcessInstanceMarshallerListener strategy : strategies) {
                 ProcessInstanceMarshallerService.this.listeners.add(strategy);
@@ -151,6 +176,17 @@ public class ProcessInstanceMarshallerService {
     }
 
     public byte[] marshallProcessInstance(ProcessInstance<?> processInstance) {
+        EngineObserver observer = EngineObservers.current();
+        if (observer == null) {
+            return doMarshallProcessInstance(processInstance);
+        }
+        long start = System.nanoTime();
+        byte[] data = doMarshallProcessInstance(processInstance);
+        observer.onMarshall(processInstance.process().id(), System.nanoTime() - start, data.length);
+        return data;
+    }
+
+    private byte[] doMarshallProcessInstance(ProcessInstance<?> processInstance) {
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
             MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
@@ -165,7 +201,61 @@ public class ProcessInstanceMarshallerService {
         }
     }
 
+    public boolean isChangeRecordsEnabled() {
+        return maxChangeRecords != null;
+    }
+
+    /**
+     * Marshalls the process instance as a change record when change records are enabled, the instance was read or written
+     * by this service as a snapshot log and the maximum number of change records has not been reached.
+     * A change record only holds the variables and node instances modified since the instance was last read or written,
+     * and must be appended to the stored payload. Otherwise the whole instance is returned as a new snapshot, which is
+     * a plain process instance when change records are disabled. Either way {@link MarshalledProcessInstance#written()}
+     * has to be called once the payload is stored.
+     */
+    public MarshalledProcessInstance marshallProcessInstanceChanges(ProcessInstance<?> processInstance) {
+        if (!isChangeRecordsEnabled()) {
+            return new MarshalledProcessInstance(marshallProcessInstance(processInstance), 0);
+        }
+        EngineObserver observer = EngineObservers.current();
+        if (observer == null) {
+            return doMarshallProcessInstanceChanges(processInstance);
+        }
+        long start = System.nanoTime();
+        MarshalledProcessInstance marshalled = doMarshallProcessInstanceChanges(processInstance);
+        observer.onMarshall(processInstance.process().id(), System.nanoTime() - start, marshalled.payload().length);
+        return marshalled;
+    }
+
+    private MarshalledProcessInstance doMarshallProcessInstanceChanges(ProcessInstance<?> processInstance) {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            MarshallerWriterContext context = processInstanceMarshallerFactory.newWriterContext(baos);
+            context.set(MarshallerContextName.MARSHALLER_PROCESS, processInstance.process());
+            context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
+            context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_WRITER, this.writers.toArray(NodeInstanceWriter[]::new));
+            setupEnvironment(context);
+            context.set(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS, maxChangeRecords);
+            org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
+            marshaller.writeProcessInstance(context, processInstance);
+            return new MarshalledProcessInstance(baos.toByteArray(), context.get(MarshallerContextName.MARSHALLER_CHANGE_RECORD),
+                    context.get(MarshallerContextName.MARSHALLER_ON_WRITTEN));
+        } catch (Exception e) {
+            throw new ProcessInstanceMarshallerException("Error while marshalling process instance", e);
+        }
+    }
+
     public ProcessInstance<?> unmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
+        EngineObserver observer = EngineObservers.current();
+        if (observer == null) {
+            return doUnmarshallProcessInstance(data, process, readOnly);
+        }
+        long start = System.nanoTime();
+        ProcessInstance<?> processInstance = doUnmarshallProcessInstance(data, process, readOnly);
+        observer.onUnmarshall(process.id(), System.nanoTime() - start, data.length);
+        return processInstance;
+    }
+
+    private ProcessInstance<?> doUnmarshallProcessInstance(byte[] data, Process<?> process, boolean readOnly) {
         try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
             MarshallerReaderContext context = processInstanceMarshallerFactory.newReaderContext(bais);
             context.set(MarshallerContextName.MARSHALLER_PROCESS, process);
@@ -173,6 +263,7 @@ public class ProcessInstanceMarshallerService {
             context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
             context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
             setupEnvironment(context);
+            context.set(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS, maxChangeRecords);
             org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller = processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
             return marshaller.readProcessInstance(context);
         } catch (Exception e) {
@@ -200,6 +291,7 @@ public class ProcessInstanceMarshallerService {
                 context.set(MarshallerContextName.MARSHALLER_INSTANCE_LISTENER, listeners.toArray(ProcessInstanceMarshallerListener[]::new));
                 context.set(MarshallerContextName.MARSHALLER_NODE_INSTANCE_READER, this.readers.toArray(NodeInstanceReader[]::new));
                 setupEnvironment(context);
+                context.set(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS, maxChangeRecords);
                 org.jbpm.flow.serialization.ProcessInstanceMarshaller marshaller =
                         processInstanceMarshallerFactory.newKogitoProcessInstanceMarshaller();
                 marshaller.reloadProcessInstance(context, processInstance);
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.NodeInstance;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.Variable;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.WorkflowContext;
+
+/**
+ * Snapshot log of a process instance: the {@link MarshalledProcessInstance#SNAPSHOT_LOG_MARKER} followed by the length
+ * delimited snapshot and the length delimited change records appended after it.
+ * <p>
+ * A change record is a whole process instance message except for the variables and node instances of its context,
+ * where only the ones added or modified since the previous record are kept. Removed variables are written with
+ * their name only and removed node instances with their id only.
+ */
+final class ProtobufProcessInstanceChanges {
+
+    /**
+     * Metadata of the process instance holding the last {@link Snapshot} read or stored, the base of the next change record.
+     */
+    static final String SNAPSHOT_METADATA = "ProtobufProcessInstanceSnapshot";
+
+    record Snapshot(ProcessInstance message, int changeRecords, boolean log) {
+    }
+
+    private ProtobufProcessInstanceChanges() {
+    }
+
+    static Snapshot read(InputStream input) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(input, 1);
+        int first = in.read();
+        if (first != MarshalledProcessInstance.SNAPSHOT_LOG_MARKER) {
+            if (first != -1) {
+                in.unread(first);
+            }
+            return new Snapshot(ProcessInstance.parseFrom(in), 0, false);
+        }
+        ProcessInstance snapshot = ProcessInstance.parseDelimitedFrom(in);
+        if (snapshot == null) {
+            throw new IOException("Snapshot log without snapshot");
+        }
+        Map<String, Variable> variables = new HashMap<>();
+        snapshot.getContext().getVariableList().forEach(variable -> variables.put(variable.getName(), variable));
+        Map<String, NodeInstance> nodeInstances = new HashMap<>();
+        snapshot.getContext().getNodeInstanceList().forEach(nodeInstance -> nodeInstances.put(nodeInstance.getId(), nodeInstance));
+
+        ProcessInstance last = snapshot;
+        int changeRecords = 0;
+        ProcessInstance change;
+        while ((change = ProcessInstance.parseDelimitedFrom(in)) != null) {
+            for (Variable variable : change.getContext().getVariableList()) {
+                if (variable.hasValue()) {
+                    variables.put(variable.getName(), variable);
+                } else {
+                    variables.remove(variable.getName());
+                }
+            }
+            for (NodeInstance nodeInstance : change.getContext().getNodeInstanceList()) {
+                if (nodeInstance.getNodeId().isEmpty()) {
+                    nodeInstances.remove(nodeInstance.getId());
+                } else {
+                    nodeInstances.put(nodeInstance.getId(), nodeInstance);
+                }
+            }
+            last = change;
+            changeRecords++;
+        }
+        if (changeRecords == 0) {
+            return new Snapshot(snapshot, 0, true);
+        }
+        // same order the writer uses, so the result does not depend on how many change records were replayed
+        WorkflowContext context = last.getContext().toBuilder()
+                .clearVariable().addAllVariable(variables.values().stream().sorted(Comparator.comparing(Variable::getName)).toList())
+                .clearNodeInstance().addAllNodeInstance(nodeInstances.values().stream().sorted(Comparator.comparing(NodeInstance::getId)).toList())
+                .build();
+        return new Snapshot(last.toBuilder().setContext(context).build(), changeRecords, true);
+    }
+
+    static ProcessInstance diff(ProcessInstance previous, ProcessInstance current) {
+        WorkflowContext.Builder context = current.getContext().toBuilder().clearVariable().clearNodeInstance();
+
+        Map<String, Variable> previousVariables = new LinkedHashMap<>();
+        previous.getContext().getVariableList().forEach(variable -> previousVariables.put(variable.getName(), variable));
+        for (Variable variable : current.getContext().getVariableList()) {
+            if (!variable.equals(previousVariables.remove(variable.getName()))) {
+                context.addVariable(variable);
+            }
+        }
+        previousVariables.keySet().forEach(name -> context.addVariable(Variable.newBuilder().setName(name)));
+
+        Map<String, NodeInstance> previousNodeInstances = new LinkedHashMap<>();
+        previous.getContext().getNodeInstanceList().forEach(nodeInstance -> previousNodeInstances.put(nodeInstance.getId(), nodeInstance));
+        for (NodeInstance nodeInstance : current.getContext().getNodeInstanceList()) {
+            if (!nodeInstance.equals(previousNodeInstances.remove(nodeInstance.getId()))) {
+                context.addNodeInstance(nodeInstance);
+            }
+        }
+        previousNodeInstances.keySet().forEach(id -> context.addNodeInstance(NodeInstance.newBuilder().setId(id)));
+
+        return current.toBuilder().setContext(context).build();
+    }
+
+    static void writeSnapshot(ProcessInstance snapshot, OutputStream output) throws IOException {
+        output.write(MarshalledProcessInstance.SNAPSHOT_LOG_MARKER);
+        snapshot.writeDelimitedTo(output);
+    }
+
+    static void writeChangeRecord(ProcessInstance change, OutputStream output) throws IOException {
+        change.writeDelimitedTo(output);
+    }
+}
@@ -32,6 +32,7 @@ import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.MarshallerReaderContext;
 import org.jbpm.flow.serialization.NodeInstanceReader;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceChanges.Snapshot;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf.HeaderEntry;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
@@ -87,7 +88,12 @@ public class ProtobufProcessInstanceReader {
             JsonFormat.parser().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).ignoringUnknownFields().merge(new InputStreamReader(input), builder);
             processInstanceProtobuf = builder.build();
         } else {
-            processInstanceProtobuf = KogitoProcessInstanceProtobuf.ProcessInstance.parseFrom(input);
+            // plain messages and snapshot logs are both read, whether change records are enabled or not
+            Snapshot snapshot = ProtobufProcessInstanceChanges.read(input);
+            processInstanceProtobuf = snapshot.message();
+            if (this.context.get(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS) != null) {
+                ruleFlowProcessInstance.setMetaData(ProtobufProcessInstanceChanges.SNAPSHOT_METADATA, snapshot);
+            }
         }
         return buildWorkflow(processInstanceProtobuf);
     }
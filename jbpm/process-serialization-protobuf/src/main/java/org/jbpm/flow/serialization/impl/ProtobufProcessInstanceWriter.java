@@ -36,6 +36,7 @@ import org.jbpm.flow.serialization.MarshallerContextName;
 import org.jbpm.flow.serialization.MarshallerWriterContext;
 import org.jbpm.flow.serialization.NodeInstanceWriter;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerListener;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceChanges.Snapshot;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf;
 import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf.HeaderEntry;
 import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf;
@@ -168,13 +169,39 @@ public class ProtobufProcessInstanceWriter {
         KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf = instance.build();
 
         String format = this.context.get(MARSHALLER_FORMAT);
+        Integer maxChangeRecords = this.context.get(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS);
         if (format != null && MARSHALLER_FORMAT_JSON.equals(format)) {
             os.write(JsonFormat.printer().usingTypeRegistry(protobufTypeRegistryFactoryInstance().create()).print(piProtobuf).getBytes());
+        } else if (maxChangeRecords != null) {
+            writeSnapshotLog(workFlow, piProtobuf, maxChangeRecords, os);
         } else {
             piProtobuf.writeTo(os);
         }
     }
 
+    private void writeSnapshotLog(WorkflowProcessInstanceImpl workFlow, KogitoProcessInstanceProtobuf.ProcessInstance piProtobuf, int maxChangeRecords, OutputStream os) throws IOException {
+        Snapshot previous = (Snapshot) workFlow.getMetaData().get(ProtobufProcessInstanceChanges.SNAPSHOT_METADATA);
+        if (previous != null && previous.log() && previous.changeRecords() < maxChangeRecords) {
+            KogitoProcessInstanceProtobuf.ProcessInstance change = ProtobufProcessInstanceChanges.diff(previous.message(), piProtobuf);
+            // once the change is about as big as the whole instance, compacting costs nothing more
+            if (change.getSerializedSize() * 2 < piProtobuf.getSerializedSize()) {
+                int changeRecord = previous.changeRecords() + 1;
+                LOGGER.debug("writing change record {} of process instance {}", changeRecord, workFlow.getId());
+                ProtobufProcessInstanceChanges.writeChangeRecord(change, os);
+                onWritten(workFlow, new Snapshot(piProtobuf, changeRecord, true));
+                return;
+            }
+        }
+        ProtobufProcessInstanceChanges.writeSnapshot(piProtobuf, os);
+        onWritten(workFlow, new Snapshot(piProtobuf, 0, true));
+    }
+
+    private void onWritten(WorkflowProcessInstanceImpl workFlow, Snapshot snapshot) {
+        context.set(MarshallerContextName.MARSHALLER_CHANGE_RECORD, snapshot.changeRecords());
+        // the instance keeps diffing against the stored base until the store reports the write succeeded
+        context.set(MarshallerContextName.MARSHALLER_ON_WRITTEN, () -> workFlow.setMetaData(ProtobufProcessInstanceChanges.SNAPSHOT_METADATA, snapshot));
+    }
+
     private KogitoTypesProtobuf.SLAContext buildSLAContext(int slaCompliance, Date slaDueDate, String slaTimerId) {
         KogitoTypesProtobuf.SLAContext.Builder slaContextBuilder = KogitoTypesProtobuf.SLAContext.newBuilder()
                 .setSlaCompliance(slaCompliance);
@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl.marshallers;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jbpm.flow.serialization.ObjectMarshallerStrategy;
+import org.jbpm.flow.serialization.ProcessInstanceMarshallerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.google.protobuf.Any;
+import com.google.protobuf.UnsafeByteOperations;
+
+/**
+ * Marshals plain java beans as Jackson Smile instead of java serialization, which is several times bigger and
+ * slower to read back. Only types whose whole declared structure can be rebuilt by Jackson are accepted: beans
+ * with a no-arg constructor (or records) whose properties are writable and typed with simple values, enums,
+ * containers of those or other accepted beans, and whose non-transient fields are all backed by one of those
+ * properties, so nothing java serialization would keep is dropped. Values that cannot be written faithfully at
+ * runtime (cyclic graphs, a subclass stored in a bean property) fall back to java serialization.
+ * <p>
+ * Writing is disabled by default since it changes the persisted format: it should be enabled through
+ * <code>kogito.serialization.smile.enabled</code> once every node reading the store runs a version able to read it.
+ * The class of the value is part of the type url of the {@link Any}, so reading is not dependent on the strategy
+ * being enabled.
+ */
+public class ProtobufSmileObjectMarshallerStrategy implements ObjectMarshallerStrategy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProtobufSmileObjectMarshallerStrategy.class);
+
+    public static final String ENABLED_PROPERTY = "kogito.serialization.smile.enabled";
+
+    static final String TYPE_URL_PREFIX = "type.kie.org/smile/";
+
+    private final boolean enabled;
+
+    private final ObjectMapper mapper;
+
+    private final ObjectMarshallerStrategy fallback = new ProtobufObjectMarshallerStrategy();
+
+    private final ClassValue<Boolean> supported = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isSupportedBean(type, new HashSet<>());
+        }
+    };
+
+    private volatile ClassCache classCache;
+
+    public ProtobufSmileObjectMarshallerStrategy() {
+        this(Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "false")));
+    }
+
+    ProtobufSmileObjectMarshallerStrategy(boolean enabled) {
+        this.enabled = enabled;
+        this.mapper = SmileMapper.builder(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build())
+                .enable(MapperFeature.PROPAGATE_TRANSIENT_MARKER)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.WRITE_DATES_WITH_ZONE_ID)
+                .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addModule(new SimpleModule().setSerializerModifier(new ExactTypeSerializerModifier()))
+                .findAndAddModules()
+                .build();
+    }
+
+    @Override
+    public Integer order() {
+        // before java serialization, after the strategies dedicated to a type
+        return 5;
+    }
+
+    @Override
+    public boolean acceptForMarshalling(Object value) {
+        return enabled && value != null && supported.get(value.getClass());
+    }
+
+    @Override
+    public boolean acceptForUnmarshalling(Any value) {
+        return value.getTypeUrl().startsWith(TYPE_URL_PREFIX);
+    }
+
+    @Override
+    public Any marshall(Object unmarshalled) {
+        byte[] content;
+        try {
+            content = mapper.writeValueAsBytes(unmarshalled);
+        } catch (JsonProcessingException e) {
+            LOGGER.debug("Value of type {} cannot be written as smile, using java serialization", unmarshalled.getClass().getName(), e);
+            return fallback.marshall(unmarshalled);
+        }
+        return Any.newBuilder()
+                .setTypeUrl(TYPE_URL_PREFIX + unmarshalled.getClass().getName())
+                .setValue(UnsafeByteOperations.unsafeWrap(content))
+                .build();
+    }
+
+    @Override
+    public Object unmarshall(Any data) {
+        String className = data.getTypeUrl().substring(TYPE_URL_PREFIX.length());
+        try {
+            return mapper.readValue(data.getValue().newInput(), loadClass(className));
+        } catch (IOException | ClassNotFoundException e) {
+            throw new ProcessInstanceMarshallerException("Error trying to unmarshall a value of type " + className, e);
+        }
+    }
+
+    private Class<?> loadClass(String className) throws ClassNotFoundException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) {
+            loader = ProtobufSmileObjectMarshallerStrategy.class.getClassLoader();
+        }
+        ClassCache cache = classCache;
+        if (cache == null || cache.loader() != loader) {
+            cache = new ClassCache(loader, new ConcurrentHashMap<>());
+            classCache = cache;
+        }
+        Class<?> type = cache.classes().get(className);
+        if (type == null) {
+            type = Class.forName(className, false, loader);
+            cache.classes().put(className, type);
+        }
+        return type;
+    }
+
+    private boolean isSupportedBean(Class<?> type, Set<Class<?>> visiting) {
+        if (type.isInterface() || type.isArray() || type.isEnum() || type.isPrimitive() || type.isAnonymousClass() || type.isLocalClass()
+                || Modifier.isAbstract(type.getModifiers()) || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) || isJdkType(type)) {
+            return false;
+        }
+        if (!visiting.add(type)) {
+            return true;
+        }
+        JavaType javaType = mapper.constructType(type);
+        BeanDescription deserialization = mapper.getDeserializationConfig().introspect(javaType);
+        if (!type.isRecord() && deserialization.findDefaultConstructor() == null) {
+            return false;
+        }
+        List<BeanPropertyDefinition> properties = mapper.getSerializationConfig().introspect(javaType).findProperties();
+        if (properties.isEmpty()) {
+            return false;
+        }
+        Set<String> covered = new HashSet<>();
+        for (BeanPropertyDefinition property : properties) {
+            // records are rebuilt through their canonical constructor
+            if ((!type.isRecord() && !property.couldDeserialize()) || !isSupportedType(property.getPrimaryType(), visiting)) {
+                return false;
+            }
+            covered.add(property.hasField() ? property.getField().getName() : property.getInternalName());
+        }
+        return type.isRecord() || coversAllFields(type, covered);
+    }
+
+    /**
+     * Java serialization keeps every non-transient field, while Jackson only writes the properties it discovers, so
+     * a private field without accessors or an ignored one would be silently lost.
+     */
+    private static boolean coversAllFields(Class<?> type, Set<String> covered) {
+        for (Class<?> current = type; current != null && !isJdkType(current); current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic() && !covered.contains(field.getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupportedType(JavaType type, Set<Class<?>> visiting) {
+        Class<?> raw = type.getRawClass();
+        if (type.isContainerType()) {
+            if (!raw.isArray() && !isJdkType(raw)) {
+                return false;
+            }
+            if (type.isMapLikeType() && !isSimple(type.getKeyType().getRawClass()) && !type.getKeyType().isEnumType()) {
+                return false;
+            }
+            return isSupportedType(type.getContentType(), visiting);
+        }
+        if (type.isReferenceType()) {
+            return raw == Optional.class && isSupportedType(type.getContentType(), visiting);
+        }
+        return raw.isPrimitive() || raw.isEnum() || isSimple(raw) || isSupportedBean(raw, visiting);
+    }
+
+    private static boolean isSimple(Class<?> type) {
+        return type == String.class || type == Boolean.class || type == Character.class
+                || (Number.class.isAssignableFrom(type) && (type.getPackageName().equals("java.lang") || type.getPackageName().equals("java.math")))
+                || type == UUID.class || type == URI.class || type == Date.class || type.getPackageName().equals("java.time")
+                || JsonNode.class.isAssignableFrom(type);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private record ClassCache(ClassLoader loader, Map<String, Class<?>> classes) {
+    }
+
+    /**
+     * Jackson writes the runtime class of a property value but reads back the declared one, so a subclass stored
+     * in a bean property would be silently narrowed. Such values fail the marshalling, which then falls back
+     * to java serialization.
+     */
+    private static class ExactTypeSerializerModifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+            beanProperties.replaceAll(writer -> needsCheck(writer.getType()) ? new ExactTypePropertyWriter(writer) : writer);
+            return beanProperties;
+        }
+    }
+
+    private static class ExactTypePropertyWriter extends BeanPropertyWriter {
+
+        private static final long serialVersionUID = 1L;
+
+        ExactTypePropertyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            checkExactType(get(bean), getType(), gen);
+            super.serializeAsField(bean, gen, prov);
+        }
+    }
+
+    private static boolean needsCheck(JavaType type) {
+        if (type.isContainerType() || type.isReferenceType()) {
+            return needsCheck(type.getContentType());
+        }
+        Class<?> raw = type.getRawClass();
+        return !raw.isPrimitive() && !raw.isEnum() && !isSimple(raw) && !Modifier.isFinal(raw.getModifiers());
+    }
+
+    private static void checkExactType(Object value, JavaType type, JsonGenerator gen) throws JsonMappingException {
+        if (value == null || !needsCheck(type)) {
+            return;
+        }
+        if (type.isReferenceType()) {
+            checkExactType(((Optional<?>) value).orElse(null), type.getContentType(), gen);
+        } else if (value instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                checkExactType(item, type.getContentType(), gen);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            for (Object item : map.values()) {
+                checkExactType(item, type.getContentType(), gen);
+            }
+        } else if (value instanceof Object[] array) {
+            for (Object item : array) {
+                checkExactType(item, type.getContentType(), gen);
+            }
+        } else if (value.getClass() != type.getRawClass()) {
+            throw JsonMappingException.from(gen, "Value of type " + value.getClass().getName() + " stored as " + type.getRawClass().getName());
+        }
+    }
+}
@@ -62,6 +62,7 @@ import org.jbpm.workflow.core.node.EndNode;
 import org.jbpm.workflow.core.node.HumanTaskNode;
 import org.jbpm.workflow.core.node.StartNode;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -244,6 +245,86 @@ public class ProcessInstanceMarshallTest {
                 .hasFieldOrPropertyWithValue("process", toMarshall.getProcess());
     }
 
+    @Test
+    public void testProcessInstanceChangeRecords() throws Exception {
+        RuleFlowProcessInstance instance = buildInstance(false);
+        VariableScopeInstance variables = (VariableScopeInstance) instance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+        String document = "x".repeat(10000);
+        variables.internalSetVariable("document", document);
+        variables.internalSetVariable("counter", 1);
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        assertThat(writeChangeRecord(instance, stored)).isZero();
+        int snapshotSize = stored.size();
+
+        variables.internalSetVariable("counter", 2);
+        assertThat(writeChangeRecord(instance, stored)).isEqualTo(1);
+        assertThat(stored.size() - snapshotSize).isLessThan(snapshotSize / 10);
+
+        variables.internalSetVariable("counter", 3);
+        assertThat(writeChangeRecord(instance, stored)).isEqualTo(2);
+        // the maximum number of change records has been reached, a new snapshot replaces the stored one
+        variables.internalSetVariable("counter", 4);
+        ByteArrayOutputStream compacted = new ByteArrayOutputStream();
+        assertThat(writeChangeRecord(instance, compacted)).isZero();
+
+        for (ByteArrayOutputStream payload : List.of(stored, compacted)) {
+            VariableScopeInstance unmarshalledVariables = readVariables(payload);
+            assertThat(unmarshalledVariables.getVariable("document")).isEqualTo(document);
+            assertThat(unmarshalledVariables.getVariable("counter")).isEqualTo(payload == stored ? 3 : 4);
+        }
+    }
+
+    @Test
+    public void testProcessInstanceChangeRecordsAfterFailedWrite() throws Exception {
+        RuleFlowProcessInstance instance = buildInstance(false);
+        VariableScopeInstance variables = (VariableScopeInstance) instance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+        variables.internalSetVariable("document", "x".repeat(10000));
+        variables.internalSetVariable("status", "created");
+        variables.internalSetVariable("counter", 1);
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        assertThat(writeChangeRecord(instance, stored)).isZero();
+
+        variables.internalSetVariable("status", "approved");
+        assertThat(writeChangeRecord(instance, stored, false)).isEqualTo(1);
+
+        // the failed change record never reached the store, the next one is still diffed against the stored snapshot
+        variables.internalSetVariable("counter", 2);
+        assertThat(writeChangeRecord(instance, stored)).isEqualTo(1);
+
+        VariableScopeInstance unmarshalledVariables = readVariables(stored);
+        assertThat(unmarshalledVariables.getVariable("status")).isEqualTo("approved");
+        assertThat(unmarshalledVariables.getVariable("counter")).isEqualTo(2);
+    }
+
+    private static int writeChangeRecord(RuleFlowProcessInstance instance, ByteArrayOutputStream stored) throws Exception {
+        return writeChangeRecord(instance, stored, true);
+    }
+
+    private static int writeChangeRecord(RuleFlowProcessInstance instance, ByteArrayOutputStream stored, boolean written) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProtobufProcessMarshallerWriteContext ctxOut = new ProtobufProcessMarshallerWriteContext(out);
+        ctxOut.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxOut.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        ctxOut.set(MarshallerContextName.MARSHALLER_MAX_CHANGE_RECORDS, 2);
+        new ProtobufProcessInstanceWriter(ctxOut).writeProcessInstance(instance, out);
+        if (written) {
+            out.writeTo(stored);
+            ctxOut.get(MarshallerContextName.MARSHALLER_ON_WRITTEN).run();
+        }
+        return ctxOut.get(MarshallerContextName.MARSHALLER_CHANGE_RECORD);
+    }
+
+    private static VariableScopeInstance readVariables(ByteArrayOutputStream stored) throws Exception {
+        ByteArrayInputStream in = new ByteArrayInputStream(stored.toByteArray());
+        ProtobufMarshallerReaderContext ctxIn = new ProtobufMarshallerReaderContext(in);
+        ctxIn.set(MarshallerContextName.OBJECT_MARSHALLING_STRATEGIES, ObjectMarshallerStrategyHelper.defaultStrategies());
+        ctxIn.set(MarshallerContextName.MARSHALLER_PROCESS, process);
+        RuleFlowProcessInstance unmarshalled = new ProtobufProcessInstanceReader(ctxIn).read(in);
+        return (VariableScopeInstance) unmarshalled.getContextInstance(VariableScope.VARIABLE_SCOPE);
+    }
+
     @ParameterizedTest
     @MethodSource
     @NullSource
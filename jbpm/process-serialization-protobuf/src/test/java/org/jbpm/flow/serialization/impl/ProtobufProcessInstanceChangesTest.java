@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.jbpm.flow.serialization.MarshalledProcessInstance;
+import org.jbpm.flow.serialization.impl.ProtobufProcessInstanceChanges.Snapshot;
+import org.jbpm.flow.serialization.protobuf.KogitoProcessInstanceProtobuf.ProcessInstance;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.NodeInstance;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.Variable;
+import org.jbpm.flow.serialization.protobuf.KogitoTypesProtobuf.WorkflowContext;
+import org.junit.jupiter.api.Test;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.StringValue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtobufProcessInstanceChangesTest {
+
+    @Test
+    void testPlainProcessInstanceIsRead() throws IOException {
+        ProcessInstance instance = instance(1, context(variable("a", "1"), nodeInstance("n1")));
+
+        Snapshot snapshot = ProtobufProcessInstanceChanges.read(new ByteArrayInputStream(instance.toByteArray()));
+
+        assertThat(snapshot.log()).isFalse();
+        assertThat(snapshot.changeRecords()).isZero();
+        assertThat(snapshot.message()).isEqualTo(instance);
+    }
+
+    @Test
+    void testChangeRecordOnlyHoldsChanges() {
+        ProcessInstance previous = instance(1, context(variable("a", "1"), variable("b", "2"), variable("c", "3"), nodeInstance("n1"), nodeInstance("n2")));
+        ProcessInstance current = instance(2, context(variable("a", "1"), variable("c", "4"), variable("d", "5"), nodeInstance("n2"), nodeInstance("n3")));
+
+        ProcessInstance change = ProtobufProcessInstanceChanges.diff(previous, current);
+
+        assertThat(change.getState()).isEqualTo(2);
+        assertThat(change.getContext().getVariableList()).containsExactly(variable("c", "4"), variable("d", "5"), Variable.newBuilder().setName("b").build());
+        assertThat(change.getContext().getNodeInstanceList()).containsExactly(nodeInstance("n3"), NodeInstance.newBuilder().setId("n1").build());
+    }
+
+    @Test
+    void testChangeRecordsAreAppliedToSnapshot() throws IOException {
+        ProcessInstance first = instance(1, context(variable("a", "1"), variable("b", "2"), nodeInstance("n1")));
+        ProcessInstance second = instance(1, context(variable("a", "10"), variable("b", "2"), nodeInstance("n1"), nodeInstance("n2")));
+        ProcessInstance third = instance(2, context(variable("a", "10"), variable("c", "3"), nodeInstance("n0"), nodeInstance("n2")));
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        ProtobufProcessInstanceChanges.writeSnapshot(first, log);
+        ProtobufProcessInstanceChanges.writeChangeRecord(ProtobufProcessInstanceChanges.diff(first, second), log);
+        ProtobufProcessInstanceChanges.writeChangeRecord(ProtobufProcessInstanceChanges.diff(second, third), log);
+        byte[] payload = log.toByteArray();
+
+        assertThat(MarshalledProcessInstance.isSnapshotLog(payload)).isTrue();
+        Snapshot snapshot = ProtobufProcessInstanceChanges.read(new ByteArrayInputStream(payload));
+
+        assertThat(snapshot.log()).isTrue();
+        assertThat(snapshot.changeRecords()).isEqualTo(2);
+        assertThat(snapshot.message()).isEqualTo(third);
+    }
+
+    private static ProcessInstance instance(int state, WorkflowContext context) {
+        return ProcessInstance.newBuilder().setId("instance").setProcessId("process").setState(state).setContext(context).build();
+    }
+
+    private static WorkflowContext context(Object... items) {
+        WorkflowContext.Builder context = WorkflowContext.newBuilder();
+        for (Object item : items) {
+            if (item instanceof Variable variable) {
+                context.addVariable(variable);
+            } else {
+                context.addNodeInstance((NodeInstance) item);
+            }
+        }
+        return context.build();
+    }
+
+    private static Variable variable(String name, String value) {
+        return Variable.newBuilder().setName(name).setDataType(String.class.getName()).setValue(Any.pack(StringValue.of(value))).build();
+    }
+
+    private static NodeInstance nodeInstance(String id) {
+        return NodeInstance.newBuilder().setId(id).setNodeId("node-" + id).setContent(Any.pack(StringValue.of(id))).build();
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jbpm.flow.serialization.impl.marshallers;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.protobuf.Any;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtobufSmileObjectMarshallerStrategyTest {
+
+    private final ProtobufSmileObjectMarshallerStrategy strategy = new ProtobufSmileObjectMarshallerStrategy(true);
+
+    @Test
+    void testRoundTripIsSmallerThanJavaSerialization() {
+        Person person = person();
+
+        assertThat(strategy.acceptForMarshalling(person)).isTrue();
+        Any marshalled = strategy.marshall(person);
+        assertThat(marshalled.getTypeUrl()).isEqualTo(ProtobufSmileObjectMarshallerStrategy.TYPE_URL_PREFIX + Person.class.getName());
+        assertThat(marshalled.getValue().size()).isLessThan(new ProtobufObjectMarshallerStrategy().marshall(person).getValue().size());
+
+        assertThat(strategy.acceptForUnmarshalling(marshalled)).isTrue();
+        assertThat(strategy.unmarshall(marshalled)).usingRecursiveComparison().isEqualTo(person);
+    }
+
+    @Test
+    void testRecordRoundTrip() {
+        Team team = new Team("team", List.of(new Address("street", 1)));
+
+        assertThat(strategy.acceptForMarshalling(team)).isTrue();
+        assertThat(strategy.unmarshall(strategy.marshall(team))).isEqualTo(team);
+    }
+
+    @Test
+    void testTypesJacksonCannotRebuildAreNotAccepted() {
+        assertThat(strategy.acceptForMarshalling("value")).isFalse();
+        assertThat(strategy.acceptForMarshalling(new Date())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new ArrayList<>())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new Untyped())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new Immutable("value"))).isFalse();
+        assertThat(new ProtobufSmileObjectMarshallerStrategy(false).acceptForMarshalling(person())).isFalse();
+    }
+
+    @Test
+    void testTypesWithFieldsJacksonWouldDropAreNotAccepted() {
+        assertThat(strategy.acceptForMarshalling(new HiddenField())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new IgnoredField())).isFalse();
+        assertThat(strategy.acceptForMarshalling(new TransientField())).isTrue();
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        assertThat(new ProtobufSmileObjectMarshallerStrategy().acceptForMarshalling(person())).isFalse();
+    }
+
+    @Test
+    void testSubclassInPropertyFallsBackToJavaSerialization() {
+        Person person = person();
+        person.getAddresses().add(new ExtendedAddress());
+
+        Any marshalled = strategy.marshall(person);
+        assertThat(strategy.acceptForUnmarshalling(marshalled)).isFalse();
+        assertThat(new ProtobufObjectMarshallerStrategy().unmarshall(marshalled)).usingRecursiveComparison().isEqualTo(person);
+    }
+
+    @Test
+    void testCyclicGraphFallsBackToJavaSerialization() {
+        Person person = person();
+        person.setFriend(person);
+
+        Any marshalled = strategy.marshall(person);
+        assertThat(strategy.acceptForUnmarshalling(marshalled)).isFalse();
+        assertThat(((Person) new ProtobufObjectMarshallerStrategy().unmarshall(marshalled)).getFriend().getName()).isEqualTo(person.getName());
+    }
+
+    @Test
+    void testDisabledStrategyStillReadsSmileValues() {
+        Any marshalled = strategy.marshall(person());
+        ProtobufSmileObjectMarshallerStrategy disabled = new ProtobufSmileObjectMarshallerStrategy(false);
+
+        assertThat(disabled.acceptForUnmarshalling(marshalled)).isTrue();
+        assertThat(disabled.unmarshall(marshalled)).usingRecursiveComparison().isEqualTo(person());
+    }
+
+    private static Person person() {
+        Person person = new Person();
+        person.setName("john");
+        person.setBirthDate(LocalDate.of(1990, 5, 17));
+        person.setLastUpdate(ZonedDateTime.of(2024, 1, 1, 10, 30, 0, 123456789, ZoneId.of("Europe/Madrid")));
+        person.setSalary(new BigDecimal("1234.50"));
+        person.setStatus(Status.ACTIVE);
+        person.getAddresses().add(new Address("main street", 10));
+        person.getAddresses().add(new Address("second street", 20));
+        person.getScores().put("math", 8);
+        return person;
+    }
+
+    public enum Status {
+        ACTIVE,
+        INACTIVE
+    }
+
+    public static class Address implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String street;
+        private int number;
+
+        public Address() {
+        }
+
+        public Address(String street, int number) {
+            this.street = street;
+            this.number = number;
+        }
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(String street) {
+            this.street = street;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Address address && number == address.number && Objects.equals(street, address.street);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(street, number);
+        }
+    }
+
+    public static class ExtendedAddress extends Address {
+
+        private static final long serialVersionUID = 1L;
+
+        private String zipCode = "28001";
+
+        public String getZipCode() {
+            return zipCode;
+        }
+
+        public void setZipCode(String zipCode) {
+            this.zipCode = zipCode;
+        }
+    }
+
+    public static class Person implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String name;
+        private LocalDate birthDate;
+        private ZonedDateTime lastUpdate;
+        private BigDecimal salary;
+        private Status status;
+        private List<Address> addresses = new ArrayList<>();
+        private Map<String, Integer> scores = new HashMap<>();
+        private Person friend;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public LocalDate getBirthDate() {
+            return birthDate;
+        }
+
+        public void setBirthDate(LocalDate birthDate) {
+            this.birthDate = birthDate;
+        }
+
+        public ZonedDateTime getLastUpdate() {
+            return lastUpdate;
+        }
+
+        public void setLastUpdate(ZonedDateTime lastUpdate) {
+            this.lastUpdate = lastUpdate;
+        }
+
+        public BigDecimal getSalary() {
+            return salary;
+        }
+
+        public void setSalary(BigDecimal salary) {
+            this.salary = salary;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public List<Address> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(List<Address> addresses) {
+            this.addresses = addresses;
+        }
+
+        public Map<String, Integer> getScores() {
+            return scores;
+        }
+
+        public void setScores(Map<String, Integer> scores) {
+            this.scores = scores;
+        }
+
+        public Person getFriend() {
+            return friend;
+        }
+
+        public void setFriend(Person friend) {
+            this.friend = friend;
+        }
+    }
+
+    public record Team(String name, List<Address> members) {
+    }
+
+    public static class Untyped {
+
+        private Object value;
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+    }
+
+    public static class Immutable {
+
+        private final String value;
+
+        public Immutable(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    public static class HiddenField {
+
+        private String value;
+        private String hidden;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class IgnoredField {
+
+        private String value;
+        @JsonIgnore
+        private String ignored;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public String getIgnored() {
+            return ignored;
+        }
+
+        public void setIgnored(String ignored) {
+            this.ignored = ignored;
+        }
+    }
+
+    public static class TransientField {
+
+        private String value;
+        private transient String cached;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
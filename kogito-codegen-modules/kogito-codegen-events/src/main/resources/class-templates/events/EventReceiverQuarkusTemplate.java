@@ -47,12 +47,7 @@ public class $ClassName$ extends AbstractQuarkusCloudEventReceiver<$Type$> {
     @Incoming("$ChannelName$")
     @Blocking
     public CompletionStage<Void> onEvent(Message<$Type$> payload) {
-        try {
-            produce(payload);
-        } catch (Exception ex) {
-            return payload.nack(ex);
-        }
-        return payload.ack();
+        return produceAndAcknowledge(payload);
     }
 
     protected EventUnmarshaller<$Type$> getEventUnmarshaller() {
@@ -21,7 +21,9 @@ package com.myspace.demo;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 
@@ -54,6 +56,9 @@ import org.kie.kogito.auth.IdentityProvider;
 import org.kie.kogito.auth.IdentityProviders;
 import org.kie.kogito.auth.SecurityPolicy;
 
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+
 @Path("/$name$")
 public class $Type$ReactiveResource {
 
@@ -82,15 +87,20 @@ public class $Type$ReactiveResource {
 
     @GET()
     @Produces(MediaType.APPLICATION_JSON)
-    public CompletionStage<List<$Type$Output>> getResources_$name$() {
-        return CompletableFuture.supplyAsync(() -> processService.getProcessInstanceOutput(process));
+    public Multi<$Type$Output> getResources_$name$(@QueryParam("after") String after,
+                                                  @QueryParam("size") Integer size) {
+        // the page is read on a worker thread and each instance is sent as soon as it is mapped
+        Supplier<Stream<$Type$Output>> page = () -> processService.streamProcessInstanceOutput(process, after, size);
+        return Multi.createFrom().resource(page, stream -> Multi.createFrom().items(() -> stream))
+                .withFinalizer(Stream::close)
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
     }
 
     @GET()
     @Path("/{id}")
     @Produces(MediaType.APPLICATION_JSON)
     public CompletionStage<$Type$Output> getResource_$name$(@PathParam("id") String id) {
-        return CompletableFuture.supplyAsync(() -> processService.findById(process, id).orElseThrow(NotFoundException::new));
+        return processService.findByIdAsync(process, id).thenApply(output -> output.orElseThrow(NotFoundException::new));
     }
 
     @DELETE()
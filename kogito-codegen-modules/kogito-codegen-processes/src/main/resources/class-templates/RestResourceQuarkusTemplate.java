@@ -18,10 +18,12 @@
  */
 package com.myspace.demo;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.io.InputStream;
 import java.util.Scanner;
 
@@ -49,6 +51,7 @@ import jakarta.ws.rs.core.Response.Status;
 import jakarta.ws.rs.HeaderParam;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -64,6 +67,9 @@ import org.kie.kogito.auth.SecurityPolicy;
 
 import jakarta.ws.rs.core.StreamingOutput;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 
 @Path("/$name$")
 @Tag(name = "Process - $name$", description = "$documentation$")
@@ -77,6 +83,9 @@ public class $Type$Resource {
     @Inject
     IdentityProviderFactory identityProviderFactory;
 
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
     @Produces(MediaType.APPLICATION_JSON)
     @Consumes(MediaType.APPLICATION_JSON)
@@ -103,8 +112,10 @@ public class $Type$Resource {
     @GET
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_HTML})
     @Operation(operationId = "getAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
-    public Response getResources_$name$(@Context HttpHeaders headers) {
-        List<$Type$Output> out = processService.getProcessInstanceOutput(process);
+    @APIResponse(responseCode = "200", description = "Process instances ordered by id", content={@Content(mediaType = MediaType.APPLICATION_JSON, schema=@Schema(type = SchemaType.ARRAY, implementation=$Type$Output.class))})
+    public Response getResources_$name$(@Context HttpHeaders headers,
+                                        @QueryParam("after") String after,
+                                        @QueryParam("size") Integer size) {
         boolean wantsHtml = headers.getAcceptableMediaTypes()
             .stream()
             .anyMatch(mt -> mt.isCompatible(MediaType.TEXT_HTML_TYPE) && !mt.isWildcardType() && !mt.isWildcardSubtype());
@@ -127,7 +138,21 @@ public class $Type$Resource {
         return Response.ok(stream, MediaType.TEXT_HTML_TYPE).build();
         }
 
-        return Response.ok(out, MediaType.APPLICATION_JSON_TYPE).build();
+        // instances are serialized incrementally as they are read (backends may still load the whole page).
+        // A failure while streaming leaves the array open and is rethrown, so the response is aborted
+        // instead of ending as a well formed but truncated list
+        StreamingOutput json = os -> {
+            try (Stream<$Type$Output> out = processService.streamProcessInstanceOutput(process, after, size)) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(os).disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+                for (Iterator<$Type$Output> it = out.iterator(); it.hasNext();) {
+                    objectMapper.writeValue(generator, it.next());
+                }
+                generator.writeEndArray();
+                generator.close();
+            }
+        };
+        return Response.ok(json, MediaType.APPLICATION_JSON_TYPE).build();
     }
 
     @GET
@@ -18,10 +18,12 @@
  */
 package com.myspace.demo;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jbpm.util.JsonSchemaUtil;
 import org.kie.kogito.process.Process;
@@ -48,10 +50,18 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
 @RestController
 @RequestMapping("/$name$")
@@ -66,6 +76,9 @@ public class $Type$Resource {
     @Autowired
     IdentityProviderFactory identityProviderFactory;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     @Operation(operationId = "createProcessInstance_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
     public ResponseEntity<$Type$Output> createResource_$name$(@RequestHeader HttpHeaders httpHeaders,
@@ -86,8 +99,24 @@ public class $Type$Resource {
 
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(operationId = "getAllProcessInstances_$name$", summary = "$documentation$", description = "$processInstanceDescription$")
-    public List<$Type$Output> getResources_$name$() {
-        return processService.getProcessInstanceOutput(process);
+    @ApiResponse(responseCode = "200", description = "Process instances ordered by id", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = $Type$Output.class))))
+    public ResponseEntity<StreamingResponseBody> getResources_$name$(@RequestParam(value = "after", required = false) String after,
+                                                                     @RequestParam(value = "size", required = false) Integer size) {
+        // instances are serialized incrementally as they are read (backends may still load the whole page).
+        // A failure while streaming leaves the array open and is rethrown, so the response is aborted
+        // instead of ending as a well formed but truncated list
+        StreamingResponseBody json = os -> {
+            try (Stream<$Type$Output> out = processService.streamProcessInstanceOutput(process, after, size)) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(os).disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.writeStartArray();
+                for (Iterator<$Type$Output> it = out.iterator(); it.hasNext();) {
+                    objectMapper.writeValue(generator, it.next());
+                }
+                generator.writeEndArray();
+                generator.close();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
     }
 
     @GetMapping(value = "/schema", produces = MediaType.APPLICATION_JSON_VALUE)
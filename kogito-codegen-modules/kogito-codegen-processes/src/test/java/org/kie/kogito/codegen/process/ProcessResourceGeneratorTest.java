@@ -23,6 +23,7 @@ import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.function.Predicate;
 
 import org.assertj.core.api.ListAssert;
@@ -36,6 +37,8 @@ import org.kie.api.definition.process.Process;
 import org.kie.kogito.codegen.api.AddonsConfig;
 import org.kie.kogito.codegen.api.context.KogitoBuildContext;
 import org.kie.kogito.codegen.api.context.impl.JavaKogitoBuildContext;
+import org.kie.kogito.codegen.api.context.impl.MockQuarkusKogitoBuildContext;
+import org.kie.kogito.codegen.core.GeneratorConfig;
 import org.kie.kogito.codegen.faultTolerance.FaultToleranceAnnotator;
 import org.kie.kogito.codegen.faultTolerance.FaultToleranceUtil;
 import org.kie.kogito.internal.process.runtime.KogitoWorkflowProcess;
@@ -310,6 +313,47 @@ public class ProcessResourceGeneratorTest {
         });
     }
 
+    @ParameterizedTest
+    @MethodSource("org.kie.kogito.codegen.api.utils.KogitoContextTestUtils#restContextBuilders")
+    void testGetResourcesIsPagedAndDocumented(KogitoBuildContext.Builder contextBuilder) {
+        String fileName = "src/test/resources/ProcessWithDocumentation.bpmn";
+        KogitoWorkflowProcess process = parseProcess(fileName);
+        String outputType = new ModelClassGenerator(contextBuilder.build(), process).simpleName() + "Output";
+
+        MethodDeclaration method = getResourceClassDeclaration(contextBuilder, fileName).getMethods().stream()
+                .filter(m -> m.getNameAsString().startsWith("getResources_"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(method.getParameterByName("after")).isPresent();
+        assertThat(method.getParameterByName("size")).isPresent();
+        AnnotationExpr response = method.getAnnotations().stream()
+                .filter(annotation -> annotation.getNameAsString().equalsIgnoreCase("ApiResponse"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(response.toString()).contains("\"200\"", outputType + ".class");
+        // the array is not closed automatically when streaming fails, so a truncated list is not well formed
+        assertThat(method.getBody().orElseThrow().toString()).contains("AUTO_CLOSE_JSON_CONTENT");
+    }
+
+    @Test
+    void testReactiveGetResourcesIsStreamed() {
+        Properties properties = new Properties();
+        properties.setProperty(GeneratorConfig.KOGITO_REST_RESOURCE_TYPE_PROP, "reactive");
+        KogitoBuildContext.Builder contextBuilder = MockQuarkusKogitoBuildContext.builder().withApplicationProperties(properties);
+        String fileName = "src/test/resources/ProcessWithDocumentation.bpmn";
+        KogitoWorkflowProcess process = parseProcess(fileName);
+        String outputType = new ModelClassGenerator(contextBuilder.build(), process).simpleName() + "Output";
+
+        MethodDeclaration method = getResourceClassDeclaration(contextBuilder, fileName).getMethods().stream()
+                .filter(m -> m.getNameAsString().startsWith("getResources_"))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(method.getType().asString()).isEqualTo("Multi<" + outputType + ">");
+        assertThat(method.getBody().orElseThrow().toString()).contains("streamProcessInstanceOutput", "Stream::close");
+    }
+
     void testOpenApiDocumentation(KogitoBuildContext.Builder contextBuilder, String fileName, String expectedSummary, String expectedDescription) {
         ClassOrInterfaceDeclaration classDeclaration = getResourceClassDeclaration(contextBuilder, fileName);
 
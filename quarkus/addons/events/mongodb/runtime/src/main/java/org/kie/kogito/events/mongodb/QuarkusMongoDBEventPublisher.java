@@ -24,6 +24,7 @@ import org.kie.kogito.mongodb.transaction.AbstractTransactionManager;
 import com.mongodb.client.MongoClient;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -56,11 +57,24 @@ public class QuarkusMongoDBEventPublisher extends MongoDBEventPublisher {
     @ConfigProperty(name = "kogito.events.usertasks.collection", defaultValue = "kogitousertaskinstancesevents")
     String quarkusUserTasksEventsCollectionName;
 
+    @Inject
+    @ConfigProperty(name = "kogito.events.write-behind.max-events", defaultValue = "0")
+    int quarkusWriteBehindMaxEvents;
+
+    @Inject
+    @ConfigProperty(name = "kogito.events.write-behind.flush-interval", defaultValue = "100")
+    long quarkusWriteBehindFlushInterval;
+
     @PostConstruct
     public void setupQuarkusMongoDBEventPublisher() {
         super.configure();
     }
 
+    @PreDestroy
+    public void closeQuarkusMongoDBEventPublisher() {
+        super.close();
+    }
+
     @Override
     protected MongoClient mongoClient() {
         return this.quarkusMongoClient;
@@ -95,4 +109,14 @@ public class QuarkusMongoDBEventPublisher extends MongoDBEventPublisher {
     protected String userTasksEventsCollection() {
         return this.quarkusUserTasksEventsCollectionName;
     }
+
+    @Override
+    protected int writeBehindMaxEvents() {
+        return this.quarkusWriteBehindMaxEvents;
+    }
+
+    @Override
+    protected long writeBehindFlushIntervalMillis() {
+        return this.quarkusWriteBehindFlushInterval;
+    }
 }
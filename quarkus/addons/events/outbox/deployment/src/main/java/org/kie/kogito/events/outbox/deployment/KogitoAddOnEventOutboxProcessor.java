@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox.deployment;
+
+import org.kie.kogito.quarkus.addons.common.deployment.KogitoCapability;
+import org.kie.kogito.quarkus.addons.common.deployment.RequireCapabilityKogitoAddOnProcessor;
+
+import io.quarkus.deployment.annotations.BuildProducer;
+import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.RunTimeConfigurationDefaultBuildItem;
+
+class KogitoAddOnEventOutboxProcessor extends RequireCapabilityKogitoAddOnProcessor {
+
+    private static final String FEATURE = "kie-addon-events-outbox-extension";
+
+    // relayed events are deleted once published, so the messaging publishers must wait for the broker acknowledgement
+    private static final String[] PROPAGATE_ERRORS_PROPERTIES = {
+            "kogito.events.processinstances.errors.propagate",
+            "kogito.events.processdefinitions.errors.propagate",
+            "kogito.events.usertasks.errors.propagate"
+    };
+
+    @BuildStep
+    FeatureBuildItem feature() {
+        return new FeatureBuildItem(FEATURE);
+    }
+
+    @BuildStep
+    void blockingPublishers(BuildProducer<RunTimeConfigurationDefaultBuildItem> defaults) {
+        for (String property : PROPAGATE_ERRORS_PROPERTIES) {
+            defaults.produce(new RunTimeConfigurationDefaultBuildItem(property, "true"));
+        }
+    }
+
+    KogitoAddOnEventOutboxProcessor() {
+        super(KogitoCapability.PROCESSES);
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox.quarkus;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.events.outbox.JDBCOutboxStore;
+import org.kie.kogito.events.outbox.OutboxEventPublisher;
+import org.kie.kogito.events.outbox.OutboxStore;
+import org.kie.kogito.persistence.jdbc.transaction.AbstractTransactionManager;
+
+import jakarta.enterprise.inject.Disposes;
+import jakarta.enterprise.inject.Instance;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+
+/**
+ * Produces the {@link OutboxEventPublisher} taking over the event publishers of the application. Events are stored in the
+ * {@link OutboxStore} bean when the application provides one, in the <code>event_outbox</code> table otherwise. That
+ * table is written through the unit of work connection of the JDBC persistence when its transaction manager is enabled,
+ * through the default data source (joining the JTA transaction) otherwise. The relay is stopped on shutdown.
+ */
+public class QuarkusOutboxEventPublisherProducer {
+
+    @Produces
+    @Singleton
+    public OutboxEventPublisher outboxEventPublisher(Instance<OutboxStore> stores, Instance<DataSource> dataSources,
+            Instance<AbstractTransactionManager> transactionManagers,
+            @ConfigProperty(name = "kogito.events.outbox.batch-size", defaultValue = "500") int batchSize,
+            @ConfigProperty(name = "kogito.events.outbox.poll-interval", defaultValue = "500") long pollInterval,
+            @ConfigProperty(name = "kogito.events.outbox.max-attempts", defaultValue = "10") int maxAttempts) {
+        OutboxStore store = stores.isResolvable() ? stores.get() : new JDBCOutboxStore(dataSource(dataSources, transactionManagers));
+        return new OutboxEventPublisher(store, batchSize, Duration.ofMillis(pollInterval), maxAttempts);
+    }
+
+    private static DataSource dataSource(Instance<DataSource> dataSources, Instance<AbstractTransactionManager> transactionManagers) {
+        if (transactionManagers.isResolvable() && transactionManagers.get().enabled()) {
+            return transactionManagers.get().getDataSource();
+        }
+        return dataSources.get();
+    }
+
+    public void closeOutboxEventPublisher(@Disposes OutboxEventPublisher publisher) {
+        publisher.close();
+    }
+}
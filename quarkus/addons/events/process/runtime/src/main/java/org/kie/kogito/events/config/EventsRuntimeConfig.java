@@ -69,4 +69,13 @@ public interface EventsRuntimeConfig {
     @WithName("usertasks.errors.propagate")
     @WithDefault("false")
     boolean isUserTasksPropagateError();
+
+    /**
+     * Emit event payloads as byte arrays instead of strings, saving the intermediate string copy.
+     * The outgoing channels must then be configured with a byte array serializer, for instance
+     * value.serializer=org.apache.kafka.common.serialization.ByteArraySerializer with Kafka.
+     */
+    @WithName("binary-payload")
+    @WithDefault("false")
+    boolean isBinaryPayload();
 }
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.events.process;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -122,11 +123,19 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
 
     protected void publishToTopic(AbstractMessageEmitter emitter, Object event) {
         logger.debug("About to publish event {} to topic {}", event, emitter.topic);
-        Message<String> message = null;
+        Message<?> message = null;
         try {
-            String eventString = json.writeValueAsString(event);
-            logger.debug("Event payload '{}'", eventString);
-            message = decorateMessage(ContextAwareMessage.of(eventString));
+            if (eventsRuntimeConfig.isBinaryPayload()) {
+                byte[] eventBytes = json.writeValueAsBytes(event);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Event payload '{}'", new String(eventBytes, StandardCharsets.UTF_8));
+                }
+                message = decorateMessage(ContextAwareMessage.of(eventBytes));
+            } else {
+                String eventString = json.writeValueAsString(event);
+                logger.debug("Event payload '{}'", eventString);
+                message = decorateMessage(ContextAwareMessage.of(eventString));
+            }
         } catch (Exception e) {
             logger.error("Error while creating event to topic {} for event {}", emitter.topic, event);
         }
@@ -135,11 +144,11 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
         }
     }
 
-    protected Message<String> decorateMessage(Message<String> message) {
+    protected <P> Message<P> decorateMessage(Message<P> message) {
         return decoratorProvider != null ? decoratorProvider.decorate(message) : message;
     }
 
-    protected static abstract class AbstractMessageEmitter implements Consumer<Message<String>> {
+    protected static abstract class AbstractMessageEmitter implements Consumer<Message<?>> {
 
         protected final String topic;
         protected final MutinyEmitter<String> emitter;
@@ -148,6 +157,15 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
             this.emitter = emitter;
             this.topic = topic;
         }
+
+        /**
+         * The emitter type only selects the default serializer of the channel, a byte array payload is sent as is
+         * when binary payloads are enabled.
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected static Message<String> toChannelMessage(Message<?> message) {
+            return (Message) message;
+        }
     }
 
     private static class BlockingMessageEmitter extends AbstractMessageEmitter {
@@ -156,8 +174,8 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
         }
 
         @Override
-        public void accept(Message<String> message) {
-            emitter.sendMessageAndAwait(message);
+        public void accept(Message<?> message) {
+            emitter.sendMessageAndAwait(toChannelMessage(message));
             logger.debug("Successfully published message {}", message.getPayload());
         }
     }
@@ -168,18 +186,18 @@ public abstract class AbstractMessagingEventPublisher implements EventPublisher
         }
 
         @Override
-        public void accept(Message<String> message) {
-            emitter.sendMessageAndForget(message
+        public void accept(Message<?> message) {
+            emitter.sendMessageAndForget(toChannelMessage(message
                     .withAck(() -> onAck(message))
-                    .withNack(reason -> onNack(reason, message)));
+                    .withNack(reason -> onNack(reason, message))));
         }
 
-        private CompletionStage<Void> onAck(Message<String> message) {
+        private CompletionStage<Void> onAck(Message<?> message) {
             logger.debug("Successfully published message {}", message.getPayload());
             return CompletableFuture.completedFuture(null);
         }
 
-        private CompletionStage<Void> onNack(Throwable reason, Message<String> message) {
+        private CompletionStage<Void> onNack(Throwable reason, Message<?> message) {
             logger.error("Error while publishing message {}", message, reason);
             return CompletableFuture.completedFuture(null);
         }
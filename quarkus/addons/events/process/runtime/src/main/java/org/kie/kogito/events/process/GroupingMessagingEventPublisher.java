@@ -69,7 +69,13 @@ public class GroupingMessagingEventPublisher extends AbstractMessagingEventPubli
         DataEvent<?> firstEvent = (DataEvent<?>) entry.getValue().iterator().next();
         URI source = firstEvent.getSource();
         if (firstEvent instanceof UserTaskInstanceDataEvent) {
-            publishToTopic(entry.getKey(), new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue()));
+            MultipleUserTaskInstanceDataEvent sent = new MultipleUserTaskInstanceDataEvent(source, (Collection<UserTaskInstanceDataEvent<?>>) entry.getValue());
+            if (binary) {
+                sent.setDataContentType(MultipleUserTaskInstanceDataEvent.BINARY_CONTENT_TYPE);
+                sent.setCompressed(compress);
+                sent.setMarshallFlags(KogitoMarshallEventFlag.buildFlags(EnumSet.allOf(KogitoMarshallEventFlag.class)));
+            }
+            publishToTopic(entry.getKey(), sent);
         } else if (firstEvent instanceof ProcessInstanceDataEvent) {
             MultipleProcessInstanceDataEvent sent = new MultipleProcessInstanceDataEvent(source, (Collection<ProcessInstanceDataEvent<? extends KogitoMarshallEventSupport>>) entry.getValue());
             if (binary) {
@@ -364,6 +364,23 @@ public class GroupingMessagingEventPublisherTest {
         verify(mockEmitter).accept(decoratedMessage);
     }
 
+    @Test
+    public void testPublishToTopicWithBinaryPayload() throws Exception {
+        Object event = new Object();
+        byte[] eventBytes = "eventString".getBytes();
+        when(eventsRuntimeConfig.isBinaryPayload()).thenReturn(true);
+        when(json.writeValueAsBytes(event)).thenReturn(eventBytes);
+        when(decoratorProvider.decorate(any(Message.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reactiveMessagingEventPublisher.init();
+
+        AbstractMessagingEventPublisher.AbstractMessageEmitter mockEmitter = mock(AbstractMessagingEventPublisher.AbstractMessageEmitter.class);
+        reactiveMessagingEventPublisher.publishToTopic(mockEmitter, event);
+
+        verify(json, never()).writeValueAsString(event);
+        verify(mockEmitter).accept(argThat(message -> message.getPayload() == eventBytes));
+    }
+
     @Test
     public void testPublishWithMultipleEventTypesSomeWithoutConsumers() {
         DataEvent<String> processInstanceEvent = mock(ProcessInstanceDataEvent.class);
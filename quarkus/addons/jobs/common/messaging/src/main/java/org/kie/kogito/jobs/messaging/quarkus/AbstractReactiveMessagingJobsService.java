@@ -19,6 +19,8 @@
 package org.kie.kogito.jobs.messaging.quarkus;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.microprofile.reactive.messaging.Emitter;
@@ -26,12 +28,15 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.jobs.JobDescription;
 import org.kie.kogito.jobs.JobsService;
 import org.kie.kogito.jobs.JobsServiceException;
+import org.kie.kogito.jobs.api.JobRequestBatcher;
+import org.kie.kogito.jobs.api.JobRequestBatcher.JobRequest;
 import org.kie.kogito.jobs.service.api.Job;
 import org.kie.kogito.jobs.service.api.JobLookupId;
 import org.kie.kogito.jobs.service.api.event.CreateJobEvent;
 import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.event.JobCloudEvent;
 import org.kie.kogito.jobs.service.api.event.serialization.JobCloudEventSerializer;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,16 +64,30 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
 
     private ObjectMapper objectMapper;
 
+    private JobRequestBatcher<JobCloudEvent<?>> batcher;
+
     protected AbstractReactiveMessagingJobsService() {
     }
 
     protected AbstractReactiveMessagingJobsService(URI serviceUrl,
             ObjectMapper objectMapper,
             Emitter<String> eventsEmitter) {
+        this(serviceUrl, objectMapper, eventsEmitter, null);
+    }
+
+    /**
+     * @param unitOfWorkManager when not null, the job events issued during a unit of work are emitted together
+     *        when it ends and their acknowledgements are awaited at once
+     */
+    protected AbstractReactiveMessagingJobsService(URI serviceUrl,
+            ObjectMapper objectMapper,
+            Emitter<String> eventsEmitter,
+            UnitOfWorkManager unitOfWorkManager) {
         this.serviceUrl = serviceUrl;
         this.eventsEmitter = eventsEmitter;
         this.objectMapper = objectMapper;
         this.serializer = new JobCloudEventSerializer(objectMapper);
+        this.batcher = new JobRequestBatcher<>(unitOfWorkManager, this::emitEvents);
     }
 
     @Override
@@ -79,7 +98,7 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
                 .source(serviceUrl)
                 .job(job)
                 .build();
-        emitEvent(event);
+        batcher.create(job.getId(), event);
         return job.getId();
     }
 
@@ -90,7 +109,7 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
                 .source(serviceUrl)
                 .lookupId(JobLookupId.fromId(id))
                 .build();
-        emitEvent(event);
+        batcher.cancel(id, event);
         return true;
     }
 
@@ -106,28 +125,51 @@ public abstract class AbstractReactiveMessagingJobsService implements JobsServic
 
     protected abstract String getAddonName();
 
+    void emitEvents(List<JobRequest<JobCloudEvent<?>>> requests) {
+        if (requests.size() == 1) {
+            emitEvent(requests.get(0).payload());
+            return;
+        }
+        // all the events are sent before waiting for their acknowledgements
+        List<Uni<Void>> emissions = new ArrayList<>(requests.size());
+        for (JobRequest<JobCloudEvent<?>> request : requests) {
+            emissions.add(emission(request.payload()));
+        }
+        Uni.join().all(emissions).andFailFast().await().indefinitely();
+        LOGGER.trace("Successfully emitted {} JobCloudEvents to channel {}", requests.size(), KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL);
+    }
+
     void emitEvent(JobCloudEvent<?> event) {
+        emission(event).await().indefinitely();
+        LOGGER.trace("Successfully emitted JobCloudEvent {} to channel {}", event, KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL);
+    }
+
+    private Uni<Void> emission(JobCloudEvent<?> event) {
         LOGGER.debug("About to emit JobCloudEvent {} to channel {}", event, KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL);
+        String json;
         try {
-            String json = serializer.serialize(event);
-            LOGGER.trace("JobCloudEvent json value: {}", json);
-            Context context = Vertx.currentContext();
-            Uni<Void> uni = Uni.createFrom().emitter(e -> eventsEmitter.send(decorate(ContextAwareMessage.of(json)
-                    .withAck(() -> {
-                        e.complete(null);
-                        return CompletableFuture.completedFuture(null);
-                    }).withNack(reason -> {
-                        e.fail(reason);
-                        return CompletableFuture.completedFuture(null);
-                    }))));
-            if (context != null) {
-                uni = uni.emitOn(runnable -> context.runOnContext(x -> runnable.run()));
-            }
-            uni.await().indefinitely();
-            LOGGER.trace("Successfully emitted JobCloudEvent {} to channel {}", event, KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL);
+            json = serializer.serialize(event);
         } catch (Exception e) {
-            throw new JobsServiceException("Error while emitting JobCloudEvent event to channel: " +
-                    KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL + ", event: " + event, e);
+            return Uni.createFrom().failure(emissionError(event, e));
         }
+        LOGGER.trace("JobCloudEvent json value: {}", json);
+        Context context = Vertx.currentContext();
+        Uni<Void> uni = Uni.createFrom().emitter(e -> eventsEmitter.send(decorate(ContextAwareMessage.of(json)
+                .withAck(() -> {
+                    e.complete(null);
+                    return CompletableFuture.completedFuture(null);
+                }).withNack(reason -> {
+                    e.fail(reason);
+                    return CompletableFuture.completedFuture(null);
+                }))));
+        if (context != null) {
+            uni = uni.emitOn(runnable -> context.runOnContext(x -> runnable.run()));
+        }
+        return uni.onFailure().transform(e -> emissionError(event, e));
+    }
+
+    private static JobsServiceException emissionError(JobCloudEvent<?> event, Throwable cause) {
+        return new JobsServiceException("Error while emitting JobCloudEvent event to channel: " +
+                KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL + ", event: " + event, cause);
     }
 }
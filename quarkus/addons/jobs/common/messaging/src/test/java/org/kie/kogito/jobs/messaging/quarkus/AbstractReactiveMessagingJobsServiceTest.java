@@ -41,6 +41,9 @@ import org.kie.kogito.jobs.service.api.event.DeleteJobEvent;
 import org.kie.kogito.jobs.service.api.recipient.http.HttpRecipient;
 import org.kie.kogito.jobs.service.api.recipient.http.HttpRecipientJsonPayloadData;
 import org.kie.kogito.jobs.service.api.schedule.timer.TimerSchedule;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -53,6 +56,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -277,6 +282,33 @@ public abstract class AbstractReactiveMessagingJobsServiceTest<T extends Abstrac
                 .hasCause(fatalError);
     }
 
+    @Test
+    protected void jobEventsEmittedTogetherWhenUnitOfWorkEnds() throws Exception {
+        UnitOfWork unitOfWork = mock(UnitOfWork.class);
+        UnitOfWorkManager unitOfWorkManager = mock(UnitOfWorkManager.class);
+        doReturn(unitOfWork).when(unitOfWorkManager).currentUnitOfWork();
+        AbstractReactiveMessagingJobsService batchingService = new AbstractReactiveMessagingJobsService(SERVICE_URI, objectMapper, eventsEmitter, unitOfWorkManager) {
+            @Override
+            protected String getAddonName() {
+                return "test";
+            }
+        };
+        doReturn(SERIALIZED_EVENT).when(objectMapper).writeValueAsString(any(CreateJobEvent.class));
+        doReturn(SERIALIZED_SECOND_EVENT).when(objectMapper).writeValueAsString(any(DeleteJobEvent.class));
+        doReturn(JSON_PAYLOAD).when(objectMapper).valueToTree(any(JobCallbackPayload.class));
+
+        batchingService.scheduleJob(mockProcessInstanceJobDescription());
+        batchingService.cancelJob(JOB_ID_STRING);
+        verify(eventsEmitter, never()).send(any(Message.class));
+
+        ArgumentCaptor<WorkUnit> workUnitCaptor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(unitOfWork).intercept(workUnitCaptor.capture());
+        workUnitCaptor.getValue().perform();
+
+        verify(eventsEmitter, times(2)).send(messageCaptor.capture());
+        assertThat(messageCaptor.getAllValues()).extracting(Message::getPayload).containsExactly(SERIALIZED_EVENT, SERIALIZED_SECOND_EVENT);
+    }
+
     protected ProcessInstanceJobDescription mockProcessInstanceJobDescription() {
         return ProcessInstanceJobDescription.newProcessInstanceJobDescriptionBuilder()
                 .id(JOB_ID)
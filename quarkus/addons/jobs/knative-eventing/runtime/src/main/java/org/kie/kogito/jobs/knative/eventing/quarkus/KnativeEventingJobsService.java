@@ -27,10 +27,12 @@ import org.eclipse.microprofile.reactive.messaging.Message;
 import org.eclipse.microprofile.reactive.messaging.OnOverflow;
 import org.kie.kogito.addon.quarkus.common.reactive.messaging.http.CloudEventHttpOutgoingDecorator;
 import org.kie.kogito.jobs.messaging.quarkus.AbstractReactiveMessagingJobsService;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -44,7 +46,13 @@ public class KnativeEventingJobsService extends AbstractReactiveMessagingJobsSer
     public KnativeEventingJobsService(
             @ConfigProperty(name = "kogito.service.url") URI serviceUrl,
             ObjectMapper objectMapper,
-            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) @OnOverflow(value = OnOverflow.Strategy.UNBOUNDED_BUFFER) Emitter<String> eventsEmitter) {
+            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) @OnOverflow(value = OnOverflow.Strategy.UNBOUNDED_BUFFER) Emitter<String> eventsEmitter,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.batch.enabled", defaultValue = "true") boolean batchEnabled) {
+        super(serviceUrl, objectMapper, eventsEmitter, batchEnabled && unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null);
+    }
+
+    public KnativeEventingJobsService(URI serviceUrl, ObjectMapper objectMapper, Emitter<String> eventsEmitter) {
         super(serviceUrl, objectMapper, eventsEmitter);
     }
 
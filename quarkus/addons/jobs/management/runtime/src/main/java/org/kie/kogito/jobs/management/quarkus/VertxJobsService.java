@@ -19,11 +19,17 @@
 package org.kie.kogito.jobs.management.quarkus;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.jobs.JobDescription;
+import org.kie.kogito.jobs.api.JobRequestBatcher;
+import org.kie.kogito.jobs.api.JobRequestBatcher.JobRequest;
 import org.kie.kogito.jobs.management.RestJobsService;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,8 +37,12 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.jackson.DatabindCodec;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 
@@ -43,6 +53,11 @@ import jakarta.inject.Inject;
 
 import static org.kie.kogito.jobs.service.api.serialization.SerializationUtils.registerDescriptors;
 
+/**
+ * Jobs Service client based on the Vert.x web client. Job requests issued during a unit of work are sent together
+ * when it ends, requests of different jobs are sent concurrently up to <code>kogito.jobs-service.max-concurrent-requests</code>
+ * and requests failing with a connection error or a server error are retried with an exponential delay.
+ */
 @ApplicationScoped
 public class VertxJobsService extends RestJobsService {
 
@@ -54,15 +69,45 @@ public class VertxJobsService extends RestJobsService {
 
     private WebClient client;
 
+    private Instance<UnitOfWorkManager> unitOfWorkManager;
+
+    private boolean batchEnabled;
+
+    private int maxConcurrentRequests;
+
+    private int maxRetries;
+
+    private long retryDelay;
+
+    private JobRequestBatcher<Job> batcher;
+
+    private final Deque<Deque<JobRequest<Job>>> waiting = new ArrayDeque<>();
+
+    private int inFlight;
+
     @Inject
     public VertxJobsService(@ConfigProperty(name = "kogito.jobs-service.url") String jobServiceUrl,
             @ConfigProperty(name = "kogito.service.url") String callbackEndpoint,
             Vertx vertx,
             Instance<WebClient> providedWebClient,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.batch.enabled", defaultValue = "true") boolean batchEnabled,
+            @ConfigProperty(name = "kogito.jobs-service.max-concurrent-requests", defaultValue = "16") int maxConcurrentRequests,
+            @ConfigProperty(name = "kogito.jobs-service.max-retries", defaultValue = "3") int maxRetries,
+            @ConfigProperty(name = "kogito.jobs-service.retry-delay", defaultValue = "100") long retryDelay) {
         super(jobServiceUrl, callbackEndpoint, objectMapper);
         this.vertx = vertx;
         this.providedWebClient = providedWebClient;
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.batchEnabled = batchEnabled;
+        this.maxConcurrentRequests = Math.max(1, maxConcurrentRequests);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryDelay = retryDelay;
+    }
+
+    public VertxJobsService(String jobServiceUrl, String callbackEndpoint, Vertx vertx, Instance<WebClient> providedWebClient, ObjectMapper objectMapper) {
+        this(jobServiceUrl, callbackEndpoint, vertx, providedWebClient, objectMapper, null, false, 16, 3, 100);
     }
 
     VertxJobsService() {
@@ -82,9 +127,12 @@ public class VertxJobsService extends RestJobsService {
             this.client = WebClient.create(vertx,
                     new WebClientOptions()
                             .setDefaultHost(jobServiceURL.getHost())
-                            .setDefaultPort(jobServiceURL.getPort()));
+                            .setDefaultPort(jobServiceURL.getPort())
+                            .setMaxPoolSize(maxConcurrentRequests));
             LOGGER.debug("Creating new instance of web client for host {} and port {}", jobServiceURL.getHost(), jobServiceURL.getPort());
         }
+        UnitOfWorkManager manager = batchEnabled && unitOfWorkManager != null && unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null;
+        this.batcher = new JobRequestBatcher<>(manager, this::send);
     }
 
     @Override
@@ -92,27 +140,13 @@ public class VertxJobsService extends RestJobsService {
         String callback = getCallbackEndpoint(description);
         LOGGER.debug("Job to be scheduled {} with callback URL {}", description, callback);
         final Job job = buildJob(description, callback);
-        client.post(JOBS_PATH).sendJson(job, res -> {
-            int status = res.result() != null ? res.result().statusCode() : 0;
-            if (res.succeeded() && status == 200) {
-                LOGGER.debug("Creating of the job {} done with status code {} ", job, status);
-            } else {
-                LOGGER.error("Scheduling of job {} failed with response code {}", job, status, res.cause());
-            }
-        });
+        batcher.create(job.getId(), job);
         return job.getId();
     }
 
     @Override
     public boolean cancelJob(String id) {
-        client.delete(JOBS_PATH + "/" + id).send(res -> {
-            if (res.succeeded() && (res.result().statusCode() == 200 || res.result().statusCode() == 404)) {
-                LOGGER.debug("Canceling of the job {} done with status code {} ", id, res.result().statusCode());
-            } else {
-                LOGGER.error("Canceling of job {} failed with response code {}", id, res.result().statusCode(), res.cause());
-            }
-        });
-
+        batcher.cancel(id, null);
         return true;
     }
 
@@ -121,16 +155,76 @@ public class VertxJobsService extends RestJobsService {
         String callback = getCallbackEndpoint(jobDescription);
         LOGGER.debug("Job to be rescheduled {} with callback URL {}", jobDescription, callback);
         final Job job = buildJob(jobDescription, callback);
-        client.patch(JOBS_PATH).sendJson(job, res -> {
-            int status = res.result() != null ? res.result().statusCode() : 0;
-            if (res.succeeded() && status == 200) {
-                LOGGER.debug("Creating of the job {} done with status code {} ", job, status);
-                System.out.println(res.result().bodyAsString());
+        batcher.update(job.getId(), job);
+        return "Job Rescheduled";
+    }
+
+    private void send(List<JobRequest<Job>> requests) {
+        synchronized (waiting) {
+            // requests of the same job are adjacent and must be sent one after the other
+            Deque<JobRequest<Job>> chain = null;
+            for (JobRequest<Job> request : requests) {
+                if (chain == null || !chain.peekLast().id().equals(request.id())) {
+                    chain = new ArrayDeque<>();
+                    waiting.add(chain);
+                }
+                chain.add(request);
+            }
+        }
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Deque<JobRequest<Job>> chain;
+            synchronized (waiting) {
+                if (inFlight >= maxConcurrentRequests || waiting.isEmpty()) {
+                    return;
+                }
+                chain = waiting.poll();
+                inFlight++;
+            }
+            sendNext(chain);
+        }
+    }
+
+    private void sendNext(Deque<JobRequest<Job>> chain) {
+        JobRequest<Job> request = chain.poll();
+        if (request == null) {
+            synchronized (waiting) {
+                inFlight--;
+            }
+            drain();
+        } else {
+            send(request, 0, () -> sendNext(chain));
+        }
+    }
+
+    private void send(JobRequest<Job> request, int attempt, Runnable next) {
+        Handler<AsyncResult<HttpResponse<Buffer>>> handler = res -> {
+            int status = res.succeeded() && res.result() != null ? res.result().statusCode() : 0;
+            if (status == 200 || (status == 404 && request.operation() == JobRequestBatcher.Operation.CANCEL)) {
+                LOGGER.debug("{} of the job {} done with status code {} ", request.operation(), request.id(), status);
+                next.run();
+            } else if (attempt < maxRetries && (status == 0 || status >= 500)) {
+                LOGGER.warn("{} of job {} failed with response code {}, retrying", request.operation(), request.id(), status, res.cause());
+                vertx.setTimer(retryDelay << attempt, t -> send(request, attempt + 1, next));
             } else {
-                LOGGER.error("Scheduling of job {} failed with response code {}", job, status, res.cause());
+                LOGGER.error("{} of job {} failed with response code {}", request.operation(), request.id(), status, res.cause());
+                next.run();
             }
-        });
-        return "Job Rescheduled";
+        };
+        switch (request.operation()) {
+            case CREATE:
+                client.post(JOBS_PATH).sendJson(request.payload(), handler);
+                break;
+            case UPDATE:
+                client.patch(JOBS_PATH).sendJson(request.payload(), handler);
+                break;
+            case CANCEL:
+                client.delete(JOBS_PATH + "/" + request.id()).send(handler);
+                break;
+        }
     }
 
     private void configureMapper(ObjectMapper mapper) {
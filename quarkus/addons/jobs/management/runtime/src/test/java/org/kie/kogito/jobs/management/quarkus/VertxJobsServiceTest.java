@@ -24,25 +24,35 @@ import org.kie.kogito.jobs.api.JobCallbackPayload;
 import org.kie.kogito.jobs.descriptors.ProcessInstanceJobDescription;
 import org.kie.kogito.jobs.management.RestJobsServiceTest;
 import org.kie.kogito.jobs.service.api.Job;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 
 import jakarta.enterprise.inject.Instance;
 
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -64,6 +74,15 @@ class VertxJobsServiceTest extends RestJobsServiceTest<VertxJobsService> {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private Instance<UnitOfWorkManager> unitOfWorkManagerInstance;
+
+    @Mock
+    private UnitOfWorkManager unitOfWorkManager;
+
+    @Mock
+    private UnitOfWork unitOfWork;
+
     @Override
     public VertxJobsService createJobService(String jobServiceUrl, String callbackUrl) {
         when(instance.isResolvable()).thenReturn(true);
@@ -101,4 +120,51 @@ class VertxJobsServiceTest extends RestJobsServiceTest<VertxJobsService> {
         tested.cancelJob(JOB_ID);
         verify(webClient).delete("/v2/jobs/" + JOB_ID);
     }
+
+    @Test
+    void jobRequestsSentWhenUnitOfWorkEnds() {
+        when(unitOfWorkManagerInstance.isResolvable()).thenReturn(true);
+        when(unitOfWorkManagerInstance.get()).thenReturn(unitOfWorkManager);
+        when(unitOfWorkManager.currentUnitOfWork()).thenReturn(unitOfWork);
+        when(webClient.post(anyString())).thenReturn(request);
+        when(webClient.delete(anyString())).thenReturn(request);
+        when(objectMapper.valueToTree(any(JobCallbackPayload.class))).thenReturn(JSON_PAYLOAD);
+        tested = new VertxJobsService(JOB_SERVICE_URL, CALLBACK_URL, vertx, instance, objectMapper, unitOfWorkManagerInstance, true, 16, 3, 100);
+        tested.initialize();
+
+        tested.scheduleJob(buildProcessInstanceJobDescription());
+        tested.cancelJob("other");
+        verify(webClient, never()).post(anyString());
+        verify(webClient, never()).delete(anyString());
+
+        ArgumentCaptor<WorkUnit> workUnitCaptor = forClass(WorkUnit.class);
+        verify(unitOfWork).intercept(workUnitCaptor.capture());
+        workUnitCaptor.getValue().perform();
+
+        verify(webClient).post("/v2/jobs");
+        verify(webClient).delete("/v2/jobs/other");
+    }
+
+    @Test
+    void scheduleJobRetriedOnServerError() {
+        when(webClient.post(anyString())).thenReturn(request);
+        when(objectMapper.valueToTree(any(JobCallbackPayload.class))).thenReturn(JSON_PAYLOAD);
+        HttpResponse<Buffer> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(503);
+        doAnswer(invocation -> {
+            Handler<AsyncResult<HttpResponse<Buffer>>> handler = invocation.getArgument(1);
+            handler.handle(Future.succeededFuture(response));
+            return null;
+        }).when(request).sendJson(any(), any(Handler.class));
+        when(vertx.setTimer(anyLong(), any())).thenAnswer(invocation -> {
+            Handler<Long> handler = invocation.getArgument(1);
+            handler.handle(1L);
+            return 1L;
+        });
+
+        tested.scheduleJob(buildProcessInstanceJobDescription());
+
+        verify(request, times(4)).sendJson(any(), any(Handler.class));
+        verify(vertx, times(3)).setTimer(anyLong(), any());
+    }
 }
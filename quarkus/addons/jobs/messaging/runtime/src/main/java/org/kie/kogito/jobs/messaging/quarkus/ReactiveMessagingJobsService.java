@@ -23,10 +23,12 @@ import java.net.URI;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
+import org.kie.kogito.uow.UnitOfWorkManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -38,7 +40,13 @@ public class ReactiveMessagingJobsService extends AbstractReactiveMessagingJobsS
     public ReactiveMessagingJobsService(
             @ConfigProperty(name = "kogito.service.url") URI serviceUrl,
             ObjectMapper objectMapper,
-            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) Emitter<String> eventsEmitter) {
+            @Channel(KOGITO_JOB_SERVICE_JOB_REQUEST_EVENTS_CHANNEL) Emitter<String> eventsEmitter,
+            Instance<UnitOfWorkManager> unitOfWorkManager,
+            @ConfigProperty(name = "kogito.jobs-service.batch.enabled", defaultValue = "true") boolean batchEnabled) {
+        super(serviceUrl, objectMapper, eventsEmitter, batchEnabled && unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null);
+    }
+
+    public ReactiveMessagingJobsService(URI serviceUrl, ObjectMapper objectMapper, Emitter<String> eventsEmitter) {
         super(serviceUrl, objectMapper, eventsEmitter);
     }
 
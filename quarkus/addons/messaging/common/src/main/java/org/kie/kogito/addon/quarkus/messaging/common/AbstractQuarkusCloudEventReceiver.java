@@ -20,9 +20,15 @@ package org.kie.kogito.addon.quarkus.messaging.common;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.eclipse.microprofile.reactive.messaging.Message;
 import org.kie.kogito.event.CloudEventUnmarshallerFactory;
@@ -39,6 +45,7 @@ public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventRecei
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractQuarkusCloudEventReceiver.class);
 
     private Collection<Subscription<DataEvent<?>, Message<I>>> consumers = new CopyOnWriteArrayList<>();
+    private Collection<AsyncSubscription<I>> asyncConsumers = new CopyOnWriteArrayList<>();
 
     protected EventUnmarshaller<I> getEventUnmarshaller() {
         return null;
@@ -48,16 +55,55 @@ public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventRecei
         return null;
     }
 
+    /**
+     * Delivers the message to every subscriber, waiting for asynchronous ones to finish.
+     */
     protected void produce(Message<I> message) {
+        try {
+            produceAsync(message).toCompletableFuture().join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException ? (RuntimeException) ex.getCause() : ex;
+        }
+    }
+
+    /**
+     * Delivers the message to every subscriber.
+     *
+     * @return stage completed once every asynchronous subscriber has consumed the event
+     */
+    protected CompletionStage<Void> produceAsync(Message<I> message) {
         LOGGER.trace("Received message {}", message.getPayload());
-        for (Subscription<DataEvent<?>, Message<I>> subscription : consumers) {
-            try {
-                DataEvent<?> object = subscription.getConverter().convert(message);
-                subscription.getConsumer().accept(object);
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        try {
+            for (Subscription<DataEvent<?>, Message<I>> subscription : consumers) {
+                subscription.getConsumer().accept(subscription.getConverter().convert(message));
+            }
+            for (AsyncSubscription<I> subscription : asyncConsumers) {
+                pending.add(subscription.consumer().apply(subscription.converter().convert(message)).toCompletableFuture());
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Delivers the message to every subscriber and acknowledges it once all of them have consumed the event, or nacks it
+     * if any of them failed.
+     */
+    protected CompletionStage<Void> produceAndAcknowledge(Message<I> message) {
+        CompletionStage<Void> produced;
+        try {
+            produced = produceAsync(message);
+        } catch (RuntimeException ex) {
+            return message.nack(ex);
+        }
+        return produced.handle((result, error) -> error == null ? message.ack() : message.nack(unwrap(error)))
+                .thenCompose(Function.identity());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
     }
 
     @Override
@@ -67,6 +113,12 @@ public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventRecei
         consumers.add(subscription);
     }
 
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> void subscribeAsync(Function<DataEvent<T>, CompletionStage<?>> consumer, Class<T> objectClass) {
+        asyncConsumers.add(new AsyncSubscription(consumer, getConverter(objectClass)));
+    }
+
     private <T> Converter<Message<I>, DataEvent<T>> getConverter(Class<T> objectClass) {
         if (getCloudEventUnmarshallerFactory() != null) {
             return new QuarkusCloudEventConverter<>(getCloudEventUnmarshallerFactory().unmarshaller(objectClass));
@@ -74,4 +126,7 @@ public abstract class AbstractQuarkusCloudEventReceiver<I> implements EventRecei
             return new QuarkusDataEventConverter<>(objectClass, getEventUnmarshaller());
         }
     }
+
+    private record AsyncSubscription<I>(Function<DataEvent<?>, CompletionStage<?>> consumer, Converter<Message<I>, DataEvent<?>> converter) {
+    }
 }
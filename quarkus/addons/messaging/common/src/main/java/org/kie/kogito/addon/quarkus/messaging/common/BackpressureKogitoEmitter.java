@@ -18,25 +18,24 @@
  */
 package org.kie.kogito.addon.quarkus.messaging.common;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-
-import io.vertx.core.impl.ConcurrentHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
 public class BackpressureKogitoEmitter implements QuarkusEmitterController {
 
-    private Set<String> statuses = new ConcurrentHashSet<>();
-    private Map<String, Runnable> handlers = new HashMap<>();
+    private final Map<String, ChannelStatus> statuses = new ConcurrentHashMap<>();
 
     @Override
     public boolean resume(String channelName) {
-        boolean result = statuses.remove(channelName);
+        ChannelStatus status = statuses.get(channelName);
+        boolean result = status != null && status.resume();
         if (result) {
-            Runnable handler = handlers.get(channelName);
+            Runnable handler = status.handler;
             if (handler != null) {
                 handler.run();
             }
@@ -46,15 +45,57 @@ public class BackpressureKogitoEmitter implements QuarkusEmitterController {
 
     @Override
     public boolean stop(String channelName) {
-        return statuses.add(channelName);
+        return status(channelName).stop();
     }
 
     @Override
     public boolean isEnabled(String channelName) {
-        return !statuses.contains(channelName);
+        ChannelStatus status = statuses.get(channelName);
+        return status == null || !status.isStopped();
+    }
+
+    @Override
+    public long pausedNanos(String channelName) {
+        ChannelStatus status = statuses.get(channelName);
+        return status == null ? 0L : status.pausedNanos();
     }
 
     public void registerHandler(String channelName, Runnable runnable) {
-        handlers.put(channelName, runnable);
+        status(channelName).handler = runnable;
+    }
+
+    private ChannelStatus status(String channelName) {
+        return statuses.computeIfAbsent(channelName, k -> new ChannelStatus());
+    }
+
+    private static class ChannelStatus {
+
+        private static final long RUNNING = Long.MIN_VALUE;
+
+        private final AtomicLong stoppedAt = new AtomicLong(RUNNING);
+        private final LongAdder pausedNanos = new LongAdder();
+        private volatile Runnable handler;
+
+        boolean stop() {
+            return stoppedAt.compareAndSet(RUNNING, System.nanoTime());
+        }
+
+        boolean resume() {
+            long since = stoppedAt.getAndSet(RUNNING);
+            if (since == RUNNING) {
+                return false;
+            }
+            pausedNanos.add(System.nanoTime() - since);
+            return true;
+        }
+
+        boolean isStopped() {
+            return stoppedAt.get() != RUNNING;
+        }
+
+        long pausedNanos() {
+            long since = stoppedAt.get();
+            return pausedNanos.sum() + (since == RUNNING ? 0L : System.nanoTime() - since);
+        }
     }
 }
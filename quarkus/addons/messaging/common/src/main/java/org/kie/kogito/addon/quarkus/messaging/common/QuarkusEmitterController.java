@@ -25,4 +25,11 @@ public interface QuarkusEmitterController {
     boolean stop(String channelName);
 
     boolean isEnabled(String channelName);
+
+    /**
+     * Total time, in nanoseconds, the channel has spent stopped, including the current pause if any
+     */
+    default long pausedNanos(String channelName) {
+        return 0L;
+    }
 }
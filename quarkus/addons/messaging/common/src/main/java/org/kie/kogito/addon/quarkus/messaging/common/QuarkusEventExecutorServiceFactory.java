@@ -21,6 +21,7 @@ package org.kie.kogito.addon.quarkus.messaging.common;
 import java.util.concurrent.ExecutorService;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.kie.kogito.addon.quarkus.messaging.common.QuarkusEventThreadPool.OverflowPolicy;
 import org.kie.kogito.event.EventExecutorServiceFactory;
 import org.kie.kogito.event.KogitoEventStreams;
 
@@ -33,17 +34,38 @@ import jakarta.inject.Inject;
 @DefaultBean
 public class QuarkusEventExecutorServiceFactory implements EventExecutorServiceFactory {
 
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
     @ConfigProperty(name = KogitoEventStreams.MAX_THREADS_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_MAX_THREADS)
     int numThreads;
 
     @ConfigProperty(name = KogitoEventStreams.QUEUE_SIZE_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_QUEUE_SIZE)
     int queueSize;
 
+    @ConfigProperty(name = KogitoEventStreams.OVERFLOW_SIZE_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_OVERFLOW_SIZE)
+    int overflowSize;
+
+    @ConfigProperty(name = KogitoEventStreams.OVERFLOW_POLICY_PROPERTY, defaultValue = KogitoEventStreams.DEFAULT_OVERFLOW_POLICY)
+    String overflowPolicy;
+
     @Inject
     QuarkusEmitterController emitterStatus;
 
     @Override
     public ExecutorService getExecutorService(String channelName) {
-        return new QuarkusEventThreadPool(numThreads, queueSize, emitterStatus, channelName);
+        QuarkusEventThreadPool pool = new QuarkusEventThreadPool(numThreads, queueSize, overflowSize, OverflowPolicy.parse(overflowPolicy), emitterStatus, channelName);
+        if (MICROMETER_PRESENT) {
+            QuarkusEventThreadPoolMetrics.bind(pool, emitterStatus);
+        }
+        return pool;
+    }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.Metrics", false, QuarkusEventExecutorServiceFactory.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 }
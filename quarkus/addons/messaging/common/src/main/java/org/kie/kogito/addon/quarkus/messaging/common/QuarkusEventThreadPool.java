@@ -19,59 +19,183 @@
 package org.kie.kogito.addon.quarkus.messaging.common;
 
 import java.util.Deque;
-import java.util.LinkedList;
+import java.util.Locale;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.kie.kogito.event.KogitoEventStreams;
 import org.kie.kogito.event.KogitoThreadPoolFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.vertx.core.Context;
+
 public class QuarkusEventThreadPool extends ThreadPoolExecutor {
 
     private static final Logger logger = LoggerFactory.getLogger(QuarkusEventThreadPool.class);
 
-    private final Deque<Runnable> overflowBuffer = new LinkedList<>();
+    /**
+     * What to do with a rejected task once the overflow buffer is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Block the producer thread until there is room in the overflow buffer. A producer running on a Vert.x event loop
+         * thread is never blocked, the task is rejected as with {@link #NACK}.
+         */
+        BLOCK,
+        /**
+         * Discard (and cancel) the oldest buffered task to make room for the new one
+         */
+        DROP_OLDEST,
+        /**
+         * Throw {@link RejectedExecutionException} to the producer, so the message is nacked to the broker. This is the default.
+         */
+        NACK;
+
+        public static OverflowPolicy parse(String value) {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final Deque<Runnable> overflowBuffer = new ConcurrentLinkedDeque<>();
+    private final Semaphore overflowPermits;
+    private final int overflowCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final ThreadLocal<Boolean> workerThread = new ThreadLocal<>();
     private final QuarkusEmitterController kogitoEmitter;
     private final String channelName;
 
     public QuarkusEventThreadPool(int numThreads, int queueSize, QuarkusEmitterController kogitoEmitter, String channelName) {
+        this(numThreads, queueSize, Integer.MAX_VALUE, OverflowPolicy.BLOCK, kogitoEmitter, channelName);
+    }
+
+    public QuarkusEventThreadPool(int numThreads, int queueSize, int overflowCapacity, OverflowPolicy overflowPolicy, QuarkusEmitterController kogitoEmitter, String channelName) {
         super(1, numThreads, 1L, TimeUnit.MINUTES, new ArrayBlockingQueue<>(queueSize));
+        if (overflowCapacity <= 0) {
+            throw new IllegalArgumentException("Overflow capacity must be positive, was " + overflowCapacity);
+        }
         setThreadFactory(new KogitoThreadPoolFactory(KogitoEventStreams.THREAD_NAME));
-        setRejectedExecutionHandler(new NonBlockingRejectedExecutionHandler());
+        setRejectedExecutionHandler(new BoundedRejectedExecutionHandler());
+        this.overflowCapacity = overflowCapacity;
+        this.overflowPermits = new Semaphore(overflowCapacity);
+        this.overflowPolicy = overflowPolicy;
         this.kogitoEmitter = kogitoEmitter;
         this.channelName = channelName;
     }
 
+    public String getChannelName() {
+        return channelName;
+    }
+
+    public int getOverflowSize() {
+        return overflowCapacity - overflowPermits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        workerThread.set(Boolean.TRUE);
+    }
+
     @Override
     protected void afterExecute(Runnable r, Throwable t) {
-        Runnable queued;
-        boolean resume;
-        synchronized (overflowBuffer) {
-            queued = overflowBuffer.pollFirst();
-            resume = queued != null && overflowBuffer.isEmpty();
+        try {
+            drainOverflow();
+        } finally {
+            workerThread.remove();
         }
-        if (queued != null) {
-            logger.trace("Adding runnable {} back to the executor", queued);
-            super.execute(queued);
-            if (resume) {
-                logger.trace("Resuming emission");
-                kogitoEmitter.resume(channelName);
+    }
+
+    /**
+     * Moves buffered tasks into the executor queue while it has room. Tasks are offered to the queue directly rather than
+     * resubmitted, so a worker never goes through the rejection handler (and never blocks) while draining.
+     */
+    private void drainOverflow() {
+        boolean drained = false;
+        Runnable queued;
+        while ((queued = overflowBuffer.pollFirst()) != null) {
+            if (!getQueue().offer(queued)) {
+                overflowBuffer.offerFirst(queued);
+                return;
             }
+            logger.trace("Adding runnable {} back to the executor", queued);
+            overflowPermits.release();
+            drained = true;
+        }
+        if (drained && overflowBuffer.isEmpty()) {
+            logger.trace("Resuming emission");
+            kogitoEmitter.resume(channelName);
+        }
+    }
+
+    private boolean reserveOverflowSlot(Runnable r) {
+        if (overflowPermits.tryAcquire()) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case NACK:
+                throw new RejectedExecutionException("Overflow buffer of channel " + channelName + " is full (" + overflowCapacity + " tasks)");
+            case DROP_OLDEST:
+                Runnable oldest = overflowBuffer.pollFirst();
+                if (oldest != null) {
+                    // the permit of the dropped task is handed over to the new one
+                    logger.debug("Overflow buffer of channel {} is full, dropping oldest runnable {}", channelName, oldest);
+                    droppedCount.increment();
+                    if (oldest instanceof Future) {
+                        ((Future<?>) oldest).cancel(false);
+                    }
+                    return true;
+                }
+                return reserveOverflowSlot(r);
+            default:
+                if (workerThread.get() != null) {
+                    // a worker blocking here would wait for itself, reject instead so the message is nacked
+                    throw new RejectedExecutionException("Overflow buffer of channel " + channelName + " is full and cannot block an executor thread");
+                }
+                if (Context.isOnEventLoopThread()) {
+                    throw new RejectedExecutionException("Overflow buffer of channel " + channelName + " is full and cannot block an event loop thread");
+                }
+                try {
+                    while (!overflowPermits.tryAcquire(100L, TimeUnit.MILLISECONDS)) {
+                        if (isShutdown()) {
+                            return false;
+                        }
+                    }
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for room in overflow buffer of channel " + channelName, e);
+                }
         }
     }
 
-    private class NonBlockingRejectedExecutionHandler implements RejectedExecutionHandler {
+    private class BoundedRejectedExecutionHandler implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
             if (!executor.isShutdown()) {
                 logger.trace("Rejecting runnable {}. Stopping emission", r);
+                rejectedCount.increment();
                 kogitoEmitter.stop(channelName);
-                synchronized (overflowBuffer) {
-                    overflowBuffer.addLast(r);
+                if (reserveOverflowSlot(r)) {
+                    overflowBuffer.offerLast(r);
+                    // workers might have gone idle while this task was being buffered
+                    drainOverflow();
                 }
             }
         }
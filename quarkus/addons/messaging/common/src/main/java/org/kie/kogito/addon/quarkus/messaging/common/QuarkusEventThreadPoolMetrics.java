@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.addon.quarkus.messaging.common;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Registers the overflow and backpressure meters of a channel. Only loaded when Micrometer is on the classpath.
+ */
+class QuarkusEventThreadPoolMetrics {
+
+    private static final String CHANNEL_TAG = "channel";
+
+    private QuarkusEventThreadPoolMetrics() {
+    }
+
+    static void bind(QuarkusEventThreadPool pool, QuarkusEmitterController controller) {
+        bind(Metrics.globalRegistry, pool, controller);
+    }
+
+    static void bind(MeterRegistry registry, QuarkusEventThreadPool pool, QuarkusEmitterController controller) {
+        String channelName = pool.getChannelName();
+        Tags tags = Tags.of(CHANNEL_TAG, channelName);
+        Gauge.builder("kogito.events.overflow.size", pool, QuarkusEventThreadPool::getOverflowSize)
+                .description("Tasks waiting in the overflow buffer of the event executor")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("kogito.events.queue.size", pool, p -> p.getQueue().size())
+                .description("Tasks waiting in the queue of the event executor")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("kogito.events.overflow.rejected", pool, QuarkusEventThreadPool::getRejectedCount)
+                .description("Tasks rejected by the event executor and moved to the overflow buffer")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("kogito.events.overflow.dropped", pool, QuarkusEventThreadPool::getDroppedCount)
+                .description("Tasks discarded because the overflow buffer was full")
+                .tags(tags)
+                .register(registry);
+        TimeGauge.builder("kogito.events.channel.paused", controller, TimeUnit.NANOSECONDS, c -> c.pausedNanos(channelName))
+                .description("Total time the channel has been stopped by backpressure")
+                .tags(tags)
+                .register(registry);
+    }
+}
@@ -20,13 +20,16 @@ package org.kie.kogito.addon.quarkus.messaging.common;
 
 import java.util.Set;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.impl.AbstractMessageConsumer;
+import org.kie.kogito.event.impl.PartitionedEventDispatcher;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessService;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 
 public abstract class QuarkusMessageConsumer<M extends Model, D> extends AbstractMessageConsumer<M, D> {
@@ -37,8 +40,20 @@ public abstract class QuarkusMessageConsumer<M extends Model, D> extends Abstrac
     @Inject
     ProcessService processService;
 
+    @ConfigProperty(name = PartitionedEventDispatcher.WORKERS_PROPERTY, defaultValue = PartitionedEventDispatcher.DEFAULT_WORKERS)
+    int workers;
+
+    @ConfigProperty(name = PartitionedEventDispatcher.MAX_IN_FLIGHT_PROPERTY, defaultValue = PartitionedEventDispatcher.DEFAULT_MAX_IN_FLIGHT)
+    int maxInFlight;
+
     protected void init(Process<M> process, String trigger, Class<D> objectClass, EventReceiver eventReceiver, Set<String> correlation) {
-        init(application, process, trigger, eventReceiver, objectClass, processService, correlation);
+        init(application, process, trigger, eventReceiver, objectClass, processService, correlation, workers, maxInFlight);
+    }
+
+    @Override
+    @PreDestroy
+    protected void close() {
+        super.close();
     }
 
 }
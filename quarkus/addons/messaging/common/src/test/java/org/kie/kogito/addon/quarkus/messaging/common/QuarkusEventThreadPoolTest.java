@@ -21,19 +21,27 @@ package org.kie.kogito.addon.quarkus.messaging.common;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.kie.kogito.addon.quarkus.messaging.common.QuarkusEventThreadPool.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Vertx;
 
 import net.jcip.annotations.NotThreadSafe;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @NotThreadSafe
@@ -113,6 +121,101 @@ public class QuarkusEventThreadPoolTest {
         assertStop();
     }
 
+    @Test
+    void testOverflowNackPolicy() throws Exception {
+        QuarkusEventThreadPool executor = new QuarkusEventThreadPool(1, 1, 1, OverflowPolicy.NACK, controller, CHANNEL_NAME);
+        try {
+            CountDownLatch blocker = new CountDownLatch(1);
+            Future<?> running = executor.submit(() -> await(blocker));
+            Future<?> queued = executor.submit(() -> {
+            });
+            Future<?> buffered = executor.submit(() -> {
+            });
+            assertEquals(1, executor.getOverflowSize());
+            assertFalse(controller.isEnabled(CHANNEL_NAME));
+            assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+            }));
+            assertEquals(2, executor.getRejectedCount());
+
+            blocker.countDown();
+            running.get(1, TimeUnit.MINUTES);
+            queued.get(1, TimeUnit.MINUTES);
+            buffered.get(1, TimeUnit.MINUTES);
+            assertEquals(0, executor.getOverflowSize());
+            assertTrue(controller.isEnabled(CHANNEL_NAME));
+            assertTrue(controller.pausedNanos(CHANNEL_NAME) > 0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOverflowBlockPolicyRejectsOnEventLoop() throws Exception {
+        QuarkusEventThreadPool executor = new QuarkusEventThreadPool(1, 1, 1, OverflowPolicy.BLOCK, controller, CHANNEL_NAME);
+        Vertx vertx = Vertx.vertx();
+        try {
+            CountDownLatch blocker = new CountDownLatch(1);
+            executor.submit(() -> await(blocker));
+            executor.submit(() -> {
+            });
+            executor.submit(() -> {
+            });
+            assertEquals(1, executor.getOverflowSize());
+
+            CompletableFuture<Void> result = new CompletableFuture<>();
+            vertx.runOnContext(v -> {
+                try {
+                    executor.execute(() -> {
+                    });
+                    result.complete(null);
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.MINUTES));
+            assertTrue(thrown.getCause() instanceof RejectedExecutionException);
+            blocker.countDown();
+        } finally {
+            executor.shutdownNow();
+            vertx.close().toCompletionStage().toCompletableFuture().get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    @Test
+    void testOverflowDropOldestPolicy() throws Exception {
+        QuarkusEventThreadPool executor = new QuarkusEventThreadPool(1, 1, 1, OverflowPolicy.DROP_OLDEST, controller, CHANNEL_NAME);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            QuarkusEventThreadPoolMetrics.bind(registry, executor, controller);
+            CountDownLatch blocker = new CountDownLatch(1);
+            executor.submit(() -> await(blocker));
+            executor.submit(() -> {
+            });
+            Future<?> dropped = executor.submit(() -> {
+            });
+            Future<?> kept = executor.submit(() -> {
+            });
+            assertTrue(dropped.isCancelled());
+            assertEquals(1, executor.getDroppedCount());
+            assertEquals(1, registry.get("kogito.events.overflow.size").tag("channel", CHANNEL_NAME).gauge().value());
+            assertEquals(1, registry.get("kogito.events.overflow.dropped").tag("channel", CHANNEL_NAME).functionCounter().count());
+
+            blocker.countDown();
+            kept.get(1, TimeUnit.MINUTES);
+            assertEquals(0, registry.get("kogito.events.overflow.size").tag("channel", CHANNEL_NAME).gauge().value());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     private void testIt(int numThreads, int queueSize, int count) throws InterruptedException, ExecutionException {
         QuarkusEventThreadPool executor = new QuarkusEventThreadPool(numThreads, queueSize, controller, CHANNEL_NAME);
         final CountDownLatch latch = new CountDownLatch(count);
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.monitoring.core.quarkus;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.KogitoGAV;
 import org.kie.kogito.config.ConfigBean;
 import org.kie.kogito.drools.core.config.DefaultRuleEventListenerConfig;
@@ -42,6 +43,10 @@ public class QuarkusEventListenerFactory {
 
     ConfigBean configBean;
 
+    @Inject
+    @ConfigProperty(name = Constants.MONITORING_PROCESS_MAX_NODE_TAG_VALUES, defaultValue = "100")
+    int maxNodeTagValues = MetricsProcessEventListener.DEFAULT_MAX_NODE_TAG_VALUES;
+
     @Inject
     public QuarkusEventListenerFactory(ConfigBean configBean) {
         this.configBean = configBean;
@@ -59,6 +64,6 @@ public class QuarkusEventListenerFactory {
     public KogitoProcessEventListener produceProcessListener() {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MetricsProcessEventListener("default-process-monitoring-listener",
-                configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), Metrics.globalRegistry);
+                configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), Metrics.globalRegistry, maxNodeTagValues);
     }
 }
@@ -26,6 +26,7 @@ import javax.sql.DataSource;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.persistence.jdbc.AbstractProcessInstancesFactory;
+import org.kie.kogito.persistence.jdbc.transaction.AbstractTransactionManager;
 import org.kie.kogito.process.Processes;
 
 import jakarta.enterprise.context.ApplicationScoped;
@@ -41,8 +42,9 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
             @ConfigProperty(name = "kogito.persistence.headers.enabled", defaultValue = "false") boolean headersEnabled,
             @ConfigProperty(name = "kogito.persistence.headers.excluded") Optional<List<String>> headersExcluded,
             Instance<Processes> processes,
-            @ConfigProperty(name = "kogito.persistence.data-isolation.enabled", defaultValue = "false") Boolean dataIsolationEnabled) {
-        super(dataSource, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded), dataIsolationEnabled && processes.isResolvable() ? processes.get() : null);
+            @ConfigProperty(name = "kogito.persistence.data-isolation.enabled", defaultValue = "false") Boolean dataIsolationEnabled,
+            AbstractTransactionManager transactionManager) {
+        super(dataSource, lock, HeadersPersistentConfig.of(headersEnabled, headersExcluded), dataIsolationEnabled && processes.isResolvable() ? processes.get() : null, transactionManager);
     }
 
     public JDBCProcessInstancesFactory() {
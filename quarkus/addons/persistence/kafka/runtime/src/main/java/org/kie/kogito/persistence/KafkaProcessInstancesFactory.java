@@ -18,15 +18,21 @@
  */
 package org.kie.kogito.persistence;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.persistence.kafka.KafkaProcessInstances;
+import org.kie.kogito.persistence.kafka.KafkaRecordWriter;
 import org.kie.kogito.persistence.kafka.KafkaStreamsStateListener;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessInstancesFactory;
+import org.kie.kogito.uow.UnitOfWorkManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,6 +40,7 @@ import io.smallrye.common.annotation.Identifier;
 
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 
 @ApplicationScoped
@@ -43,6 +50,10 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
 
     KafkaStreamsStateListener stateListener;
     KafkaProducer<String, byte[]> producer;
+    Map<String, Object> kafkaConfig;
+    Optional<String> transactionalId = Optional.empty();
+    UnitOfWorkManager unitOfWorkManager;
+    private KafkaRecordWriter writer;
 
     @Inject
     public void setStateListener(KafkaStreamsStateListener stateListener) {
@@ -51,22 +62,54 @@ public class KafkaProcessInstancesFactory implements ProcessInstancesFactory {
 
     @Inject
     public void setKafkaConfig(@Identifier("default-kafka-broker") Map<String, Object> kafkaConfig) {
-        producer = new KafkaProducer<>(kafkaConfig, new StringSerializer(), new ByteArraySerializer());
+        this.kafkaConfig = kafkaConfig;
+    }
+
+    /**
+     * When set, the writes of a unit of work are sent as a single Kafka transaction. Each replica needs its own id.
+     */
+    @Inject
+    public void setTransactionalId(@ConfigProperty(name = "kogito.persistence.kafka.transactional-id") Optional<String> transactionalId) {
+        this.transactionalId = transactionalId;
+    }
+
+    @Inject
+    public void setUnitOfWorkManager(Instance<UnitOfWorkManager> unitOfWorkManager) {
+        this.unitOfWorkManager = unitOfWorkManager.isResolvable() ? unitOfWorkManager.get() : null;
     }
 
     @PreDestroy
-    public void stop() {
+    public synchronized void stop() {
         if (producer != null) {
             producer.close();
         }
     }
 
+    /**
+     * The writer is shared by the process instances of all the processes, so a unit of work touching several of them
+     * is still sent as one batch.
+     */
+    synchronized KafkaRecordWriter writer() {
+        if (writer == null) {
+            if (kafkaConfig != null) {
+                Map<String, Object> config = new HashMap<>(kafkaConfig);
+                transactionalId.ifPresent(id -> config.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, id));
+                producer = new KafkaProducer<>(config, new StringSerializer(), new ByteArraySerializer());
+                if (transactionalId.isPresent()) {
+                    producer.initTransactions();
+                }
+            }
+            writer = new KafkaRecordWriter(producer, unitOfWorkManager, transactionalId.isPresent());
+        }
+        return writer;
+    }
+
     public KafkaProcessInstances createProcessInstances(Process<?> process) {
         try {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Creating KafkaProcessInstances for process: {}", process.id());
             }
-            KafkaProcessInstances pi = new KafkaProcessInstances(process, producer);
+            KafkaProcessInstances pi = new KafkaProcessInstances(process, writer());
             stateListener.addProcessInstances(pi);
             return pi;
         } catch (Exception ex) {
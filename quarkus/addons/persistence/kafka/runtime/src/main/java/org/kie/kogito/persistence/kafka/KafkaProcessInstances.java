@@ -18,26 +18,22 @@
  */
 package org.kie.kogito.persistence.kafka;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.common.serialization.Serdes;
 import org.apache.kafka.streams.KeyValue;
-import org.apache.kafka.streams.state.KeyValueIterator;
 import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
 import org.jbpm.flow.serialization.ProcessInstanceMarshallerService;
 import org.kie.kogito.Model;
@@ -47,25 +43,35 @@ import org.kie.kogito.process.ProcessInstance;
 import org.kie.kogito.process.ProcessInstanceDuplicatedException;
 import org.kie.kogito.process.ProcessInstanceReadMode;
 import org.kie.kogito.process.impl.AbstractProcessInstance;
-import org.rocksdb.RocksDBException;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toCollection;
-import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
 
+/**
+ * Process instances stored as records of the process topic, read back from the global store materialized from it.
+ * <p>
+ * Records are written through a {@link KafkaRecordWriter}, so the writes of a unit of work are sent together once it
+ * ends and are visible to the reads of this node before the store catches up with them.
+ * <p>
+ * The event types an instance waits for are kept in one {@code events-<process>-<id>} record per instance. The single
+ * {@code events-<process>} record of the previous format is still read, and instances are removed from it as they
+ * are written again.
+ */
 public class KafkaProcessInstances<T extends Model> implements MutableProcessInstances<T> {
     private final String EVENT_SEPARATOR = "::";
     private Process<?> process;
-    private KafkaProducer<String, byte[]> producer;
-    private String topic;
+    private KafkaRecordWriter writer;
     private ReadOnlyKeyValueStore<String, byte[]> store;
     private ProcessInstanceMarshallerService marshaller;
     private CountDownLatch latch = new CountDownLatch(1);
 
     public KafkaProcessInstances(Process<?> process, KafkaProducer<String, byte[]> producer) {
+        this(process, new KafkaRecordWriter(producer, null, false));
+    }
+
+    public KafkaProcessInstances(Process<?> process, KafkaRecordWriter writer) {
         this.process = process;
-        this.topic = topicName();
-        this.producer = producer;
+        this.writer = writer;
         setMarshaller(ProcessInstanceMarshallerService.newBuilder().withDefaultObjectMarshallerStrategies().build());
     }
 
@@ -83,6 +89,7 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
 
     protected void setStore(ReadOnlyKeyValueStore<String, byte[]> store) {
         this.store = store;
+        this.writer.setStore(store);
         this.latch.countDown();
     }
 
@@ -112,7 +119,7 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
     }
 
     protected Optional<byte[]> getProcessInstanceById(String id) {
-        return Optional.ofNullable(getStore().get(getKeyForProcessInstance(id)));
+        return Optional.ofNullable(writer.get(getStore(), getKeyForProcessInstance(id)));
     }
 
     protected String getKeyForProcessInstance(String id) {
@@ -123,12 +130,24 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
         return format("events-%s", getProcess().id(), "events");
     }
 
-    protected void sendKafkaRecord(String id, byte[] data) throws ExecutionException, InterruptedException {
-        producer.send(new ProducerRecord<>(topic, getKeyForProcessInstance(id), data)).get();
+    protected String getKeyForEvents(String id) {
+        return format("events-%s-%s", getProcess().id(), id);
+    }
+
+    protected String getKeyForBusinessKey(String businessKey) {
+        return format("businesskey-%s-%s", getProcess().id(), businessKey);
     }
 
-    protected void sendEventKafkaRecord(byte[] data) throws ExecutionException, InterruptedException {
-        producer.send(new ProducerRecord<>(topic, getKeyForEvents(), data)).get();
+    protected String getKeyForInstanceBusinessKey(String id) {
+        return format("businesskey-instance-%s-%s", getProcess().id(), id);
+    }
+
+    protected void sendKafkaRecord(String id, byte[] data) {
+        writer.send(getKeyForProcessInstance(id), data);
+    }
+
+    protected void sendEventKafkaRecord(String id, byte[] data) {
+        writer.send(getKeyForEvents(id), data);
     }
 
     @Override
@@ -140,6 +159,7 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
             try {
                 sendKafkaRecord(id, marshaller.marshallProcessInstance(instance));
                 updateEvents(instance);
+                updateBusinessKey(instance);
                 connectInstance(instance);
             } catch (Exception e) {
                 throw new RuntimeException("Unable to persist process instance id: " + id, e);
@@ -147,10 +167,31 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
         }
     }
 
-    public void updateEvents(ProcessInstance<T> instance) throws Exception {
-        Set<String> eventTypes = clearEventTypes(instance.id());
-        eventTypes.addAll(getUniqueEvents(instance));
-        sendEventKafkaRecord(toBytes(eventTypes));
+    public void updateEvents(ProcessInstance<T> instance) {
+        clearLegacyEventTypes(instance.id());
+        Set<String> eventTypes = getUniqueEvents(instance);
+        sendEventKafkaRecord(instance.id(), eventTypes.isEmpty() ? null : toBytes(eventTypes));
+    }
+
+    /**
+     * Business keys are published as {@code businesskey-<process>-<businessKey>} records holding the instance id, plus
+     * {@code businesskey-instance-<process>-<id>} records holding the business key so both can be tombstoned on removal.
+     * The business key of an instance never changes, so it is only published when the instance is created.
+     */
+    protected void updateBusinessKey(ProcessInstance<T> instance) {
+        String businessKey = instance.businessKey();
+        if (businessKey != null) {
+            writer.send(getKeyForBusinessKey(businessKey), instance.id().getBytes(StandardCharsets.UTF_8));
+            writer.send(getKeyForInstanceBusinessKey(instance.id()), businessKey.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    protected void clearBusinessKey(String id) {
+        byte[] businessKey = writer.get(getStore(), getKeyForInstanceBusinessKey(id));
+        if (businessKey != null) {
+            writer.send(getKeyForBusinessKey(new String(businessKey, StandardCharsets.UTF_8)), null);
+            writer.send(getKeyForInstanceBusinessKey(id), null);
+        }
     }
 
     @Override
@@ -172,18 +213,15 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
         try {
             sendKafkaRecord(id, null);
             clearEvents(id);
-            // this avoids generates a race condition as one thing is send to kafka and the other is to be processed by the table.
-            while (exists(id)) {
-                Thread.sleep(100L);
-            }
+            clearBusinessKey(id);
         } catch (Exception e) {
             throw new RuntimeException("Unable to remove process instance id: " + id, e);
         }
     }
 
-    public void clearEvents(String id) throws Exception {
-        Set<String> eventTypes = clearEventTypes(id);
-        sendEventKafkaRecord(toBytes(eventTypes));
+    public void clearEvents(String id) {
+        clearLegacyEventTypes(id);
+        sendEventKafkaRecord(id, null);
     }
 
     @Override
@@ -195,17 +233,40 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
         });
     }
 
+    @Override
+    public Optional<ProcessInstance<T>> findByBusinessKey(String businessKey, ProcessInstanceReadMode mode) {
+        byte[] id = writer.get(getStore(), getKeyForBusinessKey(businessKey));
+        return id == null ? Optional.empty() : findById(new String(id, StandardCharsets.UTF_8), mode);
+    }
+
     @Override
     public Stream<ProcessInstance<T>> stream(ProcessInstanceReadMode mode) {
-        KeyValueIterator<String, byte[]> iterator = getStore().prefixScan("process-" + getProcess().id(), Serdes.String().serializer());
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        return writer.scan(getStore(), "process-" + getProcess().id())
                 .map(k -> k.value)
                 .map(data -> {
                     AbstractProcessInstance<T> pi = (AbstractProcessInstance) marshaller.unmarshallProcessInstance(data, process, mode);
                     connectInstance(pi);
                     return (ProcessInstance<T>) pi;
-                })
-                .onClose(iterator::close);
+                });
+    }
+
+    @Override
+    public Stream<ProcessInstance<T>> stream(String after, int size, ProcessInstanceReadMode mode) {
+        String afterKey = after == null ? null : getKeyForProcessInstance(after);
+        List<ProcessInstance<T>> page = new ArrayList<>();
+        // the store iterates in key order, so instances before the page are skipped by key without unmarshalling them
+        try (Stream<KeyValue<String, byte[]>> entries = writer.scan(getStore(), getKeyForProcessInstance(""))) {
+            Iterator<KeyValue<String, byte[]>> iterator = entries.iterator();
+            while (iterator.hasNext() && page.size() < size) {
+                KeyValue<String, byte[]> entry = iterator.next();
+                if (afterKey == null || entry.key.compareTo(afterKey) > 0) {
+                    AbstractProcessInstance<T> pi = (AbstractProcessInstance<T>) marshaller.unmarshallProcessInstance(entry.value, process, mode);
+                    connectInstance(pi);
+                    page.add(pi);
+                }
+            }
+        }
+        return page.stream();
     }
 
     protected void connectInstance(ProcessInstance<?> instance) {
@@ -217,53 +278,74 @@ public class KafkaProcessInstances<T extends Model> implements MutableProcessIns
 
     @Override
     public Stream<ProcessInstance<T>> waitingForEventType(String eventType, ProcessInstanceReadMode mode) {
+        return loadWaiting(waitingIds(eventType), mode);
+    }
 
-        KeyValueIterator<String, byte[]> iterator = getStore().prefixScan("events-" + getProcess().id(), Serdes.String().serializer());
-        if (!iterator.hasNext()) {
-            return Collections.<ProcessInstance<T>> emptyList().stream();
-        }
-        KeyValue<String, byte[]> entry = iterator.next();
+    @Override
+    public Stream<ProcessInstance<T>> waitingForEventType(String eventType, String after, int size, ProcessInstanceReadMode mode) {
+        // the page is computed on the event type entries, so only the instances of the page are unmarshalled
+        List<String> page = waitingIds(eventType).stream()
+                .filter(id -> after == null || id.compareTo(after) > 0)
+                .sorted()
+                .limit(size)
+                .toList();
+        return loadWaiting(page, mode);
+    }
 
-        byte[] eventData = entry.value;
-        if (eventData == null) {
-            return Collections.<ProcessInstance<T>> emptyList().stream();
+    private Set<String> waitingIds(String eventType) {
+        String prefix = getKeyForEvents("");
+        Set<String> processInstancesId = new LinkedHashSet<>();
+        try (Stream<KeyValue<String, byte[]>> entries = writer.scan(getStore(), prefix)) {
+            entries.filter(entry -> Stream.of(new String(entry.value).split(",")).anyMatch(eventType::equals))
+                    .forEach(entry -> processInstancesId.add(entry.key.substring(prefix.length())));
         }
-        String list = new String(eventData);
-        List<String> processInstancesId = Stream.of(list.split(","))
+        legacyEventTypes().stream()
                 .filter(e -> e.startsWith(eventType + EVENT_SEPARATOR))
                 .map(e -> e.substring(e.indexOf(EVENT_SEPARATOR) + EVENT_SEPARATOR.length()))
-                .toList();
+                .forEach(processInstancesId::add);
+        return processInstancesId;
+    }
 
+    private Stream<ProcessInstance<T>> loadWaiting(Collection<String> processInstancesId, ProcessInstanceReadMode mode) {
         List<ProcessInstance<T>> waitingInstances = new ArrayList<>();
         for (String processInstanceId : processInstancesId) {
-            byte[] data = getStore().get(getKeyForProcessInstance(processInstanceId));
-            AbstractProcessInstance<T> pi = (AbstractProcessInstance) marshaller.unmarshallProcessInstance(data, process, mode);
-            connectInstance(pi);
-            waitingInstances.add(pi);
+            getProcessInstanceById(processInstanceId).ifPresent(data -> {
+                AbstractProcessInstance<T> pi = (AbstractProcessInstance) marshaller.unmarshallProcessInstance(data, process, mode);
+                connectInstance(pi);
+                waitingInstances.add(pi);
+            });
         }
         return waitingInstances.stream();
+    }
 
+    @Override
+    public boolean isWaitingFor(String eventType, String id) {
+        byte[] eventData = writer.get(getStore(), getKeyForEvents(id));
+        return (eventData != null && Stream.of(new String(eventData).split(",")).anyMatch(eventType::equals))
+                || legacyEventTypes().contains(eventType + EVENT_SEPARATOR + id);
     }
 
     private byte[] toBytes(Set<String> events) {
         return String.join(",", events).getBytes();
     }
 
-    private Set<String> clearEventTypes(String processInstanceId) throws RocksDBException {
-        KeyValueIterator<String, byte[]> iterator = getStore().prefixScan("events-" + getProcess().id(), Serdes.String().serializer());
-        if (!iterator.hasNext()) {
-            return new HashSet<>();
-        }
-        KeyValue<String, byte[]> entry = iterator.next();
+    private Set<String> legacyEventTypes() {
+        byte[] eventData = writer.get(getStore(), getKeyForEvents());
+        return eventData == null ? new HashSet<>() : Stream.of(new String(eventData).split(",")).filter(e -> !e.isEmpty()).collect(toCollection(HashSet::new));
+    }
 
-        byte[] eventData = entry.value;
-        String list = eventData != null ? new String(eventData) : new String();
-        return Stream.of(list.split(",")).filter(e -> !e.endsWith(EVENT_SEPARATOR + processInstanceId)).collect(toCollection(HashSet::new));
+    /**
+     * Removes the instance from the event types record shared by all the instances of the process in the previous format.
+     */
+    private void clearLegacyEventTypes(String processInstanceId) {
+        Set<String> eventTypes = legacyEventTypes();
+        if (eventTypes.removeIf(e -> e.endsWith(EVENT_SEPARATOR + processInstanceId))) {
+            writer.send(getKeyForEvents(), eventTypes.isEmpty() ? null : toBytes(eventTypes));
+        }
     }
 
     private Set<String> getUniqueEvents(ProcessInstance<T> instance) {
         return Stream.of(((AbstractProcessInstance<T>) instance).internalGetProcessInstance().getEventTypes())
-                .map(e -> e + EVENT_SEPARATOR + instance.id())
-                .collect(Collectors.toCollection(HashSet::new));
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 }
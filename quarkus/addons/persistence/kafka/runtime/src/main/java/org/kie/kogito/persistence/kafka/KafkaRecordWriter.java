@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.kafka;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.kie.kogito.persistence.kafka.KafkaPersistenceUtils.topicName;
+
+/**
+ * Writes the records of the process instance stores to the topic backing the global store.
+ * <p>
+ * The records written during a unit of work are sent once it ends, as a single Kafka transaction when the producer
+ * is transactional, otherwise pipelined and acknowledged together. Only the last value of each key is sent, as the
+ * global store keeps nothing else. Without a unit of work manager every record is sent right away.
+ * <p>
+ * The global store only sees a record once it is consumed back from the topic, so the values sent are kept in a
+ * local overlay that reads go through until the store holds the same value. An overlay entry whose key was overwritten
+ * in between by another writer is dropped after {@link #OVERLAY_TIMEOUT}.
+ */
+public class KafkaRecordWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaRecordWriter.class);
+
+    static final Duration OVERLAY_TIMEOUT = Duration.ofSeconds(30);
+
+    private final KafkaProducer<String, byte[]> producer;
+    private final String topic;
+    private final UnitOfWorkManager unitOfWorkManager;
+    private final boolean transactional;
+    private final Map<UnitOfWork, Batch> batches = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Written> overlay = new ConcurrentSkipListMap<>();
+    private volatile ReadOnlyKeyValueStore<String, byte[]> store;
+
+    public KafkaRecordWriter(KafkaProducer<String, byte[]> producer, UnitOfWorkManager unitOfWorkManager, boolean transactional) {
+        this.producer = producer;
+        this.topic = topicName();
+        this.unitOfWorkManager = unitOfWorkManager;
+        this.transactional = transactional;
+    }
+
+    public void setStore(ReadOnlyKeyValueStore<String, byte[]> store) {
+        this.store = store;
+    }
+
+    /**
+     * Sends the record, a {@code null} value being a tombstone, as part of the current unit of work.
+     */
+    public void send(String key, byte[] value) {
+        if (unitOfWorkManager == null) {
+            Map<String, byte[]> records = new LinkedHashMap<>(1);
+            records.put(key, value);
+            flush(records);
+            return;
+        }
+        UnitOfWork unitOfWork = unitOfWorkManager.currentUnitOfWork();
+        while (true) {
+            Batch batch = batches.get(unitOfWork);
+            if (batch == null) {
+                batch = new Batch(unitOfWork);
+                batch.add(key, value);
+                if (batches.putIfAbsent(unitOfWork, batch) == null) {
+                    // pass through units of work perform the batch right away
+                    unitOfWork.intercept(batch);
+                    return;
+                }
+            } else if (batch.add(key, value)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the value last sent for the key, or the stored one once the store caught up with it
+     */
+    public byte[] get(ReadOnlyKeyValueStore<String, byte[]> store, String key) {
+        Batch batch = currentBatch();
+        Written pending = batch == null ? null : batch.get(key);
+        if (pending != null) {
+            return pending.value();
+        }
+        Written written = overlay.get(key);
+        byte[] stored = store.get(key);
+        if (written == null) {
+            return stored;
+        }
+        if (written.isSettled(stored, System.nanoTime())) {
+            overlay.remove(key, written);
+            return stored;
+        }
+        return written.value();
+    }
+
+    /**
+     * @return the entries whose key starts with the prefix in key order, including the ones sent but not stored yet
+     */
+    public Stream<KeyValue<String, byte[]>> scan(ReadOnlyKeyValueStore<String, byte[]> store, String prefix) {
+        NavigableMap<String, Written> pending = new TreeMap<>();
+        long now = System.nanoTime();
+        overlay.subMap(prefix, true, prefix + Character.MAX_VALUE, false).forEach((key, written) -> {
+            if (!written.isExpired(now)) {
+                pending.put(key, written);
+            }
+        });
+        Batch batch = currentBatch();
+        if (batch != null) {
+            batch.putPrefixed(prefix, pending);
+        }
+        KeyValueIterator<String, byte[]> iterator = store.prefixScan(prefix, Serdes.String().serializer());
+        Iterator<KeyValue<String, byte[]>> entries = pending.isEmpty() ? iterator : new MergingIterator(iterator, pending.entrySet().iterator());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entries, Spliterator.ORDERED), false).onClose(iterator::close);
+    }
+
+    int overlaySize() {
+        return overlay.size();
+    }
+
+    private Batch currentBatch() {
+        return unitOfWorkManager == null ? null : batches.get(unitOfWorkManager.currentUnitOfWork());
+    }
+
+    private void flush(Map<String, byte[]> records) {
+        sweep();
+        if (transactional) {
+            sendInTransaction(records);
+        } else {
+            sendPipelined(records);
+        }
+        long expiresAt = System.nanoTime() + OVERLAY_TIMEOUT.toNanos();
+        records.forEach((key, value) -> overlay.put(key, new Written(value, expiresAt)));
+    }
+
+    private void sendInTransaction(Map<String, byte[]> records) {
+        // a producer holds a single open transaction at a time
+        synchronized (producer) {
+            producer.beginTransaction();
+            try {
+                records.forEach((key, value) -> producer.send(new ProducerRecord<>(topic, key, value)));
+                producer.commitTransaction();
+            } catch (KafkaException e) {
+                try {
+                    producer.abortTransaction();
+                } catch (KafkaException abortError) {
+                    LOGGER.warn("Unable to abort Kafka transaction on topic {}", topic, abortError);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void sendPipelined(Map<String, byte[]> records) {
+        List<Future<RecordMetadata>> acks = new ArrayList<>(records.size());
+        records.forEach((key, value) -> acks.add(producer.send(new ProducerRecord<>(topic, key, value))));
+        try {
+            for (Future<RecordMetadata> ack : acks) {
+                ack.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrupted while sending records to topic " + topic, e);
+        } catch (ExecutionException e) {
+            throw new KafkaException("Unable to send records to topic " + topic, e.getCause());
+        }
+    }
+
+    /**
+     * Drops the overlay entries the store caught up with, so the overlay only holds the records in flight.
+     */
+    private void sweep() {
+        ReadOnlyKeyValueStore<String, byte[]> current = store;
+        long now = System.nanoTime();
+        overlay.forEach((key, written) -> {
+            if (written.isExpired(now) || (current != null && written.isSettled(current.get(key), now))) {
+                overlay.remove(key, written);
+            }
+        });
+    }
+
+    private record Written(byte[] value, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+
+        boolean isSettled(byte[] stored, long now) {
+            return isExpired(now) || Arrays.equals(value, stored);
+        }
+    }
+
+    private class Batch implements WorkUnit<Batch> {
+
+        private final UnitOfWork unitOfWork;
+        private final Map<String, byte[]> records = new LinkedHashMap<>();
+        private boolean closed;
+
+        private Batch(UnitOfWork unitOfWork) {
+            this.unitOfWork = unitOfWork;
+        }
+
+        synchronized boolean add(String key, byte[] value) {
+            if (closed) {
+                return false;
+            }
+            records.put(key, value);
+            return true;
+        }
+
+        synchronized Written get(String key) {
+            return records.containsKey(key) ? new Written(records.get(key), Long.MAX_VALUE) : null;
+        }
+
+        synchronized void putPrefixed(String prefix, Map<String, Written> target) {
+            records.forEach((key, value) -> {
+                if (key.startsWith(prefix)) {
+                    target.put(key, new Written(value, Long.MAX_VALUE));
+                }
+            });
+        }
+
+        private synchronized Map<String, byte[]> close() {
+            closed = true;
+            batches.remove(unitOfWork, this);
+            return records;
+        }
+
+        @Override
+        public Batch data() {
+            return this;
+        }
+
+        @Override
+        public void perform() {
+            Map<String, byte[]> toSend = close();
+            if (!toSend.isEmpty()) {
+                flush(toSend);
+            }
+        }
+
+        @Override
+        public void abort() {
+            close();
+        }
+
+        @Override
+        public Integer priority() {
+            // after the work units that might still update process instances at the end of the unit of work
+            return LOW_PRIORITY + 1;
+        }
+    }
+
+    /**
+     * Merges the entries of the store with the pending ones, both in key order, the pending ones taking precedence
+     * and tombstones hiding the stored entry.
+     */
+    private static class MergingIterator implements Iterator<KeyValue<String, byte[]>> {
+
+        private final Iterator<KeyValue<String, byte[]>> stored;
+        private final Iterator<Map.Entry<String, Written>> pending;
+        private KeyValue<String, byte[]> nextStored;
+        private Map.Entry<String, Written> nextPending;
+        private KeyValue<String, byte[]> next;
+
+        private MergingIterator(Iterator<KeyValue<String, byte[]>> stored, Iterator<Map.Entry<String, Written>> pending) {
+            this.stored = stored;
+            this.pending = pending;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public KeyValue<String, byte[]> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            KeyValue<String, byte[]> result = next;
+            advance();
+            return result;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null) {
+                if (nextStored == null && stored.hasNext()) {
+                    nextStored = stored.next();
+                }
+                if (nextPending == null && pending.hasNext()) {
+                    nextPending = pending.next();
+                }
+                if (nextStored == null && nextPending == null) {
+                    return;
+                }
+                int comparison = nextPending == null ? 1 : nextStored == null ? -1 : nextPending.getKey().compareTo(nextStored.key);
+                if (comparison > 0) {
+                    next = nextStored;
+                    nextStored = null;
+                } else {
+                    if (comparison == 0) {
+                        nextStored = null;
+                    }
+                    byte[] value = nextPending.getValue().value();
+                    if (value != null) {
+                        next = KeyValue.pair(nextPending.getKey(), value);
+                    }
+                    nextPending = null;
+                }
+            }
+        }
+    }
+}
@@ -112,9 +112,6 @@ public class KafkaProcessInstancesTest {
     public void testProcessInstancesRemove() {
         doReturn(mock(Future.class)).when(producer).send(any());
 
-        KeyValueIterator<String, byte[]> iterator = mock(KeyValueIterator.class);
-        when(store.prefixScan(contains("events"), any())).thenReturn(iterator);
-        when(iterator.hasNext()).thenReturn(false);
 
         instances.remove(id);
 
@@ -123,6 +120,11 @@ public class KafkaProcessInstancesTest {
         assertThat(captor.getAllValues().get(0).value()).isNull();
         assertThat(captor.getAllValues().get(0).key()).isEqualTo(storedId);
         assertThat(captor.getAllValues().get(0).topic()).isEqualTo(topicName());
+        assertThat(captor.getAllValues().get(1).value()).isNull();
+        assertThat(captor.getAllValues().get(1).key()).isEqualTo("events-" + processId + "-" + id);
+        // the removal is visible right away, without waiting for the store to catch up
+        lenient().doReturn(new byte[] {}).when(store).get(storedId);
+        assertThat(instances.exists(id)).isFalse();
     }
 
     @Test
@@ -205,9 +207,6 @@ public class KafkaProcessInstancesTest {
         doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
         when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
 
-        KeyValueIterator<String, byte[]> iterator = mock(KeyValueIterator.class);
-        when(store.prefixScan(contains("events"), any())).thenReturn(iterator);
-        when(iterator.hasNext()).thenReturn(false);
         WorkflowProcessInstance processInstance = mock(WorkflowProcessInstance.class);
         when(processInstance.getEventTypes()).thenReturn(new String[0]);
         when(instance.internalGetProcessInstance()).thenReturn(processInstance);
@@ -223,6 +222,26 @@ public class KafkaProcessInstancesTest {
         verify(marshaller).createdReloadFunction(any());
     }
 
+    @Test
+    public void testProcessInstancesWaitingForEventType() {
+        doReturn(mock(Future.class)).when(producer).send(any());
+        AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
+        doReturn(new byte[] { 1 }).when(marshaller).marshallProcessInstance(instance);
+        doReturn(instance).when(marshaller).unmarshallProcessInstance(any(), eq(process), any());
+        when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
+        WorkflowProcessInstance processInstance = mock(WorkflowProcessInstance.class);
+        when(processInstance.getEventTypes()).thenReturn(new String[] { "signal" });
+        when(instance.internalGetProcessInstance()).thenReturn(processInstance);
+        doReturn(mock(KeyValueIterator.class)).when(store).prefixScan(contains("events"), any());
+
+        instances.update(id, instance);
+
+        assertThat(instances.isWaitingFor("signal", id)).isTrue();
+        assertThat(instances.isWaitingFor("other", id)).isFalse();
+        assertThat(instances.waitingForEventType("signal")).containsExactly(instance);
+        assertThat(instances.waitingForEventType("other")).isEmpty();
+    }
+
     @Test
     public void testProcessInstancesUpdateException() {
         doThrow(new RuntimeException()).when(producer).send(any());
@@ -249,9 +268,6 @@ public class KafkaProcessInstancesTest {
         AbstractProcessInstance instance = mock(AbstractProcessInstance.class);
         doReturn(new byte[] {}).when(marshaller).marshallProcessInstance(instance);
         when(instance.status()).thenReturn(ProcessInstance.STATE_ACTIVE);
-        KeyValueIterator<String, byte[]> iterator = mock(KeyValueIterator.class);
-        when(store.prefixScan(contains("events"), any())).thenReturn(iterator);
-        when(iterator.hasNext()).thenReturn(false);
         WorkflowProcessInstance processInstance = mock(WorkflowProcessInstance.class);
         when(processInstance.getEventTypes()).thenReturn(new String[0]);
         when(instance.internalGetProcessInstance()).thenReturn(processInstance);
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.persistence.kafka;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.ReadOnlyKeyValueStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.kie.kogito.uow.UnitOfWork;
+import org.kie.kogito.uow.UnitOfWorkManager;
+import org.kie.kogito.uow.WorkUnit;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class KafkaRecordWriterTest {
+
+    @Mock
+    KafkaProducer<String, byte[]> producer;
+
+    @Mock
+    ReadOnlyKeyValueStore<String, byte[]> store;
+
+    @Mock
+    UnitOfWorkManager unitOfWorkManager;
+
+    @Mock
+    UnitOfWork unitOfWork;
+
+    @BeforeEach
+    public void setup() {
+        lenient().when(unitOfWorkManager.currentUnitOfWork()).thenReturn(unitOfWork);
+        lenient().doReturn(mock(Future.class)).when(producer).send(any());
+    }
+
+    @Test
+    public void testRecordsSentOnceUnitOfWorkEnds() {
+        KafkaRecordWriter writer = new KafkaRecordWriter(producer, unitOfWorkManager, false);
+
+        writer.send("a", new byte[] { 1 });
+        writer.send("b", new byte[] { 2 });
+        writer.send("a", new byte[] { 3 });
+
+        verify(producer, never()).send(any());
+        assertThat(writer.get(store, "a")).containsExactly(3);
+
+        endUnitOfWork();
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(producer, times(2)).send(captor.capture());
+        assertThat(captor.getAllValues()).extracting(ProducerRecord::key).containsExactly("a", "b");
+        assertThat(captor.getAllValues().get(0).value()).containsExactly(3);
+        // the store did not catch up yet, reads go through the overlay
+        assertThat(writer.get(store, "a")).containsExactly(3);
+
+        when(store.get("a")).thenReturn(new byte[] { 3 });
+        assertThat(writer.get(store, "a")).containsExactly(3);
+        assertThat(writer.overlaySize()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAbortedUnitOfWorkSendsNothing() {
+        KafkaRecordWriter writer = new KafkaRecordWriter(producer, unitOfWorkManager, false);
+
+        writer.send("a", new byte[] { 1 });
+        ArgumentCaptor<WorkUnit> captor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(unitOfWork).intercept(captor.capture());
+        captor.getValue().abort();
+
+        verify(producer, never()).send(any());
+        assertThat(writer.get(store, "a")).isNull();
+    }
+
+    @Test
+    public void testTransactionalProducerSendsOneTransactionPerUnitOfWork() {
+        KafkaRecordWriter writer = new KafkaRecordWriter(producer, unitOfWorkManager, true);
+
+        writer.send("a", new byte[] { 1 });
+        writer.send("b", null);
+        endUnitOfWork();
+
+        InOrder inOrder = inOrder(producer);
+        inOrder.verify(producer).beginTransaction();
+        inOrder.verify(producer, times(2)).send(any());
+        inOrder.verify(producer).commitTransaction();
+    }
+
+    @Test
+    public void testScanIncludesRecordsNotStoredYet() {
+        KafkaRecordWriter writer = new KafkaRecordWriter(producer, null, false);
+        doReturn(new ListIterator(List.of(KeyValue.pair("p-a", new byte[] { 1 }), KeyValue.pair("p-c", new byte[] { 3 }))))
+                .when(store).prefixScan(any(), any());
+
+        writer.send("p-b", new byte[] { 2 });
+        writer.send("p-c", null);
+        writer.send("q-a", new byte[] { 4 });
+
+        assertThat(writer.scan(store, "p-")).extracting(entry -> entry.key).containsExactly("p-a", "p-b");
+        assertThat(writer.get(store, "p-c")).isNull();
+    }
+
+    private void endUnitOfWork() {
+        ArgumentCaptor<WorkUnit> captor = ArgumentCaptor.forClass(WorkUnit.class);
+        verify(unitOfWork).intercept(captor.capture());
+        captor.getValue().perform();
+    }
+
+    private static class ListIterator implements KeyValueIterator<String, byte[]> {
+
+        private final Iterator<KeyValue<String, byte[]>> iterator;
+
+        private ListIterator(List<KeyValue<String, byte[]>> entries) {
+            this.iterator = entries.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public KeyValue<String, byte[]> next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String peekNextKey() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -18,12 +18,16 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.kie.kogito.Application;
 import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.StreamingAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.modelsupplier.ApplicationModelSupplier;
+import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
 
 import io.quarkus.vertx.ConsumeEvent;
 
@@ -33,23 +37,57 @@ import jakarta.inject.Singleton;
 @Singleton
 public class QuarkusDecisionTracingCollector {
 
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
     private final DecisionTracingCollector collector;
 
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_MAX_BUFFERED_EXECUTIONS,
+                DecisionTracingCollector.DEFAULT_MAX_BUFFERED_EVENTS, DecisionTracingCollector.DEFAULT_EXECUTION_TIMEOUT);
+    }
+
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, org.kie.dmn.api.core.DMNModel> modelSupplier,
+            final int maxBufferedExecutions,
+            final int maxBufferedEvents,
+            final Duration executionTimeout) {
+        this.collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, modelSupplier, CounterTerminationDetector::new, configBean,
+                maxBufferedExecutions, maxBufferedEvents, executionTimeout);
+        if (MICROMETER_PRESENT) {
+            DecisionTracingCollectorMetrics.bind(collector);
+        }
     }
 
-    @Inject
     public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application) {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    @Inject
+    public QuarkusDecisionTracingCollector(final QuarkusTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.maxBufferedExecutions", defaultValue = "10000") final int maxBufferedExecutions,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.maxBufferedEvents", defaultValue = "1000000") final int maxBufferedEvents,
+            @ConfigProperty(name = "kogito.addon.tracing.decision.executionTimeout", defaultValue = "PT5M") final Duration executionTimeout) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), maxBufferedExecutions, maxBufferedEvents, executionTimeout);
+    }
+
     @ConsumeEvent("kogito-tracing-decision_EvaluateEvent")
     public void onEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.Metrics", false, QuarkusDecisionTracingCollector.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
 }
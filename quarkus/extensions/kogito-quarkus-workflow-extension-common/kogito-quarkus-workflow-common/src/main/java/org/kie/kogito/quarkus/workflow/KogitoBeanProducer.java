@@ -31,6 +31,8 @@ import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.kie.kogito.services.jobs.impl.PersistentJobService;
 import org.kie.kogito.services.uow.StaticUnitOfWorkManger;
 import org.kie.kogito.uow.UnitOfWorkManager;
 import org.kie.kogito.usertask.UserTasks;
@@ -65,9 +67,9 @@ public class KogitoBeanProducer {
 
     @DefaultBean
     @Produces
-    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, UnitOfWorkManager uowm, ScheduledExecutorService executor) {
+    JobsService jobsService(Instance<Processes> processes, Instance<UserTasks> userTasks, UnitOfWorkManager uowm, ScheduledExecutorService executor, Instance<JobStore> jobStore) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, processes.isResolvable() ? processes.get() : null, userTasks.isResolvable() ? userTasks.get() : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService(executor);
+        InMemoryJobService inMemoryJobService = jobStore.isResolvable() ? new PersistentJobService(executor, jobStore.get()) : new InMemoryJobService(executor);
         inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
         return inMemoryJobService;
     }
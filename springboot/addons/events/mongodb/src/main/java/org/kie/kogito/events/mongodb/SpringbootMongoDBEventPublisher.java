@@ -26,6 +26,7 @@ import org.springframework.stereotype.Component;
 import com.mongodb.client.MongoClient;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Component
 public class SpringbootMongoDBEventPublisher extends MongoDBEventPublisher {
@@ -51,11 +52,22 @@ public class SpringbootMongoDBEventPublisher extends MongoDBEventPublisher {
     @Value("${kogito.events.usertasks.collection:kogitousertaskinstancesevents}")
     String springUserTasksEventsCollectionName;
 
+    @Value("${kogito.events.write-behind.max-events:0}")
+    int springWriteBehindMaxEvents;
+
+    @Value("${kogito.events.write-behind.flush-interval:100}")
+    long springWriteBehindFlushInterval;
+
     @PostConstruct
     public void setupSpringbootMongoDBEventPublisher() {
         super.configure();
     }
 
+    @PreDestroy
+    public void closeSpringbootMongoDBEventPublisher() {
+        super.close();
+    }
+
     @Override
     protected MongoClient mongoClient() {
         return this.springMongoClient;
@@ -91,4 +103,14 @@ public class SpringbootMongoDBEventPublisher extends MongoDBEventPublisher {
         return this.springUserTasksEventsCollectionName;
     }
 
+    @Override
+    protected int writeBehindMaxEvents() {
+        return this.springWriteBehindMaxEvents;
+    }
+
+    @Override
+    protected long writeBehindFlushIntervalMillis() {
+        return this.springWriteBehindFlushInterval;
+    }
+
 }
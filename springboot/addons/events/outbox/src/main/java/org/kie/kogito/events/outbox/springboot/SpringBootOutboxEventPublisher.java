@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.events.outbox.springboot;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.kie.kogito.events.outbox.JDBCOutboxStore;
+import org.kie.kogito.events.outbox.OutboxEventPublisher;
+import org.kie.kogito.events.outbox.OutboxStore;
+import org.kie.kogito.persistence.jdbc.transaction.AbstractTransactionManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link OutboxEventPublisher} taking over the event publishers of the application. Events are stored in the
+ * {@link OutboxStore} bean when the application provides one, in the <code>event_outbox</code> table otherwise. That
+ * table is written through the unit of work connection of the JDBC persistence when its transaction manager is enabled,
+ * through the data source joining the Spring managed transaction otherwise. The relay is stopped on shutdown.
+ */
+@Component
+public class SpringBootOutboxEventPublisher extends OutboxEventPublisher {
+
+    @Autowired
+    public SpringBootOutboxEventPublisher(ObjectProvider<OutboxStore> stores, ObjectProvider<DataSource> dataSource,
+            ObjectProvider<AbstractTransactionManager> transactionManager,
+            @Value("${kogito.events.outbox.batch-size:500}") int batchSize,
+            @Value("${kogito.events.outbox.poll-interval:500}") long pollInterval,
+            @Value("${kogito.events.outbox.max-attempts:10}") int maxAttempts) {
+        super(stores.getIfAvailable(() -> new JDBCOutboxStore(dataSource(dataSource, transactionManager))), batchSize, Duration.ofMillis(pollInterval), maxAttempts);
+    }
+
+    private static DataSource dataSource(ObjectProvider<DataSource> dataSource, ObjectProvider<AbstractTransactionManager> transactionManager) {
+        AbstractTransactionManager manager = transactionManager.getIfAvailable();
+        if (manager != null && manager.enabled()) {
+            return manager.getDataSource();
+        }
+        return new TransactionAwareDataSourceProxy(dataSource.getObject());
+    }
+
+    @Override
+    @PreDestroy
+    public void close() {
+        super.close();
+    }
+}
@@ -24,9 +24,13 @@ import org.kie.kogito.Application;
 import org.kie.kogito.Model;
 import org.kie.kogito.event.EventReceiver;
 import org.kie.kogito.event.impl.AbstractMessageConsumer;
+import org.kie.kogito.event.impl.PartitionedEventDispatcher;
 import org.kie.kogito.process.Process;
 import org.kie.kogito.process.ProcessService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import jakarta.annotation.PreDestroy;
 
 public abstract class SpringMessageConsumer<M extends Model, D> extends AbstractMessageConsumer<M, D> {
 
@@ -36,8 +40,20 @@ public abstract class SpringMessageConsumer<M extends Model, D> extends Abstract
     @Autowired
     ProcessService processService;
 
+    @Value("${" + PartitionedEventDispatcher.WORKERS_PROPERTY + ":#{" + PartitionedEventDispatcher.DEFAULT_WORKERS + "}}")
+    int workers;
+
+    @Value("${" + PartitionedEventDispatcher.MAX_IN_FLIGHT_PROPERTY + ":#{" + PartitionedEventDispatcher.DEFAULT_MAX_IN_FLIGHT + "}}")
+    int maxInFlight;
+
     protected void init(Process<M> process, String trigger, Class<D> objectClass, EventReceiver eventReceiver) {
-        init(application, process, trigger, eventReceiver, objectClass, processService, Collections.emptySet());
+        init(application, process, trigger, eventReceiver, objectClass, processService, Collections.emptySet(), workers, maxInFlight);
+    }
+
+    @Override
+    @PreDestroy
+    protected void close() {
+        super.close();
     }
 
 }
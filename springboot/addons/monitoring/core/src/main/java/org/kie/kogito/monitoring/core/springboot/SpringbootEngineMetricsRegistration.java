@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.kie.kogito.monitoring.core.springboot;
+
+import org.kie.kogito.KogitoGAV;
+import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.monitoring.core.common.Constants;
+import org.kie.kogito.monitoring.core.common.engine.MetricsEngineObserver;
+import org.kie.kogito.observability.EngineObservers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Metrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Component
+@ConditionalOnProperty(value = Constants.MONITORING_ENGINE_ENABLED, havingValue = "true")
+public class SpringbootEngineMetricsRegistration {
+
+    @Autowired
+    ConfigBean configBean;
+
+    MetricsEngineObserver observer;
+
+    @PostConstruct
+    public void init() {
+        observer = new MetricsEngineObserver(configBean.getGav().orElse(KogitoGAV.EMPTY_GAV), Metrics.globalRegistry);
+        EngineObservers.register(observer);
+    }
+
+    @PreDestroy
+    public void close() {
+        EngineObservers.unregister(observer);
+    }
+}
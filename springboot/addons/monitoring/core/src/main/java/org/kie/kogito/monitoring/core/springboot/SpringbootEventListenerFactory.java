@@ -28,6 +28,7 @@ import org.kie.kogito.monitoring.core.common.rule.RuleMetricsListenerConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,9 @@ public class SpringbootEventListenerFactory {
 
     ConfigBean configBean;
 
+    @Value("${" + Constants.MONITORING_PROCESS_MAX_NODE_TAG_VALUES + ":100}")
+    int maxNodeTagValues = MetricsProcessEventListener.DEFAULT_MAX_NODE_TAG_VALUES;
+
     @Autowired
     public SpringbootEventListenerFactory(ConfigBean configBean) {
         this.configBean = configBean;
@@ -55,7 +59,8 @@ public class SpringbootEventListenerFactory {
         LOGGER.debug("Producing default listener for process monitoring.");
         return new MetricsProcessEventListener("default-process-monitoring-listener",
                 configBean.getGav().orElse(KogitoGAV.EMPTY_GAV),
-                Metrics.globalRegistry);
+                Metrics.globalRegistry,
+                maxNodeTagValues);
     }
 
     @ConditionalOnProperty(
@@ -24,6 +24,7 @@ import javax.sql.DataSource;
 
 import org.kie.kogito.internal.process.runtime.HeadersPersistentConfig;
 import org.kie.kogito.persistence.jdbc.AbstractProcessInstancesFactory;
+import org.kie.kogito.persistence.jdbc.transaction.AbstractTransactionManager;
 import org.kie.kogito.process.Processes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -43,10 +44,11 @@ public class JDBCProcessInstancesFactory extends AbstractProcessInstancesFactory
             @Value("${kogito.persistence.headers.enabled:false}") Boolean headersEnabled,
             @Value("${kogito.persistence.headers.excluded:}") List<String> headersExcluded,
             @Nullable Processes processes,
-            @Value("${kogito.persistence.data-isolation.enabled:false}") Boolean dataIsolationEnabled) {
+            @Value("${kogito.persistence.data-isolation.enabled:false}") Boolean dataIsolationEnabled,
+            AbstractTransactionManager transactionManager) {
 
         // Wrap the original DataSource so operations use the transactional Connection
-        super(new TransactionAwareDataSourceProxy(dataSource), lock, new HeadersPersistentConfig(headersEnabled, headersExcluded), dataIsolationEnabled ? processes : null);
+        super(new TransactionAwareDataSourceProxy(dataSource), lock, new HeadersPersistentConfig(headersEnabled, headersExcluded), dataIsolationEnabled ? processes : null, transactionManager);
     }
 
 }
@@ -18,22 +18,41 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
 import org.kie.dmn.api.core.DMNModel;
 import org.kie.kogito.Application;
 import org.kie.kogito.config.ConfigBean;
+import org.kie.kogito.tracing.decision.aggregator.StreamingAggregator;
 import org.kie.kogito.tracing.decision.event.evaluate.EvaluateEvent;
 import org.kie.kogito.tracing.decision.modelsupplier.ApplicationModelSupplier;
+import org.kie.kogito.tracing.decision.terminationdetector.CounterTerminationDetector;
 
 public class SpringBootDecisionTracingCollector {
 
+    private static final boolean MICROMETER_PRESENT = isMicrometerPresent();
+
     private final DecisionTracingCollector collector;
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final BiFunction<String, String, DMNModel> modelSupplier) {
-        this.collector = new DecisionTracingCollector(eventEmitter::emit, modelSupplier, configBean);
+        this(eventEmitter, configBean, modelSupplier, DecisionTracingCollector.DEFAULT_MAX_BUFFERED_EXECUTIONS,
+                DecisionTracingCollector.DEFAULT_MAX_BUFFERED_EVENTS, DecisionTracingCollector.DEFAULT_EXECUTION_TIMEOUT);
+    }
+
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final BiFunction<String, String, DMNModel> modelSupplier,
+            final int maxBufferedExecutions,
+            final int maxBufferedEvents,
+            final Duration executionTimeout) {
+        this.collector = new DecisionTracingCollector(new StreamingAggregator(), eventEmitter, modelSupplier, CounterTerminationDetector::new, configBean,
+                maxBufferedExecutions, maxBufferedEvents, executionTimeout);
+        if (MICROMETER_PRESENT) {
+            DecisionTracingCollectorMetrics.bind(collector);
+        }
     }
 
     public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
@@ -42,7 +61,25 @@ public class SpringBootDecisionTracingCollector {
         this(eventEmitter, configBean, new ApplicationModelSupplier(application));
     }
 
+    public SpringBootDecisionTracingCollector(final SpringBootTraceEventEmitter eventEmitter,
+            final ConfigBean configBean,
+            final Application application,
+            final int maxBufferedExecutions,
+            final int maxBufferedEvents,
+            final Duration executionTimeout) {
+        this(eventEmitter, configBean, new ApplicationModelSupplier(application), maxBufferedExecutions, maxBufferedEvents, executionTimeout);
+    }
+
     public void onApplicationEvent(final EvaluateEvent event) {
         collector.addEvent(event);
     }
+
+    private static boolean isMicrometerPresent() {
+        try {
+            Class.forName("io.micrometer.core.instrument.Metrics", false, SpringBootDecisionTracingCollector.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
 }
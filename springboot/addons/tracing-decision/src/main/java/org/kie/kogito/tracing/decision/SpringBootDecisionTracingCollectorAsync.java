@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.function.BiFunction;
 
 import org.kie.dmn.api.core.DMNModel;
@@ -37,6 +38,11 @@ public class SpringBootDecisionTracingCollectorAsync extends SpringBootDecisionT
         super(eventEmitter, configBean, application);
     }
 
+    public SpringBootDecisionTracingCollectorAsync(SpringBootTraceEventEmitter eventEmitter, ConfigBean configBean, Application application,
+            int maxBufferedExecutions, int maxBufferedEvents, Duration executionTimeout) {
+        super(eventEmitter, configBean, application, maxBufferedExecutions, maxBufferedEvents, executionTimeout);
+    }
+
     @Override
     @Async("kogitoTracingDecisionAddonTaskExecutor")
     @EventListener
@@ -18,6 +18,7 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -64,11 +65,14 @@ public class SpringBootDecisionTracingConfiguration {
             final SpringBootTraceEventEmitter eventEmitter,
             final ConfigBean configBean,
             final Application application,
-            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled) {
+            @Value(value = "${kogito.addon.tracing.decision.asyncEnabled:true}") final boolean asyncEnabled,
+            @Value(value = "${kogito.addon.tracing.decision.maxBufferedExecutions:10000}") final int maxBufferedExecutions,
+            @Value(value = "${kogito.addon.tracing.decision.maxBufferedEvents:1000000}") final int maxBufferedEvents,
+            @Value(value = "${kogito.addon.tracing.decision.executionTimeout:PT5M}") final Duration executionTimeout) {
         if (asyncEnabled) {
-            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollectorAsync(eventEmitter, configBean, application, maxBufferedExecutions, maxBufferedEvents, executionTimeout);
         } else {
-            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application);
+            return new SpringBootDecisionTracingCollector(eventEmitter, configBean, application, maxBufferedExecutions, maxBufferedEvents, executionTimeout);
         }
     }
 
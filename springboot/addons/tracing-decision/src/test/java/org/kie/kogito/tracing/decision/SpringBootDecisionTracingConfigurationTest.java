@@ -18,6 +18,8 @@
  */
 package org.kie.kogito.tracing.decision;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 import org.kie.kogito.Application;
 import org.kie.kogito.config.ConfigBean;
@@ -36,10 +38,10 @@ class SpringBootDecisionTracingConfigurationTest {
 
         SpringBootDecisionTracingConfiguration config = new SpringBootDecisionTracingConfiguration("localhost:9092", "kogito-tracing-decision", 1, (short) 1);
 
-        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true);
+        SpringBootDecisionTracingCollector asyncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, true, 10, 100, Duration.ofMinutes(1));
         assertTrue(asyncCollector instanceof SpringBootDecisionTracingCollectorAsync);
 
-        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false);
+        SpringBootDecisionTracingCollector syncCollector = config.collector(mockedEmitter, mockedConfigBean, mockedApplication, false, 10, 100, Duration.ofMinutes(1));
         assertFalse(syncCollector instanceof SpringBootDecisionTracingCollectorAsync);
     }
 }
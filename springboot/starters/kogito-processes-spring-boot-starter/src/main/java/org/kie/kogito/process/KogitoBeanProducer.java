@@ -28,6 +28,8 @@ import org.kie.kogito.process.version.ProjectVersionProcessVersionResolver;
 import org.kie.kogito.services.jobs.impl.InMemoryJobContext;
 import org.kie.kogito.services.jobs.impl.InMemoryJobService;
 import org.kie.kogito.services.jobs.impl.InMemoryProcessJobExecutorFactory;
+import org.kie.kogito.services.jobs.impl.JobStore;
+import org.kie.kogito.services.jobs.impl.PersistentJobService;
 import org.kie.kogito.services.uow.CollectingUnitOfWorkFactory;
 import org.kie.kogito.services.uow.DefaultUnitOfWorkManager;
 import org.kie.kogito.uow.UnitOfWorkManager;
@@ -59,9 +61,9 @@ public class KogitoBeanProducer {
 
     @Bean
     @ConditionalOnMissingBean(JobsService.class)
-    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, UnitOfWorkManager uowm) {
+    JobsService jobsService(List<Processes> processes, List<UserTasks> userTasks, UnitOfWorkManager uowm, List<JobStore> jobStores) {
         InMemoryJobContext context = new InMemoryJobContext(null, uowm, !processes.isEmpty() ? processes.get(0) : null, !userTasks.isEmpty() ? userTasks.get(0) : null);
-        InMemoryJobService inMemoryJobService = new InMemoryJobService();
+        InMemoryJobService inMemoryJobService = !jobStores.isEmpty() ? new PersistentJobService(jobStores.get(0)) : new InMemoryJobService();
         inMemoryJobService.registerJobExecutorFactory(new InMemoryProcessJobExecutorFactory(context));
         return inMemoryJobService;
     }